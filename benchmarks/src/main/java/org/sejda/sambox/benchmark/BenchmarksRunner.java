@@ -0,0 +1,76 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sejda.sambox.SAMBox;
+
+/**
+ * Runs the benchmarks accepting the usual JMH command line options. Unless a result file is explicitly given, results
+ * are stored in JSON format in the results directory, in a file named after the benchmarked SAMBox version so that
+ * results of different releases can be compared.
+ *
+ * @author Andrea Vacondio
+ */
+public final class BenchmarksRunner
+{
+    private BenchmarksRunner()
+    {
+        // hide
+    }
+
+    public static void main(String[] args)
+            throws RunnerException, CommandLineOptionException, IOException
+    {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResult().hasValue() && !commandLine.getResultFormat().hasValue())
+        {
+            File results = new File(System.getProperty("org.sejda.sambox.benchmark.results",
+                    "results"));
+            results.mkdirs();
+            options.resultFormat(ResultFormatType.JSON)
+                    .result(new File(results, "sambox-" + samboxVersion() + ".json").getPath());
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String samboxVersion() throws IOException
+    {
+        Properties properties = new Properties();
+        try (InputStream stream = SAMBox.class.getClassLoader()
+                .getResourceAsStream(SAMBox.SAMBOX_PROPERTIES))
+        {
+            if (stream != null)
+            {
+                properties.load(stream);
+            }
+        }
+        return properties.getProperty("sambox.version", "unknown");
+    }
+}
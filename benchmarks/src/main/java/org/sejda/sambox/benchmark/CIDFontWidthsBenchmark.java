@@ -0,0 +1,125 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.font.PDType0Font;
+
+/**
+ * Width lookups on a CJK composite font with a /W array shaped like the Adobe-Japan1 ones: proportional latin glyphs,
+ * a large range of full width glyphs and many sparse single entries.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CIDFontWidthsBenchmark
+{
+    private static final int LOOKUPS = 4096;
+    private static final int MAX_CID = 23000;
+
+    private PDType0Font font;
+    private final int[] codes = new int[LOOKUPS];
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        Random random = new Random(42);
+        COSArray widths = new COSArray();
+        // proportional glyphs
+        widths.add(COSInteger.get(1));
+        COSArray proportional = new COSArray();
+        for (int i = 1; i < 633; i++)
+        {
+            proportional.add(COSInteger.get(200 + random.nextInt(600)));
+        }
+        widths.add(proportional);
+        // full width glyphs
+        widths.add(COSInteger.get(633));
+        widths.add(COSInteger.get(8717));
+        widths.add(COSInteger.get(1000));
+        // sparse glyphs
+        for (int cid = 9000; cid < MAX_CID; cid += 3 + random.nextInt(20))
+        {
+            widths.add(COSInteger.get(cid));
+            widths.add(new COSArray(COSInteger.get(500 + random.nextInt(500))));
+        }
+
+        COSDictionary systemInfo = new COSDictionary();
+        systemInfo.setString(COSName.REGISTRY, "Adobe");
+        systemInfo.setString(COSName.ORDERING, "Japan1");
+        systemInfo.setInt(COSName.SUPPLEMENT, 6);
+        COSDictionary descriptor = new COSDictionary();
+        descriptor.setItem(COSName.TYPE, COSName.FONT_DESC);
+        descriptor.setName(COSName.FONT_NAME, "KozMinPr6N-Regular");
+        descriptor.setInt(COSName.FLAGS, 4);
+        COSDictionary cidFont = new COSDictionary();
+        cidFont.setItem(COSName.TYPE, COSName.FONT);
+        cidFont.setItem(COSName.SUBTYPE, COSName.CID_FONT_TYPE0);
+        cidFont.setName(COSName.BASE_FONT, "KozMinPr6N-Regular");
+        cidFont.setItem(COSName.CIDSYSTEMINFO, systemInfo);
+        cidFont.setItem(COSName.FONT_DESC, descriptor);
+        cidFont.setInt(COSName.DW, 1000);
+        cidFont.setItem(COSName.W, widths);
+        COSDictionary type0 = new COSDictionary();
+        type0.setItem(COSName.TYPE, COSName.FONT);
+        type0.setItem(COSName.SUBTYPE, COSName.TYPE0);
+        type0.setName(COSName.BASE_FONT, "KozMinPr6N-Regular");
+        type0.setItem(COSName.ENCODING, COSName.IDENTITY_H);
+        type0.setItem(COSName.DESCENDANT_FONTS, new COSArray(cidFont));
+        font = new PDType0Font(type0);
+
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            codes[i] = random.nextInt(MAX_CID);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public float width() throws IOException
+    {
+        float total = 0;
+        for (int code : codes)
+        {
+            total += font.getWidth(code);
+        }
+        return total;
+    }
+}
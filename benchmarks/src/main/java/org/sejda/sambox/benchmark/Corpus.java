@@ -0,0 +1,223 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.output.WriteOption;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+import org.sejda.sambox.pdmodel.graphics.image.LosslessFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAppearanceDictionary;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.sejda.sambox.pdmodel.interactive.form.PDAcroForm;
+import org.sejda.sambox.pdmodel.interactive.form.PDField;
+import org.sejda.sambox.pdmodel.interactive.form.PDTextField;
+
+/**
+ * Documents used by the benchmarks. Documents are either generated, so that their size and shape is known and stable
+ * across releases, or read from the directory of checked-in documents given by the {@value #CORPUS_PROPERTY} system
+ * property, by default the test resources of the project.
+ *
+ * @author Andrea Vacondio
+ */
+public final class Corpus
+{
+    public static final String CORPUS_PROPERTY = "org.sejda.sambox.benchmark.corpus";
+
+    /**
+     * Name of the generated document with text and images
+     */
+    public static final String GENERATED = "generated";
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog 0123456789 "
+            + "Lorem ipsum dolor sit amet, consectetur adipiscing elit";
+
+    private Corpus()
+    {
+        // hide
+    }
+
+    /**
+     * @param name either {@value #GENERATED} or the path of a document relative to the corpus directory
+     * @return the bytes of the document with the given name
+     * @throws IOException
+     */
+    public static byte[] document(String name) throws IOException
+    {
+        if (GENERATED.equals(name))
+        {
+            return generated(20);
+        }
+        File corpus = new File(System.getProperty(CORPUS_PROPERTY, "../src/test/resources/input"));
+        return Files.readAllBytes(new File(corpus, name).toPath());
+    }
+
+    /**
+     * @param bytes
+     * @return the document parsed from the given bytes
+     * @throws IOException
+     */
+    public static PDDocument parse(byte[] bytes) throws IOException
+    {
+        return PDFParser.parse(inMemorySeekableSourceFrom(bytes));
+    }
+
+    /**
+     * @param pages
+     * @return a document with the given number of pages, each with some lines of text, some vector graphics and an
+     * image
+     * @throws IOException
+     */
+    public static byte[] generated(int pages) throws IOException
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            PDImageXObject image = LosslessFactory.createFromImage(gradient(300, 200));
+            for (int i = 0; i < pages; i++)
+            {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page))
+                {
+                    content.setNonStrokingColor(200, 220, 240);
+                    content.addRect(40, 40, 515, 100);
+                    content.fill();
+                    content.drawImage(image, 150, 600, 300, 200);
+                    content.setNonStrokingColor(0);
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.newLineAtOffset(40, 580);
+                    for (int line = 0; line < 40; line++)
+                    {
+                        content.showText(String.format("%d.%d %s", i + 1, line + 1, TEXT));
+                        content.newLineAtOffset(0, -11);
+                    }
+                    content.endText();
+                }
+            }
+            return toBytes(document, WriteOption.COMPRESS_STREAMS);
+        }
+    }
+
+    /**
+     * @param fields
+     * @param fieldsPerPage
+     * @return a document with the given number of text fields, each with its own appearance stream
+     * @throws IOException
+     */
+    public static byte[] form(int fields, int fieldsPerPage) throws IOException
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            PDAcroForm acroForm = new PDAcroForm(document);
+            document.getDocumentCatalog().setAcroForm(acroForm);
+            List<PDField> formFields = new ArrayList<>(fields);
+            List<PDAnnotation> annotations = null;
+            PDPage page = null;
+            for (int i = 0; i < fields; i++)
+            {
+                if (i % fieldsPerPage == 0)
+                {
+                    page = new PDPage(PDRectangle.A4);
+                    document.addPage(page);
+                    annotations = new ArrayList<>(fieldsPerPage);
+                    page.setAnnotations(annotations);
+                }
+                int row = i % fieldsPerPage;
+                PDRectangle rectangle = new PDRectangle(20 + (row % 4) * 140,
+                        800 - (row / 4) * 16, 130, 14);
+
+                PDTextField field = new PDTextField(acroForm);
+                field.setPartialName("field" + i);
+                PDAnnotationWidget widget = field.getWidgets().get(0);
+                widget.setRectangle(rectangle);
+                widget.setPage(page);
+
+                PDAppearanceStream appearance = new PDAppearanceStream();
+                appearance.setBBox(new PDRectangle(rectangle.getWidth(), rectangle.getHeight()));
+                appearance.setResources(new PDResources());
+                try (PDPageContentStream content = new PDPageContentStream(document, appearance))
+                {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.newLineAtOffset(2, 4);
+                    content.showText("Value " + i);
+                    content.endText();
+                }
+                PDAppearanceDictionary appearances = new PDAppearanceDictionary();
+                appearances.setNormalAppearance(appearance);
+                widget.setAppearance(appearances);
+
+                annotations.add(widget);
+                formFields.add(field);
+            }
+            acroForm.setFields(formFields);
+            return toBytes(document, WriteOption.COMPRESS_STREAMS);
+        }
+    }
+
+    /**
+     * @param width
+     * @param height
+     * @return an RGB image with a smooth gradient
+     */
+    public static BufferedImage gradient(int width, int height)
+    {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                image.setRGB(x, y, ((x * 255 / width) << 16) | ((y * 255 / height) << 8)
+                        | ((x + y) & 0xFF));
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Writes the given document to a byte array, the document is closed once written.
+     *
+     * @param document
+     * @param options
+     * @return the written document
+     * @throws IOException
+     */
+    public static byte[] toBytes(PDDocument document, WriteOption... options) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.writeTo(out, options);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.filter.Filter;
+import org.sejda.sambox.filter.FilterFactory;
+
+/**
+ * Encoding and decoding of 1MB of content stream like data with each of the filters that can encode.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FiltersBenchmark
+{
+    @Param({ "FlateDecode", "LZWDecode", "ASCIIHexDecode", "ASCII85Decode" })
+    public String filterName;
+
+    private Filter filter;
+    private byte[] decoded;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        filter = FilterFactory.INSTANCE.getFilter(COSName.getPDFName(filterName));
+        decoded = content(1024 * 1024);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        filter.encode(new ByteArrayInputStream(decoded), out, new COSDictionary());
+        encoded = out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+        filter.encode(new ByteArrayInputStream(decoded), out, new COSDictionary());
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] decode() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(decoded.length);
+        filter.decode(new ByteArrayInputStream(encoded), out, new COSDictionary(), 0);
+        return out.toByteArray();
+    }
+
+    private static byte[] content(int size)
+    {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(size + 64);
+        while (builder.length() < size)
+        {
+            builder.append("BT /F1 9 Tf ").append(random.nextInt(600)).append(' ')
+                    .append(random.nextInt(800)).append(" Td (Line ").append(random.nextInt())
+                    .append(") Tj ET\n").append(random.nextFloat()).append(' ')
+                    .append(random.nextFloat()).append(" 0 rg\n");
+        }
+        return builder.toString().getBytes();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.output.WriteOption;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Flattening of a generated form with 100 fields per page, with and without writing the flattened document.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FlattenBenchmark
+{
+    @Param({ "1000", "10000" })
+    public int fields;
+
+    private byte[] bytes;
+    private PDDocument parsed;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException
+    {
+        bytes = Corpus.form(fields, 100);
+    }
+
+    @Setup(Level.Invocation)
+    public void parse() throws IOException
+    {
+        parsed = Corpus.parse(bytes);
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() throws IOException
+    {
+        if (parsed.isOpen())
+        {
+            parsed.close();
+        }
+    }
+
+    @Benchmark
+    public void flatten() throws IOException
+    {
+        parsed.getDocumentCatalog().getAcroForm().flatten();
+    }
+
+    @Benchmark
+    public void flattenAndWrite() throws IOException
+    {
+        parsed.getDocumentCatalog().getAcroForm().flatten();
+        parsed.writeTo(new NullOutputStream(), WriteOption.COMPRESS_STREAMS);
+    }
+}
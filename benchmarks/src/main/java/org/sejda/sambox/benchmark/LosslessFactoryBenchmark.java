@@ -0,0 +1,88 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.pdmodel.graphics.image.LosslessFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * Creation of lossless images from an A4 page sized scan at 150 DPI, for each of the image types with a dedicated
+ * raster path.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LosslessFactoryBenchmark
+{
+    public enum ImageType
+    {
+        INT_RGB(BufferedImage.TYPE_INT_RGB),
+        INT_ARGB(BufferedImage.TYPE_INT_ARGB),
+        THREE_BYTE_BGR(BufferedImage.TYPE_3BYTE_BGR),
+        BYTE_GRAY(BufferedImage.TYPE_BYTE_GRAY),
+        BYTE_BINARY(BufferedImage.TYPE_BYTE_BINARY);
+
+        private final int type;
+
+        private ImageType(int type)
+        {
+            this.type = type;
+        }
+    }
+
+    @Param
+    public ImageType type;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setUp()
+    {
+        BufferedImage gradient = Corpus.gradient(1240, 1754);
+        image = new BufferedImage(gradient.getWidth(), gradient.getHeight(), type.type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.drawImage(gradient, 0, 0, null);
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public PDImageXObject create() throws IOException
+    {
+        return LosslessFactory.createFromImage(image);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.input.ParseOption;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Opening a document (header, xref and trailer parsing) and the walk of all the objects reachable from the trailer,
+ * with lazy and eager loading.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark
+{
+    @Param({ Corpus.GENERATED, "cweb.pdf", "PDFBOX-3042-003177-p2.pdf" })
+    public String document;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        bytes = Corpus.document(document);
+    }
+
+    @Benchmark
+    public int open() throws IOException
+    {
+        try (PDDocument parsed = Corpus.parse(bytes))
+        {
+            return parsed.getNumberOfPages();
+        }
+    }
+
+    @Benchmark
+    public int walk() throws IOException
+    {
+        try (PDDocument parsed = Corpus.parse(bytes))
+        {
+            return walk(parsed);
+        }
+    }
+
+    @Benchmark
+    public int walkEager() throws IOException
+    {
+        try (PDDocument parsed = PDFParser.parse(inMemorySeekableSourceFrom(bytes), (String) null,
+                ParseOption.EAGER_LOAD))
+        {
+            return walk(parsed);
+        }
+    }
+
+    /**
+     * Visits all the objects reachable from the trailer of the given document, loading them.
+     *
+     * @param document
+     * @return the number of visited dictionaries and arrays
+     */
+    static int walk(PDDocument document)
+    {
+        Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSBase> stack = new ArrayDeque<>();
+        stack.push(document.getDocument().getTrailer());
+        while (!stack.isEmpty())
+        {
+            COSBase current = stack.pop().getCOSObject();
+            if (visited.add(current))
+            {
+                if (current instanceof COSDictionary)
+                {
+                    for (Map.Entry<?, COSBase> entry : ((COSDictionary) current).entrySet())
+                    {
+                        stack.push(entry.getValue());
+                    }
+                }
+                else if (current instanceof COSArray)
+                {
+                    for (COSBase item : (COSArray) current)
+                    {
+                        stack.push(item);
+                    }
+                }
+            }
+        }
+        return visited.size();
+    }
+}
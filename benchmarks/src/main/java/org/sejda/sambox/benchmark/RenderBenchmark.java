@@ -0,0 +1,80 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.rendering.PDFRenderer;
+
+/**
+ * Rendering of a single page at different resolutions. Each invocation renders the next page of the document so the
+ * score is the average time per page.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark
+{
+    @Param({ Corpus.GENERATED, "rendering/survey.pdf", "cweb.pdf" })
+    public String document;
+    @Param({ "72", "150", "300" })
+    public int dpi;
+
+    private PDDocument parsed;
+    private PDFRenderer renderer;
+    private int page;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        parsed = Corpus.parse(Corpus.document(document));
+        renderer = new PDFRenderer(parsed);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        parsed.close();
+    }
+
+    @Benchmark
+    public BufferedImage render() throws IOException
+    {
+        page = (page + 1) % parsed.getNumberOfPages();
+        return renderer.renderImageWithDPI(page, dpi);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.text.PDFTextStripper;
+
+/**
+ * Text extraction of a single page. Each invocation extracts the next page of the document so the score is the average
+ * time per page.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TextExtractionBenchmark
+{
+    @Param({ Corpus.GENERATED, "cweb.pdf" })
+    public String document;
+
+    private PDDocument parsed;
+    private PDFTextStripper stripper;
+    private int page;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        parsed = Corpus.parse(Corpus.document(document));
+        stripper = new PDFTextStripper();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        parsed.close();
+    }
+
+    @Benchmark
+    public String extract() throws IOException
+    {
+        page = (page % parsed.getNumberOfPages()) + 1;
+        stripper.setStartPage(page);
+        stripper.setEndPage(page);
+        return stripper.getText(parsed);
+    }
+}
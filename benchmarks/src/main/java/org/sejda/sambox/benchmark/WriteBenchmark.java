@@ -0,0 +1,96 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.sambox.output.WriteOption;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Writing of a parsed document with the synchronous and asynchronous body writers, with and without objects streams.
+ * Each invocation writes a freshly parsed document, so objects are lazy loaded while written as they are in the usual
+ * load/modify/save scenario.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WriteBenchmark
+{
+    public enum WriteMode
+    {
+        SYNC(WriteOption.SYNC_BODY_WRITE, WriteOption.COMPRESS_STREAMS),
+        ASYNC(WriteOption.COMPRESS_STREAMS),
+        OBJECT_STREAMS(WriteOption.OBJECT_STREAMS, WriteOption.XREF_STREAM,
+                WriteOption.COMPRESS_STREAMS);
+
+        private final WriteOption[] options;
+
+        private WriteMode(WriteOption... options)
+        {
+            this.options = options;
+        }
+    }
+
+    @Param({ Corpus.GENERATED, "cweb.pdf", "PDFBOX-3042-003177-p2.pdf" })
+    public String document;
+    @Param
+    public WriteMode mode;
+
+    private byte[] bytes;
+    private PDDocument parsed;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException
+    {
+        bytes = Corpus.document(document);
+    }
+
+    @Setup(Level.Invocation)
+    public void parse() throws IOException
+    {
+        parsed = Corpus.parse(bytes);
+    }
+
+    /**
+     * The document is closed once written
+     */
+    @Benchmark
+    public void write() throws IOException
+    {
+        parsed.writeTo(new NullOutputStream(), mode.options);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.input;
+
+import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenization of a body of objects dense in numbers, names and references, similar to the ones found in documents with
+ * many annotations or large page trees. It lives in the parser package because the parser is not public.
+ *
+ * @author Andrea Vacondio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class COSParserBenchmark
+{
+    private static final int OBJECTS = 20000;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < OBJECTS; i++)
+        {
+            builder.append("<</Type /Annot /Subtype /Link /Rect [")
+                    .append(random.nextInt(600)).append('.').append(random.nextInt(100))
+                    .append(' ').append(random.nextInt(800)).append(' ')
+                    .append(random.nextFloat() * 600).append(' ').append(-random.nextInt(800))
+                    .append("] /Border [0 0 0] /Dest [").append(random.nextInt(OBJECTS))
+                    .append(" 0 R /XYZ 0 792 null] /F 4 /P ").append(random.nextInt(OBJECTS))
+                    .append(" 0 R /NM (annotation").append(i)
+                    .append(") /Custom#20Name true /C [0.5 0.25 1]>>\n");
+        }
+        body = builder.toString().getBytes();
+    }
+
+    @Benchmark
+    public int parse() throws IOException
+    {
+        int count = 0;
+        try (COSParser parser = new COSParser(inMemorySeekableSourceFrom(body)))
+        {
+            parser.skipSpaces();
+            while (parser.position() < parser.length())
+            {
+                parser.nextParsedToken();
+                parser.skipSpaces();
+                count++;
+            }
+        }
+        return count;
+    }
+}
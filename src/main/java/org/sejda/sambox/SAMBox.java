@@ -32,6 +32,10 @@ public final class SAMBox
      * The number of objects to include in a single ObjectsStream.
      */
     public static final String OBJECTS_STREAM_SIZE_PROPERTY = "org.sejda.sambox.objects.stream.size";
+    /**
+     * Bytes of decoded images strongly retained by the document resource cache
+     */
+    public static final String IMAGES_CACHE_SIZE_PROPERTY = "org.sejda.sambox.images.cache.size";
 
     public static final String SAMBOX_PROPERTIES = "org/sejda/sambox/resources/version.properties";
 }
@@ -33,7 +33,7 @@ import java.util.Optional;
  */
 public class COSArray extends COSBase implements List<COSBase>
 {
-    private final List<COSBase> objects = new ArrayList<>();
+    private final COSArrayItems objects = new COSArrayItems();
 
     public COSArray()
     {
@@ -195,6 +195,10 @@ public class COSArray extends COSBase implements List<COSBase>
     {
         if (index < size())
         {
+            if (objects.isPacked())
+            {
+                return objects.intValue(index);
+            }
             COSBase obj = objects.get(index);
             if (obj instanceof COSNumber)
             {
@@ -423,6 +427,14 @@ public class COSArray extends COSBase implements List<COSBase>
     public float[] toFloatArray()
     {
         float[] retval = new float[size()];
+        if (objects.isPacked())
+        {
+            for (int i = 0; i < size(); i++)
+            {
+                retval[i] = objects.floatValue(i);
+            }
+            return retval;
+        }
         for (int i = 0; i < size(); i++)
         {
             retval[i] = ((COSNumber) getObject(i)).floatValue();
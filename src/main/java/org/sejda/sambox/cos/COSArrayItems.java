@@ -0,0 +1,289 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.cos;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Storage for the {@link COSArray} items. As long as the list only contains direct integers and decimals, items are
+ * packed as unscaled long values and scales, and the {@link COSNumber} instances are only created when the items are
+ * read generically. The numbers are stored without loss so they are read back equal to the original ones. The first
+ * time anything else is added the list is inflated to an array of objects and never packed again until it's cleared.
+ *
+ * @author Andrea Vacondio
+ */
+final class COSArrayItems extends AbstractList<COSBase> implements RandomAccess
+{
+    private static final int INITIAL_CAPACITY = 4;
+    // scale of the packed integers
+    private static final byte INTEGER = -1;
+    // powers of ten exactly representable as floats
+    private static final float[] FLOAT_POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f,
+            1e7f, 1e8f, 1e9f, 1e10f };
+    private static final long[] LONG_POWERS_OF_TEN = new long[19];
+    static
+    {
+        LONG_POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < LONG_POWERS_OF_TEN.length; i++)
+        {
+            LONG_POWERS_OF_TEN[i] = LONG_POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+    private static final long[] EMPTY_NUMBERS = new long[0];
+    private static final byte[] EMPTY_SCALES = new byte[0];
+
+    private long[] numbers = EMPTY_NUMBERS;
+    private byte[] scales = EMPTY_SCALES;
+    // null while the items are packed
+    private COSBase[] objects;
+    private int size;
+
+    /**
+     * @return true if the items are stored as packed numbers
+     */
+    boolean isPacked()
+    {
+        return objects == null;
+    }
+
+    /**
+     * @param index
+     * @return the float value of the packed number at the given index, without creating the {@link COSNumber}
+     * @throws IllegalStateException if the list is not packed
+     */
+    float floatValue(int index)
+    {
+        checkPacked();
+        checkIndex(index);
+        long unscaled = numbers[index];
+        int scale = scales[index];
+        if (scale == INTEGER)
+        {
+            return unscaled;
+        }
+        // both operands are exact and the division is correctly rounded
+        if (unscaled > -(1L << 22) && unscaled < (1L << 22) && scale < FLOAT_POWERS_OF_TEN.length)
+        {
+            return unscaled / FLOAT_POWERS_OF_TEN[scale];
+        }
+        return BigDecimal.valueOf(unscaled, scale).floatValue();
+    }
+
+    /**
+     * @param index
+     * @return the int value of the packed number at the given index, without creating the {@link COSNumber}
+     * @throws IllegalStateException if the list is not packed
+     */
+    int intValue(int index)
+    {
+        checkPacked();
+        checkIndex(index);
+        long unscaled = numbers[index];
+        int scale = scales[index];
+        if (scale == INTEGER)
+        {
+            return (int) unscaled;
+        }
+        // same truncation of BigDecimal.intValue()
+        if (scale < LONG_POWERS_OF_TEN.length)
+        {
+            return (int) (unscaled / LONG_POWERS_OF_TEN[scale]);
+        }
+        return 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public COSBase get(int index)
+    {
+        checkIndex(index);
+        if (isPacked())
+        {
+            return unpack(index);
+        }
+        return objects[index];
+    }
+
+    @Override
+    public COSBase set(int index, COSBase item)
+    {
+        checkIndex(index);
+        if (isPacked())
+        {
+            if (isPackable(item))
+            {
+                COSBase previous = unpack(index);
+                pack(index, item);
+                return previous;
+            }
+            inflate();
+        }
+        COSBase previous = objects[index];
+        objects[index] = item;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, COSBase item)
+    {
+        if (index < 0 || index > size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (isPacked())
+        {
+            if (isPackable(item))
+            {
+                if (size == numbers.length)
+                {
+                    numbers = Arrays.copyOf(numbers, newCapacity(numbers.length));
+                    scales = Arrays.copyOf(scales, numbers.length);
+                }
+                System.arraycopy(numbers, index, numbers, index + 1, size - index);
+                System.arraycopy(scales, index, scales, index + 1, size - index);
+                pack(index, item);
+                size++;
+                modCount++;
+                return;
+            }
+            inflate();
+        }
+        if (size == objects.length)
+        {
+            objects = Arrays.copyOf(objects, newCapacity(objects.length));
+        }
+        System.arraycopy(objects, index, objects, index + 1, size - index);
+        objects[index] = item;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public COSBase remove(int index)
+    {
+        COSBase previous = get(index);
+        int moved = size - index - 1;
+        if (isPacked())
+        {
+            System.arraycopy(numbers, index + 1, numbers, index, moved);
+            System.arraycopy(scales, index + 1, scales, index, moved);
+        }
+        else
+        {
+            System.arraycopy(objects, index + 1, objects, index, moved);
+            objects[size - 1] = null;
+        }
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear()
+    {
+        numbers = EMPTY_NUMBERS;
+        scales = EMPTY_SCALES;
+        objects = null;
+        size = 0;
+        modCount++;
+    }
+
+    private COSBase unpack(int index)
+    {
+        if (scales[index] == INTEGER)
+        {
+            return COSInteger.get(numbers[index]);
+        }
+        return COSFloat.get(numbers[index], scales[index]);
+    }
+
+    private void pack(int index, COSBase item)
+    {
+        if (item instanceof COSInteger)
+        {
+            numbers[index] = ((COSInteger) item).longValue();
+            scales[index] = INTEGER;
+        }
+        else
+        {
+            BigDecimal value = ((COSFloat) item).decimalValue();
+            numbers[index] = value.unscaledValue().longValue();
+            scales[index] = (byte) value.scale();
+        }
+    }
+
+    private static boolean isPackable(COSBase item)
+    {
+        // numbers with an id are indirect objects and we keep their identity
+        if (item == null || item.hasId())
+        {
+            return false;
+        }
+        if (item instanceof COSInteger)
+        {
+            return true;
+        }
+        if (item.getClass() == COSFloat.class)
+        {
+            BigDecimal value = ((COSFloat) item).decimalValue();
+            return value.scale() >= 0 && value.scale() <= Byte.MAX_VALUE
+                    && value.precision() < LONG_POWERS_OF_TEN.length;
+        }
+        return false;
+    }
+
+    private void inflate()
+    {
+        COSBase[] inflated = new COSBase[Math.max(INITIAL_CAPACITY, numbers.length)];
+        for (int i = 0; i < size; i++)
+        {
+            inflated[i] = unpack(i);
+        }
+        objects = inflated;
+        numbers = null;
+        scales = null;
+    }
+
+    private static int newCapacity(int capacity)
+    {
+        return Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+    }
+
+    private void checkPacked()
+    {
+        if (!isPacked())
+        {
+            throw new IllegalStateException("Items are not packed numbers");
+        }
+    }
+
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -23,7 +23,6 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -41,11 +40,11 @@ public class COSDictionary extends COSBase
     /**
      * The name-value pairs of this dictionary. The pairs are kept in the order they were added to the dictionary.
      */
-    private Map<COSName, COSBase> items = new LinkedHashMap<>();
+    private final COSNameMap items;
 
     public COSDictionary()
     {
-        // default constructor
+        this.items = new COSNameMap();
     }
 
     /**
@@ -55,7 +54,7 @@ public class COSDictionary extends COSBase
      */
     public COSDictionary(COSDictionary dict)
     {
-        items.putAll(dict.items);
+        this.items = new COSNameMap(dict.items);
     }
 
     /**
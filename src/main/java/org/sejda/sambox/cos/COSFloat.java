@@ -31,7 +31,12 @@ import java.util.regex.Pattern;
  */
 public class COSFloat extends COSNumber
 {
-    private BigDecimal value;
+    // decimals with up to this number of fraction digits and an unscaled value up to CACHE_LIMIT are cached and shared
+    private static final int MAX_CACHED_SCALE = 3;
+    private static final int CACHE_LIMIT = 1000;
+    private static final COSFloat[][] CACHE = new COSFloat[MAX_CACHED_SCALE][2 * CACHE_LIMIT + 1];
+
+    private final BigDecimal value;
 
     /**
      * @param aFloat The primitive float object that this object wraps.
@@ -43,16 +48,80 @@ public class COSFloat extends COSNumber
         value = new BigDecimal(String.valueOf(aFloat));
     }
 
+    /**
+     * @param value the decimal value this object wraps.
+     */
+    public COSFloat(BigDecimal value)
+    {
+        this.value = checkMinMaxValues(value);
+    }
+
     /**
      * @param aFloat The primitive float object that this object wraps.
      * @throws IOException If aFloat is not a float.
      */
     public COSFloat(String aFloat) throws IOException
+    {
+        this.value = checkMinMaxValues(parse(aFloat));
+    }
+
+    /**
+     * Factory method for a COSFloat with the value unscaled x 10^-scale. Instances for common values are cached and
+     * shared.
+     * 
+     * @param unscaled
+     * @param scale
+     * @return COSFloat instance
+     */
+    public static COSFloat get(long unscaled, int scale)
+    {
+        if (scale > 0 && scale <= MAX_CACHED_SCALE && unscaled >= -CACHE_LIMIT
+                && unscaled <= CACHE_LIMIT)
+        {
+            COSFloat[] cache = CACHE[scale - 1];
+            int index = (int) unscaled + CACHE_LIMIT;
+            // racy but safe, instances are immutable and equal
+            COSFloat value = cache[index];
+            if (value == null)
+            {
+                value = new COSFloat(BigDecimal.valueOf(unscaled, scale));
+                cache[index] = value;
+            }
+            return value;
+        }
+        return new COSFloat(BigDecimal.valueOf(unscaled, scale));
+    }
+
+    /**
+     * Cached instances are shared, they never carry an id since they cannot be identified as a specific indirect
+     * object.
+     */
+    @Override
+    public void idIfAbsent(IndirectCOSObjectIdentifier id)
+    {
+        if (!isCached())
+        {
+            super.idIfAbsent(id);
+        }
+    }
+
+    private boolean isCached()
+    {
+        int scale = value.scale();
+        if (scale > 0 && scale <= MAX_CACHED_SCALE && value.precision() <= 4)
+        {
+            long unscaled = value.unscaledValue().longValue();
+            return unscaled >= -CACHE_LIMIT && unscaled <= CACHE_LIMIT
+                    && CACHE[scale - 1][(int) unscaled + CACHE_LIMIT] == this;
+        }
+        return false;
+    }
+
+    private static BigDecimal parse(String aFloat) throws IOException
     {
         try
         {
-            value = new BigDecimal(aFloat);
-            checkMinMaxValues();
+            return new BigDecimal(aFloat);
         }
         catch (NumberFormatException e)
         {
@@ -61,8 +130,7 @@ public class COSFloat extends COSNumber
                     "Expected floating point number but found '" + aFloat + "'");
             try
             {
-                value = new BigDecimal("-" + matcher.group(1) + matcher.group(2));
-                checkMinMaxValues();
+                return new BigDecimal("-" + matcher.group(1) + matcher.group(2));
             }
             catch (NumberFormatException e2)
             {
@@ -72,7 +140,7 @@ public class COSFloat extends COSNumber
         }
     }
 
-    private void checkMinMaxValues()
+    private static BigDecimal checkMinMaxValues(BigDecimal value)
     {
         float floatValue = value.floatValue();
         double doubleValue = value.doubleValue();
@@ -99,8 +167,17 @@ public class COSFloat extends COSNumber
         }
         if (valueReplaced)
         {
-            value = new BigDecimal(floatValue);
+            return new BigDecimal(floatValue);
         }
+        return value;
+    }
+
+    /**
+     * @return the decimal value of this number
+     */
+    BigDecimal decimalValue()
+    {
+        return value;
     }
 
     @Override
@@ -17,8 +17,6 @@
 package org.sejda.sambox.cos;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represents an integer number in a PDF document.
@@ -28,7 +26,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class COSInteger extends COSNumber
 {
 
-    private static final Map<Long, COSInteger> CACHE = new ConcurrentHashMap<>();
+    // values in this range are cached and shared, covers the common coordinates and widths
+    private static final int LOW = -256;
+    private static final int HIGH = 8191;
+    private static final COSInteger[] CACHE = new COSInteger[HIGH - LOW + 1];
 
     public static final COSInteger ZERO = get(0);
     public static final COSInteger ONE = get(1);
@@ -36,24 +37,26 @@ public final class COSInteger extends COSNumber
     public static final COSInteger THREE = get(3);
 
     /**
-     * Factory method for a COSInteger instance with the given value.
+     * Factory method for a COSInteger instance with the given value. Instances for small values are cached and shared.
      *
      * @param val integer value
      * @return COSInteger instance
      */
     public static COSInteger get(long key)
     {
-        COSInteger value = CACHE.get(key);
-        if (value == null)
+        if (key >= LOW && key <= HIGH)
         {
-            final COSInteger newVal = new COSInteger(key);
-            value = CACHE.putIfAbsent(key, newVal);
+            int index = (int) key - LOW;
+            // racy but safe, instances are immutable and equal
+            COSInteger value = CACHE[index];
             if (value == null)
             {
-                value = newVal;
+                value = new COSInteger(key);
+                CACHE[index] = value;
             }
+            return value;
         }
-        return value;
+        return new COSInteger(key);
     }
 
     private final long value;
@@ -66,6 +69,24 @@ public final class COSInteger extends COSNumber
         this.value = value;
     }
 
+    /**
+     * Cached instances are shared, they never carry an id since they cannot be identified as a specific indirect
+     * object.
+     */
+    @Override
+    public void idIfAbsent(IndirectCOSObjectIdentifier id)
+    {
+        if (!isCached())
+        {
+            super.idIfAbsent(id);
+        }
+    }
+
+    private boolean isCached()
+    {
+        return value >= LOW && value <= HIGH && CACHE[(int) value - LOW] == this;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -17,10 +17,13 @@
 package org.sejda.sambox.cos;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.sejda.sambox.util.Charsets;
+
 /**
  * A PDF Name object.
  *
@@ -537,6 +540,10 @@ public final class COSName extends COSBase implements Comparable<COSName>
     public static final COSName Y_STEP = newCommonInstance("YStep");
     public static final COSName YES = newCommonInstance("Yes");
 
+    // common names keyed by their ISO-8859-1 bytes, it must be created after all the common instances
+    private static final CommonNamesTable COMMON_NAMES_BY_BYTES = new CommonNamesTable(
+            COMMON_NAMES.values());
+
     private final String name;
 
     /**
@@ -560,6 +567,25 @@ public final class COSName extends COSBase implements Comparable<COSName>
         return null;
     }
 
+    /**
+     * This will get a COSName object with the name corresponding to the given ISO-8859-1 encoded bytes. Common names
+     * are resolved without creating any String.
+     * 
+     * @param bytes
+     * @param offset offset of the name in the array
+     * @param length length of the name
+     * @return A COSName with the specified name.
+     */
+    public static COSName getPDFName(byte[] bytes, int offset, int length)
+    {
+        COSName cosName = COMMON_NAMES_BY_BYTES.get(bytes, offset, length);
+        if (cosName != null)
+        {
+            return cosName;
+        }
+        return getCustom(new String(bytes, offset, length, Charsets.ISO_8859_1));
+    }
+
     private static COSName getCustom(String customName)
     {
         COSName cosName = CUSTOM_NAMES.get(customName);
@@ -624,4 +650,73 @@ public final class COSName extends COSBase implements Comparable<COSName>
     {
         visitor.visit(this);
     }
+
+    /**
+     * Open addressing hash table of the common names keyed by their bytes
+     */
+    private static final class CommonNamesTable
+    {
+        private final byte[][] keys;
+        private final COSName[] values;
+
+        CommonNamesTable(Collection<COSName> names)
+        {
+            int capacity = Integer.highestOneBit(Math.max(names.size(), 1) * 4);
+            keys = new byte[capacity][];
+            values = new COSName[capacity];
+            for (COSName name : names)
+            {
+                byte[] key = name.getName().getBytes(Charsets.ISO_8859_1);
+                int slot = hash(key, 0, key.length) & (capacity - 1);
+                while (keys[slot] != null)
+                {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = key;
+                values[slot] = name;
+            }
+        }
+
+        COSName get(byte[] bytes, int offset, int length)
+        {
+            int mask = keys.length - 1;
+            int slot = hash(bytes, offset, length) & mask;
+            byte[] key;
+            while ((key = keys[slot]) != null)
+            {
+                if (equals(key, bytes, offset, length))
+                {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static boolean equals(byte[] key, byte[] bytes, int offset, int length)
+        {
+            if (key.length != length)
+            {
+                return false;
+            }
+            for (int i = 0; i < length; i++)
+            {
+                if (key[i] != bytes[offset + i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(byte[] bytes, int offset, int length)
+        {
+            int hash = 0x811C9DC5;
+            for (int i = offset; i < offset + length; i++)
+            {
+                hash = (hash ^ bytes[i]) * 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
 }
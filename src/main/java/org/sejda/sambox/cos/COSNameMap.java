@@ -0,0 +1,365 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.cos;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact insertion ordered map used as storage for the {@link COSDictionary} items. Keys and values are stored inline
+ * in two parallel arrays, small maps are looked up with a linear scan while bigger ones use an open addressing index
+ * of the arrays positions. Most of the dictionaries in a document have only a handful of entries, this avoids the
+ * table and the entry objects of a {@link java.util.LinkedHashMap}.
+ * <p>
+ * Entries returned by the entry set iterator hold their key and value, setting their value writes through to the map.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+final class COSNameMap extends AbstractMap<COSName, COSBase>
+{
+    // maps up to this size are looked up with a linear scan
+    static final int LINEAR_THRESHOLD = 8;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final COSName[] EMPTY_KEYS = new COSName[0];
+    private static final COSBase[] EMPTY_VALUES = new COSBase[0];
+
+    private COSName[] keys = EMPTY_KEYS;
+    private COSBase[] values = EMPTY_VALUES;
+    private int size;
+    // position of the key in the arrays plus one, 0 for empty slots. Null for maps looked up with a linear scan
+    private int[] index;
+    private int modCount;
+    private EntrySet entrySet;
+
+    COSNameMap()
+    {
+        // empty
+    }
+
+    COSNameMap(COSNameMap other)
+    {
+        if (other.size > 0)
+        {
+            this.keys = Arrays.copyOf(other.keys, other.size);
+            this.values = Arrays.copyOf(other.values, other.size);
+            this.size = other.size;
+            if (Objects.nonNull(other.index))
+            {
+                this.index = other.index.clone();
+            }
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public COSBase get(Object key)
+    {
+        int i = indexOf(key);
+        if (i >= 0)
+        {
+            return values[i];
+        }
+        return null;
+    }
+
+    @Override
+    public COSBase put(COSName key, COSBase value)
+    {
+        int i = indexOf(key);
+        if (i >= 0)
+        {
+            COSBase previous = values[i];
+            values[i] = value;
+            return previous;
+        }
+        if (size == keys.length)
+        {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+        if (size > LINEAR_THRESHOLD)
+        {
+            if (index == null || size * 2 > index.length)
+            {
+                rebuildIndex();
+            }
+            else
+            {
+                index[slot(key)] = size;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public COSBase remove(Object key)
+    {
+        int i = indexOf(key);
+        if (i >= 0)
+        {
+            COSBase previous = values[i];
+            removeAt(i);
+            return previous;
+        }
+        return null;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (size > 0)
+        {
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+            size = 0;
+            index = null;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<COSName, COSBase>> entrySet()
+    {
+        if (entrySet == null)
+        {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int indexOf(Object key)
+    {
+        if (index == null)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                // names are shared instances so identity is the common match
+                if (keys[i] == key || (keys[i] != null && keys[i].equals(key)))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return index[slot(key)] - 1;
+    }
+
+    /**
+     * @return the slot of the index where the given key is or the empty one where it should be
+     */
+    private int slot(Object key)
+    {
+        int mask = index.length - 1;
+        int slot = home(key);
+        while (index[slot] != 0 && !Objects.equals(keys[index[slot] - 1], key))
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the slot of the index where the given key should be if there were no collisions
+     */
+    private int home(Object key)
+    {
+        int hash = Objects.hashCode(key);
+        return (hash ^ (hash >>> 16)) & (index.length - 1);
+    }
+
+    /**
+     * Empties the given slot of the index, moving back the following entries of the same probe sequence so that they
+     * can still be found
+     */
+    private void deleteSlot(int slot)
+    {
+        int mask = index.length - 1;
+        int hole = slot;
+        index[hole] = 0;
+        for (int current = (hole + 1) & mask; index[current] != 0; current = (current + 1) & mask)
+        {
+            int home = home(keys[index[current] - 1]);
+            // the entry can fill the hole if the hole is between its home and its current slot
+            if (((current - home) & mask) >= ((current - hole) & mask))
+            {
+                index[hole] = index[current];
+                index[current] = 0;
+                hole = current;
+            }
+        }
+    }
+
+    private void rebuildIndex()
+    {
+        if (size > LINEAR_THRESHOLD)
+        {
+            index = new int[Integer.highestOneBit(size * 4 - 1)];
+            for (int i = 0; i < size; i++)
+            {
+                index[slot(keys[i])] = i + 1;
+            }
+        }
+        else
+        {
+            index = null;
+        }
+    }
+
+    private void removeAt(int i)
+    {
+        if (Objects.nonNull(index))
+        {
+            deleteSlot(slot(keys[i]));
+        }
+        int moved = size - i - 1;
+        if (moved > 0)
+        {
+            System.arraycopy(keys, i + 1, keys, i, moved);
+            System.arraycopy(values, i + 1, values, i, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+        if (Objects.nonNull(index))
+        {
+            if (size > LINEAR_THRESHOLD)
+            {
+                if (moved > 0)
+                {
+                    // positions following the removed one moved back by one
+                    for (int slot = 0; slot < index.length; slot++)
+                    {
+                        if (index[slot] > i + 1)
+                        {
+                            index[slot]--;
+                        }
+                    }
+                }
+            }
+            else
+            {
+                index = null;
+            }
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<COSName, COSBase>>
+    {
+        @Override
+        public Iterator<Map.Entry<COSName, COSBase>> iterator()
+        {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public void clear()
+        {
+            COSNameMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<COSName, COSBase>>
+    {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<COSName, COSBase> next()
+        {
+            if (modCount != expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size)
+            {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(keys[last], values[last]);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last < 0)
+            {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry extends AbstractMap.SimpleEntry<COSName, COSBase>
+    {
+        Entry(COSName key, COSBase value)
+        {
+            super(key, value);
+        }
+
+        @Override
+        public COSBase setValue(COSBase value)
+        {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -35,6 +35,15 @@ public final class COSNull extends COSBase
         // limit creation to one instance.
     }
 
+    /**
+     * The null object is shared, it never carries an id since it cannot be identified as a specific indirect object.
+     */
+    @Override
+    public void idIfAbsent(IndirectCOSObjectIdentifier id)
+    {
+        // nothing
+    }
+
     @Override
     public void accept(COSVisitor visitor) throws IOException
     {
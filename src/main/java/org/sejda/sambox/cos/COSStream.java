@@ -28,12 +28,15 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.sejda.io.SeekableSource;
+import org.sejda.sambox.filter.DecodeOptions;
 import org.sejda.sambox.filter.DecodeResult;
 import org.sejda.sambox.filter.Filter;
 import org.sejda.sambox.filter.FilterFactory;
@@ -174,6 +177,64 @@ public class COSStream extends COSDictionary implements Closeable, Encryptable
         return getStreamToDecode();
     }
 
+    /**
+     * Decoded stream where the last filter is asked to honor the given options. Data decoded with non default options
+     * is not cached. If the filter decoded only what was requested the options are flagged, see
+     * {@link DecodeOptions#isFilterSubsampled()}, otherwise the full decoded data is returned.
+     * 
+     * @param options
+     * @return the (decoded) stream with all of the filters applied.
+     * @throws IOException when encoding/decoding causes an exception
+     */
+    public InputStream getUnfilteredStream(DecodeOptions options) throws IOException
+    {
+        COSBase filters = getFilters();
+        if (options.isDefault() || filters == null)
+        {
+            return getUnfilteredStream();
+        }
+        synchronized (this)
+        {
+            if (unfiltered != null)
+            {
+                return new MyByteArrayInputStream(unfiltered);
+            }
+        }
+        if (filters instanceof COSName)
+        {
+            return new MyByteArrayInputStream(
+                    decode((COSName) filters, 0, getStreamToDecode(), options));
+        }
+        if (filters instanceof COSArray)
+        {
+            COSArray filtersArray = (COSArray) filters;
+            InputStream input = getStreamToDecode();
+            for (int i = 0; i < filtersArray.size(); i++)
+            {
+                // only the last filter can be an image one
+                input = new MyByteArrayInputStream(decode((COSName) filtersArray.getObject(i), i,
+                        input, i == filtersArray.size() - 1 ? options : DecodeOptions.DEFAULT));
+            }
+            return input;
+        }
+        throw new IOException("Unknown filter type:" + filters);
+    }
+
+    private byte[] decode(COSName filterName, int filterIndex, InputStream toDecode,
+            DecodeOptions options) throws IOException
+    {
+        if (toDecode.available() > 0)
+        {
+            Filter filter = FilterFactory.INSTANCE.getFilter(filterName);
+            try (MyByteArrayOutputStream out = new MyByteArrayOutputStream())
+            {
+                filter.decode(toDecode, out, this, filterIndex, options);
+                return out.toByteArray();
+            }
+        }
+        return new byte[0];
+    }
+
     /**
      * @return the (decoded) {@link SeekableSource} with all of the filters applied.
      * @throws IOException when encoding/decoding causes an exception
@@ -210,7 +271,7 @@ public class COSStream extends COSDictionary implements Closeable, Encryptable
         return Optional.ofNullable(filtered).map(f -> f.length).orElse(0);
     }
 
-    private void decodeIfRequired() throws IOException
+    private synchronized void decodeIfRequired() throws IOException
     {
         if (getFilters() != null)
         {
@@ -227,9 +288,12 @@ public class COSStream extends COSDictionary implements Closeable, Encryptable
      */
     public DecodeResult getDecodeResult() throws IOException
     {
-        if (unfiltered == null)
+        synchronized (this)
         {
-            doDecode();
+            if (unfiltered == null)
+            {
+                doDecode();
+            }
         }
 
         if (unfiltered == null || decodeResult == null)
@@ -674,7 +738,8 @@ public class COSStream extends COSDictionary implements Closeable, Encryptable
         private long startingPosition;
         private long length;
 
-        private SeekableSource view;
+        // views are bound to the thread that created them since the stream can be read concurrently
+        private final Map<Thread, SeekableSource> views = new HashMap<>(1);
 
         public LazySeekableSourceViewHolder(SeekableSource source, long startingPosition,
                 long length)
@@ -684,24 +749,34 @@ public class COSStream extends COSDictionary implements Closeable, Encryptable
             this.length = length;
         }
 
-        SeekableSource get() throws IOException
+        synchronized SeekableSource get() throws IOException
         {
+            SeekableSource view = views.get(Thread.currentThread());
             if (view == null)
             {
-                SeekableSource source = Optional.ofNullable(this.sourceRef.get())
-                        .filter(SeekableSource::isOpen).orElseThrow(() -> new IllegalStateException(
-                                "The original SeekableSource has been closed"));
-                view = source.view(startingPosition, length);
+                view = newView();
+                views.put(Thread.currentThread(), view);
             }
             view.position(0);
             return view;
         }
 
+        private SeekableSource newView() throws IOException
+        {
+            SeekableSource source = Optional.ofNullable(this.sourceRef.get())
+                    .filter(SeekableSource::isOpen).orElseThrow(() -> new IllegalStateException(
+                            "The original SeekableSource has been closed"));
+            return source.view(startingPosition, length);
+        }
+
         @Override
-        public void close() throws IOException
+        public synchronized void close() throws IOException
         {
-            IOUtils.close(view);
-            view = null;
+            for (SeekableSource view : views.values())
+            {
+                IOUtils.close(view);
+            }
+            views.clear();
         }
     }
 }
@@ -27,6 +27,7 @@ import java.lang.reflect.Field;
 
 import javax.imageio.IIOException;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
@@ -50,6 +51,13 @@ final class DCTFilter extends Filter
     @Override
     public DecodeResult decode(InputStream encoded, OutputStream decoded, COSDictionary parameters,
             int index) throws IOException
+    {
+        return decode(encoded, decoded, parameters, index, DecodeOptions.DEFAULT);
+    }
+
+    @Override
+    public DecodeResult decode(InputStream encoded, OutputStream decoded, COSDictionary parameters,
+            int index, DecodeOptions options) throws IOException
     {
         ImageReader reader = findImageReader("JPEG",
                 "a suitable JAI I/O image filter is not installed");
@@ -67,6 +75,7 @@ final class DCTFilter extends Filter
             reader.setInput(iis);
 
             String numChannels = getNumChannels(reader);
+            ImageReadParam param = readParam(reader, options);
 
             // get the raster using horrible JAI workarounds
             ImageIO.setUseCache(false);
@@ -80,21 +89,21 @@ final class DCTFilter extends Filter
                 try
                 {
                     // I'd like to use ImageReader#readRaster but it is buggy and can't read RGB correctly
-                    BufferedImage image = reader.read(0);
+                    BufferedImage image = reader.read(0, param);
                     raster = image.getRaster();
                 }
                 catch (IIOException e)
                 {
                     // JAI can't read CMYK JPEGs using ImageReader#read or ImageIO.read but
                     // fortunately ImageReader#readRaster isn't buggy when reading 4-channel files
-                    raster = reader.readRaster(0, null);
+                    raster = reader.readRaster(0, param);
                 }
             }
             else
             {
                 // JAI can't read CMYK JPEGs using ImageReader#read or ImageIO.read but
                 // fortunately ImageReader#readRaster isn't buggy when reading 4-channel files
-                raster = reader.readRaster(0, null);
+                raster = reader.readRaster(0, param);
             }
 
             // special handling for 4-component images
@@ -173,6 +182,7 @@ final class DCTFilter extends Filter
 
             DataBufferByte dataBuffer = (DataBufferByte) raster.getDataBuffer();
             decoded.write(dataBuffer.getData());
+            options.setFilterSubsampled(param != null);
         }
         finally
         {
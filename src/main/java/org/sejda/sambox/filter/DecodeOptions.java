@@ -0,0 +1,99 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.filter;
+
+import static org.sejda.util.RequireUtils.requireArg;
+
+import java.awt.Rectangle;
+
+/**
+ * Options used by image filters to decode only part of the image data. Filters that are able to honor the options
+ * (reading only the source region and skipping the rows and columns not part of the subsampling) do so and flag it
+ * using {@link #setFilterSubsampled(boolean)}, other filters ignore them and decode the whole data.
+ *
+ * @author Andrea Vacondio
+ */
+public final class DecodeOptions
+{
+    /**
+     * Options to decode the full data
+     */
+    public static final DecodeOptions DEFAULT = new DecodeOptions(null, 1);
+
+    private final Rectangle sourceRegion;
+    private final int subsampling;
+    private boolean filterSubsampled;
+
+    /**
+     * @param sourceRegion the region of the image to decode, in image pixels. A null value means the whole image.
+     * @param subsampling the subsampling factor, only one every subsampling rows and columns is decoded, starting from
+     * the first row and column of the region.
+     */
+    public DecodeOptions(Rectangle sourceRegion, int subsampling)
+    {
+        requireArg(subsampling > 0, "Subsampling must be a positive number");
+        requireArg(sourceRegion == null || !sourceRegion.isEmpty(), "Source region cannot be empty");
+        this.sourceRegion = sourceRegion;
+        this.subsampling = subsampling;
+    }
+
+    /**
+     * @return the region of the image to decode or null if the whole image should be decoded
+     */
+    public Rectangle getSourceRegion()
+    {
+        return sourceRegion;
+    }
+
+    /**
+     * @return the subsampling factor
+     */
+    public int getSubsampling()
+    {
+        return subsampling;
+    }
+
+    /**
+     * @return true if these options request the full data
+     */
+    public boolean isDefault()
+    {
+        return sourceRegion == null && subsampling == 1;
+    }
+
+    /**
+     * @return true if the filter decoded only the requested region with the requested subsampling
+     */
+    public boolean isFilterSubsampled()
+    {
+        return filterSubsampled;
+    }
+
+    /**
+     * Used by filters to notify that they decoded only the requested region with the requested subsampling. This is
+     * never set on the {@link #DEFAULT} instance.
+     * 
+     * @param filterSubsampled
+     */
+    void setFilterSubsampled(boolean filterSubsampled)
+    {
+        if (!isDefault())
+        {
+            this.filterSubsampled = filterSubsampled;
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.sejda.sambox.filter;
 
+import java.awt.Rectangle;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -23,6 +24,7 @@ import java.util.Iterator;
 import java.util.Optional;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 
 import org.sejda.sambox.cos.COSArray;
@@ -59,6 +61,25 @@ public abstract class Filter
     public abstract DecodeResult decode(InputStream encoded, OutputStream decoded,
             COSDictionary parameters, int index) throws IOException;
 
+    /**
+     * Decodes data, producing the original non-encoded data. Image filters can honor the given options decoding only
+     * part of the data, in that case they call {@link DecodeOptions#setFilterSubsampled(boolean)}. The default
+     * implementation ignores the options.
+     * 
+     * @param encoded the encoded byte stream
+     * @param decoded the stream where decoded data will be written
+     * @param parameters the parameters used for decoding
+     * @param index the index to the filter being decoded
+     * @param options the decode options
+     * @return repaired parameters dictionary, or the original parameters dictionary
+     * @throws IOException if the stream cannot be decoded
+     */
+    public DecodeResult decode(InputStream encoded, OutputStream decoded,
+            COSDictionary parameters, int index, DecodeOptions options) throws IOException
+    {
+        return decode(encoded, decoded, parameters, index);
+    }
+
     /**
      * Encodes data.
      * 
@@ -131,4 +152,32 @@ public abstract class Filter
         return reader;
     }
 
+    /**
+     * @param reader
+     * @param options
+     * @return the read param for the given options or null if the full image should be read
+     * @throws IOException
+     */
+    protected static ImageReadParam readParam(ImageReader reader, DecodeOptions options)
+            throws IOException
+    {
+        if (options.isDefault())
+        {
+            return null;
+        }
+        ImageReadParam param = reader.getDefaultReadParam();
+        Rectangle region = options.getSourceRegion();
+        if (region != null)
+        {
+            // the region is computed on the image dictionary dimensions, if the actual image doesn't contain it we
+            // decode the whole image and let the caller deal with it
+            if (!new Rectangle(reader.getWidth(0), reader.getHeight(0)).contains(region))
+            {
+                return null;
+            }
+            param.setSourceRegion(region);
+        }
+        param.setSourceSubsampling(options.getSubsampling(), options.getSubsampling(), 0, 0);
+        return param;
+    }
 }
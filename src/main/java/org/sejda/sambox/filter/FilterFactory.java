@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.util.Metrics;
 
 /**
  * Factory for Filter classes.
@@ -93,6 +94,10 @@ public final class FilterFactory
         {
             throw new IOException("Invalid filter: " + filterName);
         }
+        if (Metrics.isEnabled())
+        {
+            return new MeasuredFilter(filter);
+        }
         return filter;
     }
 
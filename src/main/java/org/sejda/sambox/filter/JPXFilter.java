@@ -25,6 +25,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 import javax.imageio.stream.ImageInputStream;
 
@@ -51,10 +52,17 @@ public final class JPXFilter extends Filter
     @Override
     public DecodeResult decode(InputStream encoded, OutputStream decoded,
                                          COSDictionary parameters, int index) throws IOException
+    {
+        return decode(encoded, decoded, parameters, index, DecodeOptions.DEFAULT);
+    }
+
+    @Override
+    public DecodeResult decode(InputStream encoded, OutputStream decoded,
+            COSDictionary parameters, int index, DecodeOptions options) throws IOException
     {
         DecodeResult result = new DecodeResult(new COSDictionary());
         result.getParameters().addAll(parameters);
-        BufferedImage image = readJPX(encoded, result);
+        BufferedImage image = readJPX(encoded, options, result);
 
         WritableRaster raster = image.getRaster();
         if (raster.getDataBuffer().getDataType() != DataBuffer.TYPE_BYTE)
@@ -68,7 +76,8 @@ public final class JPXFilter extends Filter
     }
 
     // try to read using JAI Image I/O
-    private BufferedImage readJPX(InputStream input, DecodeResult result) throws IOException
+    private BufferedImage readJPX(InputStream input, DecodeOptions options, DecodeResult result)
+            throws IOException
     {
         ImageReader reader = findImageReader("JPEG2000", "Java Advanced Imaging (JAI) Image I/O Tools are not installed");
         ImageInputStream iis = null;
@@ -80,7 +89,9 @@ public final class JPXFilter extends Filter
             BufferedImage image;
             try
             {
-                image = reader.read(0);
+                ImageReadParam param = readParam(reader, options);
+                image = reader.read(0, param);
+                options.setFilterSubsampled(param != null);
             }
             catch (Exception e)
             {
@@ -103,9 +114,9 @@ public final class JPXFilter extends Filter
                 parameters.removeItem(COSName.DECODE);
             }
 
-            // override dimensions, see PDFBOX-1735
-            parameters.setInt(COSName.WIDTH, image.getWidth());
-            parameters.setInt(COSName.HEIGHT, image.getHeight());
+            // override dimensions, see PDFBOX-1735. The image can be a subsampled region so we ask the reader
+            parameters.setInt(COSName.WIDTH, reader.getWidth(0));
+            parameters.setInt(COSName.HEIGHT, reader.getHeight(0));
 
             // extract embedded color space
             if (!parameters.containsKey(COSName.COLORSPACE))
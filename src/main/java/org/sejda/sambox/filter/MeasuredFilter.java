@@ -0,0 +1,76 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.util.Metrics;
+
+/**
+ * Filter decorator recording the decode time and decoded bytes of the decorated filter.
+ * 
+ * @author Andrea Vacondio
+ */
+final class MeasuredFilter extends Filter
+{
+    private final Filter filter;
+    private final String decodeTimer;
+    private final String decodedBytesCounter;
+
+    MeasuredFilter(Filter filter)
+    {
+        this.filter = filter;
+        this.decodeTimer = Metrics.FILTER_DECODE + filter.getClass().getSimpleName();
+        this.decodedBytesCounter = Metrics.FILTER_DECODED_BYTES
+                + filter.getClass().getSimpleName();
+    }
+
+    @Override
+    public DecodeResult decode(InputStream encoded, OutputStream decoded,
+            COSDictionary parameters, int index) throws IOException
+    {
+        return decode(encoded, decoded, parameters, index, DecodeOptions.DEFAULT);
+    }
+
+    @Override
+    public DecodeResult decode(InputStream encoded, OutputStream decoded,
+            COSDictionary parameters, int index, DecodeOptions options) throws IOException
+    {
+        CountingOutputStream counting = new CountingOutputStream(decoded);
+        long start = Metrics.start();
+        try
+        {
+            return filter.decode(encoded, counting, parameters, index, options);
+        }
+        finally
+        {
+            Metrics.stop(decodeTimer, start);
+            Metrics.increment(decodedBytesCounter, counting.getByteCount());
+        }
+    }
+
+    @Override
+    public void encode(InputStream input, OutputStream encoded, COSDictionary parameters)
+            throws IOException
+    {
+        filter.encode(input, encoded, parameters);
+    }
+}
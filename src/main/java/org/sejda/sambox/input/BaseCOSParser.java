@@ -17,6 +17,7 @@
 package org.sejda.sambox.input;
 
 import static org.sejda.sambox.util.CharUtils.isCarriageReturn;
+import static org.sejda.sambox.util.CharUtils.isDigit;
 import static org.sejda.sambox.util.CharUtils.isLineFeed;
 import static org.sejda.sambox.util.CharUtils.isSpace;
 
@@ -29,6 +30,7 @@ import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSBoolean;
 import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSFloat;
 import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSNull;
@@ -52,6 +54,8 @@ abstract class BaseCOSParser extends SourceReader
     public static final String OBJ = "obj";
     public static final String STREAM = "stream";
     public static final String ENDSTREAM = "endstream";
+    // digits that always fit a long
+    private static final int MAX_FAST_PARSED_DIGITS = 18;
 
     BaseCOSParser(SeekableSource source)
     {
@@ -209,9 +213,58 @@ abstract class BaseCOSParser extends SourceReader
      */
     public COSNumber nextNumber() throws IOException
     {
+        long start = position();
+        int c = source().read();
+        boolean negative = c == '-';
+        if (c == '+' || c == '-')
+        {
+            c = source().read();
+        }
+        // plain integers and decimals are parsed straight from the bytes, anything else (exponents, malformed numbers,
+        // too many digits) goes through the String based parsing
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        while (digits <= MAX_FAST_PARSED_DIGITS)
+        {
+            if (isDigit(c))
+            {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (scale >= 0)
+                {
+                    scale++;
+                }
+            }
+            else if (c == '.' && scale < 0)
+            {
+                scale = 0;
+            }
+            else
+            {
+                break;
+            }
+            c = source().read();
+        }
+        if (digits > 0 && digits <= MAX_FAST_PARSED_DIGITS && !isNumberChar(c))
+        {
+            unreadIfValid(c);
+            long value = negative ? -unscaled : unscaled;
+            if (scale < 0)
+            {
+                return COSInteger.get(value);
+            }
+            return COSFloat.get(value, scale);
+        }
+        position(start);
         return COSNumber.get(readNumber());
     }
 
+    private static boolean isNumberChar(int c)
+    {
+        return isDigit(c) || c == '.' || c == 'E' || c == 'e' || c == '+' || c == '-';
+    }
+
     /**
      * @return The next parsed null object from the stream. Null object is defined in Chap 7.3.9 of PDF 32000-1:2008
      * @throws IOException If there is an error during parsing.
@@ -228,7 +281,7 @@ abstract class BaseCOSParser extends SourceReader
      */
     public COSName nextName() throws IOException
     {
-        return COSName.getPDFName(readName());
+        return readCOSName();
     }
 
     /**
@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import org.sejda.io.SeekableSource;
 import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSNumber;
 import org.sejda.sambox.util.Charsets;
 import org.slf4j.Logger;
@@ -128,30 +129,43 @@ class COSParser extends BaseCOSParser
      */
     public COSBase nextNumberOrIndirectReference() throws IOException
     {
-        String first = readNumber();
+        COSNumber first = nextNumber();
         long offset = position();
         skipSpaces();
         if (isDigit(source().peek()))
         {
-            String second = readIntegerNumber();
+            long second = readSecondNumber();
             skipSpaces();
             if ('R' == source().read())
             {
-                try
-                {
-                    return new ExistingIndirectCOSObject(Long.parseLong(first),
-                            Integer.parseInt(second), provider);
-                }
-                catch (NumberFormatException nfe)
+                if (!(first instanceof COSInteger) || second < 0 || second > Integer.MAX_VALUE)
                 {
                     throw new IOException(String.format(
-                            "Unable to parse an object indirect reference with object number '%s' and generation number '%s'",
-                            first, second), nfe);
+                            "Unable to parse an object indirect reference with object number '%s' and generation number '%d'",
+                            first, second));
                 }
+                return new ExistingIndirectCOSObject(first.longValue(), (int) second, provider);
             }
         }
         position(offset);
-        return COSNumber.get(first);
+        return first;
+    }
+
+    /**
+     * @return the integer following a number that could be the generation number of an indirect reference or -1 if it
+     * doesn't fit a long.
+     */
+    private long readSecondNumber() throws IOException
+    {
+        try
+        {
+            return readLong();
+        }
+        catch (IOException e)
+        {
+            readIntegerNumber();
+            return -1;
+        }
     }
 
     public IndirectObjectsProvider provider()
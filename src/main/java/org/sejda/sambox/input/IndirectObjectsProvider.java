@@ -17,6 +17,7 @@
 package org.sejda.sambox.input;
 
 import java.io.Closeable;
+import java.io.IOException;
 
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSObjectKey;
@@ -85,6 +86,13 @@ interface IndirectObjectsProvider extends Closeable
      */
     public IndirectObjectsProvider initializeWith(SecurityHandler handler);
 
+    /**
+     * Loads all the objects this provider knows about, so that following requests don't need to parse them.
+     * 
+     * @throws IOException
+     */
+    public void loadAll() throws IOException;
+
     /**
      * @return the unique id for the provider.
      */
@@ -20,26 +20,36 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
 import static org.sejda.sambox.input.BaseCOSParser.ENDOBJ;
 import static org.sejda.sambox.input.BaseCOSParser.ENDSTREAM;
 import static org.sejda.sambox.input.BaseCOSParser.STREAM;
-import static org.sejda.sambox.input.SourceReader.OBJ;
 import static org.sejda.util.RequireUtils.requireIOCondition;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.sejda.io.SeekableSource;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
-import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSNull;
 import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.pdmodel.encryption.SecurityHandler;
+import org.sejda.sambox.util.BoundedCache;
+import org.sejda.sambox.util.Metrics;
 import org.sejda.sambox.xref.CompressedXrefEntry;
 import org.sejda.sambox.xref.Xref;
 import org.sejda.sambox.xref.XrefEntry;
@@ -53,28 +63,48 @@ import org.slf4j.LoggerFactory;
  * underlying source on demand (ie. when the {@link IndirectObjectsProvider#get(COSObjectKey)} method is called). Parsed
  * objects are stored in a cache to be reused. If for given a {@link COSObjectKey} no entry is found in the xref, a
  * fallback mechanism is activated performing a full scan of the document to retrieve all the objects defined in it.
+ * Object streams are decoded and indexed once, the decoded data is kept in a bounded cache and only the requested
+ * compressed objects are parsed.
  * 
  * @author Andrea Vacondio
  */
 class LazyIndirectObjectsProvider implements IndirectObjectsProvider
 {
     private static final Logger LOG = LoggerFactory.getLogger(LazyIndirectObjectsProvider.class);
+    // raw object streams data read by loadAll before decoding it
+    private static final long LOAD_ALL_BATCH_BYTES = 16 * 1024 * 1024;
 
     private Xref xref = new Xref();
     private ObjectsFullScanner scanner;
     // TODO references that the GC can claim
     private Map<COSObjectKey, COSBase> store = new ConcurrentHashMap<>();
+    // decoded object streams, bound to the size of the decoded data
+    private final BoundedCache<COSObjectKey, ObjectStreamIndex> objectStreams = new BoundedCache<>(
+            8 * 1024 * 1024, ObjectStreamIndex::size);
     private SecurityHandler securityHandler = null;
     private COSParser parser;
 
     @Override
     public COSBase get(COSObjectKey key)
     {
-        if (isNull(store.get(key)))
+        COSBase value = store.get(key);
+        if (isNull(value))
         {
-            parseObject(key);
+            // the parser is shared, objects are parsed one at a time
+            synchronized (this)
+            {
+                if (isNull(store.get(key)))
+                {
+                    parseObject(key);
+                }
+            }
+            value = store.get(key);
+        }
+        else
+        {
+            Metrics.increment(Metrics.OBJECTS_HITS);
         }
-        return store.get(key);
+        return value;
     }
 
     @Override
@@ -142,6 +172,7 @@ class LazyIndirectObjectsProvider implements IndirectObjectsProvider
     private void doParseFallbackObject(COSObjectKey key)
     {
         LOG.info("Trying fallback strategy for " + key);
+        Metrics.increment(Metrics.OBJECTS_FALLBACK);
         XrefEntry xrefEntry = scanner.entries().get(key);
         if (nonNull(xrefEntry))
         {
@@ -163,6 +194,7 @@ class LazyIndirectObjectsProvider implements IndirectObjectsProvider
     private void doParse(XrefEntry xrefEntry) throws IOException
     {
         LOG.trace("Parsing indirect object " + xrefEntry);
+        long start = Metrics.start();
         if (xrefEntry.getType() == XrefType.IN_USE)
         {
             parseInUseEntry(xrefEntry);
@@ -171,6 +203,7 @@ class LazyIndirectObjectsProvider implements IndirectObjectsProvider
         {
             parseCompressedEntry(xrefEntry);
         }
+        Metrics.stop(Metrics.OBJECTS_PARSE, start);
         LOG.trace("Parsing done");
     }
 
@@ -214,64 +247,148 @@ class LazyIndirectObjectsProvider implements IndirectObjectsProvider
                         && containingStreamEntry.getType() != XrefType.COMPRESSED,
                 "Expected an uncompressed indirect object reference for the ObjectStream");
 
-        parseObject(containingStreamEntry.key());
-        COSBase stream = store.get(containingStreamEntry.key()).getCOSObject();
+        ObjectStreamIndex index = objectStreams.get(containingStreamEntry.key(),
+                k -> indexObjectStream(containingStreamEntry));
+        // make sure the xref points to this copy of the object and not one in another more recent stream
+        if (containingStreamEntry.owns(xref.get(xrefEntry.key())))
+        {
+            COSBase object = index.parse(xrefEntry.getObjectNumber(), this);
+            if (object != null)
+            {
+                LOG.trace("Parsed compressed object " + xrefEntry.key() + " " + object.getClass());
+                store.putIfAbsent(xrefEntry.key(), object);
+            }
+        }
+    }
 
+    private ObjectStreamIndex indexObjectStream(XrefEntry containingStreamEntry)
+            throws IOException
+    {
+        COSBase stream = ofNullable(store.get(containingStreamEntry.key())).orElseGet(() -> {
+            parseObject(containingStreamEntry.key());
+            return store.get(containingStreamEntry.key());
+        });
+        stream = ofNullable(stream).map(COSBase::getCOSObject).orElse(null);
         if (!(stream instanceof COSStream))
         {
             throw new IOException(
                     "Expected an object stream instance for " + containingStreamEntry);
         }
-        parseObjectStream(containingStreamEntry, (COSStream) stream);
+        try
+        {
+            return ObjectStreamIndex.index((COSStream) stream);
+        }
+        finally
+        {
+            // the index holds the decoded data, the stream can be decoded again if the index is evicted
+            ((COSStream) stream).unDecode();
+        }
     }
 
-    private void parseObjectStream(XrefEntry containingStreamEntry, COSStream stream)
-            throws IOException
+    /**
+     * Loads all the objects in the xref. Objects are parsed reading the source sequentially, front to back, in the
+     * order of their byte offset. The raw data of the object streams is read during the same pass and, every
+     * {@link #LOAD_ALL_BATCH_BYTES} bytes of raw data, the object streams read so far are decoded and parsed in
+     * parallel, once each. Objects already loaded are not parsed again.
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void loadAll() throws IOException
     {
-        try (COSParser streamParser = new COSParser(stream.getUnfilteredSource(), this))
+        Set<COSObjectKey> objectStreamsKeys = new HashSet<>();
+        List<XrefEntry> inUse;
+        synchronized (this)
         {
-            int numberOfObjects = stream.getInt(COSName.N);
-            requireIOCondition(numberOfObjects >= 0,
-                    "Missing or negative required objects stream size");
-            long firstOffset = stream.getLong(COSName.FIRST);
-            requireIOCondition(firstOffset >= 0,
-                    "Missing or negative required bytes offset of the fist object in the objects stream");
-            Map<Long, Long> entries = new TreeMap<>();
-            for (int i = 0; i < numberOfObjects; i++)
+            for (XrefEntry entry : xref.values())
             {
-                long number = streamParser.readObjectNumber();
-                long offset = firstOffset + streamParser.readLong();
-                entries.put(offset, number);
+                if (entry.getType() == XrefType.COMPRESSED && !store.containsKey(entry.key()))
+                {
+                    objectStreamsKeys.add(new COSObjectKey(
+                            ((CompressedXrefEntry) entry).getObjectStreamNumber(), 0));
+                }
             }
-            LOG.trace("Found " + entries.size() + " entries in object stream of size "
-                    + streamParser.source().size());
-            for (Entry<Long, Long> entry : entries.entrySet())
+            inUse = xref.values().stream().filter(e -> e.getType() == XrefType.IN_USE)
+                    .sorted(Comparator.comparingLong(XrefEntry::getByteOffset))
+                    .collect(Collectors.toList());
+        }
+        LOG.debug("Eagerly loading {} objects and {} object streams", inUse.size(),
+                objectStreamsKeys.size());
+        int next = 0;
+        while (next < inUse.size())
+        {
+            Map<XrefEntry, COSStream> streams = new LinkedHashMap<>();
+            Map<XrefEntry, byte[]> rawObjectStreams = new HashMap<>();
+            long batchBytes = 0;
+            synchronized (this)
             {
-                LOG.trace("Parsing compressed object " + entry.getValue() + " at offset "
-                        + entry.getKey());
-                streamParser.position(entry.getKey());
-                if (streamParser.skipTokenIfValue(OBJ))
+                for (; next < inUse.size() && batchBytes < LOAD_ALL_BATCH_BYTES; next++)
                 {
-                    LOG.warn("Unexptected 'obj' token in objects stream");
+                    XrefEntry entry = inUse.get(next);
+                    if (!store.containsKey(entry.key()))
+                    {
+                        parseObject(entry.key());
+                    }
+                    if (objectStreamsKeys.contains(entry.key()))
+                    {
+                        COSBase stream = ofNullable(store.get(entry.key()))
+                                .map(COSBase::getCOSObject).orElse(null);
+                        if (stream instanceof COSStream)
+                        {
+                            try (InputStream raw = ((COSStream) stream).getFilteredStream())
+                            {
+                                byte[] bytes = toByteArray(raw);
+                                rawObjectStreams.put(entry, bytes);
+                                streams.put(entry, (COSStream) stream);
+                                batchBytes += bytes.length;
+                            }
+                        }
+                    }
                 }
-                COSBase object = streamParser.nextParsedToken();
-                if (object != null)
+            }
+            loadObjectStreams(streams, rawObjectStreams);
+        }
+    }
+
+    /**
+     * Decodes and parses in parallel the given object streams from their raw bytes
+     */
+    private void loadObjectStreams(Map<XrefEntry, COSStream> streams,
+            Map<XrefEntry, byte[]> rawObjectStreams)
+    {
+        try
+        {
+            streams.entrySet().parallelStream().forEach(e -> {
+                byte[] raw = rawObjectStreams.get(e.getKey());
+                // a copy backed by the raw bytes so the decoding doesn't touch the shared source
+                try (SeekableSource rawSource = inMemorySeekableSourceFrom(raw);
+                        COSStream copy = new COSStream(e.getValue(), rawSource, 0, raw.length))
                 {
-                    COSObjectKey key = new COSObjectKey(entry.getValue(), 0);
-                    // make sure the xref points to this copy of the object and not one in another more recent stream
-                    if (containingStreamEntry.owns(xref.get(key)))
+                    ObjectStreamIndex index = ObjectStreamIndex.index(copy);
+                    for (long number : index.objectNumbers())
                     {
-                        LOG.trace("Parsed compressed object " + key + " " + object.getClass());
-                        store.put(key, object);
+                        COSObjectKey key = new COSObjectKey(number, 0);
+                        if (e.getKey().owns(xref.get(key)) && !store.containsKey(key))
+                        {
+                            COSBase object = index.parse(number, this);
+                            if (object != null)
+                            {
+                                store.putIfAbsent(key, object);
+                            }
+                        }
                     }
                 }
-                if (streamParser.skipTokenIfValue(ENDOBJ))
+                catch (IOException ex)
                 {
-                    LOG.warn("Unexptected 'endobj' token in objects stream");
+                    throw new UncheckedIOException(ex);
                 }
-            }
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            // objects will be lazily parsed on demand, with the usual fallbacks
+            LOG.warn("An error occurred while eagerly loading object streams", e.getCause());
         }
-        IOUtils.close(stream);
     }
 
     @Override
@@ -280,6 +397,7 @@ class LazyIndirectObjectsProvider implements IndirectObjectsProvider
         store.values().stream().filter(o -> o instanceof Closeable).map(o -> (Closeable) o)
                 .forEach(IOUtils::closeQuietly);
         store.clear();
+        objectStreams.clear();
     }
 
     @Override
@@ -0,0 +1,168 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.input;
+
+import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
+import static org.sejda.sambox.input.BaseCOSParser.ENDOBJ;
+import static org.sejda.sambox.input.SourceReader.OBJ;
+import static org.sejda.util.RequireUtils.requireIOCondition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The decoded data of an object stream and the table of the offsets of the objects it contains. Objects are parsed
+ * one at a time, on demand.
+ * 
+ * @author Andrea Vacondio
+ */
+final class ObjectStreamIndex
+{
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectStreamIndex.class);
+
+    private final byte[] data;
+    // sorted object numbers and the corresponding offsets
+    private final long[] numbers;
+    private final long[] offsets;
+
+    private ObjectStreamIndex(byte[] data, long[] numbers, long[] offsets)
+    {
+        this.data = data;
+        this.numbers = numbers;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Decodes the given object stream and reads its offsets table
+     * 
+     * @param stream
+     * @return the index
+     * @throws IOException
+     */
+    static ObjectStreamIndex index(COSStream stream) throws IOException
+    {
+        int numberOfObjects = stream.getInt(COSName.N);
+        requireIOCondition(numberOfObjects >= 0,
+                "Missing or negative required objects stream size");
+        long firstOffset = stream.getLong(COSName.FIRST);
+        requireIOCondition(firstOffset >= 0,
+                "Missing or negative required bytes offset of the fist object in the objects stream");
+        byte[] data;
+        try (InputStream unfiltered = stream.getUnfilteredStream())
+        {
+            data = IOUtils.toByteArray(unfiltered);
+        }
+        // each entry of the offsets table takes at least two bytes
+        requireIOCondition(numberOfObjects <= data.length / 2,
+                "Objects stream size " + numberOfObjects + " exceeds the stream length");
+        long[] objectNumbers = new long[numberOfObjects];
+        long[] objectOffsets = new long[numberOfObjects];
+        try (SourceReader reader = new SourceReader(inMemorySeekableSourceFrom(data)))
+        {
+            for (int i = 0; i < numberOfObjects; i++)
+            {
+                objectNumbers[i] = reader.readObjectNumber();
+                objectOffsets[i] = firstOffset + reader.readLong();
+            }
+        }
+        LOG.trace("Found " + numberOfObjects + " entries in object stream of size " + data.length);
+
+        long[] numbers = objectNumbers.clone();
+        Arrays.sort(numbers);
+        int size = 0;
+        for (int i = 0; i < numberOfObjects; i++)
+        {
+            if (size == 0 || numbers[size - 1] != numbers[i])
+            {
+                numbers[size++] = numbers[i];
+            }
+        }
+        numbers = Arrays.copyOf(numbers, size);
+        // for duplicate numbers the last one wins
+        long[] offsets = new long[size];
+        for (int i = 0; i < numberOfObjects; i++)
+        {
+            offsets[Arrays.binarySearch(numbers, objectNumbers[i])] = objectOffsets[i];
+        }
+        return new ObjectStreamIndex(data, numbers, offsets);
+    }
+
+    /**
+     * @return the object numbers of the objects in the stream, sorted
+     */
+    long[] objectNumbers()
+    {
+        return numbers.clone();
+    }
+
+    /**
+     * @param objectNumber
+     * @return true if the stream contains an object with the given number
+     */
+    boolean contains(long objectNumber)
+    {
+        return Arrays.binarySearch(numbers, objectNumber) >= 0;
+    }
+
+    /**
+     * Parses the object with the given number
+     * 
+     * @param objectNumber
+     * @param provider the provider for the indirect references of the parsed object
+     * @return the parsed object or null if the stream doesn't contain an object with the given number
+     * @throws IOException
+     */
+    COSBase parse(long objectNumber, IndirectObjectsProvider provider) throws IOException
+    {
+        int index = Arrays.binarySearch(numbers, objectNumber);
+        if (index < 0)
+        {
+            return null;
+        }
+        LOG.trace("Parsing compressed object " + objectNumber + " at offset " + offsets[index]);
+        try (COSParser parser = new COSParser(inMemorySeekableSourceFrom(data), provider))
+        {
+            parser.position(offsets[index]);
+            if (parser.skipTokenIfValue(OBJ))
+            {
+                LOG.warn("Unexptected 'obj' token in objects stream");
+            }
+            COSBase object = parser.nextParsedToken();
+            if (parser.skipTokenIfValue(ENDOBJ))
+            {
+                LOG.warn("Unexptected 'endobj' token in objects stream");
+            }
+            return object;
+        }
+    }
+
+    /**
+     * @return the size in bytes of the decoded stream
+     */
+    int size()
+    {
+        return data.length;
+    }
+}
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.sejda.sambox.util.Metrics;
 import org.sejda.sambox.xref.Xref;
 import org.sejda.sambox.xref.XrefEntry;
 import org.slf4j.Logger;
@@ -51,6 +52,7 @@ class ObjectsFullScanner
     private void scan()
     {
         LOG.info("Performing full scan to retrieve objects");
+        long start = Metrics.start();
         try
         {
             long savedPos = reader.position();
@@ -68,6 +70,7 @@ class ObjectsFullScanner
         {
             LOG.error("An error occurred performing a full scan of the document", e);
         }
+        Metrics.stop(Metrics.OBJECTS_FULL_SCAN, start);
     }
 
     private void addEntryIfObjectDefinition(long offset, String line) throws IOException
@@ -21,6 +21,7 @@ import static org.sejda.sambox.util.SpecVersionUtils.PDF_HEADER;
 import static org.sejda.util.RequireUtils.requireIOCondition;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.sejda.io.SeekableSource;
@@ -62,13 +63,15 @@ public class PDFParser
      * 
      * @param source {@link SeekableSource} to parse
      * @param password to be used for decryption. Optional.
+     * @param options
      * @return the parsed document
      * @throws IOException
      */
-    public static PDDocument parse(SeekableSource source, String password) throws IOException
+    public static PDDocument parse(SeekableSource source, String password, ParseOption... options)
+            throws IOException
     {
         return parse(source, Optional.ofNullable(password).map(StandardDecryptionMaterial::new)
-                .orElse(null));
+                .orElse(null), options);
     }
 
     /**
@@ -77,15 +80,20 @@ public class PDFParser
      * 
      * @param source {@link SeekableSource} to parse
      * @param decryptionMaterial to be used for decryption. Optional.
+     * @param options
      * @return the parsed document
      * @throws IOException
      */
-    public static PDDocument parse(SeekableSource source, DecryptionMaterial decryptionMaterial)
-            throws IOException
+    public static PDDocument parse(SeekableSource source, DecryptionMaterial decryptionMaterial,
+            ParseOption... options) throws IOException
     {
         requireNonNull(source);
         COSParser parser = new COSParser(source);
         PDDocument document = doParse(decryptionMaterial, parser);
+        if (Arrays.asList(options).contains(ParseOption.EAGER_LOAD))
+        {
+            parser.provider().loadAll();
+        }
         document.setOnCloseAction(() -> {
             IOUtils.close(parser.provider());
             IOUtils.close(parser);
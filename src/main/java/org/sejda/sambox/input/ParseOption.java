@@ -0,0 +1,32 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.input;
+
+/**
+ * Options that can be selected when parsing a PDF document.
+ * 
+ * @author Andrea Vacondio
+ */
+public enum ParseOption
+{
+    /**
+     * Loads all the objects of the document right after the xref is parsed, reading the source sequentially front to
+     * back and decoding each object stream once. Useful when the whole document is going to be visited, especially
+     * when random access to the source is expensive.
+     */
+    EAGER_LOAD;
+}
@@ -35,9 +35,11 @@ import static org.sejda.util.RequireUtils.requireNotNullArg;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.sejda.io.SeekableSource;
 import org.sejda.sambox.SAMBox;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.sambox.util.CharUtils;
 import org.sejda.sambox.util.Charsets;
@@ -67,6 +69,7 @@ class SourceReader implements Closeable
                 b.setLength(0);
                 b.trimToSize();
             });
+    private byte[] nameBuffer = new byte[64];
     private SeekableSource source;
 
     public SourceReader(SeekableSource source)
@@ -341,55 +344,74 @@ class SourceReader implements Closeable
     /**
      * Reads a token conforming with PDF Name Objects chap 7.3.5 PDF 32000-1:2008.
      * 
-     * @return the generation number being read.
+     * @return the name being read.
      * @throws IOException if an I/O error occurs
      */
     public String readName() throws IOException
+    {
+        int length = readNameBytes();
+        return new String(nameBuffer, 0, length, Charsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads a token conforming with PDF Name Objects chap 7.3.5 PDF 32000-1:2008 and returns the corresponding
+     * {@link COSName}. Common names are resolved from the name bytes without creating an intermediate String.
+     * 
+     * @return the name being read.
+     * @throws IOException if an I/O error occurs
+     */
+    public COSName readCOSName() throws IOException
+    {
+        int length = readNameBytes();
+        return COSName.getPDFName(nameBuffer, 0, length);
+    }
+
+    /**
+     * Reads the name bytes, resolving the escaped chars, into the name buffer
+     * 
+     * @return the number of bytes read
+     */
+    private int readNameBytes() throws IOException
     {
         skipExpected('/');
-        StringBuilder builder = pool.borrow();
-        try
+        int length = 0;
+        int i;
+        while (((i = source.read()) != -1) && !isEndOfName(i))
         {
-            int i;
-            while (((i = source.read()) != -1) && !isEndOfName(i))
+            if (i == '#')
             {
-                char c = (char) i;
-                if (c == '#')
+                int ch1 = source.read();
+                int ch2 = source.read();
+                requireIOCondition(ch2 != -1 && ch1 != -1,
+                        "Expected 2-digit hexadecimal code but was end of file");
+
+                // Prior to PDF v1.2, the # was not a special character. Also,
+                // it has been observed that various PDF tools do not follow the
+                // spec with respect to the # escape, even though they report
+                // PDF versions of 1.2 or later. The solution here is that we
+                // interpret the # as an escape only when it is followed by two
+                // valid hex digits.
+                //
+                if (isHexDigit((char) ch1) && isHexDigit((char) ch2))
                 {
-                    int ch1 = source.read();
-                    int ch2 = source.read();
-                    requireIOCondition(ch2 != -1 && ch1 != -1,
-                            "Expected 2-digit hexadecimal code but was end of file");
-
-                    // Prior to PDF v1.2, the # was not a special character. Also,
-                    // it has been observed that various PDF tools do not follow the
-                    // spec with respect to the # escape, even though they report
-                    // PDF versions of 1.2 or later. The solution here is that we
-                    // interpret the # as an escape only when it is followed by two
-                    // valid hex digits.
-                    //
-                    if (isHexDigit((char) ch1) && isHexDigit((char) ch2))
-                    {
-                        String hex = "" + (char) ch1 + (char) ch2;
-                        c = (char) Integer.parseInt(hex, 16);
-                    }
-                    else
-                    {
-                        source.back(2);
-                        LOG.warn(
-                                "Found NUMBER SIGN (#) not used as escaping char while reading name at "
-                                        + position());
-                    }
+                    i = (Character.digit(ch1, 16) << 4) + Character.digit(ch2, 16);
+                }
+                else
+                {
+                    source.back(2);
+                    LOG.warn(
+                            "Found NUMBER SIGN (#) not used as escaping char while reading name at "
+                                    + position());
                 }
-                builder.append(c);
             }
-            unreadIfValid(i);
-            return builder.toString();
-        }
-        finally
-        {
-            pool.give(builder);
+            if (length == nameBuffer.length)
+            {
+                nameBuffer = Arrays.copyOf(nameBuffer, length * 2);
+            }
+            nameBuffer[length++] = (byte) i;
         }
+        unreadIfValid(i);
+        return length;
     }
 
     /**
@@ -398,19 +420,7 @@ class SourceReader implements Closeable
      */
     public int readInt() throws IOException
     {
-        String intBuffer = readIntegerNumber();
-        try
-        {
-            return Integer.parseInt(intBuffer);
-        }
-        catch (NumberFormatException e)
-        {
-            source.back(intBuffer.getBytes(Charsets.ISO_8859_1).length);
-            throw new IOException(
-                    String.format("Expected an integer type at offset %d but was '%s'", position(),
-                            intBuffer),
-                    e);
-        }
+        return (int) readInteger(Integer.MIN_VALUE, Integer.MAX_VALUE, "an integer");
     }
 
     /**
@@ -419,17 +429,55 @@ class SourceReader implements Closeable
      */
     public long readLong() throws IOException
     {
-        String longBuffer = readIntegerNumber();
-        try
+        return readInteger(Long.MIN_VALUE, Long.MAX_VALUE, "a long");
+    }
+
+    /**
+     * Parses a token conforming with a PDF Integer object straight from the source bytes, without creating an
+     * intermediate String.
+     * 
+     * @param min the minimum accepted value
+     * @param max the maximum accepted value
+     * @param type description of the expected type used in the error message
+     * @return the value
+     * @throws IOException if the token is not an integer in the [min, max] range. The source is positioned at the
+     * beginning of the token.
+     */
+    private long readInteger(long min, long max, String type) throws IOException
+    {
+        skipSpaces();
+        long start = position();
+        int c = source.read();
+        boolean negative = c == '-';
+        if (c == '+' || c == '-')
+        {
+            c = source.read();
+        }
+        // accumulates negatively, the same way Long.parseLong does, to handle the minimum value
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        boolean valid = isDigit(c);
+        while (c != -1 && isDigit(c))
         {
-            return Long.parseLong(longBuffer);
+            int digit = c - '0';
+            if (result < multiplyLimit || result * 10 < limit + digit)
+            {
+                valid = false;
+            }
+            result = result * 10 - digit;
+            c = source.read();
         }
-        catch (NumberFormatException e)
+        unreadIfValid(c);
+        if (!valid)
         {
-            source.back(longBuffer.getBytes(Charsets.ISO_8859_1).length);
-            throw new IOException(String.format("Expected a long type at offset %d but was '%s'",
-                    position(), longBuffer), e);
+            position(start);
+            String token = readIntegerNumber();
+            position(start);
+            throw new IOException(String.format("Expected %s type at offset %d but was '%s'", type,
+                    position(), token));
         }
+        return negative ? result : -result;
     }
 
     /**
@@ -16,6 +16,7 @@
  */
 package org.sejda.sambox.output;
 
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.sejda.util.RequireUtils.requireNotNullArg;
 import static org.sejda.util.RequireUtils.requireState;
@@ -23,6 +24,7 @@ import static org.sejda.util.RequireUtils.requireState;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -34,8 +36,10 @@ import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSNull;
 import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.cos.COSVisitor;
+import org.sejda.sambox.cos.DisposableCOSObject;
 import org.sejda.sambox.cos.IndirectCOSObjectReference;
 import org.sejda.sambox.input.ExistingIndirectCOSObject;
+import org.sejda.sambox.util.Metrics;
 
 /**
  * Base component providing methods to write the body of a pdf document. This implementation starts from the document
@@ -52,6 +56,8 @@ abstract class AbstractPDFBodyWriter implements COSVisitor, Closeable
     private Queue<IndirectCOSObjectReference> stack = new LinkedList<>();
     private PDFWriteContext context;
     private boolean open = true;
+    // true while writing pages, objects whose writing has been deferred are not written
+    private boolean writingPages;
 
     AbstractPDFBodyWriter(PDFWriteContext context)
     {
@@ -73,7 +79,34 @@ abstract class AbstractPDFBodyWriter implements COSVisitor, Closeable
     public void write(COSDocument document) throws IOException
     {
         requireState(open, "The writer is closed");
+        long start = Metrics.start();
         document.accept(this);
+        Metrics.stop(Metrics.WRITE_BODY, start);
+    }
+
+    /**
+     * Writes the given pages and all the objects reachable from them. Objects whose writing has been deferred using
+     * {@link PDFWriteContext#createDeferredIndirectReferenceFor(COSBase)} are not written, they are written by a
+     * following {@link #write(COSDocument)}.
+     * 
+     * @param pages
+     * @throws IOException
+     */
+    public void writePages(Collection<? extends COSBase> pages) throws IOException
+    {
+        requireState(open, "The writer is closed");
+        long start = Metrics.start();
+        writingPages = true;
+        try
+        {
+            pages.forEach(this::createIndirectReferenceIfNeededFor);
+            startWriting();
+        }
+        finally
+        {
+            writingPages = false;
+        }
+        Metrics.stop(Metrics.WRITE_BODY, start);
     }
 
     @Override
@@ -97,11 +130,14 @@ abstract class AbstractPDFBodyWriter implements COSVisitor, Closeable
     void startWriting() throws IOException
     {
         IndirectCOSObjectReference item;
+        long written = 0;
         while ((item = stack.poll()) != null)
         {
             item.getCOSObject().accept(this);
             writeObject(item);
+            written++;
         }
+        Metrics.increment(Metrics.WRITE_OBJECTS, written);
         onCompletion();
     }
 
@@ -168,7 +204,7 @@ abstract class AbstractPDFBodyWriter implements COSVisitor, Closeable
         if (value.indirectLength())
         {
             IndirectCOSObjectReference length = context
-                    .createNonStorableInObjectStreamIndirectReferenceFor(COSNull.NULL);
+                    .createNonStorableInObjectStreamPlaceholderReference();
             value.setItem(COSName.LENGTH, length);
             stack.add(length);
         }
@@ -180,7 +216,20 @@ abstract class AbstractPDFBodyWriter implements COSVisitor, Closeable
     {
         if (!context.hasIndirectReferenceFor(item))
         {
-            stack.add(context.getOrCreateIndirectReferenceFor(item));
+            IndirectCOSObjectReference ref = context.createIndirectReferenceUnlessDuplicate(item);
+            if (nonNull(ref))
+            {
+                stack.add(ref);
+            }
+            else if (item instanceof DisposableCOSObject)
+            {
+                // a duplicate, it's not going to be written
+                ((DisposableCOSObject) item).releaseCOSObject();
+            }
+        }
+        else if (!writingPages)
+        {
+            ofNullable(context.removeDeferredIndirectReferenceFor(item)).ifPresent(stack::add);
         }
     }
 
@@ -19,8 +19,10 @@ package org.sejda.sambox.output;
 import static org.sejda.sambox.contentstream.operator.Operator.BI_OPERATOR;
 import static org.sejda.sambox.contentstream.operator.Operator.EI_OPERATOR;
 import static org.sejda.sambox.contentstream.operator.Operator.ID_OPERATOR;
+import static org.sejda.util.RequireUtils.requireArg;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +42,22 @@ import org.sejda.sambox.util.Charsets;
  */
 public class ContentStreamWriter extends DefaultCOSWriter
 {
+    /**
+     * Maximum number of fraction digits supported by {@link #writeNumber(float, int)}
+     */
+    public static final int MAX_FRACTION_DIGITS = 15;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+    static
+    {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++)
+        {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // scratch buffer where numbers are formatted, a long needs 19 digits plus the decimal point
+    private final byte[] digits = new byte[20];
 
     public ContentStreamWriter(CountingWritableByteChannel channel)
     {
@@ -100,6 +118,161 @@ public class ContentStreamWriter extends DefaultCOSWriter
         writer().write(SPACE);
     }
 
+    /**
+     * Writes the given operator name followed by an EOL. The name is expected to be ASCII.
+     * 
+     * @param operator
+     * @throws IOException
+     */
+    public void writeOperator(String operator) throws IOException
+    {
+        for (int i = 0; i < operator.length(); i++)
+        {
+            writer().write((byte) operator.charAt(i));
+        }
+        writeEOL();
+    }
+
+    /**
+     * Writes the given integer number without creating any intermediate object.
+     * 
+     * @param value
+     * @throws IOException
+     */
+    public void writeNumber(long value) throws IOException
+    {
+        if (value == Long.MIN_VALUE)
+        {
+            writer().write(Long.toString(value));
+            return;
+        }
+        if (value < 0)
+        {
+            writer().write((byte) '-');
+        }
+        writeDigits(Math.abs(value), 0);
+    }
+
+    /**
+     * Writes the given number as a plain decimal, without exponent and without creating any intermediate object. The
+     * shortest representation with at most maxFractionDigits fraction digits that reads back as the same float is
+     * written, if there's no such representation the value is rounded to maxFractionDigits fraction digits.
+     * 
+     * @param value a finite number
+     * @param maxFractionDigits the maximum number of fraction digits, between 0 and {@link #MAX_FRACTION_DIGITS}
+     * @throws IOException
+     * @throws IllegalArgumentException if the value is not finite or the fraction digits are out of range
+     */
+    public void writeNumber(float value, int maxFractionDigits) throws IOException
+    {
+        // not using requireArg to avoid building the message for every number
+        if (Float.isNaN(value) || Float.isInfinite(value))
+        {
+            throw new IllegalArgumentException("Cannot write a number that is not finite: " + value);
+        }
+        requireArg(maxFractionDigits >= 0 && maxFractionDigits <= MAX_FRACTION_DIGITS,
+                "Fraction digits must be between 0 and " + MAX_FRACTION_DIGITS);
+        float abs = Math.abs(value);
+        if (abs >= 0x1p53f)
+        {
+            // integral values too big for a long, hardly ever found in a content stream
+            writer().write(new BigDecimal(value).toPlainString());
+            return;
+        }
+        // 9 significant digits are always enough for a float to read back as the same value so we look for the
+        // shortest representation between 0 and the fraction digits giving 9 significant digits
+        int high = Math.min(maxFractionDigits, significantFractionDigits(abs));
+        int low = 0;
+        long scaled = scaled(abs, high);
+        if (readsBackAs(scaled, high, abs))
+        {
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                long candidate = scaled(abs, middle);
+                if (readsBackAs(candidate, middle, abs))
+                {
+                    high = middle;
+                    scaled = candidate;
+                }
+                else
+                {
+                    low = middle + 1;
+                }
+            }
+        }
+        int fractionDigits = high;
+        while (fractionDigits > 0 && scaled % 10 == 0)
+        {
+            scaled /= 10;
+            fractionDigits--;
+        }
+        if (value < 0 && scaled != 0)
+        {
+            writer().write((byte) '-');
+        }
+        writeDigits(scaled, fractionDigits);
+    }
+
+    /**
+     * @return the number of fraction digits giving 9 significant digits for the given positive value
+     */
+    private static int significantFractionDigits(float value)
+    {
+        if (value >= 1)
+        {
+            int integerDigits = 1;
+            while (integerDigits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[integerDigits])
+            {
+                integerDigits++;
+            }
+            return Math.max(0, 9 - integerDigits);
+        }
+        int leadingZeros = 0;
+        while (leadingZeros < MAX_FRACTION_DIGITS
+                && (double) value * POWERS_OF_TEN[leadingZeros + 1] < 1)
+        {
+            leadingZeros++;
+        }
+        return leadingZeros + 9;
+    }
+
+    private static long scaled(float value, int fractionDigits)
+    {
+        return Math.round((double) value * POWERS_OF_TEN[fractionDigits]);
+    }
+
+    private static boolean readsBackAs(long scaled, int fractionDigits, float value)
+    {
+        return (float) ((double) scaled / POWERS_OF_TEN[fractionDigits]) == value;
+    }
+
+    /**
+     * Writes the given positive value divided by 10^fractionDigits
+     */
+    private void writeDigits(long value, int fractionDigits) throws IOException
+    {
+        int position = digits.length;
+        for (int i = 0; i < fractionDigits; i++)
+        {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        if (fractionDigits > 0)
+        {
+            digits[--position] = '.';
+        }
+        do
+        {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (; position < digits.length; position++)
+        {
+            writer().write(digits[position]);
+        }
+    }
+
     private void writeOperator(Operator token) throws IOException
     {
         writer().write(token.getName().getBytes(Charsets.ISO_8859_1));
@@ -26,6 +26,7 @@ import org.sejda.io.BufferedCountingChannelWriter;
 import org.sejda.io.CountingWritableByteChannel;
 import org.sejda.sambox.cos.IndirectCOSObjectReference;
 import org.sejda.sambox.util.Charsets;
+import org.sejda.sambox.util.Metrics;
 import org.sejda.util.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,7 +106,8 @@ class IndirectObjectsWriter implements Closeable
 
     private void doWriteObject(IndirectCOSObjectReference object) throws IOException
     {
-        object.xrefEntry().setByteOffset(writer.writer().offset());
+        long offset = writer.writer().offset();
+        object.xrefEntry().setByteOffset(offset);
         writer.writer().write(Long.toString(object.xrefEntry().getObjectNumber()));
         writer.writer().write(SPACE);
         writer.writer().write(Integer.toString(object.xrefEntry().getGenerationNumber()));
@@ -116,6 +118,7 @@ class IndirectObjectsWriter implements Closeable
         writer.writer().writeEOL();
         writer.writer().write(ENDOBJ);
         writer.writer().writeEOL();
+        Metrics.increment(Metrics.WRITE_BYTES, writer.writer().offset() - offset);
         LOG.trace("Written object " + object.xrefEntry());
     }
 
@@ -0,0 +1,473 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.output;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSBoolean;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSFloat;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNull;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.cos.COSVisitor;
+import org.sejda.sambox.cos.IndirectCOSObjectIdentifier;
+import org.sejda.sambox.cos.IndirectCOSObjectReference;
+import org.sejda.sambox.input.ExistingIndirectCOSObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component finding identical {@link COSDictionary} and {@link COSStream} objects so that they can be written once and
+ * referred using the same indirect reference. Objects are compared using a digest of their content: keys of the
+ * dictionaries are sorted, the {@link COSName#LENGTH} of the streams is ignored and the filtered bytes of the streams
+ * are hashed. Indirect objects referred by an object are part of its digest through their own digest, or
+ * through their new indirect reference when they have already been written and their digest is unknown.
+ * <p>
+ * Objects whose identity matters (pages, annotations, form fields, optional content groups, objects with a back
+ * reference to their parent...) and objects part of a reference cycle are never deduplicated.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ */
+class ObjectsDeduplicator
+{
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectsDeduplicator.class);
+
+    private static final List<COSName> IDENTITY_TYPES = Arrays.asList(COSName.CATALOG,
+            COSName.PAGES, COSName.PAGE, COSName.ANNOT, COSName.OCG, COSName.SIG);
+    private static final List<COSName> IDENTITY_KEYS = Arrays.asList(COSName.PARENT, COSName.P,
+            COSName.KIDS, COSName.RECT, COSName.FT);
+    private static final Digest NOT_DEDUPLICABLE = new Digest(new byte[0]);
+
+    private final PDFWriteContext context;
+    private final Map<IndirectCOSObjectIdentifier, Digest> digests = new ConcurrentHashMap<>();
+    // digests of the new objects that don't have an id yet. Only dictionaries and streams are memoized and they don't
+    // override equals, so this works as a weak identity map
+    private final Map<COSBase, Digest> unidentified = Collections
+            .synchronizedMap(new WeakHashMap<>());
+    private final Map<Digest, IndirectCOSObjectReference> references = new ConcurrentHashMap<>();
+
+    ObjectsDeduplicator(PDFWriteContext context)
+    {
+        this.context = context;
+    }
+
+    /**
+     * @param digest
+     * @return the reference of a previously added object with the given digest or null if there is no such object
+     */
+    IndirectCOSObjectReference referenceFor(Digest digest)
+    {
+        return references.get(digest);
+    }
+
+    /**
+     * @param item
+     * @return the reference of the previously added object identical to the given item, if the digest of the item has
+     * already been computed and there is such an object, null otherwise. This doesn't compute any digest.
+     */
+    IndirectCOSObjectReference knownReferenceFor(COSBase item)
+    {
+        Digest digest = memoized(item);
+        if (nonNull(digest) && digest != NOT_DEDUPLICABLE)
+        {
+            return references.get(digest);
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given item, with the given digest and assigned the given reference, as the original of the identical
+     * objects that will follow
+     * 
+     * @param item
+     * @param digest
+     * @param ref
+     */
+    void add(COSBase item, Digest digest, IndirectCOSObjectReference ref)
+    {
+        memoize(item, digest);
+        references.putIfAbsent(digest, ref);
+    }
+
+    /**
+     * @param item
+     * @return the digest of the given item or null if the item cannot be deduplicated
+     */
+    Digest digest(COSBase item)
+    {
+        Digest digest = memoized(item);
+        if (isNull(digest))
+        {
+            if (!(item.getCOSObject() instanceof COSDictionary))
+            {
+                return null;
+            }
+            try
+            {
+                digest = digest(item, Collections.newSetFromMap(new IdentityHashMap<>()));
+            }
+            catch (IOException e)
+            {
+                LOG.warn("Unable to compute the digest of an object, it won't be deduplicated", e);
+                return null;
+            }
+        }
+        if (digest == NOT_DEDUPLICABLE)
+        {
+            return null;
+        }
+        return digest;
+    }
+
+    private Digest memoized(COSBase item)
+    {
+        if (item.hasId())
+        {
+            Digest digest = digests.get(item.id());
+            if (nonNull(digest))
+            {
+                return digest;
+            }
+        }
+        if (item instanceof COSDictionary)
+        {
+            return unidentified.get(item);
+        }
+        return null;
+    }
+
+    private void memoize(COSBase item, Digest digest)
+    {
+        if (item.hasId())
+        {
+            digests.put(item.id(), digest);
+            unidentified.remove(item);
+        }
+        else
+        {
+            unidentified.put(item, digest);
+        }
+    }
+
+    private Digest digest(COSBase item, Set<COSBase> inProgress) throws IOException
+    {
+        Digest digest = memoized(item);
+        if (nonNull(digest))
+        {
+            return digest;
+        }
+        COSBase object = item.getCOSObject();
+        if (!inProgress.add(object))
+        {
+            // reference cycle
+            return NOT_DEDUPLICABLE;
+        }
+        try
+        {
+            DigestingVisitor visitor = new DigestingVisitor(inProgress);
+            object.accept(visitor);
+            digest = visitor.result();
+            memoize(item, digest);
+            return digest;
+        }
+        finally
+        {
+            inProgress.remove(object);
+        }
+    }
+
+    private static byte[] hash(COSStream stream)
+    {
+        MessageDigest md = sha256();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = stream.getFilteredStream())
+        {
+            int read;
+            while ((read = in.read(buffer)) != -1)
+            {
+                md.update(buffer, 0, read);
+            }
+            return md.digest();
+        }
+        catch (IOException e)
+        {
+            LOG.warn("Unable to read the stream bytes", e);
+            return null;
+        }
+    }
+
+    private static MessageDigest sha256()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // should never happen
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true if the given item is written as an indirect object
+     */
+    private static boolean isIndirect(COSBase item)
+    {
+        return item instanceof ExistingIndirectCOSObject || item instanceof COSDictionary;
+    }
+
+    private static boolean hasIdentity(COSDictionary dictionary)
+    {
+        return IDENTITY_TYPES.contains(dictionary.getCOSName(COSName.TYPE))
+                || IDENTITY_KEYS.stream().anyMatch(dictionary::containsKey);
+    }
+
+    /**
+     * Feeds a {@link MessageDigest} with a canonical representation of the visited object
+     */
+    private class DigestingVisitor implements COSVisitor
+    {
+        private final MessageDigest md = sha256();
+        private final Set<COSBase> inProgress;
+        private boolean deduplicable = true;
+
+        DigestingVisitor(Set<COSBase> inProgress)
+        {
+            this.inProgress = inProgress;
+        }
+
+        Digest result()
+        {
+            if (deduplicable)
+            {
+                return new Digest(md.digest());
+            }
+            return NOT_DEDUPLICABLE;
+        }
+
+        private void indirect(COSBase item) throws IOException
+        {
+            Digest digest = memoized(item);
+            if (nonNull(digest) && digest != NOT_DEDUPLICABLE)
+            {
+                md.update((byte) 'R');
+                md.update(digest.value);
+            }
+            else if (context.hasIndirectReferenceFor(item))
+            {
+                md.update((byte) 'r');
+                update(context.getIndirectReferenceFor(item).xrefEntry().getObjectNumber());
+            }
+            else
+            {
+                digest = digest(item, inProgress);
+                if (digest == NOT_DEDUPLICABLE)
+                {
+                    deduplicable = false;
+                }
+                else
+                {
+                    md.update((byte) 'R');
+                    md.update(digest.value);
+                }
+            }
+        }
+
+        private void value(COSBase item) throws IOException
+        {
+            COSBase value = ofNullable(item).orElse(COSNull.NULL);
+            if (isIndirect(value))
+            {
+                indirect(value);
+            }
+            else
+            {
+                value.accept(this);
+            }
+        }
+
+        private void update(long value)
+        {
+            for (int i = 56; i >= 0; i -= 8)
+            {
+                md.update((byte) (value >>> i));
+            }
+        }
+
+        private void update(byte[] value)
+        {
+            update(value.length);
+            md.update(value);
+        }
+
+        @Override
+        public void visit(COSArray value) throws IOException
+        {
+            md.update((byte) 'a');
+            update(value.size());
+            for (int i = 0; i < value.size() && deduplicable; i++)
+            {
+                value(value.get(i));
+            }
+        }
+
+        @Override
+        public void visit(COSBoolean value)
+        {
+            md.update((byte) (value.getValue() ? 't' : 'f'));
+        }
+
+        @Override
+        public void visit(COSDictionary value) throws IOException
+        {
+            md.update((byte) 'd');
+            entries(value, false);
+        }
+
+        private void entries(COSDictionary value, boolean stream) throws IOException
+        {
+            if (hasIdentity(value))
+            {
+                deduplicable = false;
+                return;
+            }
+            List<COSName> keys = new ArrayList<>(value.keySet());
+            if (stream)
+            {
+                keys.remove(COSName.LENGTH);
+            }
+            Collections.sort(keys);
+            update(keys.size());
+            for (int i = 0; i < keys.size() && deduplicable; i++)
+            {
+                visit(keys.get(i));
+                value(value.getItem(keys.get(i)));
+            }
+        }
+
+        @Override
+        public void visit(COSFloat value)
+        {
+            md.update((byte) 'F');
+            update(value.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public void visit(COSInteger value)
+        {
+            md.update((byte) 'I');
+            update(value.longValue());
+        }
+
+        @Override
+        public void visit(COSName value)
+        {
+            md.update((byte) 'N');
+            update(value.getName().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void visit(COSNull value)
+        {
+            md.update((byte) 'n');
+        }
+
+        @Override
+        public void visit(COSStream value) throws IOException
+        {
+            md.update((byte) 's');
+            entries(value, true);
+            if (deduplicable)
+            {
+                byte[] hash = hash(value);
+                if (isNull(hash))
+                {
+                    deduplicable = false;
+                }
+                else
+                {
+                    md.update(hash);
+                }
+            }
+        }
+
+        @Override
+        public void visit(COSString value)
+        {
+            md.update((byte) 'S');
+            update(value.getBytes());
+        }
+
+        @Override
+        public void visit(IndirectCOSObjectReference value)
+        {
+            md.update((byte) 'r');
+            update(value.xrefEntry().getObjectNumber());
+        }
+    }
+
+    /**
+     * Digest of an object
+     */
+    static final class Digest
+    {
+        private final byte[] value;
+        private final int hash;
+
+        Digest(byte[] value)
+        {
+            this.value = value;
+            this.hash = Arrays.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Digest && Arrays.equals(value, ((Digest) o).value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
@@ -22,13 +22,24 @@ import static org.sejda.util.RequireUtils.requireNotNullArg;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 
 import org.sejda.io.CountingWritableByteChannel;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSDocument;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.encryption.EncryptionContext;
 import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPageTree;
 import org.sejda.sambox.util.SpecVersionUtils;
 import org.sejda.util.IOUtils;
 import org.slf4j.Logger;
@@ -46,6 +57,7 @@ public class PDDocumentWriter implements Closeable
     private DefaultPDFWriter writer;
     private PDFWriteContext context;
     private Optional<EncryptionContext> encryptionContext;
+    private boolean started;
 
     public PDDocumentWriter(CountingWritableByteChannel channel,
             Optional<EncryptionContext> encryptionContext, WriteOption... options)
@@ -68,25 +80,101 @@ public class PDDocumentWriter implements Closeable
     public void write(PDDocument document) throws IOException
     {
         requireNotNullArg(document, "PDDocument cannot be null");
-        if (context.hasWriteOption(WriteOption.XREF_STREAM)
-                || context.hasWriteOption(WriteOption.OBJECT_STREAMS))
+        start(document);
+        writeBody(document.getDocument());
+        writeXref(document);
+    }
+
+    /**
+     * Writes the pages of the given {@link PDDocument} that haven't been written yet, together with all the objects
+     * reachable from them, except the page tree nodes. This allows to merge documents with a memory footprint bounded
+     * by the largest source document: pages can be imported from a source, written using this method and the source
+     * can be closed before opening the next one, since written objects are released by the writer.
+     * <p>
+     * Written pages are not modified, they are still referenced by the page tree of the given document together with
+     * their direct objects and the new objects reachable from them. Objects loaded from an existing document are
+     * released once written and loaded again if accessed.
+     * </p>
+     * <p>
+     * A final call to {@link #write(PDDocument)} is required to write the page tree and the rest of the document. The
+     * header version is written by the first call to this method, so it has to be set before the first call.
+     * </p>
+     * 
+     * @param document
+     * @throws IOException
+     */
+    public void writePages(PDDocument document) throws IOException
+    {
+        requireNotNullArg(document, "PDDocument cannot be null");
+        start(document);
+        Set<COSBase> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<COSBase> pages = new ArrayList<>();
+        Queue<COSDictionary> queue = new LinkedList<>();
+        queue.add(document.getPages().getCOSObject());
+        COSDictionary node;
+        while ((node = queue.poll()) != null)
+        {
+            if (nodes.add(node))
+            {
+                COSArray kids = node.getDictionaryObject(COSName.KIDS, COSArray.class);
+                for (int i = 0; kids != null && i < kids.size(); i++)
+                {
+                    COSBase kid = kids.get(i);
+                    if (kid != null && kid.getCOSObject() instanceof COSDictionary)
+                    {
+                        COSDictionary kidDictionary = (COSDictionary) kid.getCOSObject();
+                        if (PDPageTree.isPageTreeNode(kidDictionary))
+                        {
+                            queue.add(kidDictionary);
+                        }
+                        else if (!context.hasIndirectReferenceFor(kid))
+                        {
+                            pages.add(kid);
+                        }
+                    }
+                }
+            }
+        }
+        if (!pages.isEmpty())
         {
-            document.requireMinVersion(SpecVersionUtils.V1_5);
+            // the page tree nodes are written by the final write, once all the pages have been added
+            nodes.stream().filter(n -> !context.hasIndirectReferenceFor(n))
+                    .forEach(context::createDeferredIndirectReferenceFor);
+            try (AbstractPDFBodyWriter bodyWriter = objectStreamWriter(bodyWriter()))
+            {
+                LOG.debug("Writing {} pages using {}", pages.size(), bodyWriter.getClass());
+                bodyWriter.writePages(pages);
+            }
         }
-        ofNullable(document.getDocument().getTrailer())
-                .ifPresent(t -> t.removeItem(COSName.ENCRYPT));
+    }
+
+    /**
+     * Writes the header of the document the first time it's invoked
+     */
+    private void start(PDDocument document) throws IOException
+    {
+        if (!started)
+        {
+            if (context.hasWriteOption(WriteOption.XREF_STREAM)
+                    || context.hasWriteOption(WriteOption.OBJECT_STREAMS))
+            {
+                document.requireMinVersion(SpecVersionUtils.V1_5);
+            }
+            ofNullable(document.getDocument().getTrailer())
+                    .ifPresent(t -> t.removeItem(COSName.ENCRYPT));
 
-        encryptionContext.ifPresent(c -> {
-            document.getDocument()
-                    .setEncryptionDictionary(c.security.encryption.generateEncryptionDictionary(c));
-            LOG.debug("Generated encryption dictionary");
-            ofNullable(document.getDocumentCatalog().getMetadata()).map(m -> m.getCOSObject())
-                    .ifPresent(str -> str.encryptable(c.security.encryptMetadata));
-        });
+            encryptionContext.ifPresent(c -> {
+                document.getDocument().setEncryptionDictionary(
+                        c.security.encryption.generateEncryptionDictionary(c));
+                LOG.debug("Generated encryption dictionary");
+                ofNullable(document.getDocumentCatalog().getMetadata())
+                        .map(m -> m.getCOSObject())
+                        .ifPresent(str -> str.encryptable(c.security.encryptMetadata));
+            });
 
-        writer.writeHeader(document.getDocument().getHeaderVersion());
-        writeBody(document.getDocument());
-        writeXref(document);
+            writer.writeHeader(document.getDocument().getHeaderVersion());
+            started = true;
+        }
     }
 
     private void writeBody(COSDocument document) throws IOException
@@ -16,6 +16,8 @@
  */
 package org.sejda.sambox.output;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 
 import java.util.Arrays;
@@ -54,7 +56,9 @@ class PDFWriteContext
     private String contextId = UUID.randomUUID().toString();
     private IndirectReferenceProvider referencesProvider = new IndirectReferenceProvider();
     private Map<IndirectCOSObjectIdentifier, IndirectCOSObjectReference> lookupNewRef = new ConcurrentHashMap<>();
+    private Map<IndirectCOSObjectIdentifier, IndirectCOSObjectReference> deferred = new ConcurrentHashMap<>();
     private List<WriteOption> opts;
+    private ObjectsDeduplicator deduplicator;
     private SortedMap<Long, XrefEntry> written = new ConcurrentSkipListMap<>();
     public final Optional<GeneralEncryptionAlgorithm> encryptor;
 
@@ -62,6 +66,10 @@ class PDFWriteContext
     {
         this.encryptor = ofNullable(encryptor);
         this.opts = Arrays.asList(options);
+        if (hasWriteOption(WriteOption.DEDUPLICATE_OBJECTS))
+        {
+            this.deduplicator = new ObjectsDeduplicator(this);
+        }
     }
 
     /**
@@ -76,6 +84,66 @@ class PDFWriteContext
 
     }
 
+    /**
+     * Creates a new {@link IndirectCOSObjectReference} for the given item, unless the
+     * {@link WriteOption#DEDUPLICATE_OBJECTS} option is set and an object identical to the given item has already been
+     * added to the context. In that case the item is associated to the reference of the identical object and it doesn't
+     * need to be written. Ids are never assigned to duplicates, new objects are associated to the reference through the
+     * digest the deduplicator computed for them.
+     * 
+     * @param item
+     * @return the created reference or null if the item is a duplicate of an object already added to the context
+     */
+    IndirectCOSObjectReference createIndirectReferenceUnlessDuplicate(COSBase item)
+    {
+        ObjectsDeduplicator.Digest digest = ofNullable(deduplicator).map(d -> d.digest(item))
+                .orElse(null);
+        if (nonNull(digest))
+        {
+            IndirectCOSObjectReference original = deduplicator.referenceFor(digest);
+            if (nonNull(original))
+            {
+                LOG.trace("Found duplicate of {}", original);
+                if (item.hasId())
+                {
+                    lookupNewRef.put(item.id(), original);
+                }
+                return null;
+            }
+            IndirectCOSObjectReference newRef = createIndirectReferenceFor(item);
+            deduplicator.add(item, digest, newRef);
+            return newRef;
+        }
+        return createIndirectReferenceFor(item);
+    }
+
+    /**
+     * Creates a new {@link IndirectCOSObjectReference} for the given item whose writing has been deferred
+     * 
+     * @param item
+     * @return the created reference
+     */
+    IndirectCOSObjectReference createDeferredIndirectReferenceFor(COSBase item)
+    {
+        IndirectCOSObjectReference newRef = createIndirectReferenceFor(item);
+        deferred.put(item.id(), newRef);
+        return newRef;
+    }
+
+    /**
+     * @param item
+     * @return the deferred {@link IndirectCOSObjectReference} for the given item, removing it from the deferred ones,
+     * or null if the writing of the item has not been deferred.
+     */
+    IndirectCOSObjectReference removeDeferredIndirectReferenceFor(COSBase item)
+    {
+        if (item.hasId())
+        {
+            return deferred.remove(item.id());
+        }
+        return null;
+    }
+
     /**
      * Creates a new {@link NonStorableInObjectStreams} for the given item
      * 
@@ -88,6 +156,20 @@ class PDFWriteContext
                 referencesProvider::nextNonStorableInObjectStreamsReferenceFor);
     }
 
+    /**
+     * Creates a new {@link NonStorableInObjectStreams} whose value is set later (ex. the length of a stream). The
+     * reference is not associated to any object in the context.
+     * 
+     * @return the created reference
+     */
+    IndirectCOSObjectReference createNonStorableInObjectStreamPlaceholderReference()
+    {
+        IndirectCOSObjectReference ref = referencesProvider
+                .nextNonStorableInObjectStreamsReferenceFor(null);
+        LOG.trace("Created new placeholder indirect reference '{}' ", ref);
+        return ref;
+    }
+
     private IndirectCOSObjectReference createNewReference(COSBase item,
             Function<COSBase, IndirectCOSObjectReference> supplier)
     {
@@ -106,7 +188,11 @@ class PDFWriteContext
         IndirectCOSObjectReference newRef = supplier.apply(item);
         LOG.trace("Created new indirect reference '{}' ", newRef);
         item.idIfAbsent(new IndirectCOSObjectIdentifier(newRef.xrefEntry().key(), contextId));
-        lookupNewRef.put(item.id(), newRef);
+        // shared instances (cached numbers, null) don't take an id and are always written as direct objects
+        if (item.hasId())
+        {
+            lookupNewRef.put(item.id(), newRef);
+        }
         return newRef;
     }
 
@@ -122,7 +208,7 @@ class PDFWriteContext
         if (hasIndirectReferenceFor(item))
         {
             // I met it already
-            return lookupNewRef.get(item.id());
+            return getIndirectReferenceFor(item);
         }
         return createIndirectReferenceFor(item);
     }
@@ -134,7 +220,16 @@ class PDFWriteContext
      */
     IndirectCOSObjectReference getIndirectReferenceFor(COSBase item)
     {
-        return lookupNewRef.get(item.id());
+        IndirectCOSObjectReference ref = null;
+        if (item.hasId())
+        {
+            ref = lookupNewRef.get(item.id());
+        }
+        if (isNull(ref) && nonNull(deduplicator))
+        {
+            ref = deduplicator.knownReferenceFor(item);
+        }
+        return ref;
     }
 
     /**
@@ -143,7 +238,7 @@ class PDFWriteContext
      */
     boolean hasIndirectReferenceFor(COSBase item)
     {
-        return item.hasId() && lookupNewRef.containsKey(item.id());
+        return nonNull(getIndirectReferenceFor(item));
     }
 
     /**
@@ -38,5 +38,10 @@ public enum WriteOption
     /**
      * Adds a Flate filter to the streams if not already there
      */
-    COMPRESS_STREAMS;
+    COMPRESS_STREAMS,
+    /**
+     * Writes once identical streams and dictionaries, referring them using the same indirect reference. Useful when
+     * merging documents sharing the same fonts, images or ICC profiles
+     */
+    DEDUPLICATE_OBJECTS;
 }
@@ -17,28 +17,41 @@
 
 package org.sejda.sambox.pdmodel;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.sejda.sambox.SAMBox;
 import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.sambox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
 import org.sejda.sambox.pdmodel.font.PDFont;
 import org.sejda.sambox.pdmodel.graphics.PDXObject;
 import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
+import org.sejda.sambox.pdmodel.graphics.image.ImageCacheKey;
 import org.sejda.sambox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.sejda.sambox.pdmodel.graphics.shading.PDShading;
 import org.sejda.sambox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.sejda.sambox.util.BoundedCache;
+import org.sejda.sambox.util.CacheStats;
 
 /**
  * A resource cached based on SoftReference, retains resources until memory pressure causes them to be garbage
- * collected.
+ * collected. Decoded images are kept in a {@link BoundedCache} that strongly retains up to a given amount of bytes,
+ * least recently used images are demoted to soft references.
  *
  * @author John Hewson
  */
 public class DefaultResourceCache implements ResourceCache
 {
+    /**
+     * Default bytes of decoded images strongly retained, it can be changed using the
+     * {@link SAMBox#IMAGES_CACHE_SIZE_PROPERTY} system property
+     */
+    public static final long DEFAULT_IMAGES_CACHE_SIZE = 64 * 1024 * 1024;
+
     private final Map<COSObjectKey, SoftReference<PDFont>> fonts = new HashMap<>();
     private final Map<COSObjectKey, SoftReference<PDColorSpace>> colorSpaces = new HashMap<>();
     private final Map<COSObjectKey, SoftReference<PDXObject>> xobjects = new HashMap<>();
@@ -46,6 +59,20 @@ public class DefaultResourceCache implements ResourceCache
     private final Map<COSObjectKey, SoftReference<PDShading>> shadings = new HashMap<>();
     private final Map<COSObjectKey, SoftReference<PDAbstractPattern>> patterns = new HashMap<>();
     private final Map<COSObjectKey, SoftReference<PDPropertyList>> properties = new HashMap<>();
+    private final BoundedCache<ImageCacheKey, BufferedImage> images;
+
+    public DefaultResourceCache()
+    {
+        this(Long.getLong(SAMBox.IMAGES_CACHE_SIZE_PROPERTY, DEFAULT_IMAGES_CACHE_SIZE));
+    }
+
+    /**
+     * @param imagesCacheSize bytes of decoded images strongly retained by the cache
+     */
+    public DefaultResourceCache(long imagesCacheSize)
+    {
+        this.images = new BoundedCache<>(imagesCacheSize, DefaultResourceCache::sizeOf);
+    }
 
     @Override
     public PDFont getFont(COSObjectKey key)
@@ -131,6 +158,33 @@ public class DefaultResourceCache implements ResourceCache
         xobjects.put(key, new SoftReference<>(xobject));
     }
 
+    @Override
+    public BufferedImage getImage(ImageCacheKey key)
+    {
+        return images.get(key);
+    }
+
+    @Override
+    public void put(ImageCacheKey key, BufferedImage image)
+    {
+        images.put(key, image);
+    }
+
+    /**
+     * @return statistics of the decoded images cache
+     */
+    public CacheStats imagesStats()
+    {
+        return images.stats();
+    }
+
+    private static long sizeOf(BufferedImage image)
+    {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
     @Override
     public void clear()
     {
@@ -141,5 +195,6 @@ public class DefaultResourceCache implements ResourceCache
         properties.clear();
         shadings.clear();
         xobjects.clear();
+        images.clear();
     }
 }
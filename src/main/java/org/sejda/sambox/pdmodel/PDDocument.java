@@ -28,6 +28,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.channels.WritableByteChannel;
 import java.security.MessageDigest;
 import java.util.Calendar;
@@ -341,7 +342,7 @@ public class PDDocument implements Closeable
      * 
      * @param version
      */
-    public void requireMinVersion(String version)
+    public synchronized void requireMinVersion(String version)
     {
         if (!isAtLeast(getVersion(), version))
         {
@@ -519,11 +520,7 @@ public class PDDocument implements Closeable
         requireOpen();
         getDocumentInformation().setProducer("SAMBox " + Version.getVersion() + " (www.sejda.org)");
         getDocumentInformation().setModificationDate(Calendar.getInstance());
-        for (PDFont font : fontsToSubset)
-        {
-            font.subset();
-        }
-        fontsToSubset.clear();
+        subsetFonts();
         Optional<EncryptionContext> encryptionContext = ofNullable(
                 ofNullable(security).map(EncryptionContext::new).orElse(null));
         generateFileIdentifier(output.toString().getBytes(Charsets.ISO_8859_1), encryptionContext);
@@ -537,6 +534,31 @@ public class PDDocument implements Closeable
         }
     }
 
+    /**
+     * Subsets the pending fonts. Each font only touches its own objects so they are subset in parallel.
+     */
+    private void subsetFonts() throws IOException
+    {
+        try
+        {
+            fontsToSubset.parallelStream().forEach(font -> {
+                try
+                {
+                    font.subset();
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        fontsToSubset.clear();
+    }
+
     /**
      * @return true if the {@link PDDocument} is open
      */
@@ -17,13 +17,12 @@
 package org.sejda.sambox.pdmodel;
 
 import static org.sejda.io.CountingWritableByteChannel.from;
+import static org.sejda.util.RequireUtils.requireArg;
 
 import java.awt.Color;
 import java.awt.geom.AffineTransform;
 import java.io.Closeable;
 import java.io.IOException;
-import java.text.NumberFormat;
-import java.util.Locale;
 import java.util.Stack;
 
 import org.sejda.sambox.contentstream.operator.Operator;
@@ -105,8 +104,8 @@ public final class PDPageContentStream implements Closeable
     private final Stack<PDColorSpace> nonStrokingColorSpaceStack = new Stack<>();
     private final Stack<PDColorSpace> strokingColorSpaceStack = new Stack<>();
 
-    // number format
-    private final NumberFormat formatDecimal = NumberFormat.getNumberInstance(Locale.US);
+    // maximum number of fraction digits of the written decimal numbers
+    private int maxFractionDigits = 10;
 
     /**
      * Create a new PDPage content stream.
@@ -222,10 +221,6 @@ public final class PDPageContentStream implements Closeable
             resources = new PDResources();
             sourcePage.setResources(resources);
         }
-
-        // configure NumberFormat
-        formatDecimal.setMaximumFractionDigits(10);
-        formatDecimal.setGroupingUsed(false);
     }
 
     /**
@@ -251,13 +246,40 @@ public final class PDPageContentStream implements Closeable
      */
     public PDPageContentStream(PDDocument doc, PDAppearanceStream appearance,
             ContentStreamWriter writer)
+    {
+        this(doc, appearance.getResources(), writer);
+        this.maxFractionDigits = 4;
+    }
+
+    /**
+     * Create a new content stream writing to the given writer. The writer can be backed by any channel, this allows
+     * to write big content streams straight to a file instead of keeping them in memory.
+     *
+     * @param doc The document the content stream is part of.
+     * @param resources The resources of the content stream, where fonts, images and forms are added.
+     * @param writer The writer to write the content stream to
+     */
+    public PDPageContentStream(PDDocument doc, PDResources resources, ContentStreamWriter writer)
     {
         this.document = doc;
         this.writer = writer;
-        this.resources = appearance.getResources();
+        this.resources = resources;
+    }
 
-        formatDecimal.setMaximumFractionDigits(4);
-        formatDecimal.setGroupingUsed(false);
+    /**
+     * Sets the maximum number of fraction digits of the decimal numbers written to the content stream. Numbers are
+     * written using the shortest representation that reads back as the same float, if there's no such representation
+     * with the given fraction digits the number is rounded. Default is 10 for page content streams and 4 for
+     * appearance streams.
+     * 
+     * @param maxFractionDigits between 0 and {@link ContentStreamWriter#MAX_FRACTION_DIGITS}
+     */
+    public void setMaximumFractionDigits(int maxFractionDigits)
+    {
+        requireArg(maxFractionDigits >= 0
+                && maxFractionDigits <= ContentStreamWriter.MAX_FRACTION_DIGITS,
+                "Fraction digits must be between 0 and " + ContentStreamWriter.MAX_FRACTION_DIGITS);
+        this.maxFractionDigits = maxFractionDigits;
     }
 
     /**
@@ -731,7 +753,7 @@ public final class PDPageContentStream implements Closeable
         if (isOutside255Interval(r) || isOutside255Interval(g) || isOutside255Interval(b))
         {
             throw new IllegalArgumentException("Parameters must be within 0..255, but are "
-                    + String.format("(%d,%d,%d)", r, g, b));
+                    + "(" + r + "," + g + "," + b + ")");
         }
         writeOperand(r / 255f);
         writeOperand(g / 255f);
@@ -756,7 +778,7 @@ public final class PDPageContentStream implements Closeable
                 || isOutsideOneInterval(k))
         {
             throw new IllegalArgumentException("Parameters must be within 0..1, but are "
-                    + String.format("(%.2f,%.2f,%.2f,%.2f)", c, m, y, k));
+                    + "(" + c + "," + m + "," + y + "," + k + ")");
         }
         writeOperand(c);
         writeOperand(m);
@@ -851,7 +873,7 @@ public final class PDPageContentStream implements Closeable
         if (isOutside255Interval(r) || isOutside255Interval(g) || isOutside255Interval(b))
         {
             throw new IllegalArgumentException("Parameters must be within 0..255, but are "
-                    + String.format("(%d,%d,%d)", r, g, b));
+                    + "(" + r + "," + g + "," + b + ")");
         }
         writeOperand(r / 255f);
         writeOperand(g / 255f);
@@ -876,7 +898,7 @@ public final class PDPageContentStream implements Closeable
                 || isOutside255Interval(k))
         {
             throw new IllegalArgumentException("Parameters must be within 0..255, but are "
-                    + String.format("(%d,%d,%d,%d)", c, m, y, k));
+                    + "(" + c + "," + m + "," + y + "," + k + ")");
         }
         setNonStrokingColor(c / 255f, m / 255f, y / 255f, k / 255f);
     }
@@ -896,7 +918,7 @@ public final class PDPageContentStream implements Closeable
                 || isOutsideOneInterval(k))
         {
             throw new IllegalArgumentException("Parameters must be within 0..1, but are "
-                    + String.format("(%.2f,%.2f,%.2f,%.2f)", c, m, y, k));
+                    + "(" + c + "," + m + "," + y + "," + k + ")");
         }
         writeOperand((float) c);
         writeOperand((float) m);
@@ -1426,13 +1448,13 @@ public final class PDPageContentStream implements Closeable
 
     private void writeOperand(float real) throws IOException
     {
-        write(formatDecimal.format(real));
+        writer.writeNumber(real, maxFractionDigits);
         writer.writeSpace();
     }
 
     private void writeOperand(int integer) throws IOException
     {
-        write(formatDecimal.format(integer));
+        writer.writeNumber(integer);
         writer.writeSpace();
     }
 
@@ -1450,8 +1472,7 @@ public final class PDPageContentStream implements Closeable
      */
     private void writeOperator(String text) throws IOException
     {
-        write(text);
-        writer.writeEOL();
+        writer.writeOperator(text);
     }
 
     /**
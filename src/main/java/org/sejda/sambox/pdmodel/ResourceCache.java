@@ -17,6 +17,7 @@
 
 package org.sejda.sambox.pdmodel;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 import org.sejda.sambox.cos.COSObjectKey;
@@ -24,6 +25,7 @@ import org.sejda.sambox.pdmodel.documentinterchange.markedcontent.PDPropertyList
 import org.sejda.sambox.pdmodel.font.PDFont;
 import org.sejda.sambox.pdmodel.graphics.PDXObject;
 import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
+import org.sejda.sambox.pdmodel.graphics.image.ImageCacheKey;
 import org.sejda.sambox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.sejda.sambox.pdmodel.graphics.shading.PDShading;
 import org.sejda.sambox.pdmodel.graphics.state.PDExtendedGraphicsState;
@@ -105,6 +107,23 @@ public interface ResourceCache
      */
     void put(COSObjectKey key, PDXObject xobject) throws IOException;
 
+    /**
+     * Returns the decoded image for the given key, if it is in the cache. Caches are not required to cache decoded
+     * images, the default implementation always returns null.
+     */
+    default BufferedImage getImage(ImageCacheKey key)
+    {
+        return null;
+    }
+
+    /**
+     * Puts the given decoded image in the cache. The default implementation does nothing.
+     */
+    default void put(ImageCacheKey key, BufferedImage image)
+    {
+        // nothing
+    }
+
     /**
      * Clears the cache
      */
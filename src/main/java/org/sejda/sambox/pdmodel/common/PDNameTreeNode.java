@@ -22,10 +22,10 @@ import static java.util.Objects.nonNull;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 
 import org.sejda.sambox.cos.COSArray;
@@ -209,56 +209,212 @@ public abstract class PDNameTreeNode<T extends COSObjectable> implements COSObje
     }
 
     /**
-     * The name to retrieve.
+     * The name to retrieve. The sorted /Names array of leaf nodes is binary searched in place and the /Limits of the
+     * kids are used to descend the tree, without creating a map of the names of each node.
      *
      * @param name The name in the tree.
      * @return The value of the name in the tree.
-     * @throws IOException If an there is a problem creating the destinations.
      */
     public T getValue(String name)
     {
         try
         {
-            return Optional.ofNullable(getNames()).map(m -> m.get(name)).orElseGet(() -> {
-                List<PDNameTreeNode<T>> kids = getKids();
-                if (nonNull(kids))
+            COSArray namesArray = node.getDictionaryObject(COSName.NAMES, COSArray.class);
+            if (nonNull(namesArray))
+            {
+                COSBase value = findValue(namesArray, name);
+                if (nonNull(value))
                 {
-                    for (int i = 0; i < kids.size(); i++)
+                    T converted = convertCOSToPD(value);
+                    if (nonNull(converted))
                     {
-                        PDNameTreeNode<T> childNode = kids.get(i);
-                        if (childNode.couldContain(name))
-                        {
-                            return childNode.getValue(name);
-                        }
+                        return converted;
                     }
                 }
-                else
+            }
+            COSArray kids = node.getDictionaryObject(COSName.KIDS, COSArray.class);
+            if (nonNull(kids))
+            {
+                COSDictionary kid = findKid(kids, name);
+                if (nonNull(kid))
                 {
-                    LOG.warn("NameTreeNode does not have \"names\" nor \"kids\" objects.");
+                    return createChildNode(kid).getValue(name);
                 }
-                return null;
-            });
+            }
+            else if (isNull(namesArray))
+            {
+                LOG.warn("NameTreeNode does not have \"names\" nor \"kids\" objects.");
+            }
         }
         catch (IOException e)
         {
-            LOG.warn("NameTreeNode couldn't get the names map", e);
+            LOG.warn("NameTreeNode couldn't convert the value", e);
+        }
+        return null;
+    }
+
+    /**
+     * @return the value for the given name in the given names array, binary searching it and falling back to a linear
+     * scan for arrays that are not sorted
+     */
+    private static COSBase findValue(COSArray namesArray, String name)
+    {
+        int low = 0;
+        int high = (namesArray.size() / 2) - 1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            COSBase key = namesArray.getObject(mid * 2);
+            if (!(key instanceof COSString))
+            {
+                break;
+            }
+            int comparison = ((COSString) key).getString().compareTo(name);
+            if (comparison < 0)
+            {
+                low = mid + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return namesArray.getObject(mid * 2 + 1);
+            }
+        }
+        for (int i = 0; i + 1 < namesArray.size(); i += 2)
+        {
+            COSBase key = namesArray.getObject(i);
+            if (key instanceof COSString && ((COSString) key).getString().equals(name))
+            {
+                return namesArray.getObject(i + 1);
+            }
         }
         return null;
     }
 
     /**
-     * @param name
-     * @return true if the given name can be part of this node/branch
+     * @return the kid whose /Limits contain the given name, binary searching the kids and falling back to a linear scan
+     * when the kids limits are missing or not sorted
      */
-    private boolean couldContain(String name)
+    private static COSDictionary findKid(COSArray kids, String name)
+    {
+        int low = 0;
+        int high = kids.size() - 1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            COSDictionary kid = dictionaryAt(kids, mid);
+            String[] limits = limits(kid);
+            if (isNull(limits))
+            {
+                break;
+            }
+            if (limits[0].compareTo(name) > 0)
+            {
+                high = mid - 1;
+            }
+            else if (limits[1].compareTo(name) < 0)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                return kid;
+            }
+        }
+        for (int i = 0; i < kids.size(); i++)
+        {
+            COSDictionary kid = dictionaryAt(kids, i);
+            String[] limits = limits(kid);
+            if (isNull(limits))
+            {
+                LOG.warn("Missing required name tree node Limits array");
+            }
+            else if (limits[0].compareTo(name) <= 0 && limits[1].compareTo(name) >= 0)
+            {
+                return kid;
+            }
+        }
+        return null;
+    }
+
+    private static COSDictionary dictionaryAt(COSArray array, int index)
     {
-        if (isNull(node) || isNull(getLowerLimit()) || isNull(getUpperLimit()))
+        COSBase item = array.getObject(index);
+        if (item instanceof COSDictionary)
         {
-            LOG.warn("Missing required name tree node Limits array");
-            return false;
+            return (COSDictionary) item;
         }
-        return getLowerLimit().compareTo(name) <= 0 && getUpperLimit().compareTo(name) >= 0;
+        return null;
+    }
+
+    private static String[] limits(COSDictionary kid)
+    {
+        if (nonNull(kid))
+        {
+            COSArray limits = kid.getDictionaryObject(COSName.LIMITS, COSArray.class);
+            if (nonNull(limits) && limits.size() >= 2)
+            {
+                String lower = limits.getString(0);
+                String upper = limits.getString(1);
+                if (nonNull(lower) && nonNull(upper))
+                {
+                    return new String[] { lower, upper };
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a flattened, immutable index of all the names in the tree rooted at this node. Traversing the tree and
+     * converting the values is done once, making it convenient when a large number of lookups is performed, like when
+     * resolving all the named destinations of a document.
+     *
+     * @return an unmodifiable map of all the names in the tree, in tree order. When a name appears multiple times the
+     * first occurrence is used.
+     * @throws IOException If there is an error while creating the values.
+     */
+    public Map<String, T> buildIndex() throws IOException
+    {
+        Map<String, T> index = new LinkedHashMap<>();
+        fillIndex(node, index, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return Collections.unmodifiableMap(index);
+    }
 
+    private void fillIndex(COSDictionary current, Map<String, T> index,
+            Set<COSDictionary> visited) throws IOException
+    {
+        if (nonNull(current) && visited.add(current))
+        {
+            COSArray namesArray = current.getDictionaryObject(COSName.NAMES, COSArray.class);
+            if (nonNull(namesArray))
+            {
+                for (int i = 0; i + 1 < namesArray.size(); i += 2)
+                {
+                    COSBase key = namesArray.getObject(i);
+                    if (key instanceof COSString
+                            && !index.containsKey(((COSString) key).getString()))
+                    {
+                        T value = convertCOSToPD(namesArray.getObject(i + 1));
+                        if (nonNull(value))
+                        {
+                            index.put(((COSString) key).getString(), value);
+                        }
+                    }
+                }
+            }
+            COSArray kids = current.getDictionaryObject(COSName.KIDS, COSArray.class);
+            if (nonNull(kids))
+            {
+                for (int i = 0; i < kids.size(); i++)
+                {
+                    fillIndex(dictionaryAt(kids, i), index, visited);
+                }
+            }
+        }
     }
 
     /**
@@ -21,8 +21,10 @@ import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSArrayList;
@@ -30,6 +32,7 @@ import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNumber;
 import org.sejda.sambox.cos.COSObjectable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -129,7 +132,8 @@ public class PDNumberTreeNode implements COSObjectable
     }
 
     /**
-     * Returns the value corresponding to an index in the number tree.
+     * Returns the value corresponding to an index in the number tree. The sorted /Nums array of leaf nodes is binary
+     * searched in place and the /Limits of the kids are used to descend the tree.
      *
      * @param index The index in the number tree.
      *
@@ -139,36 +143,189 @@ public class PDNumberTreeNode implements COSObjectable
      */
     public Object getValue( Integer index ) throws IOException
     {
-        Object retval = null;
-        Map<Integer,COSObjectable> names = getNumbers();
-        if( names != null )
+        if( index == null )
         {
-            retval = names.get( index );
+            return null;
+        }
+        COSArray numbersArray = node.getDictionaryObject( COSName.NUMS, COSArray.class );
+        if( numbersArray != null )
+        {
+            COSBase value = findValue( numbersArray, index );
+            if( value != null )
+            {
+                return convertCOSToPD( value );
+            }
+            return null;
+        }
+        COSArray kids = node.getDictionaryObject( COSName.KIDS, COSArray.class );
+        if( kids != null )
+        {
+            COSDictionary kid = findKid( kids, index );
+            if( kid != null )
+            {
+                return createChildNode( kid ).getValue( index );
+            }
         }
         else
         {
-            List<PDNumberTreeNode> kids = getKids();
-            if ( kids != null )
+            LOG.warn("NumberTreeNode does not have \"nums\" nor \"kids\" objects.");
+        }
+        return null;
+    }
+
+    /**
+     * @return the value for the given index in the given numbers array, binary searching it and falling back to a
+     * linear scan for arrays that are not sorted
+     */
+    private static COSBase findValue( COSArray numbersArray, int index )
+    {
+        int low = 0;
+        int high = (numbersArray.size() / 2) - 1;
+        while( low <= high )
+        {
+            int mid = (low + high) >>> 1;
+            COSBase key = numbersArray.getObject( mid * 2 );
+            if( !(key instanceof COSNumber) )
+            {
+                break;
+            }
+            int current = ((COSNumber)key).intValue();
+            if( current < index )
+            {
+                low = mid + 1;
+            }
+            else if( current > index )
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return numbersArray.getObject( mid * 2 + 1 );
+            }
+        }
+        for( int i = 0; i + 1 < numbersArray.size(); i += 2 )
+        {
+            COSBase key = numbersArray.getObject( i );
+            if( key instanceof COSNumber && ((COSNumber)key).intValue() == index )
+            {
+                return numbersArray.getObject( i + 1 );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the kid whose /Limits contain the given index, binary searching the kids and falling back to a linear
+     * scan when the kids limits are missing or not sorted
+     */
+    private static COSDictionary findKid( COSArray kids, int index )
+    {
+        int low = 0;
+        int high = kids.size() - 1;
+        while( low <= high )
+        {
+            int mid = (low + high) >>> 1;
+            COSDictionary kid = dictionaryAt( kids, mid );
+            int[] limits = limits( kid );
+            if( limits == null )
+            {
+                break;
+            }
+            if( limits[0] > index )
+            {
+                high = mid - 1;
+            }
+            else if( limits[1] < index )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                return kid;
+            }
+        }
+        for( int i = 0; i < kids.size(); i++ )
+        {
+            COSDictionary kid = dictionaryAt( kids, i );
+            int[] limits = limits( kid );
+            if( limits != null && limits[0] <= index && limits[1] >= index )
+            {
+                return kid;
+            }
+        }
+        return null;
+    }
+
+    private static COSDictionary dictionaryAt( COSArray array, int index )
+    {
+        COSBase item = array.getObject( index );
+        if( item instanceof COSDictionary )
+        {
+            return (COSDictionary)item;
+        }
+        return null;
+    }
+
+    private static int[] limits( COSDictionary kid )
+    {
+        if( kid != null )
+        {
+            COSArray limits = kid.getDictionaryObject( COSName.LIMITS, COSArray.class );
+            if( limits != null && limits.size() >= 2 && limits.getObject( 0 ) instanceof COSNumber
+                    && limits.getObject( 1 ) instanceof COSNumber )
             {
-                for( int i=0; i<kids.size() && retval == null; i++ )
+                return new int[] { ((COSNumber)limits.getObject( 0 )).intValue(),
+                        ((COSNumber)limits.getObject( 1 )).intValue() };
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a flattened, immutable index of all the numbers in the tree rooted at this node. Traversing the tree and
+     * converting the values is done once, making it convenient when a large number of lookups is performed, like when
+     * resolving the structure parents of all the pages of a document.
+     *
+     * @return an unmodifiable map of all the numbers in the tree. When a number appears multiple times the first
+     * occurrence is used.
+     * @throws IOException If there is a problem creating the values.
+     */
+    public Map<Integer,COSObjectable> buildIndex() throws IOException
+    {
+        Map<Integer, COSObjectable> index = new HashMap<Integer, COSObjectable>();
+        fillIndex( node, index, Collections.newSetFromMap( new IdentityHashMap<COSDictionary, Boolean>() ) );
+        return Collections.unmodifiableMap( index );
+    }
+
+    private void fillIndex( COSDictionary current, Map<Integer, COSObjectable> index,
+            Set<COSDictionary> visited ) throws IOException
+    {
+        if( current != null && visited.add( current ) )
+        {
+            COSArray numbersArray = current.getDictionaryObject( COSName.NUMS, COSArray.class );
+            if( numbersArray != null )
+            {
+                for( int i = 0; i + 1 < numbersArray.size(); i += 2 )
                 {
-                    PDNumberTreeNode childNode = kids.get( i );
-                    if( childNode.getLowerLimit().compareTo( index ) <= 0 &&
-                        childNode.getUpperLimit().compareTo( index ) >= 0 )
+                    COSBase key = numbersArray.getObject( i );
+                    if( key instanceof COSNumber && !index.containsKey( ((COSNumber)key).intValue() ) )
                     {
-                        retval = childNode.getValue( index );
+                        index.put( ((COSNumber)key).intValue(),
+                                convertCOSToPD( numbersArray.getObject( i + 1 ) ) );
                     }
                 }
             }
-            else
+            COSArray kids = current.getDictionaryObject( COSName.KIDS, COSArray.class );
+            if( kids != null )
             {
-                LOG.warn("NumberTreeNode does not have \"nums\" nor \"kids\" objects.");
+                for( int i = 0; i < kids.size(); i++ )
+                {
+                    fillIndex( dictionaryAt( kids, i ), index, visited );
+                }
             }
         }
-        return retval;
     }
 
-
     /**
      * This will return a map of numbers.  The key will be a java.lang.Integer, the value will
      * depend on where this class is being used.
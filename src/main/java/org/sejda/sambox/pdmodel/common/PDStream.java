@@ -33,6 +33,7 @@ import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSNull;
 import org.sejda.sambox.cos.COSObjectable;
 import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.filter.DecodeOptions;
 import org.sejda.sambox.filter.Filter;
 import org.sejda.sambox.filter.FilterFactory;
 import org.sejda.sambox.pdmodel.common.filespecification.FileSpecifications;
@@ -172,6 +173,17 @@ public class PDStream implements COSObjectable
         return stream.getUnfilteredStream();
     }
 
+    /**
+     * @param options decode options for the last filter
+     * @return a stream with decoded data where the last filter was asked to honor the given options
+     * @throws IOException If there is an error processing the stream.
+     * @see COSStream#getUnfilteredStream(DecodeOptions)
+     */
+    public InputStream createInputStream(DecodeOptions options) throws IOException
+    {
+        return stream.getUnfilteredStream(options);
+    }
+
     /**
      * This will get a stream with some filters applied but not others. This is useful when doing images, ie filters =
      * [flate,dct], we want to remove flate but leave dct
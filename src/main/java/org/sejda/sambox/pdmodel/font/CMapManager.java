@@ -18,20 +18,28 @@ package org.sejda.sambox.pdmodel.font;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.net.URL;
 
 import org.apache.fontbox.cmap.CMap;
 import org.apache.fontbox.cmap.CMapParser;
+import org.sejda.sambox.util.BoundedCache;
+import org.sejda.sambox.util.CacheStats;
 
 /**
- * CMap resource loader and cache.
+ * CMap resource loader and cache. Predefined CMaps are cached in a thread safe cache strongly retaining CMaps up to
+ * {@link #MAX_CACHED_CMAPS_SIZE} bytes of CMap resources, the least recently used ones in excess are softly retained.
  */
-final class CMapManager
+public final class CMapManager
 {
-    static Map<String, CMap> cMapCache =
-            Collections.synchronizedMap(new HashMap<String, CMap>());
+    /**
+     * Maximum size in bytes of the resources of the strongly retained predefined CMaps
+     */
+    public static final long MAX_CACHED_CMAPS_SIZE = 2 * 1024 * 1024;
+    // used when the resource of a CMap cannot be found
+    private static final long DEFAULT_CMAP_SIZE = 64 * 1024;
+
+    static final BoundedCache<String, CMap> cMapCache = new BoundedCache<>(MAX_CACHED_CMAPS_SIZE,
+            CMapManager::sizeOf);
 
     private CMapManager()
     {
@@ -44,18 +52,40 @@ final class CMapManager
      */
     public static CMap getPredefinedCMap(String cMapName) throws IOException
     {
-        CMap cmap = cMapCache.get(cMapName);
-        if (cmap != null)
-        {
-            return cmap;
-        }
+        return cMapCache.get(cMapName, name -> new CMapParser().parsePredefined(name));
+    }
 
-        CMapParser parser = new CMapParser();
-        CMap targetCmap = parser.parsePredefined(cMapName);
+    /**
+     * @return hit, miss and load time statistics of the predefined CMaps cache
+     */
+    public static CacheStats stats()
+    {
+        return cMapCache.stats();
+    }
 
-        // limit the cache to predefined CMaps
-        cMapCache.put(targetCmap.getName(), targetCmap);
-        return targetCmap;
+    /**
+     * @return the size in bytes of the resource the predefined CMap has been parsed from, a proxy for the memory
+     * retained by the CMap
+     */
+    private static long sizeOf(CMap cMap)
+    {
+        URL resource = CMapParser.class.getResource(String.valueOf(cMap.getName()));
+        if (resource != null)
+        {
+            try
+            {
+                long size = resource.openConnection().getContentLengthLong();
+                if (size >= 0)
+                {
+                    return size;
+                }
+            }
+            catch (IOException e)
+            {
+                // we use the default
+            }
+        }
+        return DEFAULT_CMAP_SIZE;
     }
 
     /**
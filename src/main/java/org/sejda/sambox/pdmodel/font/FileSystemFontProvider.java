@@ -16,20 +16,25 @@
  */
 package org.sejda.sambox.pdmodel.font;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.AccessControlException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.fontbox.FontBoxFont;
@@ -43,8 +48,13 @@ import org.apache.fontbox.ttf.TrueTypeCollection;
 import org.apache.fontbox.ttf.TrueTypeCollection.TrueTypeFontProcessor;
 import org.apache.fontbox.ttf.TrueTypeFont;
 import org.apache.fontbox.type1.Type1Font;
+import org.apache.fontbox.util.autodetect.FontDirFinder;
 import org.apache.fontbox.util.autodetect.FontFileFinder;
+import org.apache.fontbox.util.autodetect.MacFontDirFinder;
+import org.apache.fontbox.util.autodetect.UnixFontDirFinder;
+import org.apache.fontbox.util.autodetect.WindowsFontDirFinder;
 import org.sejda.sambox.util.Charsets;
+import org.sejda.sambox.util.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +67,12 @@ final class FileSystemFontProvider extends FontProvider
 {
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemFontProvider.class);
 
+    private static final int INDEX_MAGIC = 0x53424649;
+    private static final int INDEX_VERSION = 1;
+    private static final int FLAG_IGNORED = 1;
+    private static final int FLAG_CID_SYSTEM_INFO = 1 << 1;
+    private static final int FLAG_PANOSE = 1 << 2;
+
     private final List<FSFontInfo> fontInfoList = new ArrayList<>();
     private final FontCache cache;
 
@@ -113,31 +129,27 @@ final class FileSystemFontProvider extends FontProvider
         @Override
         public FontBoxFont getFont()
         {
-            FontBoxFont cached = parent.cache.getFont(this);
-            if (cached != null)
-            {
-                return cached;
-            }
-            else
-            {
-                FontBoxFont font;
-                switch (format)
+            return parent.cache.getFont(this, info -> {
+                long start = Metrics.start();
+                try
                 {
-                case PFB:
-                    font = parent.getType1Font(postScriptName, file);
-                    break;
-                case TTF:
-                    font = parent.getTrueTypeFont(postScriptName, file);
-                    break;
-                case OTF:
-                    font = parent.getOTFFont(postScriptName, file);
-                    break;
-                default:
-                    throw new RuntimeException("can't happen");
+                    switch (format)
+                    {
+                    case PFB:
+                        return parent.getType1Font(postScriptName, file);
+                    case TTF:
+                        return parent.getTrueTypeFont(postScriptName, file);
+                    case OTF:
+                        return parent.getOTFFont(postScriptName, file);
+                    default:
+                        throw new RuntimeException("can't happen");
+                    }
                 }
-                parent.cache.addFont(this, font);
-                return font;
-            }
+                finally
+                {
+                    Metrics.stop(Metrics.FONTS_LOAD, start);
+                }
+            });
         }
 
         @Override
@@ -198,34 +210,51 @@ final class FileSystemFontProvider extends FontProvider
      * Constructor.
      */
     FileSystemFontProvider(FontCache cache)
+    {
+        this(cache, null, null);
+    }
+
+    /**
+     * @param cache
+     * @param directories the font directories to search, if null the default system font directories are used
+     * @param indexFile the on-disk font index, if null the default location is used
+     */
+    FileSystemFontProvider(FontCache cache, List<File> directories, File indexFile)
     {
         this.cache = cache;
+        long start = Metrics.start();
         try
         {
             LOG.trace("Will search the local system for fonts");
-
-            // scan the local system for font files
-            List<File> files = new ArrayList<File>();
-            FontFileFinder fontFileFinder = new FontFileFinder();
-            List<URI> fonts = fontFileFinder.find();
-            for (URI font : fonts)
+            if (directories == null)
             {
-                files.add(new File(font));
+                directories = systemFontDirectories();
+            }
+            if (indexFile == null)
+            {
+                indexFile = getDiskCacheFile();
             }
-
-            LOG.trace("Found " + files.size() + " fonts on the local system");
 
             // load cached FontInfo objects
-            List<FSFontInfo> cachedInfos = loadDiskCache(files);
-            if (cachedInfos != null && cachedInfos.size() > 0)
+            List<FSFontInfo> cachedInfos = loadDiskCache(directories, indexFile);
+            if (cachedInfos != null)
             {
                 fontInfoList.addAll(cachedInfos);
             }
             else
             {
                 LOG.warn("Building on-disk font cache, this may take a while");
+                // scan the local system for font files
+                Map<String, Long> scannedDirectories = new LinkedHashMap<>();
+                List<File> files = new ArrayList<>();
+                for (File directory : directories)
+                {
+                    walk(directory, files, scannedDirectories);
+                }
+                LOG.trace("Found " + files.size() + " fonts on the local system");
+
                 scanFonts(files);
-                saveDiskCache();
+                saveDiskCache(indexFile, scannedDirectories);
                 LOG.warn("Finished building on-disk font cache, found " + fontInfoList.size()
                         + " fonts");
             }
@@ -234,37 +263,104 @@ final class FileSystemFontProvider extends FontProvider
         {
             LOG.error("Error accessing the file system", e);
         }
+        Metrics.stop(Metrics.FONTS_PROVIDER_INIT, start);
     }
 
-    private void scanFonts(List<File> files)
+    /**
+     * @return the system font directories, as searched by {@link FontFileFinder}
+     */
+    private static List<File> systemFontDirectories()
     {
-        for (File file : files)
+        FontDirFinder finder;
+        String osName = System.getProperty("os.name");
+        if (osName.startsWith("Windows"))
         {
-            try
+            finder = new WindowsFontDirFinder();
+        }
+        else if (osName.startsWith("Mac"))
+        {
+            finder = new MacFontDirFinder();
+        }
+        else
+        {
+            finder = new UnixFontDirFinder();
+        }
+        return finder.find();
+    }
+
+    /**
+     * Recursively collects the font files of the given directory, the same way {@link FontFileFinder} does, and the
+     * last modified time of every visited directory. Since adding, removing or renaming an entry changes the
+     * modification time of the containing directory, the collected times are enough to tell if the index is stale
+     * without stat-ing every font file.
+     */
+    private static void walk(File directory, List<File> files, Map<String, Long> directories)
+    {
+        directories.put(directory.getAbsolutePath(), directory.lastModified());
+        File[] children = directory.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
             {
-                if (file.getPath().toLowerCase().endsWith(".ttf")
-                        || file.getPath().toLowerCase().endsWith(".otf"))
-                {
-                    addTrueTypeFont(file);
-                }
-                else if (file.getPath().toLowerCase().endsWith(".ttc")
-                        || file.getPath().toLowerCase().endsWith(".otc"))
+                if (child.isDirectory())
                 {
-                    addTrueTypeCollection(file);
+                    if (!child.getName().startsWith("."))
+                    {
+                        walk(child, files, directories);
+                    }
                 }
-                else if (file.getPath().toLowerCase().endsWith(".pfb"))
+                else if (isFontFile(child))
                 {
-                    addType1Font(file);
+                    files.add(child);
                 }
             }
-            catch (IOException e)
+        }
+    }
+
+    private static boolean isFontFile(File file)
+    {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".ttf") || name.endsWith(".otf") || name.endsWith(".pfb")
+                || name.endsWith(".ttc");
+    }
+
+    /**
+     * Parses the given files in parallel, the resulting fonts are added in the order of the files.
+     */
+    private void scanFonts(List<File> files)
+    {
+        files.parallelStream().map(this::scanFont).collect(Collectors.toList())
+                .forEach(fontInfoList::addAll);
+    }
+
+    private List<FSFontInfo> scanFont(File file)
+    {
+        List<FSFontInfo> infos = new ArrayList<>();
+        try
+        {
+            if (file.getPath().toLowerCase().endsWith(".ttf")
+                    || file.getPath().toLowerCase().endsWith(".otf"))
             {
-                LOG.error("Error parsing font " + file.getPath(), e);
+                addTrueTypeFont(file, infos);
+            }
+            else if (file.getPath().toLowerCase().endsWith(".ttc")
+                    || file.getPath().toLowerCase().endsWith(".otc"))
+            {
+                addTrueTypeCollection(file, infos);
+            }
+            else if (file.getPath().toLowerCase().endsWith(".pfb"))
+            {
+                addType1Font(file, infos);
             }
         }
+        catch (IOException e)
+        {
+            LOG.error("Error parsing font " + file.getPath(), e);
+        }
+        return infos;
     }
 
-    private File getDiskCacheFile()
+    private static File getDiskCacheFile()
     {
         String path = System.getProperty("org.sambox.fontcache");
         if (path == null)
@@ -275,68 +371,99 @@ final class FileSystemFontProvider extends FontProvider
                 path = System.getProperty("java.io.tmpdir");
             }
         }
-        return new File(path, ".sambox.cache");
+        return new File(path, ".sambox.fontindex");
     }
 
     /**
-     * Saves the font metadata cache to disk.
+     * Saves the font metadata index to disk. The index is written to a temporary file that then replaces the existing
+     * one so that concurrent processes never read a partially written index.
+     * <p>
+     * Layout, big endian, strings are stored as their UTF-8 bytes length followed by the bytes:
+     * 
+     * <pre>
+     * magic, version
+     * directories count, [path, last modified]...
+     * files count, [path]...
+     * fonts count, [PostScript name, format, flags, (registry, ordering, supplement), weight class, family class,
+     *              code page range 1, code page range 2, mac style, (10 panose bytes), file index]...
+     * </pre>
+     * 
+     * where the CIDSystemInfo and panose are only present if the corresponding flag is set.
+     * </p>
      */
-    private void saveDiskCache()
+    private void saveDiskCache(File indexFile, Map<String, Long> directories)
     {
-        BufferedWriter writer = null;
+        File tmp = null;
         try
         {
-            File file = getDiskCacheFile();
-            writer = new BufferedWriter(new FileWriter(file));
-
-            for (FSFontInfo fontInfo : fontInfoList)
+            tmp = File.createTempFile(".sambox", ".tmp", indexFile.getAbsoluteFile().getParentFile());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmp))))
             {
-                writer.write(fontInfo.postScriptName.trim());
-                writer.write("|");
-                writer.write(fontInfo.format.toString());
-                writer.write("|");
-                if (fontInfo.cidSystemInfo != null)
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(INDEX_VERSION);
+                out.writeInt(directories.size());
+                for (Map.Entry<String, Long> directory : directories.entrySet())
                 {
-                    writer.write(fontInfo.cidSystemInfo.getRegistry() + '-'
-                            + fontInfo.cidSystemInfo.getOrdering() + '-'
-                            + fontInfo.cidSystemInfo.getSupplement());
+                    writeString(out, directory.getKey());
+                    out.writeLong(directory.getValue());
                 }
-                writer.write("|");
-                if (fontInfo.usWeightClass > -1)
-                {
-                    writer.write(Integer.toHexString(fontInfo.usWeightClass));
-                }
-                writer.write("|");
-                if (fontInfo.sFamilyClass > -1)
+
+                Map<File, Integer> files = new LinkedHashMap<>();
+                for (FSFontInfo fontInfo : fontInfoList)
                 {
-                    writer.write(Integer.toHexString(fontInfo.sFamilyClass));
+                    files.putIfAbsent(fontInfo.file, files.size());
                 }
-                writer.write("|");
-                writer.write(Integer.toHexString(fontInfo.ulCodePageRange1));
-                writer.write("|");
-                writer.write(Integer.toHexString(fontInfo.ulCodePageRange2));
-                writer.write("|");
-                if (fontInfo.macStyle > -1)
+                out.writeInt(files.size());
+                for (File file : files.keySet())
                 {
-                    writer.write(Integer.toHexString(fontInfo.macStyle));
+                    writeString(out, file.getAbsolutePath());
                 }
-                writer.write("|");
-                if (fontInfo.panose != null)
+
+                out.writeInt(fontInfoList.size());
+                for (FSFontInfo fontInfo : fontInfoList)
                 {
-                    byte[] bytes = fontInfo.panose.getBytes();
-                    for (int i = 0; i < 10; i++)
+                    writeString(out, fontInfo.postScriptName.trim());
+                    out.writeByte(fontInfo.format.ordinal());
+                    int flags = 0;
+                    if (fontInfo instanceof FSIgnored)
                     {
-                        String str = Integer.toHexString(bytes[i]);
-                        if (str.length() == 1)
-                        {
-                            writer.write('0');
-                        }
-                        writer.write(str);
+                        flags |= FLAG_IGNORED;
                     }
+                    if (fontInfo.cidSystemInfo != null)
+                    {
+                        flags |= FLAG_CID_SYSTEM_INFO;
+                    }
+                    if (fontInfo.panose != null)
+                    {
+                        flags |= FLAG_PANOSE;
+                    }
+                    out.writeByte(flags);
+                    if (fontInfo.cidSystemInfo != null)
+                    {
+                        writeString(out, fontInfo.cidSystemInfo.getRegistry());
+                        writeString(out, fontInfo.cidSystemInfo.getOrdering());
+                        out.writeInt(fontInfo.cidSystemInfo.getSupplement());
+                    }
+                    out.writeInt(fontInfo.usWeightClass);
+                    out.writeInt(fontInfo.sFamilyClass);
+                    out.writeInt(fontInfo.ulCodePageRange1);
+                    out.writeInt(fontInfo.ulCodePageRange2);
+                    out.writeInt(fontInfo.macStyle);
+                    if (fontInfo.panose != null)
+                    {
+                        out.write(fontInfo.panose.getBytes(), 0, 10);
+                    }
+                    out.writeInt(files.get(fontInfo.file));
                 }
-                writer.write("|");
-                writer.write(fontInfo.file.getAbsolutePath());
-                writer.newLine();
+            }
+            try
+            {
+                Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
         }
         catch (IOException e)
@@ -345,115 +472,128 @@ final class FileSystemFontProvider extends FontProvider
         }
         finally
         {
-            IOUtils.closeQuietly(writer);
+            if (tmp != null)
+            {
+                tmp.delete();
+            }
         }
     }
 
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(Charsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
     /**
-     * Loads the font metadata cache from disk.
+     * Loads the font metadata index from disk, reading it in memory at once. The file is not memory mapped, a mapping
+     * would keep it locked on Windows until garbage collected, preventing the index from being rebuilt.
+     * 
+     * @return the indexed fonts or null if there's no index, it's unreadable or any of the indexed directories has
+     * been modified since the index was built.
      */
-    private List<FSFontInfo> loadDiskCache(List<File> files)
+    private List<FSFontInfo> loadDiskCache(List<File> directories, File indexFile)
     {
-        Set<String> pending = new HashSet<String>();
-        for (File file : files)
+        if (!indexFile.isFile())
         {
-            pending.add(file.getAbsolutePath());
+            return null;
         }
-
-        List<FSFontInfo> results = new ArrayList<FSFontInfo>();
-        File file = getDiskCacheFile();
-        if (file.exists())
+        try
         {
-            BufferedReader reader = null;
-            try
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+            if (buffer.getInt() != INDEX_MAGIC || buffer.getInt() != INDEX_VERSION)
             {
-                reader = new BufferedReader(new FileReader(file));
-                String line;
-                while ((line = reader.readLine()) != null)
-                {
-                    String[] parts = line.split("\\|", 10);
-                    if (parts.length < 10)
-                    {
-                        LOG.error("Incorrect line '" + line + "' in font disk cache is skipped");
-                        continue;
-                    }
-
-                    String postScriptName;
-                    FontFormat format;
-                    CIDSystemInfo cidSystemInfo = null;
-                    int usWeightClass = -1;
-                    int sFamilyClass = -1;
-                    int ulCodePageRange1;
-                    int ulCodePageRange2;
-                    int macStyle = -1;
-                    byte[] panose = null;
-                    File fontFile;
-
-                    postScriptName = parts[0];
-                    format = FontFormat.valueOf(parts[1]);
-                    if (parts[2].length() > 0)
-                    {
-                        String[] ros = parts[2].split("-");
-                        cidSystemInfo = new CIDSystemInfo(ros[0], ros[1], Integer.parseInt(ros[2]));
-                    }
-                    if (parts[3].length() > 0)
-                    {
-                        usWeightClass = (int) Long.parseLong(parts[3], 16);
-                    }
-                    if (parts[4].length() > 0)
-                    {
-                        sFamilyClass = (int) Long.parseLong(parts[4], 16);
-                    }
-                    ulCodePageRange1 = (int) Long.parseLong(parts[5], 16);
-                    ulCodePageRange2 = (int) Long.parseLong(parts[6], 16);
-                    if (parts[7].length() > 0)
-                    {
-                        macStyle = (int) Long.parseLong(parts[7], 16);
-                    }
-                    if (parts[8].length() > 0)
-                    {
-                        panose = new byte[10];
-                        for (int i = 0; i < 10; i++)
-                        {
-                            String str = parts[8].substring(i * 2, i * 2 + 2);
-                            int b = Integer.parseInt(str, 16);
-                            panose[i] = (byte) (b & 0xff);
-                        }
-                    }
-                    fontFile = new File(parts[9]);
+                LOG.warn("Unknown font cache format, font cache will be re-built");
+                return null;
+            }
 
-                    FSFontInfo info = new FSFontInfo(fontFile, format, postScriptName,
-                            cidSystemInfo, usWeightClass, sFamilyClass, ulCodePageRange1,
-                            ulCodePageRange2, macStyle, panose, this);
-                    results.add(info);
-                    pending.remove(fontFile.getAbsolutePath());
+            Set<String> pending = new HashSet<>();
+            for (File directory : directories)
+            {
+                pending.add(directory.getAbsolutePath());
+            }
+            int directoriesCount = buffer.getInt();
+            for (int i = 0; i < directoriesCount; i++)
+            {
+                String path = readString(buffer);
+                if (new File(path).lastModified() != buffer.getLong())
+                {
+                    LOG.warn("Font directory " + path + " changed, font cache will be re-built");
+                    return null;
                 }
+                pending.remove(path);
             }
-            catch (IOException e)
+            if (!pending.isEmpty())
             {
-                LOG.error("Error loading font cache, will be re-built", e);
+                LOG.warn("New font directories found, font cache will be re-built");
                 return null;
             }
-            finally
+
+            File[] files = new File[buffer.getInt()];
+            for (int i = 0; i < files.length; i++)
             {
-                IOUtils.closeQuietly(reader);
+                files[i] = new File(readString(buffer));
             }
-        }
 
-        if (pending.size() > 0)
+            FontFormat[] formats = FontFormat.values();
+            int fontsCount = buffer.getInt();
+            List<FSFontInfo> results = new ArrayList<>(fontsCount);
+            for (int i = 0; i < fontsCount; i++)
+            {
+                String postScriptName = readString(buffer);
+                FontFormat format = formats[buffer.get()];
+                int flags = buffer.get();
+                CIDSystemInfo cidSystemInfo = null;
+                if ((flags & FLAG_CID_SYSTEM_INFO) != 0)
+                {
+                    cidSystemInfo = new CIDSystemInfo(readString(buffer), readString(buffer),
+                            buffer.getInt());
+                }
+                int usWeightClass = buffer.getInt();
+                int sFamilyClass = buffer.getInt();
+                int ulCodePageRange1 = buffer.getInt();
+                int ulCodePageRange2 = buffer.getInt();
+                int macStyle = buffer.getInt();
+                byte[] panose = null;
+                if ((flags & FLAG_PANOSE) != 0)
+                {
+                    panose = new byte[10];
+                    buffer.get(panose);
+                }
+                File fontFile = files[buffer.getInt()];
+                if ((flags & FLAG_IGNORED) != 0)
+                {
+                    results.add(new FSIgnored(fontFile, format, postScriptName));
+                }
+                else
+                {
+                    results.add(new FSFontInfo(fontFile, format, postScriptName, cidSystemInfo,
+                            usWeightClass, sFamilyClass, ulCodePageRange1, ulCodePageRange2,
+                            macStyle, panose, this));
+                }
+            }
+            return results;
+        }
+        catch (IOException | RuntimeException e)
         {
-            // re-build the entire cache if we encounter un-cached fonts (could be optimised)
-            LOG.warn("New fonts found, font cache will be re-built");
+            LOG.error("Error loading font cache, will be re-built", e);
             return null;
         }
+    }
 
-        return results;
+    private static String readString(ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, Charsets.UTF_8);
     }
 
     /**
      * Adds a TTC or OTC to the file cache. To reduce memory, the parsed font is not cached.
      */
-    private void addTrueTypeCollection(final File ttcFile) throws IOException
+    private void addTrueTypeCollection(final File ttcFile, final List<FSFontInfo> infos)
+            throws IOException
     {
         try (TrueTypeCollection ttc = new TrueTypeCollection(ttcFile))
         {
@@ -462,7 +602,7 @@ final class FileSystemFontProvider extends FontProvider
                 @Override
                 public void process(TrueTypeFont ttf) throws IOException
                 {
-                    addTrueTypeFontImpl(ttf, ttcFile);
+                    addTrueTypeFontImpl(ttf, ttcFile, infos);
                 }
             });
         }
@@ -479,7 +619,7 @@ final class FileSystemFontProvider extends FontProvider
     /**
      * Adds an OTF or TTF font to the file cache. To reduce memory, the parsed font is not cached.
      */
-    private void addTrueTypeFont(File ttfFile) throws IOException
+    private void addTrueTypeFont(File ttfFile, List<FSFontInfo> infos) throws IOException
     {
         try
         {
@@ -487,13 +627,13 @@ final class FileSystemFontProvider extends FontProvider
             {
                 OTFParser parser = new OTFParser(false, true);
                 OpenTypeFont otf = parser.parse(ttfFile);
-                addTrueTypeFontImpl(otf, ttfFile);
+                addTrueTypeFontImpl(otf, ttfFile, infos);
             }
             else
             {
                 TTFParser parser = new TTFParser(false, true);
                 TrueTypeFont ttf = parser.parse(ttfFile);
-                addTrueTypeFontImpl(ttf, ttfFile);
+                addTrueTypeFontImpl(ttf, ttfFile, infos);
             }
         }
         catch (NullPointerException e) // TTF parser is buggy
@@ -509,7 +649,8 @@ final class FileSystemFontProvider extends FontProvider
     /**
      * Adds an OTF or TTF font to the file cache. To reduce memory, the parsed font is not cached.
      */
-    private void addTrueTypeFontImpl(TrueTypeFont ttf, File file) throws IOException
+    private void addTrueTypeFontImpl(TrueTypeFont ttf, File file, List<FSFontInfo> infos)
+            throws IOException
     {
         try
         {
@@ -519,7 +660,7 @@ final class FileSystemFontProvider extends FontProvider
                 // ignore bitmap fonts
                 if (ttf.getHeader() == null)
                 {
-                    fontInfoList.add(new FSIgnored(file, FontFormat.TTF, ttf.getName()));
+                    infos.add(new FSIgnored(file, FontFormat.TTF, ttf.getName()));
                     return;
                 }
                 int macStyle = ttf.getHeader().getMacStyle();
@@ -554,7 +695,7 @@ final class FileSystemFontProvider extends FontProvider
                         int supplement = cidFont.getSupplement();
                         ros = new CIDSystemInfo(registry, ordering, supplement);
                     }
-                    fontInfoList.add(new FSFontInfo(file, FontFormat.OTF, ttf.getName(), ros,
+                    infos.add(new FSFontInfo(file, FontFormat.OTF, ttf.getName(), ros,
                             usWeightClass, sFamilyClass, ulCodePageRange1, ulCodePageRange2,
                             macStyle, panose, this));
                 }
@@ -574,7 +715,7 @@ final class FileSystemFontProvider extends FontProvider
                     }
 
                     format = "TTF";
-                    fontInfoList.add(new FSFontInfo(file, FontFormat.TTF, ttf.getName(), ros,
+                    infos.add(new FSFontInfo(file, FontFormat.TTF, ttf.getName(), ros,
                             usWeightClass, sFamilyClass, ulCodePageRange1, ulCodePageRange2,
                             macStyle, panose, this));
                 }
@@ -591,13 +732,13 @@ final class FileSystemFontProvider extends FontProvider
             }
             else
             {
-                fontInfoList.add(new FSIgnored(file, FontFormat.TTF, "*skipnoname*"));
+                infos.add(new FSIgnored(file, FontFormat.TTF, "*skipnoname*"));
                 LOG.warn("Missing 'name' entry for PostScript name in font " + file);
             }
         }
         catch (IOException e)
         {
-            fontInfoList.add(new FSIgnored(file, FontFormat.TTF, "*skipexception*"));
+            infos.add(new FSIgnored(file, FontFormat.TTF, "*skipexception*"));
             LOG.error("Could not load font file: " + file, e);
         }
         finally
@@ -612,13 +753,13 @@ final class FileSystemFontProvider extends FontProvider
     /**
      * Adds a Type 1 font to the file cache. To reduce memory, the parsed font is not cached.
      */
-    private void addType1Font(File pfbFile) throws IOException
+    private void addType1Font(File pfbFile, List<FSFontInfo> infos) throws IOException
     {
         InputStream input = new FileInputStream(pfbFile);
         try
         {
             Type1Font type1 = Type1Font.createWithPFB(input);
-            fontInfoList.add(new FSFontInfo(pfbFile, FontFormat.PFB, type1.getName(), null, -1, -1,
+            infos.add(new FSFontInfo(pfbFile, FontFormat.PFB, type1.getName(), null, -1, -1,
                     0, 0, -1, null, this));
 
             if (LOG.isTraceEnabled())
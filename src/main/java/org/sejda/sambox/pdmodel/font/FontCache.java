@@ -17,28 +17,64 @@
 
 package org.sejda.sambox.pdmodel.font;
 
-import java.lang.ref.SoftReference;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
 
 import org.apache.fontbox.FontBoxFont;
+import org.apache.fontbox.cff.CFFFont;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.fontbox.type1.Type1Font;
+import org.sejda.sambox.util.BoundedCache;
+import org.sejda.sambox.util.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An in-memory cache for system fonts. This allows PDFBox to manage caching for a {@link FontProvider}. PDFBox is free
  * to purge this cache at will.
+ * <p>
+ * The cache is thread safe and strongly retains fonts up to a maximum total size of their font programs, the least
+ * recently used fonts in excess are softly retained until memory pressure causes them to be garbage collected.
+ * </p>
  *
  * @author John Hewson
  */
 public final class FontCache
 {
-    private final Map<FontInfo, SoftReference<FontBoxFont>> cache = new ConcurrentHashMap<FontInfo, SoftReference<FontBoxFont>>();
+    private static final Logger LOG = LoggerFactory.getLogger(FontCache.class);
+
+    /**
+     * Default maximum size in bytes of the font programs of the strongly retained fonts
+     */
+    public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+    // used when the size of a font program cannot be determined
+    private static final long DEFAULT_FONT_SIZE = 512 * 1024;
+
+    private final BoundedCache<FontInfo, FontBoxFont> cache;
+
+    public FontCache()
+    {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize maximum size in bytes of the font programs of the strongly retained fonts
+     */
+    public FontCache(long maxSize)
+    {
+        this.cache = new BoundedCache<>(maxSize, FontCache::sizeOf);
+    }
 
     /**
      * Adds the given FontBox font to the cache.
      */
     public void addFont(FontInfo info, FontBoxFont font)
     {
-        cache.put(info, new SoftReference<>(font));
+        if (font != null)
+        {
+            cache.put(info, font);
+        }
     }
 
     /**
@@ -46,7 +82,57 @@ public final class FontCache
      */
     public FontBoxFont getFont(FontInfo info)
     {
-        SoftReference<FontBoxFont> reference = cache.get(info);
-        return reference != null ? reference.get() : null;
+        return cache.get(info);
+    }
+
+    /**
+     * Returns the FontBox font associated with the given FontInfo, loading and caching it if necessary.
+     * 
+     * @param info
+     * @param loader loads the font, it can return null if the font cannot be loaded
+     * @return the font or null
+     */
+    public FontBoxFont getFont(FontInfo info, Function<FontInfo, FontBoxFont> loader)
+    {
+        return cache.get(info, loader::apply);
+    }
+
+    /**
+     * @return hit, miss and load time statistics of the cache
+     */
+    public CacheStats stats()
+    {
+        return cache.stats();
+    }
+
+    /**
+     * @return the size in bytes of the font program, a proxy for the memory retained by the font
+     */
+    private static long sizeOf(FontBoxFont font)
+    {
+        try
+        {
+            if (font instanceof TrueTypeFont)
+            {
+                try (InputStream data = ((TrueTypeFont) font).getOriginalData())
+                {
+                    return data.available();
+                }
+            }
+            if (font instanceof CFFFont)
+            {
+                return ((CFFFont) font).getData().length;
+            }
+            if (font instanceof Type1Font)
+            {
+                return ((Type1Font) font).getASCIISegment().length
+                        + ((Type1Font) font).getBinarySegment().length;
+            }
+        }
+        catch (IOException e)
+        {
+            LOG.debug("Unable to get the size of the font program", e);
+        }
+        return DEFAULT_FONT_SIZE;
     }
 }
@@ -16,11 +16,14 @@
  */
 package org.sejda.sambox.pdmodel.font;
 
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,6 +32,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.fontbox.FontBoxFont;
 import org.apache.fontbox.cff.CFFFont;
@@ -37,6 +42,7 @@ import org.apache.fontbox.ttf.OpenTypeFont;
 import org.apache.fontbox.ttf.TTFParser;
 import org.apache.fontbox.ttf.TrueTypeFont;
 import org.apache.fontbox.type1.Type1Font;
+import org.sejda.sambox.util.Metrics;
 
 /**
  * Font mapper, locates non-embedded fonts via a pluggable FontProvider.
@@ -45,9 +51,12 @@ import org.apache.fontbox.type1.Type1Font;
  */
 final class FontMapperImpl implements FontMapper
 {
-    private static final FontCache fontCache = new FontCache(); // todo: static cache isn't ideal
+    private static final FontCache DEFAULT_FONT_CACHE = new FontCache();
+    private final FontCache fontCache;
     private FontProvider fontProvider;
     private Map<String, FontInfo> fontInfoByName;
+    /** Fonts matching a character collection, keyed by registry and ordering, lazily populated */
+    private final Map<String, List<FontInfo>> fontInfoByCollection = new ConcurrentHashMap<>();
     private final TrueTypeFont lastResortFont;
 
     /** Map of PostScript name substitutes, in priority order. */
@@ -55,6 +64,16 @@ final class FontMapperImpl implements FontMapper
 
     FontMapperImpl()
     {
+        this(DEFAULT_FONT_CACHE);
+    }
+
+    /**
+     * @param fontCache the cache for the fonts loaded by the default font provider
+     */
+    FontMapperImpl(FontCache fontCache)
+    {
+        requireNotNullArg(fontCache, "Font cache cannot be null");
+        this.fontCache = fontCache;
         // substitutes for standard 14 fonts
         substitutes.put("Courier",
                 Arrays.asList("CourierNew", "CourierNewPSMT", "LiberationMono", "NimbusMonL-Regu"));
@@ -122,7 +141,8 @@ final class FontMapperImpl implements FontMapper
     // lazy thread safe singleton
     private static class DefaultFontProvider
     {
-        private static final FontProvider INSTANCE = new FileSystemFontProvider(fontCache);
+        private static final FontProvider INSTANCE = new FileSystemFontProvider(
+                DEFAULT_FONT_CACHE);
     }
 
     /**
@@ -132,6 +152,7 @@ final class FontMapperImpl implements FontMapper
     {
         this.fontProvider = fontProvider;
         fontInfoByName = createFontInfoByName(fontProvider.getFontInfo());
+        fontInfoByCollection.clear();
     }
 
     /**
@@ -141,7 +162,15 @@ final class FontMapperImpl implements FontMapper
     {
         if (fontProvider == null)
         {
-            setProvider(DefaultFontProvider.INSTANCE);
+            if (fontCache == DEFAULT_FONT_CACHE)
+            {
+                setProvider(DefaultFontProvider.INSTANCE);
+            }
+            else
+            {
+                // the provider loads its fonts in the cache it's created with
+                setProvider(new FileSystemFontProvider(fontCache));
+            }
         }
         return fontProvider;
     }
@@ -310,6 +339,13 @@ final class FontMapperImpl implements FontMapper
     @Override
     public FontMapping<TrueTypeFont> getTrueTypeFont(String baseFont,
             PDFontDescriptor fontDescriptor)
+    {
+        long start = Metrics.start();
+        return measured(mapTrueTypeFont(baseFont, fontDescriptor), start);
+    }
+
+    private FontMapping<TrueTypeFont> mapTrueTypeFont(String baseFont,
+            PDFontDescriptor fontDescriptor)
     {
         TrueTypeFont ttf = (TrueTypeFont) findFont(FontFormat.TTF, baseFont);
         if (ttf != null)
@@ -338,6 +374,13 @@ final class FontMapperImpl implements FontMapper
      */
     @Override
     public FontMapping<FontBoxFont> getFontBoxFont(String baseFont, PDFontDescriptor fontDescriptor)
+    {
+        long start = Metrics.start();
+        return measured(mapFontBoxFont(baseFont, fontDescriptor), start);
+    }
+
+    private FontMapping<FontBoxFont> mapFontBoxFont(String baseFont,
+            PDFontDescriptor fontDescriptor)
     {
         FontBoxFont font = findFontBoxFont(baseFont);
         if (font != null)
@@ -467,6 +510,23 @@ final class FontMapperImpl implements FontMapper
     @Override
     public CIDFontMapping getCIDFont(String baseFont, PDFontDescriptor fontDescriptor,
             PDCIDSystemInfo cidSystemInfo)
+    {
+        long start = Metrics.start();
+        return measured(mapCIDFont(baseFont, fontDescriptor, cidSystemInfo), start);
+    }
+
+    private static <T extends FontMapping<?>> T measured(T mapping, long start)
+    {
+        Metrics.stop(Metrics.FONTS_MAPPING, start);
+        if (mapping.isFallback())
+        {
+            Metrics.increment(Metrics.FONTS_FALLBACK);
+        }
+        return mapping;
+    }
+
+    private CIDFontMapping mapCIDFont(String baseFont, PDFontDescriptor fontDescriptor,
+            PDCIDSystemInfo cidSystemInfo)
     {
         // try name match or substitute with OTF
         OpenTypeFont otf1 = (OpenTypeFont) findFont(FontFormat.OTF, baseFont);
@@ -527,14 +587,18 @@ final class FontMapperImpl implements FontMapper
     {
         PriorityQueue<FontMatch> queue = new PriorityQueue<>(20);
 
-        for (FontInfo info : fontInfoByName.values())
+        // filter by CIDSystemInfo, if given
+        Collection<FontInfo> candidates = fontInfoByName.values();
+        if (cidSystemInfo != null)
+        {
+            candidates = fontInfoByCollection.computeIfAbsent(
+                    cidSystemInfo.getRegistry() + "-" + cidSystemInfo.getOrdering(),
+                    k -> fontInfoByName.values().stream()
+                            .filter(info -> isCharSetMatch(cidSystemInfo, info))
+                            .collect(Collectors.toList()));
+        }
+        for (FontInfo info : candidates)
         {
-            // filter by CIDSystemInfo, if given
-            if (cidSystemInfo != null && !isCharSetMatch(cidSystemInfo, info))
-            {
-                continue;
-            }
-
             FontMatch match = new FontMatch(info);
 
             // Panose is the most reliable
@@ -47,6 +47,18 @@ public final class FontMappers
         return instance;
     }
 
+    /**
+     * Creates a new default FontMapper that caches the system fonts it loads in the given cache instead of the shared
+     * one. The returned mapper can be set as the singleton instance using {@link #set(FontMapper)}.
+     * 
+     * @param cache
+     * @return the new FontMapper
+     */
+    public static FontMapper create(FontCache cache)
+    {
+        return new FontMapperImpl(cache);
+    }
+
     /**
      * Sets the singleton FontMapper instance.
      */
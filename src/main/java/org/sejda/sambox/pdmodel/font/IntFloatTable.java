@@ -0,0 +1,189 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.font;
+
+import java.util.Arrays;
+
+/**
+ * Immutable int to float table used for the font metrics keyed by CID or character code. Values are stored in a dense
+ * array indexed by key when the keys are mostly contiguous, or in sorted parallel arrays searched with a binary search
+ * otherwise, so that lookups don't box keys or values.
+ *
+ * @author Andrea Vacondio
+ */
+final class IntFloatTable
+{
+    static final IntFloatTable EMPTY = new IntFloatTable(0, new float[0], null, null, 0);
+
+    // dense representation, values[key - offset] is valid when the corresponding bit is set
+    private final int offset;
+    private final long[] present;
+    // sparse representation, sorted keys
+    private final int[] keys;
+    private final float[] values;
+    private final int size;
+
+    private IntFloatTable(int offset, float[] values, long[] present, int[] keys, int size)
+    {
+        this.offset = offset;
+        this.values = values;
+        this.present = present;
+        this.keys = keys;
+        this.size = size;
+    }
+
+    /**
+     * @param key
+     * @return true if the table contains a value for the given key
+     */
+    boolean containsKey(int key)
+    {
+        return index(key) >= 0;
+    }
+
+    /**
+     * @param key
+     * @param defaultValue
+     * @return the value for the given key or the default value if there's no value for the key
+     */
+    float get(int key, float defaultValue)
+    {
+        int index = index(key);
+        if (index < 0)
+        {
+            return defaultValue;
+        }
+        return values[index];
+    }
+
+    private int index(int key)
+    {
+        if (keys != null)
+        {
+            return Arrays.binarySearch(keys, 0, size, key);
+        }
+        long index = (long) key - offset;
+        if (index >= 0 && index < values.length
+                && (present[(int) (index >>> 6)] & (1L << index)) != 0)
+        {
+            return (int) index;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of keys in the table
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the sum of all the values in the table
+     */
+    float sum()
+    {
+        float sum = 0;
+        if (keys != null)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                sum += values[i];
+            }
+        }
+        else
+        {
+            for (int i = 0; i < values.length; i++)
+            {
+                if ((present[i >>> 6] & (1L << i)) != 0)
+                {
+                    sum += values[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Builder for the table, when the same key is put more than once the last value wins.
+     */
+    static final class Builder
+    {
+        // key in the high bits, insertion order in the low bits
+        private long[] entries = new long[16];
+        private float[] values = new float[16];
+        private int size;
+
+        Builder put(int key, float value)
+        {
+            if (size == entries.length)
+            {
+                entries = Arrays.copyOf(entries, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            entries[size] = ((long) key << 32) | size;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        IntFloatTable build()
+        {
+            if (size == 0)
+            {
+                return EMPTY;
+            }
+            long[] sorted = Arrays.copyOf(entries, size);
+            // sorted by key and then by insertion order
+            Arrays.sort(sorted);
+            int[] keys = new int[size];
+            float[] sortedValues = new float[size];
+            int count = 0;
+            for (int i = 0; i < size; i++)
+            {
+                int key = (int) (sorted[i] >> 32);
+                float value = values[(int) sorted[i]];
+                if (count > 0 && keys[count - 1] == key)
+                {
+                    sortedValues[count - 1] = value;
+                }
+                else
+                {
+                    keys[count] = key;
+                    sortedValues[count++] = value;
+                }
+            }
+            long span = (long) keys[count - 1] - keys[0] + 1;
+            // dense when it takes no more than twice the memory of the sparse representation
+            if (span <= 2L * count + 64)
+            {
+                int offset = keys[0];
+                float[] dense = new float[(int) span];
+                long[] present = new long[(int) ((span + 63) >>> 6)];
+                for (int i = 0; i < count; i++)
+                {
+                    int index = keys[i] - offset;
+                    dense[index] = sortedValues[i];
+                    present[index >>> 6] |= 1L << index;
+                }
+                return new IntFloatTable(offset, dense, present, null, count);
+            }
+            return new IntFloatTable(0, sortedValues, null, keys, count);
+        }
+    }
+}
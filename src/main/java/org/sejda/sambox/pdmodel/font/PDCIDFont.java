@@ -17,9 +17,6 @@
 package org.sejda.sambox.pdmodel.font;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.apache.fontbox.util.BoundingBox;
 import org.sejda.sambox.cos.COSArray;
@@ -44,12 +41,14 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
 {
     protected final PDType0Font parent;
 
-    private Map<Integer, Float> widths;
+    private IntFloatTable widths;
     private float defaultWidth;
     private float averageWidth;
 
-    private final Map<Integer, Float> verticalDisplacementY = new HashMap<Integer, Float>(); // w1y
-    private final Map<Integer, Vector> positionVectors = new HashMap<Integer, Vector>(); // v
+    private IntFloatTable verticalDisplacementY; // w1y
+    // v
+    private IntFloatTable positionVectorsX;
+    private IntFloatTable positionVectorsY;
     private float[] dw2;
 
     protected final COSDictionary dict;
@@ -70,7 +69,7 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
 
     private void readWidths()
     {
-        widths = new HashMap<Integer, Float>();
+        IntFloatTable.Builder builder = new IntFloatTable.Builder();
         COSArray widths = (COSArray) dict.getDictionaryObject(COSName.W);
         if (widths != null)
         {
@@ -88,7 +87,7 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
                     for (int i = 0; i < arraySize; i++)
                     {
                         COSNumber width = (COSNumber) array.get(i);
-                        this.widths.put(startRange + i, width.floatValue());
+                        builder.put(startRange + i, width.floatValue());
                     }
                 }
                 else
@@ -100,12 +99,12 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
                     float width = rangeWidth.floatValue();
                     for (int i = startRange; i <= endRange; i++)
                     {
-                        this.widths.put(i, width);
+                        builder.put(i, width);
                     }
                 }
             }
         }
-
+        this.widths = builder.build();
     }
 
     private void readVerticalDisplacements()
@@ -124,6 +123,9 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
         }
 
         // vertical metrics for individual CIDs.
+        IntFloatTable.Builder w1yBuilder = new IntFloatTable.Builder();
+        IntFloatTable.Builder v1xBuilder = new IntFloatTable.Builder();
+        IntFloatTable.Builder v1yBuilder = new IntFloatTable.Builder();
         COSArray w2 = (COSArray) dict.getDictionaryObject(COSName.W2);
         if (w2 != null)
         {
@@ -140,8 +142,9 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
                         COSNumber w1y = (COSNumber) array.get(j);
                         COSNumber v1x = (COSNumber) array.get(++j);
                         COSNumber v1y = (COSNumber) array.get(++j);
-                        verticalDisplacementY.put(cid, w1y.floatValue());
-                        positionVectors.put(cid, new Vector(v1x.floatValue(), v1y.floatValue()));
+                        w1yBuilder.put(cid, w1y.floatValue());
+                        v1xBuilder.put(cid, v1x.floatValue());
+                        v1yBuilder.put(cid, v1y.floatValue());
                     }
                 }
                 else
@@ -153,12 +156,16 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
                     COSNumber v1y = (COSNumber) w2.get(++i);
                     for (int cid = first; cid <= last; cid++)
                     {
-                        verticalDisplacementY.put(cid, w1y.floatValue());
-                        positionVectors.put(cid, new Vector(v1x.floatValue(), v1y.floatValue()));
+                        w1yBuilder.put(cid, w1y.floatValue());
+                        v1xBuilder.put(cid, v1x.floatValue());
+                        v1yBuilder.put(cid, v1y.floatValue());
                     }
                 }
             }
         }
+        verticalDisplacementY = w1yBuilder.build();
+        positionVectorsX = v1xBuilder.build();
+        positionVectorsY = v1yBuilder.build();
     }
 
     @Override
@@ -247,24 +254,22 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
 
     private float getWidthForCID(int cid)
     {
-        Float width = widths.get(cid);
-        if (width == null)
+        if (widths.containsKey(cid))
         {
-            width = getDefaultWidth();
+            return widths.get(cid, 0);
         }
-        return width;
+        return getDefaultWidth();
     }
 
     @Override
     public Vector getPositionVector(int code)
     {
         int cid = codeToCID(code);
-        Vector v = positionVectors.get(cid);
-        if (v == null)
+        if (positionVectorsX.containsKey(cid))
         {
-            v = getDefaultPositionVector(cid);
+            return new Vector(positionVectorsX.get(cid, 0), positionVectorsY.get(cid, 0));
         }
-        return v;
+        return getDefaultPositionVector(cid);
     }
 
     /**
@@ -276,12 +281,7 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
     public float getVerticalDisplacementVectorY(int code)
     {
         int cid = codeToCID(code);
-        Float w1y = verticalDisplacementY.get(cid);
-        if (w1y == null)
-        {
-            w1y = dw2[1];
-        }
-        return w1y;
+        return verticalDisplacementY.get(cid, dw2[1]);
     }
 
     @Override
@@ -313,11 +313,7 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
             if (widths != null)
             {
                 characterCount = widths.size();
-                Collection<Float> widthsValues = widths.values();
-                for (Float width : widthsValues)
-                {
-                    totalWidths += width;
-                }
+                totalWidths = widths.sum();
             }
             float averageWidth = totalWidths / characterCount;
             if (averageWidth <= 0 || Float.isNaN(averageWidth))
@@ -20,15 +20,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
-import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.fontbox.afm.FontMetrics;
 import org.apache.fontbox.cmap.CMap;
 import org.apache.fontbox.util.BoundingBox;
 import org.sejda.sambox.cos.COSArray;
-import org.sejda.sambox.cos.COSArrayList;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
@@ -56,7 +53,7 @@ public abstract class PDFont implements COSObjectable, PDFontLike
     private final FontMetrics afmStandard14; // AFM for standard 14 fonts
 
     private PDFontDescriptor fontDescriptor;
-    private List<Float> widths;
+    private float[] widths;
     private float avgFontWidth;
     private float fontWidthOfSpace = -1f;
 
@@ -226,11 +223,11 @@ public abstract class PDFont implements COSObjectable, PDFontLike
         {
             int firstChar = dict.getInt(COSName.FIRST_CHAR, -1);
             int lastChar = dict.getInt(COSName.LAST_CHAR, -1);
-            int siz = getWidths().size();
+            float[] widths = getWidths();
             int idx = code - firstChar;
-            if (siz > 0 && code >= firstChar && code <= lastChar && idx < siz)
+            if (widths.length > 0 && code >= firstChar && code <= lastChar && idx < widths.length)
             {
-                return getWidths().get(idx);
+                return widths[idx];
             }
 
             PDFontDescriptor fd = getFontDescriptor();
@@ -446,22 +443,22 @@ public abstract class PDFont implements COSObjectable, PDFontLike
     public abstract BoundingBox getBoundingBox() throws IOException;
 
     /**
-     * The widths of the characters. This will be null for the standard 14 fonts.
+     * The widths of the characters. This will be empty for the standard 14 fonts.
      *
      * @return The widths of the characters.
      */
-    protected final List<Float> getWidths()
+    protected final float[] getWidths()
     {
         if (widths == null)
         {
             COSArray array = (COSArray) dict.getDictionaryObject(COSName.WIDTHS);
             if (array != null)
             {
-                widths = COSArrayList.convertFloatCOSArrayToList(array);
+                widths = array.toFloatArray();
             }
             else
             {
-                widths = Collections.emptyList();
+                widths = new float[0];
             }
         }
         return widths;
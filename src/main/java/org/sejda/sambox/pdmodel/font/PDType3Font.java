@@ -114,9 +114,10 @@ public class PDType3Font extends PDSimpleFont
     {
         int firstChar = dict.getInt(COSName.FIRST_CHAR, -1);
         int lastChar = dict.getInt(COSName.LAST_CHAR, -1);
-        if (getWidths().size() > 0 && code >= firstChar && code <= lastChar)
+        float[] widths = getWidths();
+        if (widths.length > 0 && code >= firstChar && code <= lastChar)
         {
-            return getWidths().get(code - firstChar);
+            return widths[code - firstChar];
         }
         PDFontDescriptor fd = getFontDescriptor();
         if (nonNull(fd))
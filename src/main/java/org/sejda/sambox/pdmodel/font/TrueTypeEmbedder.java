@@ -23,11 +23,14 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.apache.fontbox.ttf.CmapSubtable;
 import org.apache.fontbox.ttf.HeaderTable;
@@ -41,6 +44,7 @@ import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.pdmodel.common.PDStream;
+import org.sejda.sambox.util.BoundedCache;
 import org.sejda.util.IOUtils;
 
 /**
@@ -57,8 +61,12 @@ abstract class TrueTypeEmbedder implements Subsetter
 
     protected TrueTypeFont ttf;
     protected PDFontDescriptor fontDescriptor;
+    // subsets built by any document of this JVM, keyed by original font data and code points
+    private static final BoundedCache<SubsetKey, FontSubset> SUBSETS = new BoundedCache<>(
+            16 * 1024 * 1024, s -> s.data.length);
+
     protected final CmapSubtable cmap;
-    private final Set<Integer> subsetCodePoints = new HashSet<>();
+    private final BitSet subsetCodePoints = new BitSet();
     private final boolean embedSubset;
 
     /**
@@ -261,7 +269,7 @@ abstract class TrueTypeEmbedder implements Subsetter
     @Override
     public void addToSubset(int codePoint)
     {
-        subsetCodePoints.add(codePoint);
+        subsetCodePoints.set(codePoint);
     }
 
     @Override
@@ -277,6 +285,18 @@ abstract class TrueTypeEmbedder implements Subsetter
             throw new IllegalStateException("Subsetting is disabled");
         }
 
+        // the same font with the same code points always results in the same subset
+        FontSubset subset = SUBSETS.get(
+                new SubsetKey(digest(ttf), (BitSet) subsetCodePoints.clone()),
+                k -> createSubset());
+
+        // re-build the embedded font
+        buildSubset(new ByteArrayInputStream(subset.data), subset.tag, subset.gidToCid);
+        ttf.close();
+    }
+
+    private FontSubset createSubset() throws IOException
+    {
         // PDF spec required tables (if present), all others will be removed
         List<String> tables = new ArrayList<String>();
         tables.add("head");
@@ -293,7 +313,11 @@ abstract class TrueTypeEmbedder implements Subsetter
 
         // set the GIDs to subset
         TTFSubsetter subsetter = new TTFSubsetter(getTrueTypeFont(), tables);
-        subsetter.addAll(subsetCodePoints);
+        for (int codePoint = subsetCodePoints.nextSetBit(0); codePoint >= 0;
+                codePoint = subsetCodePoints.nextSetBit(codePoint + 1))
+        {
+            subsetter.add(codePoint);
+        }
 
         // calculate deterministic tag based on the chosen subset
         Map<Integer, Integer> gidToCid = subsetter.getGIDMap();
@@ -303,10 +327,29 @@ abstract class TrueTypeEmbedder implements Subsetter
         // save the subset font
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         subsetter.writeToStream(out);
+        return new FontSubset(out.toByteArray(), tag, gidToCid);
+    }
 
-        // re-build the embedded font
-        buildSubset(new ByteArrayInputStream(out.toByteArray()), tag, gidToCid);
-        ttf.close();
+    /**
+     * @return a digest of the original data of the given font
+     */
+    private static byte[] digest(TrueTypeFont ttf) throws IOException
+    {
+        try (InputStream data = ttf.getOriginalData())
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = data.read(buffer)) != -1)
+            {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IOException(e);
+        }
     }
 
     /**
@@ -350,4 +393,51 @@ abstract class TrueTypeEmbedder implements Subsetter
         sb.append('+');
         return sb.toString();
     }
+
+    private static final class SubsetKey
+    {
+        private final byte[] fontDigest;
+        private final BitSet codePoints;
+
+        SubsetKey(byte[] fontDigest, BitSet codePoints)
+        {
+            this.fontDigest = fontDigest;
+            this.codePoints = codePoints;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof SubsetKey))
+            {
+                return false;
+            }
+            SubsetKey other = (SubsetKey) obj;
+            return Arrays.equals(fontDigest, other.fontDigest)
+                    && codePoints.equals(other.codePoints);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Arrays.hashCode(fontDigest) + codePoints.hashCode();
+        }
+    }
+
+    /**
+     * A subset font data and its GID to CID map. Instances are shared among documents and must not be modified.
+     */
+    private static final class FontSubset
+    {
+        private final byte[] data;
+        private final String tag;
+        private final Map<Integer, Integer> gidToCid;
+
+        FontSubset(byte[] data, String tag, Map<Integer, Integer> gidToCid)
+        {
+            this.data = data;
+            this.tag = tag;
+            this.gidToCid = Collections.unmodifiableMap(gidToCid);
+        }
+    }
 }
@@ -22,7 +22,10 @@ import java.awt.CompositeContext;
 import java.awt.RenderingHints;
 import java.awt.color.ColorSpace;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DirectColorModel;
 import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.awt.image.WritableRaster;
 
 import org.slf4j.Logger;
@@ -110,6 +113,69 @@ public final class BlendComposite implements Composite
 
         @Override
         public void compose(Raster src, Raster dstIn, WritableRaster dstOut)
+        {
+            if (blendMode instanceof SeparableBlendMode && isIntRGB(srcColorModel, src)
+                    && isIntRGB(dstColorModel, dstIn) && isIntRGB(dstColorModel, dstOut))
+            {
+                composeIntRGB((SeparableBlendMode) blendMode, src, dstIn, dstOut);
+            }
+            else
+            {
+                composeGeneric(src, dstIn, dstOut);
+            }
+        }
+
+        /**
+         * Fast path for the common case of int packed sRGB pixels with optional alpha, it works on rows of int pixels
+         * using integer math, without any per pixel allocation or conversion.
+         */
+        private void composeIntRGB(SeparableBlendMode separableBlendMode, Raster src,
+                Raster dstIn, WritableRaster dstOut)
+        {
+            int width = Math.min(Math.min(src.getWidth(), dstIn.getWidth()), dstOut.getWidth());
+            int height = Math.min(Math.min(src.getHeight(), dstIn.getHeight()), dstOut.getHeight());
+            boolean srcHasAlpha = srcColorModel.hasAlpha();
+            boolean dstHasAlpha = dstColorModel.hasAlpha();
+            int alpha = Math.round(Math.max(0, Math.min(1, constantAlpha)) * 255);
+
+            int[] srcRow = new int[width];
+            int[] dstRow = new int[width];
+            for (int y = 0; y < height; y++)
+            {
+                src.getDataElements(src.getMinX(), src.getMinY() + y, width, 1, srcRow);
+                dstIn.getDataElements(dstIn.getMinX(), dstIn.getMinY() + y, width, 1, dstRow);
+                for (int x = 0; x < width; x++)
+                {
+                    int srcPixel = srcRow[x];
+                    int dstPixel = dstRow[x];
+
+                    // alpha values are in the [0, 255 * 255] range to keep precision with small alphas
+                    int srcAlpha = srcHasAlpha ? (srcPixel >>> 24) * alpha : 255 * alpha;
+                    int dstAlpha = dstHasAlpha ? dstPixel >>> 24 : 255;
+                    int resultAlpha = dstAlpha * 255 + srcAlpha
+                            - SeparableBlendMode.div255(srcAlpha * dstAlpha);
+                    int srcAlphaRatio = (resultAlpha > 0)
+                            ? (int) ((srcAlpha * 65025L + resultAlpha / 2) / resultAlpha)
+                            : 0;
+
+                    int result = dstHasAlpha ? SeparableBlendMode.div255(resultAlpha) << 24 : 0;
+                    for (int shift = 16; shift >= 0; shift -= 8)
+                    {
+                        int srcValue = (srcPixel >> shift) & 0xFF;
+                        int dstValue = (dstPixel >> shift) & 0xFF;
+                        int value = separableBlendMode.blendChannel(srcValue, dstValue);
+                        value = srcValue + SeparableBlendMode.div255(dstAlpha * (value - srcValue));
+                        value = dstValue + div65025(srcAlphaRatio * (value - dstValue));
+                        result |= Math.max(0, Math.min(255, value)) << shift;
+                    }
+                    dstRow[x] = result;
+                }
+                dstOut.setDataElements(dstOut.getMinX(), dstOut.getMinY() + y, width, 1,
+                        dstRow);
+            }
+        }
+
+        private void composeGeneric(Raster src, Raster dstIn, WritableRaster dstOut)
         {
             int x0 = src.getMinX();
             int y0 = src.getMinY();
@@ -223,6 +289,38 @@ public final class BlendComposite implements Composite
             }
         }
 
+        private int div65025(int value)
+        {
+            if (value >= 0)
+            {
+                return (value + 32512) / 65025;
+            }
+            return -((32512 - value) / 65025);
+        }
+
+        /**
+         * @return true if the pixels of the raster are packed in a single int as sRGB, with optional alpha, using the
+         * same layout of {@link java.awt.image.BufferedImage#TYPE_INT_RGB} and
+         * {@link java.awt.image.BufferedImage#TYPE_INT_ARGB}
+         */
+        private boolean isIntRGB(ColorModel colorModel, Raster raster)
+        {
+            if (colorModel instanceof DirectColorModel && colorModel.getColorSpace().isCS_sRGB()
+                    && !colorModel.isAlphaPremultiplied()
+                    && raster.getSampleModel() instanceof SinglePixelPackedSampleModel
+                    && raster.getTransferType() == DataBuffer.TYPE_INT
+                    && raster.getNumDataElements() == 1)
+            {
+                DirectColorModel directColorModel = (DirectColorModel) colorModel;
+                return directColorModel.getRedMask() == 0xFF0000
+                        && directColorModel.getGreenMask() == 0xFF00
+                        && directColorModel.getBlueMask() == 0xFF
+                        && (directColorModel.getAlphaMask() == 0
+                                || directColorModel.getAlphaMask() == 0xFF000000);
+            }
+            return false;
+        }
+
         public RenderingHints getHints()
         {
             return hints;
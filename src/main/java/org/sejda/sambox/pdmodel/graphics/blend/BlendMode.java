@@ -70,6 +70,12 @@ public abstract class BlendMode
         {
             return srcValue;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return srcValue;
+        }
     };
 
     public static final SeparableBlendMode COMPATIBLE = NORMAL;
@@ -81,6 +87,12 @@ public abstract class BlendMode
         {
             return srcValue * dstValue;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return div255(srcValue * dstValue);
+        }
     };
 
     public static final SeparableBlendMode SCREEN = new SeparableBlendMode()
@@ -90,6 +102,12 @@ public abstract class BlendMode
         {
             return srcValue + dstValue - srcValue * dstValue;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return srcValue + dstValue - div255(srcValue * dstValue);
+        }
     };
 
     public static final SeparableBlendMode OVERLAY = new SeparableBlendMode()
@@ -100,6 +118,14 @@ public abstract class BlendMode
             return (dstValue <= 0.5) ? 2 * dstValue * srcValue : 2 * (srcValue + dstValue - srcValue
                     * dstValue) - 1;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return (dstValue <= 127) ? div255(2 * dstValue * srcValue)
+                    : 2 * (srcValue + dstValue) - 255
+                            - div255(2 * srcValue * dstValue);
+        }
     };
 
     public static final SeparableBlendMode DARKEN = new SeparableBlendMode()
@@ -109,6 +135,12 @@ public abstract class BlendMode
         {
             return Math.min(srcValue, dstValue);
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return Math.min(srcValue, dstValue);
+        }
     };
 
     public static final SeparableBlendMode LIGHTEN = new SeparableBlendMode()
@@ -118,6 +150,12 @@ public abstract class BlendMode
         {
             return Math.max(srcValue, dstValue);
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return Math.max(srcValue, dstValue);
+        }
     };
 
     public static final SeparableBlendMode COLOR_DODGE = new SeparableBlendMode()
@@ -127,6 +165,14 @@ public abstract class BlendMode
         {
             return (srcValue < 1) ? Math.min(1, dstValue / (1 - srcValue)) : 1;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return (srcValue < 255)
+                    ? Math.min(255, (dstValue * 255 + (255 - srcValue) / 2) / (255 - srcValue))
+                    : 255;
+        }
     };
 
     public static final SeparableBlendMode COLOR_BURN = new SeparableBlendMode()
@@ -136,6 +182,14 @@ public abstract class BlendMode
         {
             return (srcValue > 0) ? 1 - Math.min(1, (1 - dstValue) / srcValue) : 0;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return (srcValue > 0)
+                    ? 255 - Math.min(255, ((255 - dstValue) * 255 + srcValue / 2) / srcValue)
+                    : 0;
+        }
     };
 
     public static final SeparableBlendMode HARD_LIGHT = new SeparableBlendMode()
@@ -146,6 +200,14 @@ public abstract class BlendMode
             return (srcValue <= 0.5) ? 2 * dstValue * srcValue :
                     2 * (srcValue + dstValue - srcValue * dstValue) - 1;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return (srcValue <= 127) ? div255(2 * dstValue * srcValue)
+                    : 2 * (srcValue + dstValue) - 255
+                            - div255(2 * srcValue * dstValue);
+        }
     };
 
     public static final SeparableBlendMode SOFT_LIGHT = new SeparableBlendMode()
@@ -173,6 +235,12 @@ public abstract class BlendMode
         {
             return Math.abs(dstValue - srcValue);
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return Math.abs(dstValue - srcValue);
+        }
     };
 
     public static final SeparableBlendMode EXCLUSION = new SeparableBlendMode()
@@ -182,6 +250,12 @@ public abstract class BlendMode
         {
             return dstValue + srcValue - 2 * dstValue * srcValue;
         }
+
+        @Override
+        int blendChannel(int srcValue, int dstValue)
+        {
+            return dstValue + srcValue - div255(2 * dstValue * srcValue);
+        }
     };
 
     // this map *must* come after the declarations above, otherwise its values will be null
@@ -23,9 +23,54 @@ package org.sejda.sambox.pdmodel.graphics.blend;
  */
 public abstract class SeparableBlendMode extends BlendMode
 {
+    // lazily computed results of the blend function for all the 8 bit values, published once fully built
+    private volatile byte[] table;
+
     SeparableBlendMode()
     {
     }
 
     public abstract float blendChannel(float srcValue, float dstValue);
+
+    /**
+     * Blends 8 bit channel values. Blend modes that can be expressed with integer math override this, the default
+     * implementation looks up the results of {@link #blendChannel(float, float)} computed once for all the 65536
+     * combinations.
+     *
+     * @param srcValue source value in the range [0, 255]
+     * @param dstValue destination value in the range [0, 255]
+     * @return the blended value in the range [0, 255]
+     */
+    int blendChannel(int srcValue, int dstValue)
+    {
+        byte[] values = table;
+        if (values == null)
+        {
+            values = new byte[256 * 256];
+            for (int src = 0; src < 256; src++)
+            {
+                for (int dst = 0; dst < 256; dst++)
+                {
+                    float value = blendChannel(src / 255f, dst / 255f);
+                    values[(src << 8) | dst] = (byte) Math.round(
+                            Math.max(0, Math.min(1, value)) * 255);
+                }
+            }
+            table = values;
+        }
+        return values[(srcValue << 8) | dstValue] & 0xFF;
+    }
+
+    /**
+     * @param value
+     * @return the given value divided by 255 and rounded to the nearest integer, negative values included
+     */
+    static int div255(int value)
+    {
+        if (value >= 0)
+        {
+            return (value + 127) / 255;
+        }
+        return -((127 - value) / 255);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.graphics.image;
+
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.awt.Rectangle;
+import java.util.Objects;
+
+import org.sejda.sambox.cos.COSObjectKey;
+
+/**
+ * Key of a decoded image in the document resource cache. The same image stream can be decoded in different ways so the
+ * key is made of the image stream key, the decoded region, the subsampling and the mask state, that is if masks have
+ * been applied or not.
+ *
+ * @author Andrea Vacondio
+ */
+public final class ImageCacheKey
+{
+    private final COSObjectKey key;
+    private final Rectangle region;
+    private final int subsampling;
+    private final boolean masked;
+
+    /**
+     * @param key the key of the image stream
+     * @param region the decoded region or null for the whole image
+     * @param subsampling the subsampling factor
+     * @param masked true if the image has its masks applied
+     */
+    public ImageCacheKey(COSObjectKey key, Rectangle region, int subsampling, boolean masked)
+    {
+        requireNotNullArg(key, "Image key cannot be null");
+        this.key = key;
+        this.region = region == null ? null : new Rectangle(region);
+        this.subsampling = subsampling;
+        this.masked = masked;
+    }
+
+    public COSObjectKey key()
+    {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof ImageCacheKey))
+        {
+            return false;
+        }
+        ImageCacheKey other = (ImageCacheKey) obj;
+        return key.equals(other.key) && Objects.equals(region, other.region)
+                && subsampling == other.subsampling && masked == other.masked;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(key, region, subsampling, masked);
+    }
+
+    @Override
+    public String toString()
+    {
+        return key + " region=" + region + " subsampling=" + subsampling + " masked=" + masked;
+    }
+}
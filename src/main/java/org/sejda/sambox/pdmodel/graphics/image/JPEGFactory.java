@@ -18,6 +18,7 @@ package org.sejda.sambox.pdmodel.graphics.image;
 
 import static java.util.Objects.nonNull;
 import static org.sejda.util.RequireUtils.requireIOCondition;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
 
 import java.awt.Transparency;
 import java.awt.color.ColorSpace;
@@ -44,7 +45,12 @@ import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.ImageOutputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.sejda.io.SeekableSource;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceCMYK;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
@@ -65,9 +71,9 @@ public final class JPEGFactory
     /**
      * Creates a new JPEG Image XObject from an input stream containing JPEG data.
      * 
-     * The input stream data will be preserved and embedded in the PDF file without modification.
+     * The input stream data will be preserved and embedded in the PDF file without modification. Image information
+     * are read from the JPEG markers, the image is decoded only if they cannot be used.
      * 
-     * @param document the document where the image will be created
      * @param stream a stream of JPEG data
      * @return a new Image XObject
      * 
@@ -75,27 +81,109 @@ public final class JPEGFactory
      */
     public static PDImageXObject createFromStream(InputStream stream) throws IOException
     {
-        // copy stream
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(IOUtils.toByteArray(stream));
-
+        byte[] bytes = IOUtils.toByteArray(stream);
+        JPEGHeader header = JPEGHeader.read(new ByteArrayInputStream(bytes));
+        if (nonNull(header))
+        {
+            return createFromHeader(new ByteArrayInputStream(bytes), header);
+        }
         // read image
-        BufferedImage awtImage = readJPEG(byteStream);
-        byteStream.reset();
-
+        BufferedImage awtImage = readJPEG(new ByteArrayInputStream(bytes));
+        // no alpha
+        if (awtImage.getColorModel().hasAlpha())
+        {
+            throw new UnsupportedOperationException("alpha channel not implemented");
+        }
         // create Image XObject from stream
-        PDImageXObject pdImage = new PDImageXObject(byteStream, COSName.DCT_DECODE,
+        return new PDImageXObject(new ByteArrayInputStream(bytes), COSName.DCT_DECODE,
                 awtImage.getWidth(), awtImage.getHeight(),
                 awtImage.getColorModel().getComponentSize(0), getColorSpaceFromAWT(awtImage));
+    }
 
-        // no alpha
-        if (awtImage.getColorModel().hasAlpha())
+    /**
+     * Creates a new JPEG Image XObject from a {@link SeekableSource} containing JPEG data. The image stream is a view of
+     * the source, data is not copied in memory and it's embedded in the PDF file without modification. Image
+     * information are read from the JPEG markers, the image is decoded only if they cannot be used.
+     * <p>
+     * The source is not closed and it must stay open until the document using the image is written.
+     * </p>
+     * 
+     * @param source a source of JPEG data, like a file channel based one
+     * @return a new Image XObject
+     * 
+     * @throws IOException if the source cannot be read
+     */
+    public static PDImageXObject createFromSeekableSource(SeekableSource source)
+            throws IOException
+    {
+        requireNotNullArg(source, "Cannot create an image from a null source");
+        JPEGHeader header;
+        try (SeekableSource view = source.view(0, source.size()))
         {
-            throw new UnsupportedOperationException("alpha channel not implemented");
+            header = JPEGHeader.read(view.asInputStream());
         }
+        int width;
+        int height;
+        int bitsPerComponent;
+        PDColorSpace colorSpace;
+        if (nonNull(header))
+        {
+            width = header.width;
+            height = header.height;
+            bitsPerComponent = header.bitsPerComponent;
+            colorSpace = header.colorSpace();
+        }
+        else
+        {
+            BufferedImage awtImage;
+            try (SeekableSource view = source.view(0, source.size()))
+            {
+                awtImage = readJPEG(view.asInputStream());
+            }
+            if (awtImage.getColorModel().hasAlpha())
+            {
+                throw new UnsupportedOperationException("alpha channel not implemented");
+            }
+            width = awtImage.getWidth();
+            height = awtImage.getHeight();
+            bitsPerComponent = awtImage.getColorModel().getComponentSize(0);
+            colorSpace = getColorSpaceFromAWT(awtImage);
+        }
+        COSStream stream = new COSStream(new COSDictionary(), source, 0, source.size());
+        stream.setItem(COSName.FILTER, COSName.DCT_DECODE);
+        PDImageXObject pdImage = new PDImageXObject(stream, width, height, bitsPerComponent,
+                colorSpace);
+        if (nonNull(header) && header.isInvertedCMYK())
+        {
+            pdImage.setDecode(invertedCMYKDecode());
+        }
+        return pdImage;
+    }
 
+    private static PDImageXObject createFromHeader(InputStream stream, JPEGHeader header)
+            throws IOException
+    {
+        PDImageXObject pdImage = new PDImageXObject(stream, COSName.DCT_DECODE, header.width,
+                header.height, header.bitsPerComponent, header.colorSpace());
+        if (header.isInvertedCMYK())
+        {
+            pdImage.setDecode(invertedCMYKDecode());
+        }
         return pdImage;
     }
 
+    // Adobe applications write CMYK JPEG with inverted values
+    private static COSArray invertedCMYKDecode()
+    {
+        COSArray decode = new COSArray();
+        for (int i = 0; i < 4; i++)
+        {
+            decode.add(COSInteger.ONE);
+            decode.add(COSInteger.ZERO);
+        }
+        return decode;
+    }
+
     public static BufferedImage readJPEG(InputStream stream) throws IOException
     {
         return readJpeg(stream);
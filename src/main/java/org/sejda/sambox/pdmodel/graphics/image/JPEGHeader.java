@@ -0,0 +1,224 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.graphics.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceCMYK;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
+
+/**
+ * Information about a JPEG image read from its markers, up to the start of scan, without decoding the image.
+ *
+ * @author Andrea Vacondio
+ */
+final class JPEGHeader
+{
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int APP14 = 0xEE;
+    private static final int TEM = 0x01;
+
+    final int width;
+    final int height;
+    final int components;
+    final int bitsPerComponent;
+    /**
+     * true if an Adobe APP14 marker is present, Adobe applications write CMYK images with inverted values
+     */
+    final boolean adobe;
+
+    private JPEGHeader(int width, int height, int components, int bitsPerComponent,
+            boolean adobe)
+    {
+        this.width = width;
+        this.height = height;
+        this.components = components;
+        this.bitsPerComponent = bitsPerComponent;
+        this.adobe = adobe;
+    }
+
+    /**
+     * @return the color space for the image components
+     */
+    PDColorSpace colorSpace()
+    {
+        switch (components)
+        {
+        case 1:
+            return PDDeviceGray.INSTANCE;
+        case 3:
+            return PDDeviceRGB.INSTANCE;
+        default:
+            return PDDeviceCMYK.INSTANCE;
+        }
+    }
+
+    /**
+     * @return true if the image is a CMYK image with inverted values
+     */
+    boolean isInvertedCMYK()
+    {
+        return adobe && components == 4;
+    }
+
+    /**
+     * Reads the JPEG markers from the given stream, stopping at the start of scan.
+     *
+     * @param stream
+     * @return the header or null if the stream is not a JPEG we can embed without decoding it, either because it's
+     * malformed or because it has unsupported characteristics (number of components, bits per component, height
+     * defined by a DNL marker)
+     * @throws IOException
+     */
+    static JPEGHeader read(InputStream stream) throws IOException
+    {
+        if (stream.read() != 0xFF || stream.read() != SOI)
+        {
+            return null;
+        }
+        int width = -1;
+        int height = -1;
+        int components = -1;
+        int bitsPerComponent = -1;
+        boolean adobe = false;
+        while (true)
+        {
+            int marker = nextMarker(stream);
+            if (marker < 0 || marker == EOI)
+            {
+                return null;
+            }
+            if (marker == SOS)
+            {
+                break;
+            }
+            if (marker == SOI || marker == TEM || (marker >= 0xD0 && marker <= 0xD7))
+            {
+                // standalone markers
+                continue;
+            }
+            int length = readUnsignedShort(stream) - 2;
+            if (length < 0)
+            {
+                return null;
+            }
+            if (isStartOfFrame(marker) && length >= 6)
+            {
+                bitsPerComponent = stream.read();
+                height = readUnsignedShort(stream);
+                width = readUnsignedShort(stream);
+                components = stream.read();
+                length -= 6;
+            }
+            else if (marker == APP14 && length >= 12)
+            {
+                byte[] signature = new byte[5];
+                if (readFully(stream, signature) < 5)
+                {
+                    return null;
+                }
+                length -= 5;
+                adobe = signature[0] == 'A' && signature[1] == 'd' && signature[2] == 'o'
+                        && signature[3] == 'b' && signature[4] == 'e';
+            }
+            if (!skip(stream, length))
+            {
+                return null;
+            }
+        }
+        if (width <= 0 || height <= 0 || bitsPerComponent != 8
+                || (components != 1 && components != 3 && components != 4))
+        {
+            return null;
+        }
+        return new JPEGHeader(width, height, components, bitsPerComponent, adobe);
+    }
+
+    private static boolean isStartOfFrame(int marker)
+    {
+        // SOF0-SOF15 excluding DHT, JPG and DAC
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8
+                && marker != 0xCC;
+    }
+
+    /**
+     * @return the next marker, skipping fill bytes, or -1 if the end of stream is reached
+     */
+    private static int nextMarker(InputStream stream) throws IOException
+    {
+        int current = stream.read();
+        while (current != -1 && current != 0xFF)
+        {
+            current = stream.read();
+        }
+        while (current == 0xFF)
+        {
+            current = stream.read();
+        }
+        return current;
+    }
+
+    private static int readUnsignedShort(InputStream stream) throws IOException
+    {
+        int high = stream.read();
+        int low = stream.read();
+        if ((high | low) < 0)
+        {
+            return -1;
+        }
+        return (high << 8) | low;
+    }
+
+    private static int readFully(InputStream stream, byte[] buffer) throws IOException
+    {
+        int read = 0;
+        while (read < buffer.length)
+        {
+            int current = stream.read(buffer, read, buffer.length - read);
+            if (current < 0)
+            {
+                break;
+            }
+            read += current;
+        }
+        return read;
+    }
+
+    private static boolean skip(InputStream stream, long length) throws IOException
+    {
+        long remaining = length;
+        while (remaining > 0)
+        {
+            long skipped = stream.skip(remaining);
+            if (skipped <= 0)
+            {
+                if (stream.read() < 0)
+                {
+                    return false;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+        return true;
+    }
+}
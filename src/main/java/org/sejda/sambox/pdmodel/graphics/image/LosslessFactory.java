@@ -15,27 +15,36 @@
  */
 package org.sejda.sambox.pdmodel.graphics.image;
 
-import java.awt.Color;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.awt.image.WritableRaster;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
-
-import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
 
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
-import org.sejda.sambox.filter.Filter;
-import org.sejda.sambox.filter.FilterFactory;
-import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
-import org.sejda.sambox.pdmodel.graphics.color.PDDeviceColorSpace;
+import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
 
 /**
  * Factory for creating a PDImageXObject containing a lossless compressed image.
+ * <p>
+ * Samples of the common {@link BufferedImage} layouts (TYPE_INT_RGB, TYPE_INT_ARGB, TYPE_3BYTE_BGR, TYPE_BYTE_GRAY and
+ * TYPE_BYTE_BINARY) are read directly from the raster data buffer, other layouts go through
+ * {@link BufferedImage#getRGB(int, int, int, int, int[], int, int)}. Rows are Flate compressed using the PNG Up
+ * predictor while they are read, directly into the image stream.
+ * </p>
  *
  * @author Tilman Hausherr
  */
@@ -54,67 +63,283 @@ public final class LosslessFactory
      */
     public static PDImageXObject createFromImage(BufferedImage image) throws IOException
     {
-        int bpc;
-        PDDeviceColorSpace deviceColorSpace;
-
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        int height = image.getHeight();
-        int width = image.getWidth();
-
         if ((image.getType() == BufferedImage.TYPE_BYTE_GRAY
                 && image.getColorModel().getPixelSize() <= 8)
                 || (image.getType() == BufferedImage.TYPE_BYTE_BINARY
                         && image.getColorModel().getPixelSize() == 1))
         {
-            MemoryCacheImageOutputStream mcios = new MemoryCacheImageOutputStream(bos);
+            return createFromGrayImage(image);
+        }
+        return createFromRGBImage(image);
+    }
 
-            // grayscale images need one color per sample
-            bpc = image.getColorModel().getPixelSize();
-            deviceColorSpace = PDDeviceGray.INSTANCE;
-            for (int y = 0; y < height; ++y)
+    private static PDImageXObject createFromGrayImage(BufferedImage image) throws IOException
+    {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        // grayscale images need one color per sample
+        int bpc = image.getColorModel().getPixelSize();
+        Raster raster = image.getRaster();
+        PngUpRowsWriter writer = new PngUpRowsWriter(width, 1, bpc);
+        try
+        {
+            if (bpc == 8 && raster.getDataBuffer() instanceof DataBufferByte
+                    && raster.getSampleModel() instanceof ComponentSampleModel)
             {
-                for (int x = 0; x < width; ++x)
+                writeGrayBytes(image, writer);
+            }
+            else if (bpc == 1 && raster.getDataBuffer() instanceof DataBufferByte
+                    && raster.getSampleModel() instanceof MultiPixelPackedSampleModel
+                    && ((MultiPixelPackedSampleModel) raster.getSampleModel())
+                            .getBitOffset(-raster.getSampleModelTranslateX()) == 0)
+            {
+                writeGrayBits(image, writer);
+            }
+            else
+            {
+                int[] rgb = new int[width];
+                for (int y = 0; y < height; ++y)
                 {
-                    mcios.writeBits(image.getRGB(x, y) & 0xFF, bpc);
+                    image.getRGB(0, y, width, 1, rgb, 0, width);
+                    byte[] row = writer.row();
+                    Arrays.fill(row, (byte) 0);
+                    for (int x = 0; x < width; ++x)
+                    {
+                        // lowest bpc bits of the gray value, as ImageOutputStream.writeBits does
+                        int position = x * bpc;
+                        row[position >> 3] |= ((rgb[x] & 0xFF) & ((1 << bpc) - 1)) << (8 - bpc
+                                - (position & 7));
+                    }
+                    writer.writeRow();
                 }
-                while (mcios.getBitOffset() != 0)
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+        return new PDImageXObject(writer.stream(), width, height, bpc, PDDeviceGray.INSTANCE);
+    }
+
+    private static void writeGrayBytes(BufferedImage image, PngUpRowsWriter writer)
+            throws IOException
+    {
+        Raster raster = image.getRaster();
+        ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+        DataBufferByte buffer = (DataBufferByte) raster.getDataBuffer();
+        byte[] data = buffer.getData();
+        int stride = sampleModel.getScanlineStride();
+        int pixelStride = sampleModel.getPixelStride();
+        int offset = buffer.getOffset() + sampleModel.getOffset(-raster.getSampleModelTranslateX(),
+                -raster.getSampleModelTranslateY(), 0);
+        // the gray values getRGB returns, converted from the image color space
+        byte[] lut = new byte[256];
+        ColorModel colorModel = image.getColorModel();
+        for (int i = 0; i < lut.length; i++)
+        {
+            lut[i] = (byte) colorModel.getRGB(i);
+        }
+        for (int y = 0, height = image.getHeight(); y < height; ++y)
+        {
+            byte[] row = writer.row();
+            for (int x = 0, p = offset + y * stride; x < row.length; ++x, p += pixelStride)
+            {
+                row[x] = lut[data[p] & 0xFF];
+            }
+            writer.writeRow();
+        }
+    }
+
+    private static void writeGrayBits(BufferedImage image, PngUpRowsWriter writer)
+            throws IOException
+    {
+        Raster raster = image.getRaster();
+        MultiPixelPackedSampleModel sampleModel = (MultiPixelPackedSampleModel) raster
+                .getSampleModel();
+        DataBufferByte buffer = (DataBufferByte) raster.getDataBuffer();
+        byte[] data = buffer.getData();
+        int stride = sampleModel.getScanlineStride();
+        int offset = buffer.getOffset() + sampleModel.getOffset(-raster.getSampleModelTranslateX(),
+                -raster.getSampleModelTranslateY());
+        // lowest bit of the gray value of the two palette entries, as written by ImageOutputStream.writeBits
+        ColorModel colorModel = image.getColorModel();
+        int zero = colorModel.getRGB(0) & 1;
+        int one = colorModel.getRGB(1) & 1;
+        int width = image.getWidth();
+        int padding = width % 8;
+        for (int y = 0, height = image.getHeight(); y < height; ++y)
+        {
+            byte[] row = writer.row();
+            int start = offset + y * stride;
+            if (zero == 0 && one == 1)
+            {
+                System.arraycopy(data, start, row, 0, row.length);
+            }
+            else if (zero == 1 && one == 0)
+            {
+                for (int x = 0; x < row.length; ++x)
                 {
-                    mcios.writeBit(0);
+                    row[x] = (byte) ~data[start + x];
                 }
             }
-            mcios.flush();
-            mcios.close();
+            else
+            {
+                Arrays.fill(row, (byte) (zero == 0 ? 0 : 0xFF));
+            }
+            if (padding != 0)
+            {
+                row[row.length - 1] &= 0xFF << (8 - padding);
+            }
+            writer.writeRow();
         }
-        else
+    }
+
+    private static PDImageXObject createFromRGBImage(BufferedImage image) throws IOException
+    {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        Raster raster = image.getRaster();
+        PDImageXObject alpha = null;
+        PngUpRowsWriter writer = new PngUpRowsWriter(width, 3, 8);
+        try
         {
-            // RGB
-            bpc = 8;
-            deviceColorSpace = PDDeviceRGB.INSTANCE;
-            for (int y = 0; y < height; ++y)
+            if ((image.getType() == BufferedImage.TYPE_INT_RGB
+                    || image.getType() == BufferedImage.TYPE_INT_ARGB)
+                    && raster.getDataBuffer() instanceof DataBufferInt
+                    && raster.getSampleModel() instanceof SinglePixelPackedSampleModel)
+            {
+                alpha = writeIntPixels(image, writer);
+            }
+            else if (image.getType() == BufferedImage.TYPE_3BYTE_BGR
+                    && raster.getDataBuffer() instanceof DataBufferByte
+                    && raster.getSampleModel() instanceof ComponentSampleModel)
+            {
+                writeComponentBytes(image, writer);
+            }
+            else
             {
-                for (int x = 0; x < width; ++x)
+                int[] rgb = new int[width];
+                for (int y = 0; y < height; ++y)
                 {
-                    Color color = new Color(image.getRGB(x, y));
-                    bos.write(color.getRed());
-                    bos.write(color.getGreen());
-                    bos.write(color.getBlue());
+                    image.getRGB(0, y, width, 1, rgb, 0, width);
+                    byte[] row = writer.row();
+                    for (int x = 0, i = 0; x < width; ++x)
+                    {
+                        row[i++] = (byte) (rgb[x] >> 16);
+                        row[i++] = (byte) (rgb[x] >> 8);
+                        row[i++] = (byte) rgb[x];
+                    }
+                    writer.writeRow();
                 }
+                alpha = createAlphaFromARGBImage(image);
             }
         }
-
-        PDImageXObject pdImage = prepareImageXObject(bos.toByteArray(), image.getWidth(),
-                image.getHeight(), bpc, deviceColorSpace);
-
+        finally
+        {
+            writer.close();
+        }
+        PDImageXObject pdImage = new PDImageXObject(writer.stream(), width, height, 8,
+                PDDeviceRGB.INSTANCE);
         // alpha -> soft mask
-        PDImage xAlpha = createAlphaFromARGBImage(image);
-        if (xAlpha != null)
+        if (alpha != null)
         {
-            pdImage.getCOSObject().setItem(COSName.SMASK, xAlpha);
+            pdImage.getCOSObject().setItem(COSName.SMASK, alpha);
         }
-
         return pdImage;
     }
 
+    /**
+     * Writes the RGB samples of an INT_RGB or INT_ARGB image, building the alpha soft mask in the same pass
+     *
+     * @return the soft mask or null if the image has no alpha
+     */
+    private static PDImageXObject writeIntPixels(BufferedImage image, PngUpRowsWriter writer)
+            throws IOException
+    {
+        Raster raster = image.getRaster();
+        SinglePixelPackedSampleModel sampleModel = (SinglePixelPackedSampleModel) raster
+                .getSampleModel();
+        DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+        int[] data = buffer.getData();
+        int stride = sampleModel.getScanlineStride();
+        int offset = buffer.getOffset() + sampleModel.getOffset(-raster.getSampleModelTranslateX(),
+                -raster.getSampleModelTranslateY());
+        int width = image.getWidth();
+        int height = image.getHeight();
+        PngUpRowsWriter alphaWriter = null;
+        if (image.getColorModel().hasAlpha())
+        {
+            alphaWriter = new PngUpRowsWriter(width, 1, 8);
+        }
+        try
+        {
+            for (int y = 0; y < height; ++y)
+            {
+                byte[] row = writer.row();
+                int start = offset + y * stride;
+                for (int x = 0, i = 0; x < width; ++x)
+                {
+                    int pixel = data[start + x];
+                    row[i++] = (byte) (pixel >> 16);
+                    row[i++] = (byte) (pixel >> 8);
+                    row[i++] = (byte) pixel;
+                }
+                writer.writeRow();
+                if (alphaWriter != null)
+                {
+                    byte[] alphaRow = alphaWriter.row();
+                    for (int x = 0; x < width; ++x)
+                    {
+                        alphaRow[x] = (byte) (data[start + x] >>> 24);
+                    }
+                    alphaWriter.writeRow();
+                }
+            }
+        }
+        finally
+        {
+            if (alphaWriter != null)
+            {
+                alphaWriter.close();
+            }
+        }
+        if (alphaWriter != null)
+        {
+            return new PDImageXObject(alphaWriter.stream(), width, height, 8,
+                    PDDeviceGray.INSTANCE);
+        }
+        return null;
+    }
+
+    private static void writeComponentBytes(BufferedImage image, PngUpRowsWriter writer)
+            throws IOException
+    {
+        Raster raster = image.getRaster();
+        ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+        DataBufferByte buffer = (DataBufferByte) raster.getDataBuffer();
+        byte[] data = buffer.getData();
+        int stride = sampleModel.getScanlineStride();
+        int pixelStride = sampleModel.getPixelStride();
+        int[] bandOffsets = sampleModel.getBandOffsets();
+        int offset = buffer.getOffset() + sampleModel.getOffset(-raster.getSampleModelTranslateX(),
+                -raster.getSampleModelTranslateY(), 0) - bandOffsets[0];
+        int red = bandOffsets[0];
+        int green = bandOffsets[1];
+        int blue = bandOffsets[2];
+        int width = image.getWidth();
+        for (int y = 0, height = image.getHeight(); y < height; ++y)
+        {
+            byte[] row = writer.row();
+            for (int x = 0, i = 0, p = offset + y * stride; x < width; ++x, p += pixelStride)
+            {
+                row[i++] = data[p + red];
+                row[i++] = data[p + green];
+                row[i++] = data[p + blue];
+            }
+            writer.writeRow();
+        }
+    }
+
     /**
      * Creates a grayscale Flate encoded PDImageXObject from the alpha channel of an image.
      *
@@ -126,10 +351,6 @@ public final class LosslessFactory
      */
     private static PDImageXObject createAlphaFromARGBImage(BufferedImage image) throws IOException
     {
-        // this implementation makes the assumption that the raster uses
-        // SinglePixelPackedSampleModel, i.e. the values can be used 1:1 for
-        // the stream.
-        // Sadly the type of the databuffer is TYPE_INT and not TYPE_BYTE.
         if (!image.getColorModel().hasAlpha())
         {
             return null;
@@ -137,118 +358,121 @@ public final class LosslessFactory
 
         // extract the alpha information
         WritableRaster alphaRaster = image.getAlphaRaster();
-        if (alphaRaster == null)
-        {
-            // happens sometimes (PDFBOX-2654) despite colormodel claiming to have alpha
-            return createAlphaFromARGBImage2(image);
-        }
-
-        int[] pixels = alphaRaster.getPixels(0, 0, alphaRaster.getWidth(), alphaRaster.getHeight(),
-                (int[]) null);
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        int bpc;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int bpc = 8;
         if (image.getTransparency() == Transparency.BITMASK)
         {
             bpc = 1;
-            MemoryCacheImageOutputStream mcios = new MemoryCacheImageOutputStream(bos);
-            int width = alphaRaster.getWidth();
-            int p = 0;
-            for (int pixel : pixels)
-            {
-                mcios.writeBit(pixel);
-                ++p;
-                if (p % width == 0)
+        }
+        int[] alphas = new int[width];
+        PngUpRowsWriter writer = new PngUpRowsWriter(width, 1, bpc);
+        try
+        {
+            for (int y = 0; y < height; ++y)
+            {
+                if (alphaRaster == null)
                 {
-                    while (mcios.getBitOffset() != 0)
+                    // happens sometimes (PDFBOX-2654) despite colormodel claiming to have alpha
+                    image.getRGB(0, y, width, 1, alphas, 0, width);
+                    for (int x = 0; x < width; ++x)
                     {
-                        mcios.writeBit(0);
+                        alphas[x] = alphas[x] >>> 24;
                     }
                 }
-            }
-            mcios.flush();
-            mcios.close();
-        }
-        else
-        {
-            bpc = 8;
-            for (int pixel : pixels)
-            {
-                bos.write(pixel);
-            }
-        }
-
-        PDImageXObject pdImage = prepareImageXObject(bos.toByteArray(), image.getWidth(),
-                image.getHeight(), bpc, PDDeviceGray.INSTANCE);
-
-        return pdImage;
-    }
-
-    // create alpha image the hard way: get the alpha through getRGB()
-    private static PDImageXObject createAlphaFromARGBImage2(BufferedImage bi) throws IOException
-    {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        int bpc;
-        if (bi.getTransparency() == Transparency.BITMASK)
-        {
-            bpc = 1;
-            MemoryCacheImageOutputStream mcios = new MemoryCacheImageOutputStream(bos);
-            for (int y = 0, h = bi.getHeight(); y < h; ++y)
-            {
-                for (int x = 0, w = bi.getWidth(); x < w; ++x)
+                else
                 {
-                    int alpha = bi.getRGB(x, y) >>> 24;
-                    mcios.writeBit(alpha);
+                    alphaRaster.getPixels(0, y, width, 1, alphas);
                 }
-                while (mcios.getBitOffset() != 0)
+                byte[] row = writer.row();
+                if (bpc == 1)
                 {
-                    mcios.writeBit(0);
+                    Arrays.fill(row, (byte) 0);
+                    for (int x = 0; x < width; ++x)
+                    {
+                        row[x >> 3] |= (alphas[x] & 1) << (7 - (x & 7));
+                    }
                 }
-            }
-            mcios.flush();
-            mcios.close();
-        }
-        else
-        {
-            bpc = 8;
-            for (int y = 0, h = bi.getHeight(); y < h; ++y)
-            {
-                for (int x = 0, w = bi.getWidth(); x < w; ++x)
+                else
                 {
-                    int alpha = bi.getRGB(x, y) >>> 24;
-                    bos.write(alpha);
+                    for (int x = 0; x < width; ++x)
+                    {
+                        row[x] = (byte) alphas[x];
+                    }
                 }
+                writer.writeRow();
             }
         }
-
-        PDImageXObject pdImage = prepareImageXObject(bos.toByteArray(), bi.getWidth(),
-                bi.getHeight(), bpc, PDDeviceGray.INSTANCE);
-
-        return pdImage;
+        finally
+        {
+            writer.close();
+        }
+        return new PDImageXObject(writer.stream(), width, height, bpc, PDDeviceGray.INSTANCE);
     }
 
     /**
-     * Create a PDImageXObject while making a decision whether not to compress, use Flate filter only, or Flate and LZW
-     * filters.
-     * 
-     * @param byteArray array with data.
-     * @param width the image width
-     * @param height the image height
-     * @param bitsPerComponent the bits per component
-     * @param initColorSpace the color space
-     * @return the newly created PDImageXObject with the data compressed.
-     * @throws IOException
+     * Writes rows of samples to a Flate encoded {@link COSStream} using the PNG Up predictor, compressing them as they
+     * are written.
      */
-    private static PDImageXObject prepareImageXObject(byte[] byteArray, int width, int height,
-            int bitsPerComponent, PDColorSpace initColorSpace) throws IOException
+    private static final class PngUpRowsWriter implements Closeable
     {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        private static final int PNG_UP = 2;
 
-        Filter filter = FilterFactory.INSTANCE.getFilter(COSName.FLATE_DECODE);
-        filter.encode(new ByteArrayInputStream(byteArray), baos, new COSDictionary());
+        private final COSStream stream = new COSStream();
+        private final OutputStream out;
+        private byte[] current;
+        private byte[] previous;
+        private final byte[] encoded;
 
-        ByteArrayInputStream filteredByteStream = new ByteArrayInputStream(baos.toByteArray());
-        return new PDImageXObject(filteredByteStream, COSName.FLATE_DECODE, width, height,
-                bitsPerComponent, initColorSpace);
-    }
+        PngUpRowsWriter(int width, int colors, int bitsPerComponent)
+        {
+            int rowLength = (width * colors * bitsPerComponent + 7) / 8;
+            this.current = new byte[rowLength];
+            this.previous = new byte[rowLength];
+            this.encoded = new byte[rowLength + 1];
+            this.encoded[0] = PNG_UP;
+            COSDictionary decodeParms = new COSDictionary();
+            decodeParms.setInt(COSName.PREDICTOR, 12);
+            decodeParms.setInt(COSName.COLORS, colors);
+            decodeParms.setInt(COSName.BITS_PER_COMPONENT, bitsPerComponent);
+            decodeParms.setInt(COSName.COLUMNS, width);
+            stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+            stream.setItem(COSName.DECODE_PARMS, decodeParms);
+            this.out = new DeflaterOutputStream(stream.createFilteredStream());
+        }
+
+        /**
+         * @return the buffer where the samples of the next row are set, the content of the buffer is undefined
+         */
+        byte[] row()
+        {
+            return current;
+        }
+
+        /**
+         * Encodes and writes the samples set in the buffer returned by {@link #row()}
+         */
+        void writeRow() throws IOException
+        {
+            for (int i = 0; i < current.length; i++)
+            {
+                encoded[i + 1] = (byte) (current[i] - previous[i]);
+            }
+            out.write(encoded);
+            byte[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
 
+        COSStream stream()
+        {
+            return stream;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            out.close();
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package org.sejda.sambox.pdmodel.graphics.image;
 
 import java.awt.Paint;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,6 +25,7 @@ import java.util.List;
 
 import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSObjectable;
+import org.sejda.sambox.filter.DecodeOptions;
 import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
 
 /**
@@ -41,6 +43,17 @@ public interface PDImage extends COSObjectable
      */
     BufferedImage getImage() throws IOException;
 
+    /**
+     * Returns the content of a region of this image as an AWT buffered image with an (A)RGB color space, decoding only
+     * one every subsampling rows and columns. Decoders able to do it, skip the unneeded data.
+     * 
+     * @param region the region of the image to decode, in image pixels, or null for the whole image
+     * @param subsampling the subsampling factor, 1 decodes every row and column
+     * @return content of the region of this image as a buffered image.
+     * @throws IOException
+     */
+    BufferedImage getImage(Rectangle region, int subsampling) throws IOException;
+
     /**
      * Returns an ARGB image filled with the given paint and using this image as a mask.
      * @param paint the paint to fill the visible portions of the image with
@@ -68,6 +81,17 @@ public interface PDImage extends COSObjectable
      */
     InputStream createInputStream(List<String> stopFilters) throws IOException;
 
+    /**
+     * Returns an InputStream containing the image data, irrespective of whether this is an inline image or an image
+     * XObject. Image filters can honor the given options decoding only part of the image.
+     * 
+     * @param options
+     * @return Decoded stream
+     * @throws IOException if the data could not be read.
+     * @see DecodeOptions#isFilterSubsampled()
+     */
+    InputStream createInputStream(DecodeOptions options) throws IOException;
+
     /**
      * Returns true if the image has no data.
      * 
@@ -18,6 +18,7 @@ package org.sejda.sambox.pdmodel.graphics.image;
 
 import java.awt.Graphics2D;
 import java.awt.Paint;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.WritableRaster;
@@ -27,6 +28,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.imageio.ImageIO;
@@ -36,6 +38,8 @@ import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.filter.DecodeOptions;
+import org.sejda.sambox.filter.DecodeResult;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDResources;
 import org.sejda.sambox.pdmodel.common.PDMetadata;
@@ -60,8 +64,9 @@ public final class PDImageXObject extends PDXObject implements PDImage
      * Log instance.
      */
     private static final Logger LOG = LoggerFactory.getLogger(PDImageXObject.class);
+    private static final List<COSName> DEVICE_COLOR_SPACES = Arrays.asList(COSName.DEVICERGB,
+            COSName.DEVICEGRAY, COSName.DEVICECMYK);
 
-    private BufferedImage cachedImage;
     private PDColorSpace colorSpace;
     private PDResources resources; // current resource dictionary (has color spaces)
 
@@ -105,8 +110,18 @@ public final class PDImageXObject extends PDXObject implements PDImage
     public PDImageXObject(InputStream encodedStream, COSBase cosFilter, int width, int height,
             int bitsPerComponent, PDColorSpace initColorSpace) throws IOException
     {
-        super(createRawStream(encodedStream), COSName.IMAGE);
+        this(createRawStream(encodedStream), width, height, bitsPerComponent, initColorSpace);
         getCOSObject().setItem(COSName.FILTER, cosFilter);
+    }
+
+    /**
+     * Creates an Image XObject using the given stream, already containing the encoded image data and the filters
+     * information.
+     */
+    PDImageXObject(COSStream encodedStream, int width, int height, int bitsPerComponent,
+            PDColorSpace initColorSpace) throws IOException
+    {
+        super(encodedStream, COSName.IMAGE);
         resources = null;
         colorSpace = null;
         setBitsPerComponent(bitsPerComponent);
@@ -138,9 +153,17 @@ public final class PDImageXObject extends PDXObject implements PDImage
     public PDImageXObject(PDStream stream, PDResources resources) throws IOException
     {
         super(stream, COSName.IMAGE);
-        stream.getCOSObject().addAll(stream.getCOSObject().getDecodeResult().getParameters());
         this.resources = resources;
-        this.colorSpace = stream.getCOSObject().getDecodeResult().getJPXColorSpace();
+        // JPX streams carry parameters like size and color space in the image data. Other images are not decoded
+        // here so that they can be decoded subsampled later on
+        List<COSName> filters = stream.getFilters();
+        if (filters != null && !filters.isEmpty()
+                && COSName.JPX_DECODE.equals(filters.get(filters.size() - 1)))
+        {
+            DecodeResult decodeResult = stream.getCOSObject().getDecodeResult();
+            stream.getCOSObject().addAll(decodeResult.getParameters());
+            this.colorSpace = decodeResult.getJPXColorSpace();
+        }
     }
 
     /**
@@ -296,24 +319,40 @@ public final class PDImageXObject extends PDXObject implements PDImage
     }
 
     /**
-     * {@inheritDoc} The returned images are cached for the lifetime of this XObject.
+     * {@inheritDoc} The returned images are cached in the document resource cache, if any.
      */
     @Override
     public BufferedImage getImage() throws IOException
     {
-        if (cachedImage != null)
+        return getImage(null, 1);
+    }
+
+    /**
+     * {@inheritDoc} Masks are decoded for the same region of the image and with a subsampling resulting in about the
+     * same size. The returned images are cached in the document resource cache, if any.
+     */
+    @Override
+    public BufferedImage getImage(Rectangle region, int subsampling) throws IOException
+    {
+        ImageCacheKey key = cacheKey(region, subsampling, true);
+        if (key != null)
         {
-            return cachedImage;
+            BufferedImage cached = resources.getResourceCache().getImage(key);
+            if (cached != null)
+            {
+                return cached;
+            }
         }
 
         // get image as RGB
-        BufferedImage image = SampledImageReader.getRGBImage(this, getColorKeyMask());
+        BufferedImage image = SampledImageReader.getRGBImage(this, region, subsampling,
+                getColorKeyMask());
 
         // soft mask (overrides explicit mask)
         PDImageXObject softMask = getSoftMask();
         if (softMask != null)
         {
-            image = applyMask(image, softMask.getOpaqueImage(), true);
+            image = applyMask(image, getMaskImage(softMask, region, subsampling), true);
         }
         else
         {
@@ -321,14 +360,66 @@ public final class PDImageXObject extends PDXObject implements PDImage
             PDImageXObject mask = getMask();
             if (mask != null && mask.isStencil())
             {
-                image = applyMask(image, mask.getOpaqueImage(), false);
+                image = applyMask(image, getMaskImage(mask, region, subsampling), false);
             }
         }
-
-        cachedImage = image;
+        if (key != null)
+        {
+            resources.getResourceCache().put(key, image);
+        }
         return image;
     }
 
+    /**
+     * @return the key of the decoded image in the resource cache or null if the image cannot be cached
+     */
+    private ImageCacheKey cacheKey(Rectangle region, int subsampling, boolean masked)
+    {
+        if (resources == null || resources.getResourceCache() == null
+                || !getCOSObject().hasId())
+        {
+            return null;
+        }
+        // named color spaces and default color spaces are resolved using the current resources, the same image
+        // stream could be decoded differently in different resources
+        COSBase colorSpace = getCOSObject().getDictionaryObject(COSName.COLORSPACE, COSName.CS);
+        if ((colorSpace instanceof COSName && !DEVICE_COLOR_SPACES.contains(colorSpace))
+                || resources.hasColorSpace(COSName.DEFAULT_RGB)
+                || resources.hasColorSpace(COSName.DEFAULT_GRAY)
+                || resources.hasColorSpace(COSName.DEFAULT_CMYK))
+        {
+            return null;
+        }
+        return new ImageCacheKey(getCOSObject().id().objectIdentifier, region, subsampling,
+                masked);
+    }
+
+    /**
+     * @return the opaque image of the given mask for the given region of this image. The mask can have a different size
+     * so region and subsampling are scaled accordingly.
+     */
+    private BufferedImage getMaskImage(PDImageXObject mask, Rectangle region, int subsampling)
+            throws IOException
+    {
+        if (region == null && subsampling == 1)
+        {
+            return mask.getOpaqueImage();
+        }
+        double scaleX = mask.getWidth() / (double) getWidth();
+        double scaleY = mask.getHeight() / (double) getHeight();
+        Rectangle maskRegion = null;
+        if (region != null)
+        {
+            int x = (int) Math.floor(region.x * scaleX);
+            int y = (int) Math.floor(region.y * scaleY);
+            maskRegion = new Rectangle(x, y,
+                    Math.max(1, (int) Math.ceil((region.x + region.width) * scaleX) - x),
+                    Math.max(1, (int) Math.ceil((region.y + region.height) * scaleY) - y));
+        }
+        return mask.getOpaqueImage(maskRegion,
+                Math.max(1, (int) Math.floor(subsampling * Math.min(scaleX, scaleY))));
+    }
+
     /**
      * {@inheritDoc} The returned images are not cached.
      */
@@ -351,7 +442,35 @@ public final class PDImageXObject extends PDXObject implements PDImage
      */
     public BufferedImage getOpaqueImage() throws IOException
     {
-        return SampledImageReader.getRGBImage(this, null);
+        return getOpaqueImage(null, 1);
+    }
+
+    /**
+     * Returns an RGB buffered image containing the given region of the opaque image stream, decoding only one every
+     * subsampling rows and columns, without any masks applied.
+     * 
+     * @param region the region of the image to decode, in image pixels, or null for the whole image
+     * @param subsampling the subsampling factor, 1 decodes every row and column
+     * @return the image without any masks applied
+     * @throws IOException if the image cannot be read
+     */
+    public BufferedImage getOpaqueImage(Rectangle region, int subsampling) throws IOException
+    {
+        ImageCacheKey key = cacheKey(region, subsampling, false);
+        if (key != null)
+        {
+            BufferedImage cached = resources.getResourceCache().getImage(key);
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+        BufferedImage image = SampledImageReader.getRGBImage(this, region, subsampling, null);
+        if (key != null)
+        {
+            resources.getResourceCache().put(key, image);
+        }
+        return image;
     }
 
     // explicit mask: RGB + Binary -> ARGB
@@ -540,6 +659,12 @@ public final class PDImageXObject extends PDXObject implements PDImage
         return getStream().createInputStream(stopFilters);
     }
 
+    @Override
+    public InputStream createInputStream(DecodeOptions options) throws IOException
+    {
+        return getStream().createInputStream(options);
+    }
+
     @Override
     public boolean isEmpty() throws IOException
     {
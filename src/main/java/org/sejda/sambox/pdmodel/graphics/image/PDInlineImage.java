@@ -17,6 +17,7 @@
 package org.sejda.sambox.pdmodel.graphics.image;
 
 import java.awt.Paint;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -29,6 +30,7 @@ import org.sejda.sambox.cos.COSArrayList;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.filter.DecodeOptions;
 import org.sejda.sambox.filter.DecodeResult;
 import org.sejda.sambox.filter.Filter;
 import org.sejda.sambox.filter.FilterFactory;
@@ -315,6 +317,15 @@ public final class PDInlineImage implements PDImage
         return new ByteArrayInputStream(out.toByteArray());
     }
 
+    /**
+     * Inline images are decoded when created so the given options are ignored and the whole data is returned
+     */
+    @Override
+    public InputStream createInputStream(DecodeOptions options)
+    {
+        return createInputStream();
+    }
+
     @Override
     public boolean isEmpty()
     {
@@ -335,6 +346,12 @@ public final class PDInlineImage implements PDImage
         return SampledImageReader.getRGBImage(this, getColorKeyMask());
     }
 
+    @Override
+    public BufferedImage getImage(Rectangle region, int subsampling) throws IOException
+    {
+        return SampledImageReader.getRGBImage(this, region, subsampling, getColorKeyMask());
+    }
+
     @Override
     public BufferedImage getStencilImage(Paint paint) throws IOException
     {
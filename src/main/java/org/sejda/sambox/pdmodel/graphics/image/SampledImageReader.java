@@ -16,9 +16,12 @@
  */
 package org.sejda.sambox.pdmodel.graphics.image;
 
+import static org.sejda.util.RequireUtils.requireArg;
+
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferByte;
@@ -34,6 +37,7 @@ import javax.imageio.stream.MemoryCacheImageInputStream;
 import org.apache.commons.io.IOUtils;
 import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSNumber;
+import org.sejda.sambox.filter.DecodeOptions;
 import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
 import org.sejda.sambox.pdmodel.graphics.color.PDIndexed;
 import org.slf4j.Logger;
@@ -111,7 +115,25 @@ final class SampledImageReader
      */
     public static BufferedImage getRGBImage(PDImage pdImage, COSArray colorKey) throws IOException
     {
+        return getRGBImage(pdImage, null, 1, colorKey);
+    }
 
+    /**
+     * Returns the content of the given region of the image as an AWT buffered image with an RGB color space, reading
+     * only one every subsampling rows and columns. If a color key mask is provided then an ARGB image is returned
+     * instead. This method never returns null.
+     * @param pdImage the image to read
+     * @param region the region of the image to read, in image pixels, or null to read the whole image. The region is
+     * clipped to the image bounds.
+     * @param subsampling the subsampling factor
+     * @param colorKey an optional color key mask
+     * @return content of the region of this image as an RGB buffered image
+     * @throws IOException if the image cannot be read
+     */
+    public static BufferedImage getRGBImage(PDImage pdImage, Rectangle region, int subsampling,
+            COSArray colorKey) throws IOException
+    {
+        requireArg(subsampling > 0, "Subsampling must be a positive number");
         if (pdImage.isEmpty())
         {
             throw new IOException("Image stream is empty");
@@ -120,126 +142,121 @@ final class SampledImageReader
         // get parameters, they must be valid or have been repaired
         final PDColorSpace colorSpace = pdImage.getColorSpace();
         final int numComponents = colorSpace.getNumberOfComponents();
-        final int width = pdImage.getWidth();
-        final int height = pdImage.getHeight();
         final int bitsPerComponent = pdImage.getBitsPerComponent();
         final float[] decode = getDecodeArray(pdImage);
 
-        //
-        // An AWT raster must use 8/16/32 bits per component. Images with < 8bpc
-        // will be unpacked into a byte-backed raster. Images with 16bpc will be reduced
-        // in depth to 8bpc as they will be drawn to TYPE_INT_RGB images anyway. All code
-        // in PDColorSpace#toRGBImage expects and 8-bit range, i.e. 0-255.
-        //
-        WritableRaster raster = Raster.createBandedRaster(DataBuffer.TYPE_BYTE, width, height,
-                numComponents, new Point(0, 0));
-
-        // convert image, faster path for non-decoded, non-colormasked 8-bit images
-        final float[] defaultDecode = pdImage.getColorSpace().getDefaultDecode(8);
-        if (bitsPerComponent == 8 && Arrays.equals(decode, defaultDecode) && colorKey == null)
-        {
-            return from8bit(pdImage, raster);
-        }
-        else if (bitsPerComponent == 1 && colorKey == null)
+        Rectangle imageBounds = new Rectangle(pdImage.getWidth(), pdImage.getHeight());
+        Rectangle clipped = imageBounds;
+        if (region != null)
         {
-            return from1Bit(pdImage, raster);
+            clipped = imageBounds.intersection(region);
+            requireArg(!clipped.isEmpty(), "The region doesn't intersect the image");
         }
-        else
+        DecodeOptions options = DecodeOptions.DEFAULT;
+        if (subsampling > 1 || !clipped.equals(imageBounds))
         {
-            return fromAny(pdImage, raster, colorKey);
+            options = new DecodeOptions(clipped, subsampling);
         }
-    }
-    
-    private static BufferedImage from1Bit(PDImage pdImage, WritableRaster raster)
-            throws IOException
-    {
-        final PDColorSpace colorSpace = pdImage.getColorSpace();
-        final int width = pdImage.getWidth();
-        final int height = pdImage.getHeight();
-        final float[] decode = getDecodeArray(pdImage);
-        byte[] output = ((DataBufferByte) raster.getDataBuffer()).getData();
+        final int width = (clipped.width + subsampling - 1) / subsampling;
+        final int height = (clipped.height + subsampling - 1) / subsampling;
 
-        // read bit stream
-        InputStream iis = null;
-        try
+        try (InputStream input = pdImage.createInputStream(options))
         {
-            // create stream
-            iis = pdImage.createInputStream();
-            final boolean isIndexed = colorSpace instanceof PDIndexed;
-
-            int rowLen = width / 8;
-            if (width % 8 > 0)
+            Sampling sampling = new Sampling(imageBounds.width, imageBounds.height, clipped,
+                    subsampling);
+            if (options.isFilterSubsampled())
             {
-                rowLen++;
+                // the filter already returned the requested samples
+                sampling = new Sampling(width, height, new Rectangle(width, height), 1);
             }
 
-            // read stream
-            byte value0;
-            byte value1;
-            if (isIndexed || decode[0] < decode[1])
+            //
+            // An AWT raster must use 8/16/32 bits per component. Images with < 8bpc
+            // will be unpacked into a byte-backed raster. Images with 16bpc will be reduced
+            // in depth to 8bpc as they will be drawn to TYPE_INT_RGB images anyway. All code
+            // in PDColorSpace#toRGBImage expects and 8-bit range, i.e. 0-255.
+            //
+            WritableRaster raster = Raster.createBandedRaster(DataBuffer.TYPE_BYTE, width,
+                    height, numComponents, new Point(0, 0));
+
+            // convert image, faster path for non-decoded, non-colormasked 8-bit images
+            final float[] defaultDecode = pdImage.getColorSpace().getDefaultDecode(8);
+            if (bitsPerComponent == 8 && Arrays.equals(decode, defaultDecode) && colorKey == null)
             {
-                value0 = 0;
-                value1 = (byte) 255;
+                return from8bit(pdImage, input, sampling, raster);
             }
-            else
+            else if (bitsPerComponent == 1 && colorKey == null)
             {
-                value0 = (byte) 255;
-                value1 = 0;
+                return from1Bit(pdImage, input, sampling, raster);
             }
-            byte[] buff = new byte[rowLen];
-            int idx = 0;
-            for (int y = 0; y < height; y++)
+            else
             {
-                int x = 0;
-                iis.read(buff);
-                for (int r = 0; r < rowLen; r++)
-                {
-                    int value = buff[r];
-                    int mask = 128;
-                    for (int i = 0; i < 8; i++)
-                    {
-                        int bit = value & mask;
-                        mask >>= 1;
-                        output[idx++] = bit == 0 ? value0 : value1;
-                        x++;
-                        if (x == width)
-                        {
-                            break;
-                        }
-                    }
-                }
+                return fromAny(pdImage, input, sampling, raster, colorKey);
             }
+        }
+    }
 
-            // use the color space to convert the image to RGB
-            BufferedImage rgbImage = colorSpace.toRGBImage(raster);
+    private static BufferedImage from1Bit(PDImage pdImage, InputStream input, Sampling sampling,
+            WritableRaster raster) throws IOException
+    {
+        final PDColorSpace colorSpace = pdImage.getColorSpace();
+        final float[] decode = getDecodeArray(pdImage);
+        byte[] output = ((DataBufferByte) raster.getDataBuffer()).getData();
 
-            return rgbImage;
+        final boolean isIndexed = colorSpace instanceof PDIndexed;
+        int rowLen = sampling.width / 8;
+        if (sampling.width % 8 > 0)
+        {
+            rowLen++;
+        }
+
+        // read stream
+        byte value0;
+        byte value1;
+        if (isIndexed || decode[0] < decode[1])
+        {
+            value0 = 0;
+            value1 = (byte) 255;
+        }
+        else
+        {
+            value0 = (byte) 255;
+            value1 = 0;
         }
-        finally
+        byte[] buff = new byte[rowLen];
+        int idx = 0;
+        for (int y = 0; y < sampling.lastRow(); y++)
         {
-            if (iis != null)
+            if (!sampling.isSampledRow(y))
+            {
+                IOUtils.skip(input, rowLen);
+                continue;
+            }
+            IOUtils.read(input, buff);
+            for (int x = sampling.region.x; x < sampling.lastColumn(); x += sampling.subsampling)
             {
-                iis.close();
+                int bit = buff[x >> 3] & (0x80 >> (x & 7));
+                output[idx++] = bit == 0 ? value0 : value1;
             }
         }
+
+        // use the color space to convert the image to RGB
+        return colorSpace.toRGBImage(raster);
     }
 
     // faster, 8-bit non-decoded, non-colormasked image conversion
-    private static BufferedImage from8bit(PDImage pdImage, WritableRaster raster)
-            throws IOException
+    private static BufferedImage from8bit(PDImage pdImage, InputStream input, Sampling sampling,
+            WritableRaster raster) throws IOException
     {
-        InputStream input = pdImage.createInputStream();
-        try
+        // get the raster's underlying byte buffer
+        byte[][] banks = ((DataBufferByte) raster.getDataBuffer()).getBankData();
+        final int numComponents = pdImage.getColorSpace().getNumberOfComponents();
+        final int rowLen = sampling.width * numComponents;
+
+        if (sampling.isFull())
         {
-            // get the raster's underlying byte buffer
-            byte[][] banks = ((DataBufferByte) raster.getDataBuffer()).getBankData();
             byte[] source = IOUtils.toByteArray(input);
-
-            final int width = pdImage.getWidth();
-            final int height = pdImage.getHeight();
-            final int numComponents = pdImage.getColorSpace().getNumberOfComponents();
-            int max = width * height;
-
+            int max = sampling.width * sampling.height;
             for (int c = 0; c < numComponents; c++)
             {
                 int sourceOffset = c;
@@ -249,33 +266,46 @@ final class SampledImageReader
                     sourceOffset += numComponents;
                 }
             }
-
-            // use the color space to convert the image to RGB
-            return pdImage.getColorSpace().toRGBImage(raster);
         }
-        finally
+        else
         {
-            IOUtils.closeQuietly(input);
+            byte[] row = new byte[rowLen];
+            int i = 0;
+            for (int y = 0; y < sampling.lastRow(); y++)
+            {
+                if (!sampling.isSampledRow(y))
+                {
+                    IOUtils.skip(input, rowLen);
+                    continue;
+                }
+                IOUtils.read(input, row);
+                for (int x = sampling.region.x; x < sampling.lastColumn(); x += sampling.subsampling)
+                {
+                    for (int c = 0; c < numComponents; c++)
+                    {
+                        banks[c][i] = row[x * numComponents + c];
+                    }
+                    i++;
+                }
+            }
         }
-    }    
-    
+
+        // use the color space to convert the image to RGB
+        return pdImage.getColorSpace().toRGBImage(raster);
+    }
+
     // slower, general-purpose image conversion from any image format
-    private static BufferedImage fromAny(PDImage pdImage, WritableRaster raster, COSArray colorKey)
-            throws IOException
+    private static BufferedImage fromAny(PDImage pdImage, InputStream input, Sampling sampling,
+            WritableRaster raster, COSArray colorKey) throws IOException
     {
         final PDColorSpace colorSpace = pdImage.getColorSpace();
         final int numComponents = colorSpace.getNumberOfComponents();
-        final int width = pdImage.getWidth();
-        final int height = pdImage.getHeight();
         final int bitsPerComponent = pdImage.getBitsPerComponent();
         final float[] decode = getDecodeArray(pdImage);
 
         // read bit stream
-        ImageInputStream iis = null;
-        try
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(input))
         {
-            // create stream
-            iis = new MemoryCacheImageInputStream(pdImage.createInputStream());
             final float sampleMax = (float)Math.pow(2, bitsPerComponent) - 1f;
             final boolean isIndexed = colorSpace instanceof PDIndexed;
 
@@ -285,23 +315,37 @@ final class SampledImageReader
             if (colorKey != null)
             {
                 colorKeyRanges = colorKey.toFloatArray();
-                colorKeyMask = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+                colorKeyMask = new BufferedImage(raster.getWidth(), raster.getHeight(),
+                        BufferedImage.TYPE_BYTE_GRAY);
             }
 
-            // calculate row padding
-            int padding = 0;
-            if (width * numComponents * bitsPerComponent % 8 > 0)
-            {
-                padding = 8 - (width * numComponents * bitsPerComponent % 8);
-            }
+            // rows are padded to the nearest byte
+            final long bitsPerPixel = (long) numComponents * bitsPerComponent;
+            final long rowLen = (sampling.width * bitsPerPixel + 7) / 8;
 
             // read stream
             byte[] srcColorValues = new byte[numComponents];
             byte[] alpha = new byte[1];
-            for (int y = 0; y < height; y++)
+            for (int y = 0; y < sampling.lastRow(); y++)
             {
-                for (int x = 0; x < width; x++)
+                long rowStart = y * rowLen;
+                if (!sampling.isSampledRow(y))
+                {
+                    continue;
+                }
+                int outY = (y - sampling.region.y) / sampling.subsampling;
+                // we don't need data before this row anymore
+                iis.flushBefore(Math.min(rowStart, iis.getStreamPosition()));
+                int outX = 0;
+                for (int x = sampling.region.x; x < sampling.lastColumn(); x += sampling.subsampling)
                 {
+                    // contiguous pixels don't need to seek
+                    if (x == sampling.region.x || sampling.subsampling > 1)
+                    {
+                        long bitPosition = x * bitsPerPixel;
+                        iis.seek(rowStart + bitPosition / 8);
+                        iis.setBitOffset((int) (bitPosition % 8));
+                    }
                     boolean isMasked = true;
                     for (int c = 0; c < numComponents; c++)
                     {
@@ -337,18 +381,16 @@ final class SampledImageReader
                             srcColorValues[c] = (byte)outputByte;
                         }
                     }
-                    raster.setDataElements(x, y, srcColorValues);
+                    raster.setDataElements(outX, outY, srcColorValues);
 
                     // set alpha channel in color key mask, if any
                     if (colorKeyMask != null)
                     {
                         alpha[0] = (byte)(isMasked ? 255 : 0);
-                        colorKeyMask.getRaster().setDataElements(x, y, alpha);
+                        colorKeyMask.getRaster().setDataElements(outX, outY, alpha);
                     }
+                    outX++;
                 }
-
-                // rows are padded to the nearest byte
-                iis.readBits(padding);
             }
 
             // use the color space to convert the image to RGB
@@ -359,17 +401,48 @@ final class SampledImageReader
             {
                 return applyColorKeyMask(rgbImage, colorKeyMask);
             }
-            else
-            {
-                return rgbImage;
-            }
+            return rgbImage;
         }
-        finally
+    }
+
+    /**
+     * Rows and columns of the image data to read
+     */
+    private static final class Sampling
+    {
+        // size of the image data
+        final int width;
+        final int height;
+        final Rectangle region;
+        final int subsampling;
+
+        Sampling(int width, int height, Rectangle region, int subsampling)
         {
-            if (iis != null)
-            {
-                iis.close();
-            }
+            this.width = width;
+            this.height = height;
+            this.region = region;
+            this.subsampling = subsampling;
+        }
+
+        boolean isFull()
+        {
+            return subsampling == 1 && region.x == 0 && region.y == 0 && region.width == width
+                    && region.height == height;
+        }
+
+        boolean isSampledRow(int y)
+        {
+            return y >= region.y && (y - region.y) % subsampling == 0;
+        }
+
+        int lastRow()
+        {
+            return region.y + region.height;
+        }
+
+        int lastColumn()
+        {
+            return region.x + region.width;
         }
     }
 
@@ -21,12 +21,13 @@ import static java.util.Objects.nonNull;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSArrayList;
@@ -160,74 +161,78 @@ public final class PDAcroForm implements COSObjectable
         {
             refreshAppearances(fields);
         }
-        // indicates if the original content stream
-        // has been wrapped in a q...Q pair.
-        boolean isContentStreamWrapped = false;
-
-        // the content stream to write to
-        PDPageContentStream contentStream;
-
-        // Hold a reference between the annotations and the page they are on.
-        // This will only be used in case a PDAnnotationWidget doesn't contain
-        // a /P entry specifying the page it's on as the /P entry is optional
-        Map<COSDictionary, Integer> annotationToPageRef = null;
-
-        // Iterate over all form fields and their widgets and create a
-        // FormXObject at the page content level from that
+        // widgets to flatten grouped by the page they are on, in fields order
+        Map<COSDictionary, List<PDAnnotationWidget>> widgetsByPage = new LinkedHashMap<>();
+        // widgets without the optional /P entry, their page is resolved from the pages annotations
+        Map<COSDictionary, PDAnnotationWidget> withoutPage = new HashMap<>();
+        Map<COSDictionary, Integer> widgetsOrder = new HashMap<>();
         for (PDField field : fields)
         {
             for (PDAnnotationWidget widget : field.getWidgets())
             {
                 if (widget.getNormalAppearanceStream() != null)
                 {
-                    PDPage page = widget.getPage();
-
-                    // resolve the page from looking at the annotations
-                    if (widget.getPage() == null)
-                    {
-                        if (annotationToPageRef == null)
-                        {
-                            annotationToPageRef = buildAnnotationToPageRef();
-                        }
-                        Integer pageRef = annotationToPageRef.get(widget.getCOSObject());
-                        if (pageRef != null)
-                        {
-                            page = document.getPage((int) pageRef);
-                        }
-                    }
-
-                    if (!isContentStreamWrapped)
+                    widgetsOrder.put(widget.getCOSObject(), widgetsOrder.size());
+                    COSDictionary page = widget.getCOSObject().getDictionaryObject(COSName.P,
+                            COSDictionary.class);
+                    if (page != null)
                     {
-                        contentStream = new PDPageContentStream(document, page, AppendMode.APPEND,
-                                true, true);
-                        isContentStreamWrapped = true;
+                        widgetsByPage.computeIfAbsent(page, k -> new ArrayList<>()).add(widget);
                     }
                     else
                     {
-                        contentStream = new PDPageContentStream(document, page, AppendMode.APPEND,
-                                true);
+                        withoutPage.put(widget.getCOSObject(), widget);
                     }
-
-                    PDFormXObject fieldObject = new PDFormXObject(
-                            widget.getNormalAppearanceStream().getCOSObject());
-
-                    Matrix translationMatrix = Matrix.getTranslateInstance(
-                            widget.getRectangle().getLowerLeftX(),
-                            widget.getRectangle().getLowerLeftY());
-                    contentStream.saveGraphicsState();
-                    contentStream.transform(translationMatrix);
-                    contentStream.drawForm(fieldObject);
-                    contentStream.restoreGraphicsState();
-                    contentStream.close();
                 }
             }
         }
 
-        // preserve all non widget annotations
+        // single pass on the pages, removing widgets annotations and drawing the flattened ones
         for (PDPage page : document.getPages())
         {
-            page.setAnnotations(page.getAnnotations().stream()
-                    .filter(a -> !(a instanceof PDAnnotationWidget)).collect(Collectors.toList()));
+            List<PDAnnotationWidget> widgets = widgetsByPage.remove(page.getCOSObject());
+            boolean resolved = false;
+            List<PDAnnotation> annotations = new ArrayList<>();
+            for (PDAnnotation annotation : page.getAnnotations())
+            {
+                if (annotation instanceof PDAnnotationWidget)
+                {
+                    PDAnnotationWidget widget = withoutPage.remove(annotation.getCOSObject());
+                    if (widget != null)
+                    {
+                        if (widgets == null)
+                        {
+                            widgets = new ArrayList<>();
+                        }
+                        widgets.add(widget);
+                        resolved = true;
+                    }
+                }
+                else
+                {
+                    // preserve all non widget annotations
+                    annotations.add(annotation);
+                }
+            }
+            page.setAnnotations(annotations);
+            if (widgets != null)
+            {
+                if (resolved)
+                {
+                    widgets.sort(Comparator.comparing(w -> widgetsOrder.get(w.getCOSObject())));
+                }
+                flatten(page, widgets);
+            }
+        }
+        // widgets pointing to pages that are not part of the pages tree
+        for (Map.Entry<COSDictionary, List<PDAnnotationWidget>> entry : widgetsByPage.entrySet())
+        {
+            flatten(new PDPage(entry.getKey()), entry.getValue());
+        }
+        if (!withoutPage.isEmpty())
+        {
+            LOG.warn("Unable to find the page of {} widgets, they won't be flattened",
+                    withoutPage.size());
         }
 
         // remove the fields
@@ -236,6 +241,31 @@ public final class PDAcroForm implements COSObjectable
         dictionary.removeItem(COSName.XFA);
     }
 
+    /**
+     * Draws the normal appearance of the given widgets on the page using a single appended content stream, the
+     * existing page content is wrapped in a q/Q pair.
+     */
+    private void flatten(PDPage page, List<PDAnnotationWidget> widgets) throws IOException
+    {
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, page,
+                AppendMode.APPEND, true, true))
+        {
+            for (PDAnnotationWidget widget : widgets)
+            {
+                PDFormXObject fieldObject = new PDFormXObject(
+                        widget.getNormalAppearanceStream().getCOSObject());
+
+                Matrix translationMatrix = Matrix.getTranslateInstance(
+                        widget.getRectangle().getLowerLeftX(),
+                        widget.getRectangle().getLowerLeftY());
+                contentStream.saveGraphicsState();
+                contentStream.transform(translationMatrix);
+                contentStream.drawForm(fieldObject);
+                contentStream.restoreGraphicsState();
+            }
+        }
+    }
+
     /**
      * Refreshes the appearance streams and appearance dictionaries for the widget annotations of all fields.
      * 
@@ -623,30 +653,4 @@ public final class PDAcroForm implements COSObjectable
         dictionary.setFlag(COSName.SIG_FLAGS, FLAG_APPEND_ONLY, appendOnly);
     }
 
-    private Map<COSDictionary, Integer> buildAnnotationToPageRef()
-    {
-        Map<COSDictionary, Integer> annotationToPageRef = new HashMap<>();
-
-        int idx = 0;
-        for (PDPage page : document.getPages())
-        {
-            try
-            {
-                for (PDAnnotation annotation : page.getAnnotations())
-                {
-                    if (annotation instanceof PDAnnotationWidget)
-                    {
-                        annotationToPageRef.put(annotation.getCOSObject(), idx);
-                    }
-                }
-            }
-            catch (IllegalArgumentException e)
-            {
-                LOG.warn("Can't retriev annotations for page {}", idx);
-            }
-            idx++;
-        }
-        return annotationToPageRef;
-    }
-
 }
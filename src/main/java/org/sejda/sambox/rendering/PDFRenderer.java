@@ -16,14 +16,22 @@
  */
 package org.sejda.sambox.rendering;
 
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.util.Metrics;
 
 /**
  * Renders a PDF document to an AWT BufferedImage. This class may be overridden in order to perform custom rendering.
@@ -32,8 +40,12 @@ import org.sejda.sambox.pdmodel.common.PDRectangle;
  */
 public class PDFRenderer
 {
+    // pixels rendered around each tile and then discarded
+    private static final int TILE_MARGIN = 8;
+
     protected final PDDocument document;
     // TODO keep rendering state such as caches here
+    private boolean subsamplingAllowed = true;
 
     /**
      * Creates a new PDFRenderer.
@@ -45,6 +57,26 @@ public class PDFRenderer
         this.document = document;
     }
 
+    /**
+     * @return true if images drawn smaller than their size are decoded subsampled
+     */
+    public boolean isSubsamplingAllowed()
+    {
+        return subsamplingAllowed;
+    }
+
+    /**
+     * Sets whether images drawn smaller than their size can be decoded subsampled, reading only the rows and columns
+     * needed for the rendering resolution. This is faster and uses less memory but the downscaled image can be of lower
+     * quality. Default is true.
+     * 
+     * @param subsamplingAllowed
+     */
+    public void setSubsamplingAllowed(boolean subsamplingAllowed)
+    {
+        this.subsamplingAllowed = subsamplingAllowed;
+    }
+
     /**
      * Returns the given page as an RGB image at 72 DPI
      * 
@@ -111,25 +143,116 @@ public class PDFRenderer
             throws IOException
     {
         PDPage page = document.getPage(pageIndex);
+        Dimension size = imageSize(page, scale);
+        BufferedImage image = new BufferedImage(size.width, size.height,
+                imageType.toBufferedImageType());
+
+        Graphics2D g = createGraphics(image, imageType);
+        renderPage(page, g, image.getWidth(), image.getHeight(), scale, scale, null, false);
+        g.dispose();
+
+        return image;
+    }
+
+    /**
+     * Renders the given page at the given scale as a grid of tiles of the given size, handing each tile to the
+     * consumer as soon as it's rendered. This allows to render pages whose full size image wouldn't fit in memory, at
+     * most one tile is allocated at any time. The page content stream is processed once per tile and content that
+     * falls entirely outside the tile is skipped. Curves are flattened before being drawn so that they render the same
+     * regardless of the tile bounds, antialiased edges might slightly differ from {@link #renderImage(int, float)}.
+     * 
+     * @param pageIndex the zero-based index of the page to be converted
+     * @param scale the scaling factor, where 1 = 72 DPI
+     * @param imageType the type of the tiles images
+     * @param tileWidth the width in pixels of the tiles
+     * @param tileHeight the height in pixels of the tiles
+     * @param consumer the consumer of the rendered tiles
+     * @throws IOException if the PDF cannot be read or the consumer fails
+     */
+    public void renderImageTiles(int pageIndex, float scale, ImageType imageType, int tileWidth,
+            int tileHeight, PageTileConsumer consumer) throws IOException
+    {
+        requireArg(tileWidth > 0 && tileHeight > 0, "Tile size must be positive");
+        requireNotNullArg(consumer, "Tiles consumer cannot be null");
+        renderTiles(document.getPage(pageIndex), scale, imageType, tileWidth, tileHeight,
+                consumer);
+    }
+
+    /**
+     * Renders the given page at the given scale as horizontal bands of the given height, spanning the whole page
+     * width.
+     * 
+     * @param pageIndex the zero-based index of the page to be converted
+     * @param scale the scaling factor, where 1 = 72 DPI
+     * @param imageType the type of the bands images
+     * @param bandHeight the height in pixels of the bands
+     * @param consumer the consumer of the rendered bands
+     * @throws IOException if the PDF cannot be read or the consumer fails
+     * @see #renderImageTiles(int, float, ImageType, int, int, PageTileConsumer)
+     */
+    public void renderImageBands(int pageIndex, float scale, ImageType imageType, int bandHeight,
+            PageTileConsumer consumer) throws IOException
+    {
+        requireArg(bandHeight > 0, "Band height must be positive");
+        requireNotNullArg(consumer, "Bands consumer cannot be null");
+        PDPage page = document.getPage(pageIndex);
+        renderTiles(page, scale, imageType, Math.max(1, imageSize(page, scale).width), bandHeight,
+                consumer);
+    }
 
+    private void renderTiles(PDPage page, float scale, ImageType imageType, int tileWidth,
+            int tileHeight, PageTileConsumer consumer) throws IOException
+    {
+        Dimension size = imageSize(page, scale);
+        for (int y = 0; y < size.height; y += tileHeight)
+        {
+            for (int x = 0; x < size.width; x += tileWidth)
+            {
+                int width = Math.min(tileWidth, size.width - x);
+                int height = Math.min(tileHeight, size.height - y);
+                // the tile is rendered with a margin, so that antialiasing and clipping differences along its edges
+                // fall outside the returned area
+                int left = Math.min(TILE_MARGIN, x);
+                int top = Math.min(TILE_MARGIN, y);
+                BufferedImage rendered = new BufferedImage(
+                        left + width + Math.min(TILE_MARGIN, size.width - x - width),
+                        top + height + Math.min(TILE_MARGIN, size.height - y - height),
+                        imageType.toBufferedImageType());
+                Graphics2D g = createGraphics(rendered, imageType);
+                // pixel aligned integer translation and the same clip of the full page render, so that the tiles
+                // are rendered as the corresponding area of the full page image
+                g.setTransform(AffineTransform.getTranslateInstance(left - x, top - y));
+                g.setClip(0, 0, size.width, size.height);
+                // the PageDrawer skips content outside the rendered area
+                renderPage(page, g, size.width, size.height, scale, scale,
+                        new Rectangle(0, 0, rendered.getWidth(), rendered.getHeight()), true);
+                g.dispose();
+                consumer.accept(rendered.getSubimage(left, top, width, height), x, y);
+            }
+        }
+    }
+
+    /**
+     * @return the size in pixels of the image of the given page rendered at the given scale, taking the page rotation
+     * into account
+     */
+    private static Dimension imageSize(PDPage page, float scale)
+    {
         PDRectangle cropbBox = page.getCropBox();
-        float widthPt = cropbBox.getWidth();
-        float heightPt = cropbBox.getHeight();
-        int widthPx = Math.round(widthPt * scale);
-        int heightPx = Math.round(heightPt * scale);
+        int widthPx = Math.round(cropbBox.getWidth() * scale);
+        int heightPx = Math.round(cropbBox.getHeight() * scale);
         int rotationAngle = page.getRotation();
 
         // swap width and height
-        BufferedImage image;
         if (rotationAngle == 90 || rotationAngle == 270)
         {
-            image = new BufferedImage(heightPx, widthPx, imageType.toBufferedImageType());
-        }
-        else
-        {
-            image = new BufferedImage(widthPx, heightPx, imageType.toBufferedImageType());
+            return new Dimension(heightPx, widthPx);
         }
+        return new Dimension(widthPx, heightPx);
+    }
 
+    private static Graphics2D createGraphics(BufferedImage image, ImageType imageType)
+    {
         // use a transparent background if the imageType supports alpha
         Graphics2D g = image.createGraphics();
         if (imageType == ImageType.ARGB)
@@ -140,11 +263,7 @@ public class PDFRenderer
         {
             g.setBackground(Color.WHITE);
         }
-
-        renderPage(page, g, image.getWidth(), image.getHeight(), scale, scale);
-        g.dispose();
-
-        return image;
+        return g;
     }
 
     /**
@@ -174,13 +293,14 @@ public class PDFRenderer
         // TODO need width/wight calculations? should these be in PageDrawer?
         PDRectangle adjustedCropBox = page.getCropBox();
         renderPage(page, graphics, (int) adjustedCropBox.getWidth(),
-                (int) adjustedCropBox.getHeight(), scale, scale);
+                (int) adjustedCropBox.getHeight(), scale, scale, null, false);
     }
 
     // renders a page to the given graphics
     private void renderPage(PDPage page, Graphics2D graphics, int width, int height, float scaleX,
-            float scaleY) throws IOException
+            float scaleY, Rectangle2D visibleDeviceArea, boolean tiled) throws IOException
     {
+        long start = Metrics.start();
         graphics.clearRect(0, 0, width, height);
 
         graphics.scale(scaleX, scaleY);
@@ -211,9 +331,11 @@ public class PDFRenderer
         }
 
         // the end-user may provide a custom PageDrawer
-        PageDrawerParameters parameters = new PageDrawerParameters(this, page);
+        PageDrawerParameters parameters = new PageDrawerParameters(this, page,
+                visibleDeviceArea, tiled);
         PageDrawer drawer = createPageDrawer(parameters);
         drawer.drawPage(graphics, cropBox);
+        Metrics.stop(Metrics.RENDER_PAGE, start);
     }
 
     /**
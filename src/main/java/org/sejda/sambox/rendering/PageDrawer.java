@@ -29,6 +29,7 @@ import java.awt.TexturePaint;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -59,6 +60,7 @@ import org.sejda.sambox.pdmodel.graphics.color.PDColor;
 import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
 import org.sejda.sambox.pdmodel.graphics.color.PDPattern;
+import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
 import org.sejda.sambox.pdmodel.graphics.form.PDTransparencyGroup;
 import org.sejda.sambox.pdmodel.graphics.image.PDImage;
 import org.sejda.sambox.pdmodel.graphics.pattern.PDAbstractPattern;
@@ -111,6 +113,16 @@ public class PageDrawer extends PDFGraphicsStreamEngine
     // buffered clipping area for text being drawn
     private Area textClippingArea;
 
+    // maximum distance in device pixels between curves and the line segments used to draw them
+    private static final double DEVICE_FLATNESS = 0.05;
+    // curves are flattened when rendering tiles
+    private final boolean flattenCurves;
+
+    // device space bounds of the visible area, content falling entirely outside is skipped
+    private Rectangle2D visibleDeviceArea;
+    // visible area requested by the renderer, the initial Graphics2D clip is used if null
+    private final Rectangle2D requestedVisibleDeviceArea;
+
     // glyph cache
     private final Map<PDFont, Glyph2D> fontGlyph2D = new HashMap<PDFont, Glyph2D>();
 
@@ -124,6 +136,8 @@ public class PageDrawer extends PDFGraphicsStreamEngine
     {
         super(parameters.getPage());
         this.renderer = parameters.getRenderer();
+        this.requestedVisibleDeviceArea = parameters.getVisibleDeviceArea();
+        this.flattenCurves = parameters.isFlattenCurves();
     }
 
     /**
@@ -175,6 +189,12 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         graphics = (Graphics2D) g;
         xform = graphics.getTransform();
         this.pageSize = pageSize;
+        visibleDeviceArea = requestedVisibleDeviceArea;
+        Shape initialClip = graphics.getClip();
+        if (visibleDeviceArea == null && initialClip != null)
+        {
+            visibleDeviceArea = xform.createTransformedShape(initialClip).getBounds2D();
+        }
 
         setRenderingHints();
 
@@ -195,6 +215,54 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         }
 
         graphics = null;
+        visibleDeviceArea = null;
+    }
+
+    /**
+     * Returns the given shape with its curves replaced by line segments, with a precision that depends on the current
+     * transform of the Graphics2D. Some rasterizers (ex. Marlin) subdivide curves crossing the bounds of the device
+     * clip, so curves are flattened when rendering tiles to render the same pixels regardless of the tile bounds. The
+     * shape is returned unchanged when the {@link PageDrawerParameters} don't ask for flattening.
+     * 
+     * @param shape the shape in the current user space of the Graphics2D
+     * @return the flattened shape
+     */
+    private Shape flatten(Shape shape)
+    {
+        double scale = Math.sqrt(Math.abs(graphics.getTransform().getDeterminant()));
+        if (!flattenCurves || scale == 0 || Double.isNaN(scale) || Double.isInfinite(scale))
+        {
+            return shape;
+        }
+        PathIterator iterator = shape.getPathIterator(null, DEVICE_FLATNESS / scale);
+        Path2D.Double flattened = new Path2D.Double(iterator.getWindingRule());
+        flattened.append(iterator, false);
+        return flattened;
+    }
+
+    /**
+     * Returns true if the given bounds, expressed in the current user space of the Graphics2D and enlarged by the
+     * given padding, fall entirely outside the visible area of the device, in which case drawing can be skipped.
+     * 
+     * @param bounds the bounds of what is going to be drawn
+     * @param padding the user space amount the bounds are enlarged by on each side (ex. half the stroke width)
+     * @return true if the bounds are not visible
+     */
+    protected final boolean isOutsideVisibleArea(Rectangle2D bounds, double padding)
+    {
+        if (visibleDeviceArea == null || bounds == null)
+        {
+            return false;
+        }
+        Rectangle2D padded = new Rectangle2D.Double(bounds.getX() - padding,
+                bounds.getY() - padding, bounds.getWidth() + 2 * padding,
+                bounds.getHeight() + 2 * padding);
+        Rectangle2D deviceBounds = graphics.getTransform().createTransformedShape(padded)
+                .getBounds2D();
+        // one pixel of tolerance for antialiasing, this also handles zero width or height bounds
+        return !new Rectangle2D.Double(deviceBounds.getX() - 1, deviceBounds.getY() - 1,
+                deviceBounds.getWidth() + 2, deviceBounds.getHeight() + 2)
+                        .intersects(visibleDeviceArea);
     }
 
     /**
@@ -219,12 +287,17 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         Area oldLastClip = lastClip;
         lastClip = null;
 
+        // the pattern cell is drawn on its own device
+        Rectangle2D oldVisibleDeviceArea = visibleDeviceArea;
+        visibleDeviceArea = null;
+
         setRenderingHints();
         processTilingPattern(pattern, color, colorSpace, patternMatrix);
 
         graphics = oldGraphics;
         linePath = oldLinePath;
         lastClip = oldLastClip;
+        visibleDeviceArea = oldVisibleDeviceArea;
     }
 
     /**
@@ -368,22 +441,24 @@ public class PageDrawer extends PDFGraphicsStreamEngine
 
             // render glyph
             Shape glyph = at.createTransformedShape(path);
+            boolean visible = !isOutsideVisibleArea(glyph.getBounds2D(),
+                    renderingMode.isStroke() ? getStroke().getLineWidth() : 0);
 
-            if (renderingMode.isFill())
+            if (visible && renderingMode.isFill())
             {
                 graphics.setComposite(state.getNonStrokingJavaComposite());
                 graphics.setPaint(getNonStrokingPaint());
                 setClip();
-                graphics.fill(glyph);
+                graphics.fill(flatten(glyph));
             }
 
-            if (renderingMode.isStroke())
+            if (visible && renderingMode.isStroke())
             {
                 graphics.setComposite(state.getStrokingJavaComposite());
                 graphics.setPaint(getStrokingPaint());
                 graphics.setStroke(getStroke());
                 setClip();
-                graphics.draw(glyph);
+                graphics.draw(flatten(glyph));
             }
 
             if (renderingMode.isClip())
@@ -573,17 +648,28 @@ public class PageDrawer extends PDFGraphicsStreamEngine
     @Override
     public void strokePath() throws IOException
     {
-        graphics.setComposite(getGraphicsState().getStrokingJavaComposite());
-        graphics.setPaint(getStrokingPaint());
-        graphics.setStroke(getStroke());
-        setClip();
-        graphics.draw(linePath);
+        BasicStroke stroke = getStroke();
+        // miter joins can exceed the line width
+        if (!isOutsideVisibleArea(linePath.getBounds2D(),
+                stroke.getLineWidth() * Math.max(1, stroke.getMiterLimit())))
+        {
+            graphics.setComposite(getGraphicsState().getStrokingJavaComposite());
+            graphics.setPaint(getStrokingPaint());
+            graphics.setStroke(stroke);
+            setClip();
+            graphics.draw(flatten(linePath));
+        }
         linePath.reset();
     }
 
     @Override
     public void fillPath(int windingRule) throws IOException
     {
+        if (isOutsideVisibleArea(linePath.getBounds2D(), 0))
+        {
+            linePath.reset();
+            return;
+        }
         graphics.setComposite(getGraphicsState().getNonStrokingJavaComposite());
         graphics.setPaint(getNonStrokingPaint());
         setClip();
@@ -607,11 +693,11 @@ public class PageDrawer extends PDFGraphicsStreamEngine
             // apply clip to path to avoid oversized device bounds in shading contexts (PDFBOX-2901)
             Area area = new Area(linePath);
             area.intersect(new Area(graphics.getClip()));
-            graphics.fill(area);
+            graphics.fill(flatten(area));
         }
         else
         {
-            graphics.fill(linePath);
+            graphics.fill(flatten(linePath));
         }
 
         linePath.reset();
@@ -751,6 +837,13 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
         AffineTransform at = ctm.createAffineTransform();
 
+        // images are drawn on the unit square, we avoid decoding those that are not visible
+        if (isOutsideVisibleArea(
+                at.createTransformedShape(new Rectangle2D.Float(0, 0, 1, 1)).getBounds2D(), 0))
+        {
+            return;
+        }
+
         if (!pdImage.getInterpolate())
         {
             boolean isScaledUp = pdImage.getWidth() < Math.round(at.getScaleX())
@@ -776,8 +869,16 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         }
         else
         {
+            int subsampling = getSubsampling(pdImage, at);
             // draw the image
-            drawBufferedImage(pdImage.getImage(), at);
+            if (subsampling > 1)
+            {
+                drawBufferedImage(pdImage.getImage(null, subsampling), at);
+            }
+            else
+            {
+                drawBufferedImage(pdImage.getImage(), at);
+            }
         }
 
         if (!pdImage.getInterpolate())
@@ -788,6 +889,30 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         }
     }
 
+    /**
+     * @return the subsampling factor to decode the given image, drawn on the unit square transformed by the given
+     * transform, so that the decoded image is still at least as big as its size on the device.
+     */
+    private int getSubsampling(PDImage pdImage, AffineTransform at)
+    {
+        if (!renderer.isSubsamplingAllowed())
+        {
+            return 1;
+        }
+        AffineTransform device = new AffineTransform(xform);
+        device.concatenate(at);
+        // size in device pixels of the sides of the image
+        double deviceWidth = Math.hypot(device.getScaleX(), device.getShearY());
+        double deviceHeight = Math.hypot(device.getShearX(), device.getScaleY());
+        if (deviceWidth < 1 || deviceHeight < 1)
+        {
+            return 1;
+        }
+        double subsampling = Math.min(pdImage.getWidth() / deviceWidth,
+                pdImage.getHeight() / deviceHeight);
+        return Math.max(1, (int) Math.floor(subsampling));
+    }
+
     private void drawBufferedImage(BufferedImage image, AffineTransform at) throws IOException
     {
         graphics.setComposite(getGraphicsState().getNonStrokingJavaComposite());
@@ -1114,9 +1239,38 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         graphics.setStroke(oldStroke);
     }
 
+    @Override
+    public void showForm(PDFormXObject form) throws IOException
+    {
+        if (!isOutsideVisibleArea(transformedBBox(form), 0))
+        {
+            super.showForm(form);
+        }
+    }
+
+    /**
+     * @return the bounds of the given form bbox transformed by the current CTM and the form matrix or null if the form
+     * has no bbox
+     */
+    private Rectangle2D transformedBBox(PDFormXObject form)
+    {
+        PDRectangle bbox = form.getBBox();
+        if (bbox == null)
+        {
+            return null;
+        }
+        Matrix transform = Matrix.concatenate(getGraphicsState().getCurrentTransformationMatrix(),
+                form.getMatrix());
+        return bbox.transform(transform).getBounds2D();
+    }
+
     @Override
     public void showTransparencyGroup(PDTransparencyGroup form) throws IOException
     {
+        if (isOutsideVisibleArea(transformedBBox(form), 0))
+        {
+            return;
+        }
         TransparencyGroup group = new TransparencyGroup(form, false);
 
         graphics.setComposite(getGraphicsState().getNonStrokingJavaComposite());
@@ -1170,6 +1324,8 @@ public class PageDrawer extends PDFGraphicsStreamEngine
         {
             Graphics2D g2dOriginal = graphics;
             Area lastClipOriginal = lastClip;
+            // the group is drawn on its own device
+            Rectangle2D visibleDeviceAreaOriginal = visibleDeviceArea;
 
             // get the CTM x Form Matrix transform
             Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
@@ -1211,6 +1367,7 @@ public class PageDrawer extends PDFGraphicsStreamEngine
             g.translate(-clipRect.getX(), -clipRect.getY());
 
             graphics = g;
+            visibleDeviceArea = null;
             try
             {
                 if (isSoftMask)
@@ -1227,6 +1384,7 @@ public class PageDrawer extends PDFGraphicsStreamEngine
                 lastClip = lastClipOriginal;
                 graphics.dispose();
                 graphics = g2dOriginal;
+                visibleDeviceArea = visibleDeviceAreaOriginal;
             }
         }
 
@@ -17,6 +17,8 @@
 
 package org.sejda.sambox.rendering;
 
+import java.awt.geom.Rectangle2D;
+
 import org.sejda.sambox.pdmodel.PDPage;
 
 /**
@@ -30,14 +32,32 @@ public final class PageDrawerParameters
 {
     private final PDFRenderer renderer;
     private final PDPage page;
+    private final Rectangle2D visibleDeviceArea;
+    private final boolean flattenCurves;
 
     /**
      * Package-private constructor.
      */
     PageDrawerParameters(PDFRenderer renderer, PDPage page)
+    {
+        this(renderer, page, null, false);
+    }
+
+    /**
+     * Package-private constructor.
+     * 
+     * @param visibleDeviceArea the area of the device that is going to be visible, content falling entirely outside of
+     * it can be skipped. If null the bounds of the initial clip of the Graphics2D are used.
+     * @param flattenCurves true if curves should be flattened before being drawn, so that tiles of a page render the
+     * same pixels of the full page regardless of their bounds
+     */
+    PageDrawerParameters(PDFRenderer renderer, PDPage page, Rectangle2D visibleDeviceArea,
+            boolean flattenCurves)
     {
         this.renderer = renderer;
         this.page = page;
+        this.visibleDeviceArea = visibleDeviceArea;
+        this.flattenCurves = flattenCurves;
     }
 
     /**
@@ -55,4 +75,20 @@ public final class PageDrawerParameters
     {
         return renderer;
     }
+
+    /**
+     * Returns the visible area of the device, or null if not set.
+     */
+    Rectangle2D getVisibleDeviceArea()
+    {
+        return visibleDeviceArea;
+    }
+
+    /**
+     * Returns true if curves should be flattened, used when rendering tiles.
+     */
+    boolean isFlattenCurves()
+    {
+        return flattenCurves;
+    }
 }
@@ -0,0 +1,39 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.rendering;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Receives the tiles of a page rendered by {@link PDFRenderer#renderImageTiles(int, float, ImageType, int, int, PageTileConsumer)}
+ * . Tiles are delivered row by row, left to right, top to bottom.
+ *
+ * @author Andrea Vacondio
+ */
+@FunctionalInterface
+public interface PageTileConsumer
+{
+    /**
+     * @param tile the rendered tile. Tiles on the right and bottom edges of the page can be smaller than the requested
+     * tile size.
+     * @param x the horizontal position in pixels of the tile upper left corner in the full page image
+     * @param y the vertical position in pixels of the tile upper left corner in the full page image
+     * @throws IOException
+     */
+    void accept(BufferedImage tile, int x, int y) throws IOException;
+}
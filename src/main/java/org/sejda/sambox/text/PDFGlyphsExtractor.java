@@ -0,0 +1,103 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.text;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.font.PDFont;
+import org.sejda.sambox.util.Matrix;
+
+/**
+ * Extracts the glyphs shown in the pages of a document to a reusable {@link PageGlyphs} buffer, streaming them to a
+ * {@link PageGlyphsConsumer}. Unlike {@link PDFTextStripper} it doesn't create a {@link TextPosition} per glyph, nor
+ * sorts or groups the glyphs into words and lines, making it suitable for consumers only interested in the raw
+ * glyphs and their positions.
+ *
+ * @author Andrea Vacondio
+ */
+public class PDFGlyphsExtractor extends PDFTextStreamEngine
+{
+    private final PageGlyphs glyphs = new PageGlyphs();
+    private final PageGlyphsConsumer consumer;
+
+    /**
+     * @param consumer the consumer of the extracted glyphs
+     * @throws IOException
+     */
+    public PDFGlyphsExtractor(PageGlyphsConsumer consumer) throws IOException
+    {
+        this.consumer = requireNonNull(consumer);
+    }
+
+    /**
+     * Extracts the glyphs of all the pages of the given document
+     *
+     * @param document
+     * @throws IOException
+     */
+    public void extract(PDDocument document) throws IOException
+    {
+        int pageNumber = 0;
+        for (PDPage page : document.getPages())
+        {
+            extract(page, ++pageNumber);
+        }
+    }
+
+    /**
+     * Extracts the glyphs of the given page
+     *
+     * @param page
+     * @param pageNumber the 1-based number of the page, passed to the consumer
+     * @throws IOException
+     */
+    public void extract(PDPage page, int pageNumber) throws IOException
+    {
+        consumer.startPage(page, pageNumber);
+        if (page.hasContents())
+        {
+            processPage(page);
+        }
+        else
+        {
+            glyphs.reset(page.getRotation(), page.getCropBox().getWidth(),
+                    page.getCropBox().getHeight());
+        }
+        consumer.endPage(page, pageNumber, glyphs);
+    }
+
+    @Override
+    public void processPage(PDPage page) throws IOException
+    {
+        glyphs.reset(page.getRotation(), page.getCropBox().getWidth(),
+                page.getCropBox().getHeight());
+        super.processPage(page);
+    }
+
+    @Override
+    protected void processGlyph(Matrix textRenderingMatrix, float endX, float endY,
+            float maxHeight, float width, float spaceWidth, String unicode, int code, PDFont font,
+            float fontSize, int fontSizeInPt) throws IOException
+    {
+        consumer.glyph(glyphs, glyphs.add(textRenderingMatrix, endX, endY, maxHeight, width,
+                spaceWidth, unicode, code, font, fontSize, fontSizeInPt));
+    }
+}
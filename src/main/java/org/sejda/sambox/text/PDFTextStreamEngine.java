@@ -301,10 +301,36 @@ class PDFTextStreamEngine extends PDFStreamEngine
             nextX -= pageSize.getLowerLeftX();
             nextY -= pageSize.getLowerLeftY();
         }
+        processGlyph(translatedTextRenderingMatrix, nextX, nextY, dyDisplay, dxDisplay,
+                spaceWidthDisplay, unicode, code, font, fontSize,
+                (int) (fontSize * textMatrix.getScalingFactorX()));
+    }
+
+    /**
+     * Called for every glyph with a unicode mapping, with the values computed for it. The default implementation
+     * creates a {@link TextPosition} and passes it to {@link #processTextPosition(TextPosition)}, subclasses can
+     * override it to avoid the creation of the {@link TextPosition}.
+     *
+     * @param textRenderingMatrix the text rendering matrix of the glyph, adjusted for the cropbox (in display units)
+     * @param endX x coordinate of the end position
+     * @param endY y coordinate of the end position
+     * @param maxHeight maximum height of the glyph (in display units)
+     * @param width width of the glyph (in display units)
+     * @param spaceWidth width of the space character (in display units)
+     * @param unicode unicode text of the glyph
+     * @param code character code of the glyph
+     * @param font the font
+     * @param fontSize the font size
+     * @param fontSizeInPt the font size in pt units
+     * @throws IOException
+     */
+    protected void processGlyph(Matrix textRenderingMatrix, float endX, float endY,
+            float maxHeight, float width, float spaceWidth, String unicode, int code, PDFont font,
+            float fontSize, int fontSizeInPt) throws IOException
+    {
         processTextPosition(new TextPosition(pageRotation, pageSize.getWidth(),
-                pageSize.getHeight(), translatedTextRenderingMatrix, nextX, nextY, dyDisplay,
-                dxDisplay, spaceWidthDisplay, unicode, new int[] { code }, font, fontSize,
-                (int) (fontSize * textMatrix.getScalingFactorX())));
+                pageSize.getHeight(), textRenderingMatrix, endX, endY, maxHeight, width,
+                spaceWidth, unicode, new int[] { code }, font, fontSize, fontSizeInPt));
     }
 
     /**
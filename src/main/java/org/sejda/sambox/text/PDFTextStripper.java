@@ -16,9 +16,12 @@
  */
 package org.sejda.sambox.text;
 
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.LineNumberReader;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -32,15 +35,21 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.pdmodel.DefaultResourceCache;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PDPageTree;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.ResourceCache;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
 import org.sejda.sambox.pdmodel.interactive.pagenavigation.PDThreadBead;
@@ -191,7 +200,7 @@ public class PDFTextStripper extends PDFTextStreamEngine
      */
     protected ArrayList<List<TextPosition>> charactersByArticle = new ArrayList<>();
 
-    private Map<String, TreeMap<Float, TreeSet<Float>>> characterListMapping = new HashMap<String, TreeMap<Float, TreeSet<Float>>>();
+    private final TextPositionsGrid characterListMapping = new TextPositionsGrid();
 
     protected PDDocument document;
     protected Writer output;
@@ -233,10 +242,7 @@ public class PDFTextStripper extends PDFTextStreamEngine
         {
             charactersByArticle.clear();
         }
-        if (characterListMapping != null)
-        {
-            characterListMapping.clear();
-        }
+        characterListMapping.clear();
     }
 
     /**
@@ -248,6 +254,14 @@ public class PDFTextStripper extends PDFTextStreamEngine
      * @throws IOException If the doc is in an invalid state.
      */
     public void writeText(PDDocument doc, Writer outputStream) throws IOException
+    {
+        init(doc, outputStream);
+        startDocument(document);
+        processPages(document.getPages());
+        endDocument(document);
+    }
+
+    private void init(PDDocument doc, Writer outputStream)
     {
         resetEngine();
         document = doc;
@@ -259,11 +273,141 @@ public class PDFTextStripper extends PDFTextStreamEngine
             articleStart = lineSeparator;
             articleEnd = lineSeparator;
         }
+    }
+
+    /**
+     * This will take a PDDocument and write the text of that document to the given writer, extracting the text of the
+     * pages in parallel using the given executor. Pages to extract are split in ranges and the text of each range is
+     * extracted by a new stripper taken from the given supplier, configured with the settings of this stripper and
+     * having its own page state and its own resource cache. Page ranges are written to the writer in page order.
+     * <p>
+     * Start/end pages and bookmarks are resolved before the extraction starts, {@link #startDocument(PDDocument)} and
+     * {@link #endDocument(PDDocument)} are called on this stripper, while page and article callbacks are called on the
+     * strippers provided by the supplier.
+     * </p>
+     * <p>
+     * The document objects are shared between the workers so it must not be modified during the extraction.
+     * </p>
+     *
+     * @param doc The document to get the data from.
+     * @param outputStream The location to put the text.
+     * @param executor the executor where ranges of pages are extracted
+     * @param strippers supplier of new strippers, it can be used to provide instances of a subclass.
+     * @throws IOException If the doc is in an invalid state or if an error occurs writing the text.
+     */
+    public void writeText(PDDocument doc, Writer outputStream, ExecutorService executor,
+            Supplier<? extends PDFTextStripper> strippers) throws IOException
+    {
+        requireNotNullArg(executor, "Executor cannot be null");
+        requireNotNullArg(strippers, "Strippers supplier cannot be null");
+        init(doc, outputStream);
         startDocument(document);
-        processPages(document.getPages());
+        PDPageTree pages = document.getPages();
+        resolveBookmarkPages(pages);
+
+        TreeMap<Integer, COSDictionary> selected = new TreeMap<>();
+        for (PDPage page : pages)
+        {
+            currentPageNo++;
+            if (page.hasContents() && isInRange(currentPageNo))
+            {
+                selected.put(currentPageNo, page.getCOSObject());
+            }
+        }
+        List<Integer> pageNumbers = new ArrayList<>(selected.keySet());
+        int rangeSize = Math.max(1,
+                pageNumbers.size() / (Runtime.getRuntime().availableProcessors() * 4));
+        List<Future<String>> results = new ArrayList<>();
+        for (int from = 0; from < pageNumbers.size(); from += rangeSize)
+        {
+            int to = Math.min(from + rangeSize, pageNumbers.size()) - 1;
+            SortedMap<Integer, COSDictionary> range = selected.subMap(pageNumbers.get(from), true,
+                    pageNumbers.get(to), true);
+            results.add(executor.submit(() -> extractRange(strippers.get(), range)));
+        }
+        try
+        {
+            for (Future<String> result : results)
+            {
+                output.write(result.get());
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting text");
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        finally
+        {
+            results.forEach(r -> r.cancel(true));
+        }
         endDocument(document);
     }
 
+    /**
+     * Extracts the text of the given range of pages using the given stripper
+     * 
+     * @return the extracted text
+     */
+    private String extractRange(PDFTextStripper stripper, SortedMap<Integer, COSDictionary> pages)
+            throws IOException
+    {
+        copySettingsTo(stripper);
+        StringWriter writer = new StringWriter();
+        stripper.document = document;
+        stripper.output = writer;
+        // fonts and resources are not meant to be used concurrently
+        ResourceCache resourceCache = new DefaultResourceCache();
+        for (Map.Entry<Integer, COSDictionary> page : pages.entrySet())
+        {
+            stripper.currentPageNo = page.getKey();
+            try
+            {
+                stripper.processPage(new CachedResourcesPage(page.getValue(), resourceCache));
+            }
+            catch (IOException e)
+            {
+                LOG.warn("Unable to extract text from page " + page.getKey(), e);
+            }
+        }
+        return writer.toString();
+    }
+
+    private void copySettingsTo(PDFTextStripper stripper)
+    {
+        stripper.lineSeparator = lineSeparator;
+        stripper.wordSeparator = wordSeparator;
+        stripper.paragraphStart = paragraphStart;
+        stripper.paragraphEnd = paragraphEnd;
+        stripper.pageStart = pageStart;
+        stripper.pageEnd = pageEnd;
+        stripper.articleStart = articleStart;
+        stripper.articleEnd = articleEnd;
+        stripper.startPage = startPage;
+        stripper.endPage = endPage;
+        stripper.startBookmark = startBookmark;
+        stripper.endBookmark = endBookmark;
+        stripper.startBookmarkPageNumber = startBookmarkPageNumber;
+        stripper.endBookmarkPageNumber = endBookmarkPageNumber;
+        stripper.suppressDuplicateOverlappingText = suppressDuplicateOverlappingText;
+        stripper.shouldSeparateByBeads = shouldSeparateByBeads;
+        stripper.sortByPosition = sortByPosition;
+        stripper.addMoreFormatting = addMoreFormatting;
+        stripper.indentThreshold = indentThreshold;
+        stripper.dropThreshold = dropThreshold;
+        stripper.spacingTolerance = spacingTolerance;
+        stripper.averageCharTolerance = averageCharTolerance;
+        stripper.listOfPatterns = listOfPatterns;
+    }
+
     /**
      * This will process all of the pages and the text that is in them.
      *
@@ -272,6 +416,26 @@ public class PDFTextStripper extends PDFTextStreamEngine
      * @throws IOException If there is an error parsing the text.
      */
     protected void processPages(PDPageTree pages) throws IOException
+    {
+        resolveBookmarkPages(pages);
+        for (PDPage page : pages)
+        {
+            currentPageNo++;
+            if (page.hasContents())
+            {
+                try
+                {
+                    processPage(page);
+                }
+                catch (IOException e)
+                {
+                    LOG.warn("Unable to extract text from page " + currentPageNo, e);
+                }
+            }
+        }
+    }
+
+    private void resolveBookmarkPages(PDPageTree pages) throws IOException
     {
         PDPage startBookmarkPage = startBookmark == null ? null
                 : startBookmark.findDestinationPage(document);
@@ -307,22 +471,16 @@ public class PDFTextStripper extends PDFTextStreamEngine
             startBookmarkPageNumber = 0;
             endBookmarkPageNumber = 0;
         }
+    }
 
-        for (PDPage page : pages)
-        {
-            currentPageNo++;
-            if (page.hasContents())
-            {
-                try
-                {
-                    processPage(page);
-                }
-                catch (IOException e)
-                {
-                    LOG.warn("Unable to extract text from page " + currentPageNo, e);
-                }
-            }
-        }
+    /**
+     * @return true if the given 1-based page number has to be extracted according to start/end page and bookmarks
+     */
+    private boolean isInRange(int pageNumber)
+    {
+        return pageNumber >= startPage && pageNumber <= endPage
+                && (startBookmarkPageNumber == -1 || pageNumber >= startBookmarkPageNumber)
+                && (endBookmarkPageNumber == -1 || pageNumber <= endBookmarkPageNumber);
     }
 
     /**
@@ -358,9 +516,7 @@ public class PDFTextStripper extends PDFTextStreamEngine
     @Override
     public void processPage(PDPage page) throws IOException
     {
-        if (currentPageNo >= startPage && currentPageNo <= endPage
-                && (startBookmarkPageNumber == -1 || currentPageNo >= startBookmarkPageNumber)
-                && (endBookmarkPageNumber == -1 || currentPageNo <= endBookmarkPageNumber))
+        if (isInRange(currentPageNo))
         {
             startPage(page);
 
@@ -822,13 +978,6 @@ public class PDFTextStripper extends PDFTextStreamEngine
             String textCharacter = text.getUnicode();
             float textX = text.getX();
             float textY = text.getY();
-            TreeMap<Float, TreeSet<Float>> sameTextCharacters = characterListMapping
-                    .get(textCharacter);
-            if (sameTextCharacters == null)
-            {
-                sameTextCharacters = new TreeMap<Float, TreeSet<Float>>();
-                characterListMapping.put(textCharacter, sameTextCharacters);
-            }
             // RDD - Here we compute the value that represents the end of the rendered
             // text. This value is used to determine whether subsequent text rendered
             // on the same line overwrites the current text.
@@ -839,29 +988,11 @@ public class PDFTextStripper extends PDFTextStreamEngine
             // the TJ just backs up to compensate after each character). Also, we subtract
             // an amount to allow for kerning (a percentage of the width of the last
             // character).
-            boolean suppressCharacter = false;
             float tolerance = text.getWidth() / textCharacter.length() / 3.0f;
 
-            SortedMap<Float, TreeSet<Float>> xMatches = sameTextCharacters.subMap(textX - tolerance,
-                    textX + tolerance);
-            for (TreeSet<Float> xMatch : xMatches.values())
+            if (!characterListMapping.containsNear(textCharacter, textX, textY, tolerance))
             {
-                SortedSet<Float> yMatches = xMatch.subSet(textY - tolerance, textY + tolerance);
-                if (!yMatches.isEmpty())
-                {
-                    suppressCharacter = true;
-                    break;
-                }
-            }
-            if (!suppressCharacter)
-            {
-                TreeSet<Float> ySet = sameTextCharacters.get(textX);
-                if (ySet == null)
-                {
-                    ySet = new TreeSet<Float>();
-                    sameTextCharacters.put(textX, ySet);
-                }
-                ySet.add(textY);
+                characterListMapping.add(textCharacter, textX, textY);
                 showCharacter = true;
             }
         }
@@ -2163,4 +2294,30 @@ public class PDFTextStripper extends PDFTextStreamEngine
             this.isHangingIndent = true;
         }
     }
+
+    /**
+     * A page whose resources are stored in the given cache, used to read pages concurrently without sharing the
+     * document resource cache.
+     */
+    private static final class CachedResourcesPage extends PDPage
+    {
+        private final ResourceCache resourceCache;
+        private PDResources resources;
+
+        CachedResourcesPage(COSDictionary pageDictionary, ResourceCache resourceCache)
+        {
+            super(pageDictionary);
+            this.resourceCache = resourceCache;
+        }
+
+        @Override
+        public PDResources getResources()
+        {
+            if (resources == null)
+            {
+                resources = new PDResources(super.getResources().getCOSObject(), resourceCache);
+            }
+            return resources;
+        }
+    }
 }
@@ -0,0 +1,374 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.text;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sejda.sambox.pdmodel.font.PDFont;
+import org.sejda.sambox.util.Matrix;
+
+/**
+ * Compact, columnar representation of the glyphs shown in a page. Glyph values are stored in parallel primitive arrays
+ * and fonts in a table referenced by index, so that a page worth of glyphs doesn't require a {@link TextPosition}
+ * (with its {@link Matrix}, arrays and boxed values) per glyph. Glyphs are identified by their index in the buffer,
+ * {@link #toTextPosition(int)} can be used to materialize a {@link TextPosition} when needed.
+ * <p>
+ * Buffers are meant to be reused from page to page and are not thread safe.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public final class PageGlyphs
+{
+    private static final int MATRIX_SIZE = 6;
+
+    private int pageRotation;
+    private float pageWidth;
+    private float pageHeight;
+
+    private int size;
+    // a, b, c, d, e, f of the text rendering matrix of each glyph
+    private float[] matrices = new float[16 * MATRIX_SIZE];
+    private float[] endXs = new float[16];
+    private float[] endYs = new float[16];
+    private float[] heights = new float[16];
+    private float[] widths = new float[16];
+    private float[] spaceWidths = new float[16];
+    private float[] fontSizes = new float[16];
+    private int[] fontSizesInPt = new int[16];
+    private int[] codes = new int[16];
+    private int[] fontIndexes = new int[16];
+    private String[] unicodes = new String[16];
+
+    private final List<PDFont> fonts = new ArrayList<>();
+    private final Map<PDFont, Integer> fontsIndex = new IdentityHashMap<>();
+
+    /**
+     * Clears the buffer and sets the page values used to compute the page rotation adjusted coordinates.
+     *
+     * @param pageRotation
+     * @param pageWidth
+     * @param pageHeight
+     */
+    public void reset(int pageRotation, float pageWidth, float pageHeight)
+    {
+        Arrays.fill(unicodes, 0, size, null);
+        this.size = 0;
+        this.fonts.clear();
+        this.fontsIndex.clear();
+        this.pageRotation = pageRotation;
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+    }
+
+    /**
+     * Adds a glyph to the buffer, values have the same meaning of the {@link TextPosition} ones.
+     *
+     * @return the index of the added glyph
+     */
+    public int add(Matrix textRenderingMatrix, float endX, float endY, float maxHeight,
+            float width, float spaceWidth, String unicode, int code, PDFont font, float fontSize,
+            int fontSizeInPt)
+    {
+        ensureCapacity(size + 1);
+        int offset = size * MATRIX_SIZE;
+        matrices[offset] = textRenderingMatrix.getScaleX();
+        matrices[offset + 1] = textRenderingMatrix.getShearY();
+        matrices[offset + 2] = textRenderingMatrix.getShearX();
+        matrices[offset + 3] = textRenderingMatrix.getScaleY();
+        matrices[offset + 4] = textRenderingMatrix.getTranslateX();
+        matrices[offset + 5] = textRenderingMatrix.getTranslateY();
+        endXs[size] = endX;
+        endYs[size] = endY;
+        heights[size] = maxHeight;
+        widths[size] = width;
+        spaceWidths[size] = spaceWidth;
+        unicodes[size] = unicode;
+        codes[size] = code;
+        fontIndexes[size] = fontIndex(requireNonNull(font));
+        fontSizes[size] = fontSize;
+        fontSizesInPt[size] = fontSizeInPt;
+        return size++;
+    }
+
+    private int fontIndex(PDFont font)
+    {
+        Integer index = fontsIndex.get(font);
+        if (index == null)
+        {
+            index = fonts.size();
+            fonts.add(font);
+            fontsIndex.put(font, index);
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > codes.length)
+        {
+            int newCapacity = Math.max(capacity, codes.length * 2);
+            matrices = Arrays.copyOf(matrices, newCapacity * MATRIX_SIZE);
+            endXs = Arrays.copyOf(endXs, newCapacity);
+            endYs = Arrays.copyOf(endYs, newCapacity);
+            heights = Arrays.copyOf(heights, newCapacity);
+            widths = Arrays.copyOf(widths, newCapacity);
+            spaceWidths = Arrays.copyOf(spaceWidths, newCapacity);
+            fontSizes = Arrays.copyOf(fontSizes, newCapacity);
+            fontSizesInPt = Arrays.copyOf(fontSizesInPt, newCapacity);
+            codes = Arrays.copyOf(codes, newCapacity);
+            fontIndexes = Arrays.copyOf(fontIndexes, newCapacity);
+            unicodes = Arrays.copyOf(unicodes, newCapacity);
+        }
+    }
+
+    /**
+     * @return the number of glyphs in the buffer
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the rotation of the page
+     */
+    public int getPageRotation()
+    {
+        return pageRotation;
+    }
+
+    /**
+     * @return the width of the page cropbox
+     */
+    public float getPageWidth()
+    {
+        return pageWidth;
+    }
+
+    /**
+     * @return the height of the page cropbox
+     */
+    public float getPageHeight()
+    {
+        return pageHeight;
+    }
+
+    /**
+     * @return the fonts table, glyphs reference it by index
+     * @see #getFontIndex(int)
+     */
+    public List<PDFont> getFonts()
+    {
+        return fonts;
+    }
+
+    /**
+     * @param index
+     * @return the index in the fonts table of the font of the glyph
+     */
+    public int getFontIndex(int index)
+    {
+        return fontIndexes[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the font of the glyph
+     */
+    public PDFont getFont(int index)
+    {
+        return fonts.get(getFontIndex(index));
+    }
+
+    /**
+     * @param index
+     * @return the unicode text of the glyph
+     */
+    public String getUnicode(int index)
+    {
+        return unicodes[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the character code of the glyph
+     */
+    public int getCharacterCode(int index)
+    {
+        return codes[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the page rotation adjusted x coordinate of the glyph, the same as {@link TextPosition#getX()}
+     */
+    public float getX(int index)
+    {
+        int offset = checkIndex(index) * MATRIX_SIZE;
+        switch (pageRotation)
+        {
+        case 0:
+            return matrices[offset + 4];
+        case 90:
+            return matrices[offset + 5];
+        case 180:
+            return pageWidth - matrices[offset + 4];
+        case 270:
+            return pageHeight - matrices[offset + 5];
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * @param index
+     * @return the page rotation adjusted y coordinate of the glyph, the same as {@link TextPosition#getY()}
+     */
+    public float getY(int index)
+    {
+        int offset = checkIndex(index) * MATRIX_SIZE;
+        switch (pageRotation)
+        {
+        case 0:
+            return pageHeight - matrices[offset + 5];
+        case 90:
+            return pageWidth - (pageWidth - matrices[offset + 4]);
+        case 180:
+            return pageHeight - (pageHeight - matrices[offset + 5]);
+        case 270:
+            return pageWidth - matrices[offset + 4];
+        default:
+            return pageWidth;
+        }
+    }
+
+    /**
+     * @param index
+     * @return the page rotation adjusted width of the glyph, the same as {@link TextPosition#getWidth()}
+     */
+    public float getWidth(int index)
+    {
+        int offset = checkIndex(index) * MATRIX_SIZE;
+        if (pageRotation == 90 || pageRotation == 270)
+        {
+            return Math.abs(endYs[index] - matrices[offset + 5]);
+        }
+        return Math.abs(endXs[index] - matrices[offset + 4]);
+    }
+
+    /**
+     * @param index
+     * @return the advance width of the glyph in display units, the same as {@link TextPosition#getIndividualWidths()}
+     */
+    public float getIndividualWidth(int index)
+    {
+        return widths[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the maximum height of the glyph in display units, the same as {@link TextPosition#getHeight()}
+     */
+    public float getHeight(int index)
+    {
+        return heights[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the width of the space character in display units
+     */
+    public float getWidthOfSpace(int index)
+    {
+        return spaceWidths[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the font size of the glyph
+     */
+    public float getFontSize(int index)
+    {
+        return fontSizes[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the font size of the glyph in pt units
+     */
+    public int getFontSizeInPt(int index)
+    {
+        return fontSizesInPt[checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     * @return the x coordinate of the glyph in display units, not adjusted for the page rotation
+     */
+    public float getTranslateX(int index)
+    {
+        return matrices[checkIndex(index) * MATRIX_SIZE + 4];
+    }
+
+    /**
+     * @param index
+     * @return the y coordinate of the glyph in display units, not adjusted for the page rotation
+     */
+    public float getTranslateY(int index)
+    {
+        return matrices[checkIndex(index) * MATRIX_SIZE + 5];
+    }
+
+    /**
+     * @param index
+     * @return a new copy of the text rendering matrix of the glyph
+     */
+    public Matrix getTextMatrix(int index)
+    {
+        int offset = checkIndex(index) * MATRIX_SIZE;
+        return new Matrix(matrices[offset], matrices[offset + 1], matrices[offset + 2],
+                matrices[offset + 3], matrices[offset + 4], matrices[offset + 5]);
+    }
+
+    /**
+     * @param index
+     * @return a new {@link TextPosition} for the glyph at the given index
+     */
+    public TextPosition toTextPosition(int index)
+    {
+        return new TextPosition(pageRotation, pageWidth, pageHeight, getTextMatrix(index),
+                endXs[index], endYs[index], heights[index], widths[index], spaceWidths[index],
+                unicodes[index], new int[] { codes[index] }, fonts.get(fontIndexes[index]),
+                fontSizes[index], fontSizesInPt[index]);
+    }
+
+    private int checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.text;
+
+import java.io.IOException;
+
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * Receives the glyphs extracted by {@link PDFGlyphsExtractor} while the pages are processed, without the need to create
+ * a {@link TextPosition} for each glyph.
+ *
+ * @author Andrea Vacondio
+ */
+public interface PageGlyphsConsumer
+{
+    /**
+     * Called before the page is processed
+     *
+     * @param page
+     * @param pageNumber the 1-based number of the page
+     * @throws IOException
+     */
+    default void startPage(PDPage page, int pageNumber) throws IOException
+    {
+        // nothing
+    }
+
+    /**
+     * Called for every glyph as soon as it's added to the page buffer
+     *
+     * @param glyphs the buffer of the page being processed
+     * @param index index of the glyph in the buffer
+     * @throws IOException
+     */
+    default void glyph(PageGlyphs glyphs, int index) throws IOException
+    {
+        // nothing
+    }
+
+    /**
+     * Called after the page has been processed with all the glyphs of the page. The buffer is reused for the next
+     * page so it shouldn't be retained.
+     *
+     * @param page
+     * @param pageNumber the 1-based number of the page
+     * @param glyphs the buffer of the page
+     * @throws IOException
+     */
+    default void endPage(PDPage page, int pageNumber, PageGlyphs glyphs) throws IOException
+    {
+        // nothing
+    }
+}
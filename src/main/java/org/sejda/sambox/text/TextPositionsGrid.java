@@ -0,0 +1,221 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spatial index of the positions of the text shown in a page, used to find duplicate overlapping text. Positions are
+ * grouped by their unicode text, stored in primitive arrays and bucketed in a uniform grid so that queries don't need to
+ * box coordinates or scan all the positions of the same text.
+ * <p>
+ * Queries have the same semantic of a lookup in a sorted map of x coordinates to sorted sets of y coordinates, where a
+ * position matches if both its coordinates are in the half open range [value - tolerance, value + tolerance).
+ * Coordinates are compared using {@link Float#compare(float, float)}.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+final class TextPositionsGrid
+{
+    // size of the grid cells in text space units
+    private static final float CELL_SIZE = 8;
+    // maximum number of cells visited by a query, larger ranges scan all the positions
+    private static final int MAX_QUERY_CELLS = 16;
+    // maximum absolute value of the coordinates of a query using the grid, so that cells don't overflow
+    private static final float MAX_GRID_VALUE = 1e12f;
+
+    private final Map<String, Positions> positions = new HashMap<>();
+
+    /**
+     * @param text
+     * @param x
+     * @param y
+     * @param tolerance
+     * @return true if a position for the given text has already been added in the range defined by the given tolerance
+     * around the given coordinates
+     */
+    boolean containsNear(String text, float x, float y, float tolerance)
+    {
+        Positions textPositions = positions.get(text);
+        return textPositions != null
+                && textPositions.containsIn(x - tolerance, x + tolerance, y - tolerance,
+                        y + tolerance);
+    }
+
+    /**
+     * Adds a position for the given text
+     *
+     * @param text
+     * @param x
+     * @param y
+     */
+    void add(String text, float x, float y)
+    {
+        positions.computeIfAbsent(text, k -> new Positions()).add(x, y);
+    }
+
+    void clear()
+    {
+        positions.clear();
+    }
+
+    private static long cell(float value)
+    {
+        return (long) Math.floor(value / CELL_SIZE);
+    }
+
+    /**
+     * @return true if the value is finite and small enough for its cell to be safely iterated
+     */
+    private static boolean isGridValue(float value)
+    {
+        return Math.abs(value) <= MAX_GRID_VALUE;
+    }
+
+    private static boolean inRange(float value, float from, float to)
+    {
+        return Float.compare(value, from) >= 0 && Float.compare(value, to) < 0;
+    }
+
+    /**
+     * Positions of a single text. Each point is chained to the next point of the same grid cell using the next array,
+     * the grid cells are stored in an open addressing table mapping the cell coordinates to the first point of the
+     * chain.
+     */
+    private static final class Positions
+    {
+        private float[] xs = new float[8];
+        private float[] ys = new float[8];
+        private int[] next = new int[8];
+        private int size;
+
+        private long[] cellXs = new long[16];
+        private long[] cellYs = new long[16];
+        // index of the first point of the cell plus one, 0 for empty slots
+        private int[] heads = new int[16];
+        private int cells;
+
+        void add(float x, float y)
+        {
+            if (size == xs.length)
+            {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+                next = Arrays.copyOf(next, size * 2);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            int slot = slot(cell(x), cell(y));
+            if (heads[slot] == 0)
+            {
+                cellXs[slot] = cell(x);
+                cellYs[slot] = cell(y);
+                cells++;
+            }
+            next[size] = heads[slot] - 1;
+            heads[slot] = size + 1;
+            size++;
+            if (cells * 2 > heads.length)
+            {
+                rehash();
+            }
+        }
+
+        boolean containsIn(float fromX, float toX, float fromY, float toY)
+        {
+            // empty or invalid ranges
+            if (Float.compare(fromX, toX) >= 0 || Float.compare(fromY, toY) >= 0)
+            {
+                return false;
+            }
+            if (isGridValue(fromX) && isGridValue(toX) && isGridValue(fromY)
+                    && isGridValue(toY))
+            {
+                long firstCellX = cell(fromX);
+                long lastCellX = cell(toX);
+                long firstCellY = cell(fromY);
+                long lastCellY = cell(toY);
+                // a finite range can only contain finite values so the grid can be used
+                if (((double) lastCellX - firstCellX + 1) * ((double) lastCellY - firstCellY
+                        + 1) <= Math.min(size, MAX_QUERY_CELLS))
+                {
+                    for (long cellX = firstCellX; cellX <= lastCellX; cellX++)
+                    {
+                        for (long cellY = firstCellY; cellY <= lastCellY; cellY++)
+                        {
+                            int slot = slot(cellX, cellY);
+                            for (int i = heads[slot] - 1; i >= 0; i = next[i])
+                            {
+                                if (inRange(xs[i], fromX, toX) && inRange(ys[i], fromY, toY))
+                                {
+                                    return true;
+                                }
+                            }
+                        }
+                    }
+                    return false;
+                }
+            }
+            for (int i = 0; i < size; i++)
+            {
+                if (inRange(xs[i], fromX, toX) && inRange(ys[i], fromY, toY))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the slot of the given cell, either the one where the cell is or the empty one where it should be
+         */
+        private int slot(long cellX, long cellY)
+        {
+            int mask = heads.length - 1;
+            long hash = cellX * 0x9E3779B97F4A7C15L + cellY;
+            int slot = (int) (hash ^ (hash >>> 32)) & mask;
+            while (heads[slot] != 0 && (cellXs[slot] != cellX || cellYs[slot] != cellY))
+            {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash()
+        {
+            long[] oldCellXs = cellXs;
+            long[] oldCellYs = cellYs;
+            int[] oldHeads = heads;
+            cellXs = new long[oldHeads.length * 2];
+            cellYs = new long[oldHeads.length * 2];
+            heads = new int[oldHeads.length * 2];
+            for (int i = 0; i < oldHeads.length; i++)
+            {
+                if (oldHeads[i] != 0)
+                {
+                    int slot = slot(oldCellXs[i], oldCellYs[i]);
+                    cellXs[slot] = oldCellXs[i];
+                    cellYs[slot] = oldCellYs[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.util;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread safe cache bounded by the total weight of the values it strongly retains. When the bound is exceeded the
+ * least recently used values are demoted to a {@link SoftReference}, they can still be returned by the cache until
+ * memory pressure causes them to be garbage collected, at that point their entries are purged. The recency order of
+ * the strongly retained values is kept in an access ordered {@link LinkedHashMap} guarded by a lock. Lookups of
+ * strongly retained values don't lock, they are recorded in a bounded buffer that is replayed on the recency order
+ * when values are added or, if the lock is free, when the buffer fills up. Reads happening while the buffer is full
+ * are dropped so the recency order is best effort. Values are loaded outside of any lock so concurrent requests for a
+ * missing key might load the value more than once, with the last one winning.
+ * <p>
+ * The cache keeps hit, miss, load and eviction counters that can be retrieved using {@link #stats()}.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ */
+public class BoundedCache<K, V>
+{
+    private static final int READ_BUFFER_SIZE = 64;
+
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // strongly retained entries, least recently used first. Guarded by lock
+    private final LinkedHashMap<K, Entry<K, V>> retained = new LinkedHashMap<>(16, 0.75f, true);
+    // keys of the strongly retained values read and not yet replayed on the recency order
+    private final Queue<K> reads = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingReads = new AtomicInteger();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+    private final ToLongFunction<V> weigher;
+    private final long maxWeight;
+    private final AtomicLong weight = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadTime = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * A cache where every value weights 1, bound to the given number of strongly retained values
+     * 
+     * @param maxSize
+     */
+    public BoundedCache(long maxSize)
+    {
+        this(maxSize, v -> 1);
+    }
+
+    /**
+     * @param maxWeight the maximum total weight of the strongly retained values
+     * @param weigher function returning the weight of a value, it's called once when the value is added
+     */
+    public BoundedCache(long maxWeight, ToLongFunction<V> weigher)
+    {
+        requireArg(maxWeight >= 0, "Max weight cannot be negative");
+        requireNotNullArg(weigher, "Weigher cannot be null");
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @param key
+     * @return the value associated to the given key or null if there's no value or it has been garbage collected
+     */
+    public V get(K key)
+    {
+        purge();
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null)
+        {
+            V value = entry.get();
+            if (value != null)
+            {
+                hits.incrementAndGet();
+                if (entry.value == null)
+                {
+                    promote(key, entry, value);
+                }
+                else
+                {
+                    recordRead(key);
+                }
+                return value;
+            }
+            entries.remove(key, entry);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @param key
+     * @param loader used to load the value if it's not in the cache
+     * @return the value associated to the given key, loading it and adding it to the cache if necessary. Null values
+     * returned by the loader are not cached.
+     * @throws E if the loader fails
+     */
+    public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E
+    {
+        V value = get(key);
+        if (value == null)
+        {
+            long start = System.nanoTime();
+            try
+            {
+                value = loader.load(key);
+            }
+            finally
+            {
+                loads.incrementAndGet();
+                loadTime.addAndGet(System.nanoTime() - start);
+            }
+            if (value != null)
+            {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Associates the given value to the given key, replacing any existing value
+     * 
+     * @param key
+     * @param value
+     */
+    public void put(K key, V value)
+    {
+        requireNotNullArg(value, "Cannot cache a null value");
+        purge();
+        Entry<K, V> entry = new Entry<>(value, new KeyedReference<>(key, value, collected),
+                Math.max(0, weigher.applyAsLong(value)));
+        lock.lock();
+        try
+        {
+            drainReads();
+            entries.put(key, entry);
+            Entry<K, V> previous = retained.put(key, entry);
+            weight.addAndGet(entry.weight - (previous != null ? previous.weight : 0));
+            evictIfNeeded();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value associated to the given key
+     * 
+     * @param key
+     */
+    public void remove(K key)
+    {
+        lock.lock();
+        try
+        {
+            entries.remove(key);
+            Entry<K, V> previous = retained.remove(key);
+            if (previous != null)
+            {
+                weight.addAndGet(-previous.weight);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the values
+     */
+    public void clear()
+    {
+        lock.lock();
+        try
+        {
+            drainReads();
+            entries.clear();
+            retained.clear();
+            weight.set(0);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats stats()
+    {
+        return new CacheStats(hits.get(), misses.get(), loads.get(), loadTime.get(),
+                evictions.get(), weight.get());
+    }
+
+    /**
+     * A softly retained value has been used again, it goes back to the strongly retained values
+     */
+    private void promote(K key, Entry<K, V> entry, V value)
+    {
+        Entry<K, V> promoted = new Entry<>(value, entry.reference,
+                Math.max(0, weigher.applyAsLong(value)));
+        lock.lock();
+        try
+        {
+            if (entries.replace(key, entry, promoted))
+            {
+                drainReads();
+                retained.put(key, promoted);
+                weight.addAndGet(promoted.weight);
+                evictIfNeeded();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the read of a strongly retained value, replaying the buffered reads if the buffer is full and nobody else
+     * is holding the lock
+     */
+    private void recordRead(K key)
+    {
+        if (pendingReads.incrementAndGet() <= READ_BUFFER_SIZE)
+        {
+            reads.add(key);
+        }
+        else
+        {
+            pendingReads.decrementAndGet();
+            if (lock.tryLock())
+            {
+                try
+                {
+                    drainReads();
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the buffered reads to the most recently used end. Must be called holding the lock.
+     */
+    private void drainReads()
+    {
+        K key;
+        while ((key = reads.poll()) != null)
+        {
+            pendingReads.decrementAndGet();
+            retained.get(key);
+        }
+    }
+
+    /**
+     * Demotes the least recently used values to soft references until the weight is back within the bound. Must be
+     * called holding the lock.
+     */
+    private void evictIfNeeded()
+    {
+        Iterator<Map.Entry<K, Entry<K, V>>> eldest = retained.entrySet().iterator();
+        while (weight.get() > maxWeight && eldest.hasNext())
+        {
+            Map.Entry<K, Entry<K, V>> current = eldest.next();
+            eldest.remove();
+            Entry<K, V> entry = current.getValue();
+            weight.addAndGet(-entry.weight);
+            if (entries.replace(current.getKey(), entry, new Entry<>(entry.reference)))
+            {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes the entries whose softly referenced value has been garbage collected
+     */
+    private void purge()
+    {
+        Reference<? extends V> reference;
+        while ((reference = collected.poll()) != null)
+        {
+            KeyedReference<?, ? extends V> keyed = (KeyedReference<?, ? extends V>) reference;
+            Entry<K, V> entry = entries.get(keyed.key);
+            if (entry != null && entry.reference == keyed)
+            {
+                entries.remove(keyed.key, entry);
+            }
+        }
+    }
+
+    /**
+     * Loads values for a {@link BoundedCache}
+     * 
+     * @param <E> the type of exception thrown by the loader
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, E extends Exception>
+    {
+        /**
+         * @param key
+         * @return the value for the given key or null
+         * @throws E
+         */
+        V load(K key) throws E;
+    }
+
+    /**
+     * A soft reference to a cached value that knows its key, so that its entry can be purged once the value has been
+     * garbage collected
+     */
+    private static final class KeyedReference<K, V> extends SoftReference<V>
+    {
+        private final K key;
+
+        private KeyedReference(K key, V value, ReferenceQueue<V> queue)
+        {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * A cache entry, either strongly retaining its value and accounting for its weight or softly referencing it and
+     * weighting nothing.
+     */
+    private static final class Entry<K, V>
+    {
+        private final V value;
+        private final KeyedReference<K, V> reference;
+        private final long weight;
+
+        private Entry(V value, KeyedReference<K, V> reference, long weight)
+        {
+            this.value = value;
+            this.reference = reference;
+            this.weight = weight;
+        }
+
+        private Entry(KeyedReference<K, V> reference)
+        {
+            this(null, reference, 0);
+        }
+
+        V get()
+        {
+            if (value != null)
+            {
+                return value;
+            }
+            return reference.get();
+        }
+    }
+}
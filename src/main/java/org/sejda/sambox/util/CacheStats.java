@@ -0,0 +1,110 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the statistics of a {@link BoundedCache}.
+ * 
+ * @author Andrea Vacondio
+ */
+public final class CacheStats
+{
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+    private final long weight;
+
+    CacheStats(long hitCount, long missCount, long loadCount, long totalLoadTime,
+            long evictionCount, long weight)
+    {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.weight = weight;
+    }
+
+    /**
+     * @return number of lookups that found a value
+     */
+    public long hitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * @return number of lookups that didn't find a value
+     */
+    public long missCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * @return number of values loaded by the cache
+     */
+    public long loadCount()
+    {
+        return loadCount;
+    }
+
+    /**
+     * @return total time spent loading values, in nanoseconds
+     */
+    public long totalLoadTime()
+    {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return number of values demoted to soft references because the cache exceeded its bound
+     */
+    public long evictionCount()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * @return the current total weight of the strongly retained values
+     */
+    public long weight()
+    {
+        return weight;
+    }
+
+    /**
+     * @return the ratio of lookups that found a value, 1 if there were no lookups
+     */
+    public double hitRate()
+    {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("hits=%d, misses=%d, loads=%d, loadTime=%dms, evictions=%d, weight=%d",
+                hitCount, missCount, loadCount, TimeUnit.NANOSECONDS.toMillis(totalLoadTime),
+                evictionCount, weight);
+    }
+}
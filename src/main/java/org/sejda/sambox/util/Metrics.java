@@ -0,0 +1,179 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.util;
+
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Entry point for the SAMBox metrics. Metrics are sent to the registered {@link MetricsRecorder}, by default
+ * {@link MetricsRecorder#NOOP}, in which case recording costs a volatile read and no clock is read.
+ * 
+ * @author Andrea Vacondio
+ */
+public final class Metrics
+{
+    /**
+     * Timer, parsing of an indirect object from the source or from an object stream
+     */
+    public static final String OBJECTS_PARSE = "sambox.objects.parse";
+    /**
+     * Counter, indirect objects requests answered with an already parsed object
+     */
+    public static final String OBJECTS_HITS = "sambox.objects.hits";
+    /**
+     * Counter, objects looked up using the full scan of the document because their xref entry was missing or wrong
+     */
+    public static final String OBJECTS_FALLBACK = "sambox.objects.fallback";
+    /**
+     * Timer, full scan of the document to find the objects definitions
+     */
+    public static final String OBJECTS_FULL_SCAN = "sambox.objects.fullscan";
+    /**
+     * Timer prefix, decoding of a stream by a filter. The filter class simple name is appended (Ex.
+     * sambox.filter.decode.FlateFilter)
+     */
+    public static final String FILTER_DECODE = "sambox.filter.decode.";
+    /**
+     * Counter prefix, bytes produced by a filter decoding. The filter class simple name is appended (Ex.
+     * sambox.filter.decoded.bytes.FlateFilter)
+     */
+    public static final String FILTER_DECODED_BYTES = "sambox.filter.decoded.bytes.";
+    /**
+     * Timer, initialization of the file system font provider, loading the on-disk font cache or scanning the system
+     * fonts
+     */
+    public static final String FONTS_PROVIDER_INIT = "sambox.fonts.provider.init";
+    /**
+     * Timer, loading of a system font file
+     */
+    public static final String FONTS_LOAD = "sambox.fonts.load";
+    /**
+     * Timer, mapping of a non embedded font to a system font, including the loading of the font if needed
+     */
+    public static final String FONTS_MAPPING = "sambox.fonts.mapping";
+    /**
+     * Counter, non embedded fonts mapped to a fallback font
+     */
+    public static final String FONTS_FALLBACK = "sambox.fonts.fallback";
+    /**
+     * Timer, writing of the body of a document
+     */
+    public static final String WRITE_BODY = "sambox.write.body";
+    /**
+     * Counter, objects written by the body writers, objects written in object streams included
+     */
+    public static final String WRITE_OBJECTS = "sambox.write.objects";
+    /**
+     * Counter, bytes of the indirect objects written
+     */
+    public static final String WRITE_BYTES = "sambox.write.bytes";
+    /**
+     * Timer, rendering of a page, or of a tile when pages are rendered as tiles
+     */
+    public static final String RENDER_PAGE = "sambox.render.page";
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static volatile MetricsRecorder recorder = MetricsRecorder.NOOP;
+
+    private Metrics()
+    {
+        // hide
+    }
+
+    /**
+     * Sets the recorder metrics are sent to
+     * 
+     * @param recorder
+     */
+    public static void set(MetricsRecorder recorder)
+    {
+        requireNotNullArg(recorder, "Metrics recorder cannot be null");
+        Metrics.recorder = recorder;
+    }
+
+    /**
+     * @return the recorder metrics are sent to
+     */
+    public static MetricsRecorder recorder()
+    {
+        return recorder;
+    }
+
+    /**
+     * @return true if metrics are recorded
+     */
+    public static boolean isEnabled()
+    {
+        return recorder != MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Increments by one the counter with the given name
+     * 
+     * @param name
+     */
+    public static void increment(String name)
+    {
+        increment(name, 1);
+    }
+
+    /**
+     * Increments the counter with the given name
+     * 
+     * @param name
+     * @param delta
+     */
+    public static void increment(String name, long delta)
+    {
+        MetricsRecorder current = recorder;
+        if (current != MetricsRecorder.NOOP)
+        {
+            current.increment(name, delta);
+        }
+    }
+
+    /**
+     * Starts timing an operation, the returned value has to be given to {@link #stop(String, long)} once the operation
+     * is done.
+     * 
+     * @return the start of the operation
+     */
+    public static long start()
+    {
+        if (recorder != MetricsRecorder.NOOP)
+        {
+            return System.nanoTime();
+        }
+        return NOT_STARTED;
+    }
+
+    /**
+     * Records the timed operation with the given name
+     * 
+     * @param name
+     * @param start the value returned by {@link #start()} when the operation started
+     */
+    public static void stop(String name, long start)
+    {
+        MetricsRecorder current = recorder;
+        if (start != NOT_STARTED && current != MetricsRecorder.NOOP)
+        {
+            current.record(name, System.nanoTime() - start);
+        }
+    }
+}
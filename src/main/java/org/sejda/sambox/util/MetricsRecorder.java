@@ -0,0 +1,58 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.util;
+
+/**
+ * Receives the counters and timers collected by SAMBox at key points of parsing, decoding, font loading, writing and
+ * rendering. Implement it to bridge SAMBox metrics to a metrics system and register it with
+ * {@link Metrics#set(MetricsRecorder)}. Metrics names are the constants defined in {@link Metrics}. Methods can be
+ * called concurrently by different threads and should return quickly.
+ * 
+ * @author Andrea Vacondio
+ */
+public interface MetricsRecorder
+{
+    /**
+     * Recorder that discards everything, used by default
+     */
+    MetricsRecorder NOOP = new MetricsRecorder()
+    {
+        // discards everything
+    };
+
+    /**
+     * Increments the counter with the given name
+     * 
+     * @param name
+     * @param delta
+     */
+    default void increment(String name, long delta)
+    {
+        // nothing
+    }
+
+    /**
+     * Records an occurrence of the timed operation with the given name
+     * 
+     * @param name
+     * @param nanos duration of the operation in nanoseconds
+     */
+    default void record(String name, long nanos)
+    {
+        // nothing
+    }
+}
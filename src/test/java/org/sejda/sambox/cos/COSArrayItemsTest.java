@@ -0,0 +1,147 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.cos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class COSArrayItemsTest
+{
+    private COSArrayItems victim = new COSArrayItems();
+
+    @Test
+    public void packedNumbers() throws IOException
+    {
+        List<COSBase> expected = Arrays.asList(COSInteger.get(10), COSInteger.get(100000),
+                COSNumber.get("-0.25"), COSNumber.get("1.500"), COSNumber.get("123456789.123"),
+                COSNumber.get("12."), new COSFloat(0.1f), COSInteger.get(Long.MAX_VALUE));
+        victim.addAll(expected);
+        assertTrue(victim.isPacked());
+        assertEquals(expected, victim);
+        assertEquals(expected.toString(), victim.toString());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            COSNumber number = (COSNumber) expected.get(i);
+            assertEquals(number.getClass(), victim.get(i).getClass());
+            assertEquals(number.toString(), victim.get(i).toString());
+            assertEquals(number.hashCode(), victim.get(i).hashCode());
+            assertEquals(number.floatValue(), victim.floatValue(i), 0);
+            assertEquals(number.intValue(), victim.intValue(i));
+        }
+    }
+
+    @Test
+    public void floatValues()
+    {
+        for (int i = -5000; i < 5000; i += 7)
+        {
+            for (int scale = 0; scale < 12; scale++)
+            {
+                victim.add(new COSFloat(BigDecimal.valueOf(i * 1234567L, scale)));
+            }
+        }
+        assertTrue(victim.isPacked());
+        for (int i = 0; i < victim.size(); i++)
+        {
+            assertEquals(((COSNumber) victim.get(i)).floatValue(), victim.floatValue(i), 0);
+            assertEquals(((COSNumber) victim.get(i)).intValue(), victim.intValue(i));
+        }
+    }
+
+    @Test
+    public void notPackable()
+    {
+        victim.add(new COSFloat(new BigDecimal("1E+10")));
+        assertFalse(victim.isPacked());
+    }
+
+    @Test
+    public void inflate()
+    {
+        victim.add(COSInteger.ONE);
+        victim.add(COSInteger.TWO);
+        victim.add(1, COSName.A);
+        assertFalse(victim.isPacked());
+        assertEquals(Arrays.asList(COSInteger.ONE, COSName.A, COSInteger.TWO), victim);
+        victim.add(null);
+        assertEquals(4, victim.size());
+        victim.clear();
+        victim.add(COSInteger.THREE);
+        assertTrue(victim.isPacked());
+    }
+
+    @Test
+    public void indirectNotPacked()
+    {
+        COSFloat value = new COSFloat(2.5f);
+        value.idIfAbsent(new IndirectCOSObjectIdentifier(new COSObjectKey(10, 0), "source"));
+        victim.add(value);
+        assertFalse(victim.isPacked());
+    }
+
+    @Test
+    public void setAndRemove()
+    {
+        List<COSBase> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            expected.add(COSInteger.get(i));
+            victim.add(COSInteger.get(i));
+        }
+        assertEquals(COSInteger.get(3), victim.set(3, new COSFloat(3.5f)));
+        expected.set(3, new COSFloat(3.5f));
+        assertEquals(expected.remove(0), victim.remove(0));
+        assertEquals(expected.remove(18), victim.remove(18));
+        Iterator<COSBase> iterator = victim.iterator();
+        iterator.next();
+        iterator.remove();
+        expected.remove(0);
+        assertTrue(victim.isPacked());
+        assertEquals(expected, victim);
+        victim.set(2, COSName.A);
+        expected.set(2, COSName.A);
+        assertEquals(expected, victim);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void floatValueNotPacked()
+    {
+        victim.add(COSName.A);
+        victim.floatValue(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBounds()
+    {
+        victim.add(COSInteger.ONE);
+        victim.get(1);
+    }
+}
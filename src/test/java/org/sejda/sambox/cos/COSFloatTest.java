@@ -17,6 +17,8 @@
 package org.sejda.sambox.cos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 
@@ -72,4 +74,21 @@ public class COSFloatTest
     {
         new COSFloat("Chuck");
     }
+
+    @Test
+    public void cached()
+    {
+        assertSame(COSFloat.get(15, 1), COSFloat.get(15, 1));
+        assertEquals("1.5", COSFloat.get(15, 1).toString());
+        assertEquals("-0.005", COSFloat.get(-5, 3).toString());
+    }
+
+    @Test
+    public void notCached()
+    {
+        assertNotSame(COSFloat.get(150000, 1), COSFloat.get(150000, 1));
+        assertEquals(COSFloat.get(150000, 1), COSFloat.get(150000, 1));
+        assertEquals("15000", COSFloat.get(150000, 1).toString());
+        assertEquals("15", COSFloat.get(15, 0).toString());
+    }
 }
@@ -17,6 +17,8 @@
 package org.sejda.sambox.cos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -60,4 +62,19 @@ public class COSIntegerTest
         assertEquals(2, COSInteger.get(2).floatValue(), 0);
     }
 
+    @Test
+    public void cached()
+    {
+        assertSame(COSInteger.get(-256), COSInteger.get(-256));
+        assertSame(COSInteger.get(8191), COSInteger.get(8191));
+        assertSame(COSInteger.ZERO, COSInteger.get(0));
+    }
+
+    @Test
+    public void notCached()
+    {
+        assertNotSame(COSInteger.get(8192), COSInteger.get(8192));
+        assertEquals(COSInteger.get(8192), COSInteger.get(8192));
+        assertEquals(-257, COSInteger.get(-257).longValue());
+    }
 }
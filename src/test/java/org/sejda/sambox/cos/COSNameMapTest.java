@@ -0,0 +1,190 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.cos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class COSNameMapTest
+{
+    private COSNameMap victim = new COSNameMap();
+
+    @Test
+    public void putGet()
+    {
+        assertNull(victim.put(COSName.A, COSInteger.ONE));
+        assertEquals(COSInteger.ONE, victim.put(COSName.A, COSInteger.TWO));
+        assertEquals(COSInteger.TWO, victim.get(COSName.A));
+        assertEquals(1, victim.size());
+        assertNull(victim.get(COSName.B));
+    }
+
+    @Test
+    public void sameAsLinkedHashMap()
+    {
+        // crosses the linear threshold both ways
+        Map<COSName, COSBase> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++)
+        {
+            COSName key = COSName.getPDFName("Key" + (i % 40));
+            if (i % 3 == 0)
+            {
+                assertEquals(expected.remove(key), victim.remove(key));
+            }
+            else
+            {
+                assertEquals(expected.put(key, COSInteger.get(i)),
+                        victim.put(key, COSInteger.get(i)));
+            }
+            assertEquals(expected, victim);
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(victim.keySet()));
+        }
+        for (int i = 0; i < 40; i++)
+        {
+            COSName key = COSName.getPDFName("Key" + i);
+            assertEquals(expected.get(key), victim.get(key));
+            assertEquals(expected.remove(key), victim.remove(key));
+            assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(victim.values()));
+        }
+        assertTrue(victim.isEmpty());
+    }
+
+    @Test
+    public void insertionOrder()
+    {
+        List<COSName> keys = new ArrayList<>();
+        for (int i = 0; i < COSNameMap.LINEAR_THRESHOLD * 3; i++)
+        {
+            COSName key = COSName.getPDFName("Key" + (100 - i));
+            keys.add(key);
+            victim.put(key, COSInteger.get(i));
+        }
+        assertEquals(keys, new ArrayList<>(victim.keySet()));
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        for (int i = 0; i < 20; i++)
+        {
+            victim.put(COSName.getPDFName("Key" + i), COSInteger.get(i));
+        }
+        Iterator<Map.Entry<COSName, COSBase>> iterator = victim.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            if (((COSInteger) iterator.next().getValue()).intValue() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        assertEquals(10, victim.size());
+        for (int i = 0; i < 20; i++)
+        {
+            assertEquals(i % 2 != 0, victim.containsKey(COSName.getPDFName("Key" + i)));
+        }
+    }
+
+    @Test
+    public void entrySetValue()
+    {
+        victim.put(COSName.A, COSInteger.ONE);
+        victim.entrySet().iterator().next().setValue(COSInteger.TWO);
+        assertEquals(COSInteger.TWO, victim.get(COSName.A));
+    }
+
+    @Test
+    public void entryAfterModification()
+    {
+        for (int i = 0; i < 20; i++)
+        {
+            victim.put(COSName.getPDFName("Key" + i), COSInteger.get(i));
+        }
+        List<Map.Entry<COSName, COSBase>> entries = new ArrayList<>(victim.entrySet());
+        victim.remove(COSName.getPDFName("Key0"));
+        assertEquals(COSName.getPDFName("Key5"), entries.get(5).getKey());
+        assertEquals(COSInteger.get(5), entries.get(5).getValue());
+        assertEquals(COSInteger.get(5), entries.get(5).setValue(COSInteger.ONE));
+        assertEquals(COSInteger.ONE, victim.get(COSName.getPDFName("Key5")));
+        victim.clear();
+        assertEquals(COSName.getPDFName("Key19"), entries.get(19).getKey());
+        assertEquals(COSInteger.get(19), entries.get(19).getValue());
+    }
+
+    @Test
+    public void randomRemovals()
+    {
+        Random random = new Random(42);
+        Map<COSName, COSBase> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 5000; i++)
+        {
+            COSName key = COSName.getPDFName("Key" + random.nextInt(200));
+            if (random.nextInt(3) == 0)
+            {
+                assertEquals(expected.remove(key), victim.remove(key));
+            }
+            else
+            {
+                assertEquals(expected.put(key, COSInteger.get(i)),
+                        victim.put(key, COSInteger.get(i)));
+            }
+        }
+        assertEquals(expected, victim);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(victim.keySet()));
+    }
+
+    @Test
+    public void copy()
+    {
+        for (int i = 0; i < 20; i++)
+        {
+            victim.put(COSName.getPDFName("Key" + i), COSInteger.get(i));
+        }
+        COSNameMap copy = new COSNameMap(victim);
+        assertEquals(victim, copy);
+        copy.remove(COSName.getPDFName("Key3"));
+        copy.put(COSName.A, COSInteger.ONE);
+        assertTrue(victim.containsKey(COSName.getPDFName("Key3")));
+        assertFalse(victim.containsKey(COSName.A));
+        assertEquals(20, copy.size());
+    }
+
+    @Test
+    public void clear()
+    {
+        victim.put(COSName.A, COSInteger.ONE);
+        victim.clear();
+        assertTrue(victim.isEmpty());
+        assertNull(victim.get(COSName.A));
+        victim.put(COSName.B, COSInteger.ONE);
+        assertEquals(1, victim.size());
+    }
+}
@@ -17,16 +17,21 @@
 package org.sejda.sambox.cos;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSources;
 import org.sejda.sambox.filter.Filter;
 import org.sejda.sambox.filter.FilterFactory;
 
@@ -196,6 +201,36 @@ public class COSStreamTest
         }
     }
 
+    @Test
+    public void viewsOfOtherThreadsAreClosed() throws Exception
+    {
+        SeekableSource source = SeekableSources.inMemorySeekableSourceFrom(
+                "0123456789".getBytes(StandardCharsets.US_ASCII));
+        SeekableSource mine;
+        SeekableSource[] others = new SeekableSource[1];
+        try (COSStream stream = new COSStream(new COSDictionary(), source, 2, 4))
+        {
+            mine = stream.getFilteredSource();
+            assertSame(mine, stream.getFilteredSource());
+            Thread reader = new Thread(() -> {
+                try
+                {
+                    others[0] = stream.getFilteredSource();
+                }
+                catch (IOException e)
+                {
+                    throw new RuntimeException(e);
+                }
+            });
+            reader.start();
+            reader.join();
+            assertNotSame(mine, others[0]);
+            assertTrue(others[0].isOpen());
+        }
+        assertFalse(mine.isOpen());
+        assertFalse(others[0].isOpen());
+    }
+
     private static byte[] encodeData(byte[] original, COSName filter) throws IOException
     {
         Filter encodingFilter = FilterFactory.INSTANCE.getFilter(filter);
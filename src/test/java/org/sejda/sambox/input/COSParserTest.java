@@ -161,6 +161,41 @@ public class COSParserTest
         assertEquals(COSInteger.ONE, victim.nextNumber());
     }
 
+    @Test
+    public void nextNumbers() throws IOException
+    {
+        victim = new COSParser(inMemorySeekableSourceFrom(
+                "-53 +12 1.50 -.002 5. 6.02E23 0.00-5 1234567890123456789012 - ]".getBytes()));
+        assertEquals(COSInteger.get(-53), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(COSInteger.get(12), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(new COSFloat("1.50"), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(new COSFloat("-.002"), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(new COSFloat("5."), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(new COSFloat("6.02E23"), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(new COSFloat("-0.005"), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(new COSFloat("1234567890123456789012"), victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(COSInteger.ZERO, victim.nextNumber());
+        victim.skipSpaces();
+        assertEquals(']', victim.source().peek());
+    }
+
+    @Test
+    public void nextNameEscaped() throws IOException
+    {
+        victim = new COSParser(inMemorySeekableSourceFrom("/Cre#61tor /Lime#20Green".getBytes()));
+        assertEquals(COSName.CREATOR, victim.nextName());
+        victim.skipSpaces();
+        assertEquals(COSName.getPDFName("Lime Green"), victim.nextName());
+    }
+
     @Test
     public void nextArray() throws IOException
     {
@@ -335,6 +370,14 @@ public class COSParserTest
         victim.nextNumberOrIndirectReference();
     }
 
+    @Test
+    public void nextNumberOrIndirectReferenceHugeSecond() throws IOException
+    {
+        victim = new COSParser(
+                inMemorySeekableSourceFrom("10 123456789012345678901234 3".getBytes()));
+        assertEquals(COSInteger.get(10), victim.nextNumberOrIndirectReference());
+    }
+
     @Test
     public void nextStream() throws IOException
     {
@@ -30,7 +30,6 @@ import org.junit.Before;
 import org.junit.Test;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
-import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSNull;
 import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.sambox.cos.COSVisitor;
@@ -58,12 +57,13 @@ public class ExistingIndirectCOSObjectTest
     {
         assertEquals(COSNull.NULL, victim.getCOSObject());
         verify(provider).get(key);
+        assertFalse(COSNull.NULL.hasId());
     }
 
     @Test
     public void existingGetCOSObject()
     {
-        COSBase value = COSInteger.ONE;
+        COSBase value = new COSDictionary();
         when(provider.get(key)).thenReturn(value);
         assertEquals(value, victim.getCOSObject());
         assertEquals(value, victim.getCOSObject());
@@ -101,7 +101,7 @@ public class ExistingIndirectCOSObjectTest
     @Test
     public void release()
     {
-        COSBase value = COSInteger.ONE;
+        COSBase value = new COSDictionary();
         when(provider.get(key)).thenReturn(value);
         assertEquals(value, victim.getCOSObject());
         victim.releaseCOSObject();
@@ -21,7 +21,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -98,6 +100,42 @@ public class LazyIndirectObjectsProviderTest
         assertNotNull(victim.get(new COSObjectKey(6, 0)));
     }
 
+    @Test
+    public void getCompressedAfterRelease() throws IOException
+    {
+        victim = new LazyIndirectObjectsProvider();
+        parser = new COSParser(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getResourceAsStream("/sambox/simple_test_objstm.pdf")), victim);
+        victim.initializeWith(parser);
+        XrefParser xrefParser = new XrefParser(parser);
+        xrefParser.parse();
+        COSObjectKey key = new COSObjectKey(6, 0);
+        COSBase object = victim.get(key);
+        assertNotNull(object);
+        victim.release(key);
+        COSBase reparsed = victim.get(key);
+        assertNotNull(reparsed);
+        assertNotSame(object, reparsed);
+    }
+
+    @Test
+    public void loadAll() throws IOException
+    {
+        victim = new LazyIndirectObjectsProvider();
+        parser = new COSParser(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getResourceAsStream("/sambox/simple_test_objstm.pdf")), victim);
+        victim.initializeWith(parser);
+        XrefParser xrefParser = new XrefParser(parser);
+        xrefParser.parse();
+        COSBase alreadyLoaded = victim.get(new COSObjectKey(1, 0));
+        victim.loadAll();
+        assertSame(alreadyLoaded, victim.get(new COSObjectKey(1, 0)));
+        // everything is in the store, the source is no longer needed
+        parser.close();
+        assertNotNull(victim.get(new COSObjectKey(6, 0)));
+        assertNotNull(victim.get(new COSObjectKey(3, 0)));
+    }
+
     @Test
     public void getCompressedWrongOwningStream() throws IOException
     {
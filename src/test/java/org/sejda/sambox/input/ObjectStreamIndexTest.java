@@ -0,0 +1,92 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.input;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.util.Charsets;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ObjectStreamIndexTest
+{
+    private static COSStream stream(String header, String objects, int count) throws IOException
+    {
+        COSStream stream = new COSStream();
+        stream.setInt(COSName.N, count);
+        stream.setInt(COSName.FIRST, header.length());
+        try (OutputStream out = stream.createUnfilteredStream())
+        {
+            out.write((header + objects).getBytes(Charsets.ISO_8859_1));
+        }
+        return stream;
+    }
+
+    @Test
+    public void parse() throws IOException
+    {
+        ObjectStreamIndex victim = ObjectStreamIndex
+                .index(stream("11 9 10 0 ", "<</A 1>> [1 2]", 2));
+        assertArrayEquals(new long[] { 10, 11 }, victim.objectNumbers());
+        assertTrue(victim.contains(10));
+        assertFalse(victim.contains(12));
+        IndirectObjectsProvider provider = mock(IndirectObjectsProvider.class);
+        COSDictionary dictionary = (COSDictionary) victim.parse(10, provider);
+        assertEquals(COSInteger.ONE, dictionary.getItem(COSName.A));
+        assertEquals(2, ((COSArray) victim.parse(11, provider)).size());
+        assertNull(victim.parse(12, provider));
+        assertEquals(24, victim.size());
+    }
+
+    @Test
+    public void lastDuplicateWins() throws IOException
+    {
+        ObjectStreamIndex victim = ObjectStreamIndex.index(stream("10 0 10 2 ", "1 2", 2));
+        assertArrayEquals(new long[] { 10 }, victim.objectNumbers());
+        assertEquals(COSInteger.get(2), victim.parse(10, mock(IndirectObjectsProvider.class)));
+    }
+
+    @Test(expected = IOException.class)
+    public void missingSize() throws IOException
+    {
+        COSStream stream = stream("10 0 ", "1", 1);
+        stream.removeItem(COSName.N);
+        ObjectStreamIndex.index(stream);
+    }
+
+    @Test(expected = IOException.class)
+    public void sizeExceedingTheStream() throws IOException
+    {
+        ObjectStreamIndex.index(stream("10 0 ", "1", Integer.MAX_VALUE));
+    }
+}
@@ -71,6 +71,20 @@ public class PDFParserTest
         }
     }
 
+    @Test
+    public void eagerLoad() throws IOException
+    {
+        try (PDDocument doc = PDFParser.parse(
+                SeekableSources.inMemorySeekableSourceFrom(
+                        getClass().getResourceAsStream("/sambox/encrypted_simple_test.pdf")),
+                "test", ParseOption.EAGER_LOAD))
+        {
+            assertTrue(doc.isEncrypted());
+            assertEquals(1, doc.getNumberOfPages());
+            assertNotNull(doc.getPage(0).getContents());
+        }
+    }
+
     @Test
     public void notEncrytedWithPwd() throws IOException
     {
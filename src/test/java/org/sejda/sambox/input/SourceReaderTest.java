@@ -19,14 +19,17 @@ package org.sejda.sambox.input;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import org.junit.After;
 import org.junit.Test;
 import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.util.IOUtils;
 
@@ -258,6 +261,45 @@ public class SourceReaderTest
         victim.readLong();
     }
 
+    @Test
+    public void readLongMinValue() throws IOException
+    {
+        victim = new SourceReader(inMemorySeekableSourceFrom(
+                (" " + Long.MIN_VALUE + " +12").getBytes()));
+        assertEquals(Long.MIN_VALUE, victim.readLong());
+        assertEquals(12, victim.readLong());
+    }
+
+    @Test
+    public void readLongOverflowing() throws IOException
+    {
+        victim = new SourceReader(inMemorySeekableSourceFrom("9223372036854775808".getBytes()));
+        try
+        {
+            victim.readLong();
+            fail("Expected exception");
+        }
+        catch (IOException e)
+        {
+            assertEquals(0, victim.position());
+        }
+    }
+
+    @Test
+    public void readIntOverflowing() throws IOException
+    {
+        victim = new SourceReader(inMemorySeekableSourceFrom(" 2147483648".getBytes()));
+        try
+        {
+            victim.readInt();
+            fail("Expected exception");
+        }
+        catch (IOException e)
+        {
+            assertEquals(1, victim.position());
+        }
+    }
+
     @Test
     public void readInt() throws IOException
     {
@@ -405,6 +447,25 @@ public class SourceReaderTest
         assertEquals("Lime Green", victim.readName());
     }
 
+    @Test
+    public void readCOSName() throws IOException
+    {
+        victim = new SourceReader(
+                inMemorySeekableSourceFrom("/Type/Chuck#20Norris /Le#e0".getBytes()));
+        assertEquals(COSName.TYPE, victim.readCOSName());
+        assertEquals(COSName.getPDFName("Chuck Norris"), victim.readCOSName());
+        victim.skipSpaces();
+        assertEquals(COSName.getPDFName("Le\u00e0"), victim.readCOSName());
+    }
+
+    @Test
+    public void readNameLongerThanBuffer() throws IOException
+    {
+        String name = String.join("", Collections.nCopies(50, "Name"));
+        victim = new SourceReader(inMemorySeekableSourceFrom(("/" + name).getBytes()));
+        assertEquals(name, victim.readName());
+    }
+
     @Test
     public void readNameNumberSignNumberSign() throws IOException
     {
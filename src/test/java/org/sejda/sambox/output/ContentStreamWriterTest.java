@@ -16,15 +16,18 @@
  */
 package org.sejda.sambox.output;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyByte;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -155,4 +158,89 @@ public class ContentStreamWriterTest
         victim.writeTokens(tokens);
     }
 
+    @Test
+    public void writeOperatorName() throws Exception
+    {
+        assertEquals("re\n", written(w -> w.writeOperator("re")));
+    }
+
+    @Test
+    public void writeLong() throws Exception
+    {
+        assertEquals("0", written(w -> w.writeNumber(0)));
+        assertEquals("-120", written(w -> w.writeNumber(-120)));
+        assertEquals(Long.toString(Long.MAX_VALUE), written(w -> w.writeNumber(Long.MAX_VALUE)));
+        assertEquals(Long.toString(Long.MIN_VALUE), written(w -> w.writeNumber(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void writeFloat() throws Exception
+    {
+        assertEquals("0", written(w -> w.writeNumber(0f, 10)));
+        assertEquals("0", written(w -> w.writeNumber(-0f, 10)));
+        assertEquals("12", written(w -> w.writeNumber(12f, 10)));
+        assertEquals("0.1", written(w -> w.writeNumber(0.1f, 10)));
+        assertEquals("-0.05", written(w -> w.writeNumber(-0.05f, 10)));
+        assertEquals("595.2756", written(w -> w.writeNumber(595.2756f, 10)));
+        assertEquals("0.0000123", written(w -> w.writeNumber(0.0000123f, 10)));
+        assertEquals("16777216", written(w -> w.writeNumber(16777216f, 10)));
+        assertEquals("340282346638528859811704183484516925440",
+                written(w -> w.writeNumber(Float.MAX_VALUE, 10)));
+    }
+
+    @Test
+    public void writeFloatRounded() throws Exception
+    {
+        assertEquals("0.3333", written(w -> w.writeNumber(1f / 3, 4)));
+        assertEquals("-0.6667", written(w -> w.writeNumber(-2f / 3, 4)));
+        assertEquals("1.1", written(w -> w.writeNumber(1.0999999f, 4)));
+        assertEquals("0", written(w -> w.writeNumber(0.00001f, 4)));
+        assertEquals("0", written(w -> w.writeNumber(-0.00001f, 4)));
+        assertEquals("3", written(w -> w.writeNumber(2.7f, 0)));
+    }
+
+    @Test
+    public void writeFloatRoundTrip() throws Exception
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++)
+        {
+            float value = (random.nextFloat() - 0.5f) * (float) Math.pow(10, random.nextInt(8));
+            String written = written(w -> w.writeNumber(value, 10));
+            if (Math.abs(value) >= 0.0001f)
+            {
+                assertEquals(written, value, Float.parseFloat(written), 0);
+            }
+            assertEquals(written, value, Float.parseFloat(written), 0.00000000006);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeNaN() throws Exception
+    {
+        victim.writeNumber(Float.NaN, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeInvalidFractionDigits() throws Exception
+    {
+        victim.writeNumber(1f, ContentStreamWriter.MAX_FRACTION_DIGITS + 1);
+    }
+
+    private static String written(WriterConsumer consumer) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ContentStreamWriter writer = new ContentStreamWriter(
+                CountingWritableByteChannel.from(out)))
+        {
+            consumer.accept(writer);
+        }
+        return new String(out.toByteArray(), Charsets.US_ASCII);
+    }
+
+    @FunctionalInterface
+    private interface WriterConsumer
+    {
+        void accept(ContentStreamWriter writer) throws IOException;
+    }
 }
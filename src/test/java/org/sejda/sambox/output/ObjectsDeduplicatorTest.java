@@ -0,0 +1,182 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.cos.IndirectCOSObjectReference;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ObjectsDeduplicatorTest
+{
+    private PDFWriteContext context;
+    private ObjectsDeduplicator victim;
+
+    @Before
+    public void setUp()
+    {
+        context = new PDFWriteContext(null, WriteOption.DEDUPLICATE_OBJECTS);
+        victim = new ObjectsDeduplicator(context);
+    }
+
+    @Test
+    public void identicalStreams() throws IOException
+    {
+        COSStream first = stream("Chuck Norris");
+        first.setInt(COSName.LENGTH, 12);
+        first.setName(COSName.SUBTYPE, "Image");
+        first.setInt(COSName.WIDTH, 10);
+        COSStream second = stream("Chuck Norris");
+        second.setInt(COSName.WIDTH, 10);
+        second.setName(COSName.SUBTYPE, "Image");
+        assertNotNull(victim.digest(first));
+        assertEquals(victim.digest(first), victim.digest(second));
+    }
+
+    @Test
+    public void differentStreams() throws IOException
+    {
+        assertNotEquals(victim.digest(stream("Chuck")), victim.digest(stream("Norris")));
+        COSStream other = stream("Chuck");
+        other.setInt(COSName.WIDTH, 10);
+        assertNotEquals(victim.digest(stream("Chuck")), victim.digest(other));
+    }
+
+    @Test
+    public void identicalNestedObjects() throws IOException
+    {
+        COSDictionary first = new COSDictionary();
+        first.setItem(COSName.FONT_FILE, stream("Chuck"));
+        first.setItem(COSName.W, new COSArray(COSInteger.get(1), new COSString(new byte[] { 2 })));
+        COSDictionary second = new COSDictionary();
+        second.setItem(COSName.W, new COSArray(COSInteger.get(1), new COSString(new byte[] { 2 })));
+        second.setItem(COSName.FONT_FILE, stream("Chuck"));
+        assertEquals(victim.digest(first), victim.digest(second));
+        COSDictionary third = new COSDictionary();
+        third.setItem(COSName.W, new COSArray(COSInteger.get(1), new COSString(new byte[] { 2 })));
+        third.setItem(COSName.FONT_FILE, stream("Norris"));
+        assertNotEquals(victim.digest(first), victim.digest(third));
+    }
+
+    @Test
+    public void objectsWithoutIdAreMemoized() throws IOException
+    {
+        COSStream font = stream("Chuck");
+        COSDictionary descriptor = new COSDictionary();
+        descriptor.setItem(COSName.FONT_FILE, font);
+        assertNotNull(victim.digest(descriptor));
+        assertFalse(font.hasId());
+        // computed while digesting the descriptor
+        assertSame(victim.digest(font), victim.digest(font));
+        assertSame(victim.digest(descriptor), victim.digest(descriptor));
+    }
+
+    @Test
+    public void referencedObjects()
+    {
+        COSDictionary font = new COSDictionary();
+        IndirectCOSObjectReference ref = context.createIndirectReferenceFor(font);
+        COSDictionary first = new COSDictionary();
+        first.setItem(COSName.FONT, font);
+        COSDictionary second = new COSDictionary();
+        second.setItem(COSName.FONT, font);
+        assertEquals(victim.digest(first), victim.digest(second));
+        COSDictionary third = new COSDictionary();
+        third.setItem(COSName.FONT, new COSDictionary());
+        assertNotEquals(victim.digest(first), victim.digest(third));
+        assertNotNull(ref);
+    }
+
+    @Test
+    public void pagesAreNotDeduplicated()
+    {
+        COSDictionary page = new COSDictionary();
+        page.setItem(COSName.TYPE, COSName.PAGE);
+        assertNull(victim.digest(page));
+        COSDictionary resources = new COSDictionary();
+        resources.setItem(COSName.A, page);
+        assertNull(victim.digest(resources));
+    }
+
+    @Test
+    public void backReferencesAreNotDeduplicated()
+    {
+        COSDictionary annotation = new COSDictionary();
+        annotation.setItem(COSName.P, new COSDictionary());
+        assertNull(victim.digest(annotation));
+    }
+
+    @Test
+    public void cyclesAreNotDeduplicated()
+    {
+        COSDictionary first = new COSDictionary();
+        COSDictionary second = new COSDictionary();
+        first.setItem(COSName.A, second);
+        second.setItem(COSName.A, first);
+        assertNull(victim.digest(first));
+    }
+
+    @Test
+    public void notDictionaries()
+    {
+        assertNull(victim.digest(new COSArray()));
+        assertNull(victim.digest(COSInteger.ONE));
+    }
+
+    @Test
+    public void referenceFor()
+    {
+        COSDictionary first = new COSDictionary();
+        first.setInt(COSName.A, 1);
+        ObjectsDeduplicator.Digest digest = victim.digest(first);
+        assertNull(victim.referenceFor(digest));
+        IndirectCOSObjectReference ref = context.createIndirectReferenceFor(first);
+        victim.add(first, digest, ref);
+        COSDictionary second = new COSDictionary();
+        second.setInt(COSName.A, 1);
+        assertEquals(ref, victim.referenceFor(victim.digest(second)));
+    }
+
+    private static COSStream stream(String content) throws IOException
+    {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createUnfilteredStream())
+        {
+            out.write(content.getBytes());
+        }
+        return stream;
+    }
+}
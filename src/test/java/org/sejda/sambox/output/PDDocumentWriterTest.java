@@ -16,22 +16,38 @@
  */
 package org.sejda.sambox.output;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.util.Optional;
+import java.util.stream.StreamSupport;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.sejda.io.CountingWritableByteChannel;
+import org.sejda.io.SeekableSources;
 import org.sejda.sambox.TestUtils;
+import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSDocument;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSFloat;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNull;
+import org.sejda.sambox.cos.COSObjectKey;
+import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.util.Charsets;
 
 /**
  * @author Andrea Vacondio
@@ -140,4 +156,166 @@ public class PDDocumentWriterTest
         victim.close();
         verify(writer).close();
     }
+
+    @Test
+    public void writePagesWritesHeaderOnce() throws Exception
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            document.addPage(new PDPage());
+            victim.writePages(document);
+            document.addPage(new PDPage());
+            victim.writePages(document);
+            victim.write(document);
+            verify(writer, times(1)).writeHeader(document.getDocument().getHeaderVersion());
+        }
+    }
+
+    @Test
+    public void writePagesDoesntModifyPages() throws Exception
+    {
+        try (PDDocument document = new PDDocument())
+        {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            COSDictionary expected = new COSDictionary(page.getCOSObject());
+            victim.writePages(document);
+            assertEquals(expected.keySet(), page.getCOSObject().keySet());
+            assertEquals(COSName.PAGE, page.getCOSObject().getCOSName(COSName.TYPE));
+            assertEquals(document.getPages().getCOSObject(),
+                    page.getCOSObject().getDictionaryObject(COSName.PARENT));
+        }
+    }
+
+    @Test
+    public void mergeWritingPages() throws Exception
+    {
+        for (WriteOption[] options : new WriteOption[][] { {},
+                { WriteOption.SYNC_BODY_WRITE, WriteOption.OBJECT_STREAMS } })
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int pages = 0;
+            try (PDDocument destination = new PDDocument();
+                    PDDocumentWriter writer = new PDDocumentWriter(
+                            CountingWritableByteChannel.from(out), null, options))
+            {
+                for (String source : new String[] { "simple_test.pdf", "simple_test_objstm.pdf" })
+                {
+                    try (PDDocument document = PDFParser.parse(SeekableSources
+                            .inMemorySeekableSourceFrom(getClass().getClassLoader()
+                                    .getResourceAsStream("sambox/" + source))))
+                    {
+                        pages += document.getNumberOfPages();
+                        document.getPages().forEach(destination::importPage);
+                        writer.writePages(destination);
+                    }
+                }
+                writer.write(destination);
+            }
+            try (PDDocument merged = PDFParser
+                    .parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray())))
+            {
+                assertEquals(pages, merged.getNumberOfPages());
+                assertTrue(StreamSupport.stream(merged.getPages().spliterator(), false)
+                        .allMatch(p -> p.getCOSObject().containsKey(COSName.CONTENTS)));
+            }
+        }
+    }
+
+    @Test
+    public void deduplicateObjects() throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument();
+                PDDocumentWriter writer = new PDDocumentWriter(
+                        CountingWritableByteChannel.from(out), null,
+                        WriteOption.DEDUPLICATE_OBJECTS))
+        {
+            for (int i = 0; i < 2; i++)
+            {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page))
+                {
+                    content.addRect(10, 10, 100, 100);
+                    content.fill();
+                }
+            }
+            writer.write(document);
+        }
+        try (PDDocument deduplicated = PDFParser
+                .parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray())))
+        {
+            assertEquals(2, deduplicated.getNumberOfPages());
+            assertEquals(contentsId(deduplicated.getPage(0)), contentsId(deduplicated.getPage(1)));
+        }
+    }
+
+    @Test
+    public void sharedNumbersEqualToIndirectObjectsAreWrittenAsDirectObjects() throws Exception
+    {
+        byte[] source = pdfWithObjects("<< /Type /Catalog /Pages 2 0 R /Foo 4 0 R /Baz 5 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Bar [0.5 0.5 0.25] "
+                        + "/Qux [7 7 2] /Zot 0.5 /Null [null] >>",
+                "0.5", "7");
+        for (WriteOption[] options : new WriteOption[][] { {},
+                { WriteOption.SYNC_BODY_WRITE, WriteOption.OBJECT_STREAMS },
+                { WriteOption.DEDUPLICATE_OBJECTS } })
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (PDDocument document = PDFParser
+                    .parse(SeekableSources.inMemorySeekableSourceFrom(source));
+                    PDDocumentWriter writer = new PDDocumentWriter(
+                            CountingWritableByteChannel.from(out), null, options))
+            {
+                writer.write(document);
+            }
+            try (PDDocument written = PDFParser
+                    .parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray())))
+            {
+                COSDictionary page = written.getPage(0).getCOSObject();
+                COSArray bar = (COSArray) page.getItem(COSName.getPDFName("Bar"));
+                assertEquals(COSFloat.get(5, 1), bar.get(0));
+                assertEquals(COSFloat.get(5, 1), bar.get(1));
+                assertEquals(COSFloat.get(25, 2), bar.get(2));
+                COSArray qux = (COSArray) page.getItem(COSName.getPDFName("Qux"));
+                assertEquals(COSInteger.get(7), qux.get(0));
+                assertEquals(COSInteger.get(7), qux.get(1));
+                assertEquals(COSFloat.get(5, 1), page.getItem(COSName.getPDFName("Zot")));
+                assertEquals(COSNull.NULL,
+                        ((COSArray) page.getItem(COSName.getPDFName("Null"))).get(0));
+                COSDictionary catalog = written.getDocumentCatalog().getCOSObject();
+                assertEquals(COSFloat.get(5, 1),
+                        catalog.getDictionaryObject(COSName.getPDFName("Foo")));
+                assertEquals(COSInteger.get(7),
+                        catalog.getDictionaryObject(COSName.getPDFName("Baz")));
+            }
+        }
+    }
+
+    private static byte[] pdfWithObjects(String... objects)
+    {
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        long[] offsets = new long[objects.length];
+        for (int i = 0; i < objects.length; i++)
+        {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        long xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f\r\n");
+        for (long offset : offsets)
+        {
+            pdf.append(String.format("%010d 00000 n\r\n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1)
+                .append(" /Root 1 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(Charsets.US_ASCII);
+    }
+
+    private static COSObjectKey contentsId(PDPage page)
+    {
+        return page.getCOSObject().getItem(COSName.CONTENTS).id().objectIdentifier;
+    }
 }
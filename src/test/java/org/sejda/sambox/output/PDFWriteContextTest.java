@@ -19,6 +19,7 @@ package org.sejda.sambox.output;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -28,9 +29,12 @@ import static org.mockito.Mockito.when;
 import org.junit.Before;
 import org.junit.Test;
 import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNull;
 import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.sambox.cos.IndirectCOSObjectIdentifier;
 import org.sejda.sambox.cos.IndirectCOSObjectReference;
+import org.sejda.sambox.cos.NonStorableInObjectStreams;
 import org.sejda.sambox.encryption.GeneralEncryptionAlgorithm;
 import org.sejda.sambox.input.ExistingIndirectCOSObject;
 import org.sejda.sambox.xref.XrefEntry;
@@ -73,6 +77,44 @@ public class PDFWriteContextTest
         assertEquals(existing, ref3.getCOSObject());
     }
 
+    @Test
+    public void createNonStorableInObjectStreamPlaceholderReference()
+    {
+        IndirectCOSObjectReference ref = context
+                .createNonStorableInObjectStreamPlaceholderReference();
+        assertTrue(ref instanceof NonStorableInObjectStreams);
+        assertEquals(COSNull.NULL, ref.getCOSObject());
+        assertFalse(context.hasIndirectReferenceFor(COSNull.NULL));
+        assertNotEquals(ref, context.createNonStorableInObjectStreamPlaceholderReference());
+    }
+
+    @Test
+    public void createIndirectReferenceUnlessDuplicate()
+    {
+        PDFWriteContext context = new PDFWriteContext(null, WriteOption.DEDUPLICATE_OBJECTS);
+        COSDictionary dic = new COSDictionary();
+        dic.setInt(COSName.A, 1);
+        COSDictionary duplicate = new COSDictionary();
+        duplicate.setInt(COSName.A, 1);
+        IndirectCOSObjectReference ref = context.createIndirectReferenceUnlessDuplicate(dic);
+        assertNotNull(ref);
+        assertNull(context.createIndirectReferenceUnlessDuplicate(duplicate));
+        assertTrue(context.hasIndirectReferenceFor(duplicate));
+        assertEquals(ref, context.getIndirectReferenceFor(duplicate));
+        assertFalse(duplicate.hasId());
+    }
+
+    @Test
+    public void createIndirectReferenceUnlessDuplicateNoOption()
+    {
+        COSDictionary dic = new COSDictionary();
+        dic.setInt(COSName.A, 1);
+        COSDictionary duplicate = new COSDictionary();
+        duplicate.setInt(COSName.A, 1);
+        assertNotEquals(context.createIndirectReferenceUnlessDuplicate(dic),
+                context.createIndirectReferenceUnlessDuplicate(duplicate));
+    }
+
     @Test
     public void getOrCreateIndirectReferenceFor()
     {
@@ -16,13 +16,17 @@
  */
 package org.sejda.sambox.pdmodel;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 
+import org.sejda.io.CountingWritableByteChannel;
 import org.sejda.sambox.contentstream.operator.Operator;
 import org.sejda.sambox.cos.COSFloat;
 import org.sejda.sambox.input.ContentStreamParser;
+import org.sejda.sambox.output.ContentStreamWriter;
 import org.sejda.sambox.pdmodel.PDPageContentStream.AppendMode;
+import org.sejda.sambox.util.Charsets;
 
 import junit.framework.TestCase;
 
@@ -86,4 +90,18 @@ public class TestPDPageContentStream extends TestCase
             assertEquals("K", ((Operator) pageTokens.get(4)).getName());
         }
     }
+
+    public void testMaximumFractionDigits() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDPageContentStream contentStream = new PDPageContentStream(new PDDocument(),
+                new PDResources(),
+                new ContentStreamWriter(CountingWritableByteChannel.from(out))))
+        {
+            contentStream.setMaximumFractionDigits(2);
+            contentStream.moveTo(1f / 3, 10.5f);
+            contentStream.lineTo(0.1f, 2);
+        }
+        assertEquals("0.33 10.5 m\n0.1 2 l\n", new String(out.toByteArray(), Charsets.US_ASCII));
+    }
 }
@@ -18,15 +18,19 @@ package org.sejda.sambox.pdmodel.common;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 import junit.framework.TestCase;
 
 import org.junit.Assert;
+import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSArrayList;
 import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSObjectable;
+import org.sejda.sambox.cos.COSString;
 
 /**
  * A test case for PDNameTreeNode.
@@ -95,6 +99,87 @@ public class TestPDNameTreeNode extends TestCase
     }
 
 
+    public void testGetValue() throws IOException
+    {
+        Assert.assertEquals(COSInteger.get(51), this.node5.getValue("Antimony"));
+        Assert.assertEquals(COSInteger.get(89), this.node1.getValue("Actinium"));
+        Assert.assertEquals(COSInteger.get(40), this.node1.getValue("Zirconium"));
+        Assert.assertEquals(COSInteger.get(70), this.node1.getValue("Ytterbium"));
+        Assert.assertNull(this.node1.getValue("Beryllium"));
+        Assert.assertNull(this.node1.getValue("Zzz"));
+    }
+
+    public void testGetValueUnsortedNames() throws IOException
+    {
+        PDIntegerNameTreeNode node = new PDIntegerNameTreeNode();
+        COSArray names = new COSArray();
+        names.add(COSString.parseLiteral("Zinc"));
+        names.add(COSInteger.get(30));
+        names.add(COSString.parseLiteral("Boron"));
+        names.add(COSInteger.get(5));
+        names.add(COSString.parseLiteral("Argon"));
+        names.add(COSInteger.get(18));
+        node.getCOSObject().setItem(COSName.NAMES, names);
+        Assert.assertEquals(COSInteger.get(30), node.getValue("Zinc"));
+        Assert.assertEquals(COSInteger.get(5), node.getValue("Boron"));
+        Assert.assertEquals(COSInteger.get(18), node.getValue("Argon"));
+        Assert.assertNull(node.getValue("Neon"));
+    }
+
+    public void testGetValueNotStringKey() throws IOException
+    {
+        PDIntegerNameTreeNode node = new PDIntegerNameTreeNode();
+        COSArray names = new COSArray();
+        names.add(COSString.parseLiteral("Argon"));
+        names.add(COSInteger.get(18));
+        names.add(COSInteger.get(1));
+        names.add(COSInteger.get(1));
+        names.add(COSString.parseLiteral("Xenon"));
+        names.add(COSInteger.get(54));
+        node.getCOSObject().setItem(COSName.NAMES, names);
+        Assert.assertEquals(COSInteger.get(18), node.getValue("Argon"));
+        Assert.assertEquals(COSInteger.get(54), node.getValue("Xenon"));
+        Assert.assertNull(node.getValue("Neon"));
+    }
+
+    public void testGetValueUnsortedMissedByBinarySearch() throws IOException
+    {
+        PDIntegerNameTreeNode node = new PDIntegerNameTreeNode();
+        COSArray names = new COSArray();
+        names.add(COSString.parseLiteral("a"));
+        names.add(COSInteger.get(1));
+        names.add(COSString.parseLiteral("c"));
+        names.add(COSInteger.get(3));
+        names.add(COSString.parseLiteral("b"));
+        names.add(COSInteger.get(2));
+        names.add(COSString.parseLiteral("d"));
+        names.add(COSInteger.get(4));
+        node.getCOSObject().setItem(COSName.NAMES, names);
+        Assert.assertEquals(COSInteger.get(1), node.getValue("a"));
+        Assert.assertEquals(COSInteger.get(2), node.getValue("b"));
+        Assert.assertEquals(COSInteger.get(3), node.getValue("c"));
+        Assert.assertEquals(COSInteger.get(4), node.getValue("d"));
+        Assert.assertNull(node.getValue("e"));
+    }
+
+    public void testBuildIndex() throws IOException
+    {
+        Map<String, COSInteger> index = ((PDIntegerNameTreeNode) this.node1).buildIndex();
+        Assert.assertEquals(12, index.size());
+        Assert.assertEquals(COSInteger.get(89), index.get("Actinium"));
+        Assert.assertEquals(COSInteger.get(40), index.get("Zirconium"));
+        Assert.assertEquals("Actinium", index.keySet().iterator().next());
+        try
+        {
+            index.put("Neon", COSInteger.get(10));
+            fail("Index should be immutable");
+        }
+        catch (UnsupportedOperationException e)
+        {
+            // expected
+        }
+    }
+
     public void testUpperLimit() throws IOException
     {
         Assert.assertEquals("Astatine", this.node5.getUpperLimit());
@@ -25,9 +25,11 @@ import java.util.TreeMap;
 import junit.framework.TestCase;
 
 import org.junit.Assert;
+import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSArrayList;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.cos.COSObjectable;
 
 /**
@@ -156,6 +158,63 @@ public class TestPDNumberTreeNode extends TestCase
         Assert.assertNull( this.node1.getValue( 0 ) );
     }
 
+    public void testGetValueAllNumbers() throws IOException
+    {
+        Assert.assertEquals( new PDTest( 89 ), this.node1.getValue( 1 ) );
+        Assert.assertEquals( new PDTest( 85 ), this.node1.getValue( 7 ) );
+        Assert.assertEquals( new PDTest( 54 ), this.node1.getValue( 8 ) );
+        Assert.assertEquals( new PDTest( 40 ), this.node1.getValue( 12 ) );
+        Assert.assertNull( this.node1.getValue( 0 ) );
+        Assert.assertNull( this.node1.getValue( 13 ) );
+        Assert.assertNull( this.node1.getValue( null ) );
+    }
+
+    public void testGetValueUnsortedNumbers() throws IOException
+    {
+        PDNumberTreeNode node = new PDNumberTreeNode( PDTest.class );
+        COSArray numbers = new COSArray();
+        numbers.add( COSInteger.get( 9 ) );
+        numbers.add( COSInteger.get( 70 ) );
+        numbers.add( COSInteger.get( 5 ) );
+        numbers.add( COSInteger.get( 13 ) );
+        numbers.add( COSInteger.get( 2 ) );
+        numbers.add( COSInteger.get( 18 ) );
+        node.getCOSObject().setItem( COSName.NUMS, numbers );
+        Assert.assertEquals( new PDTest( 70 ), node.getValue( 9 ) );
+        Assert.assertEquals( new PDTest( 13 ), node.getValue( 5 ) );
+        Assert.assertEquals( new PDTest( 18 ), node.getValue( 2 ) );
+        Assert.assertNull( node.getValue( 3 ) );
+    }
+
+    public void testGetValueUnsortedMissedByBinarySearch() throws IOException
+    {
+        PDNumberTreeNode node = new PDNumberTreeNode( PDTest.class );
+        COSArray numbers = new COSArray();
+        numbers.add( COSInteger.get( 1 ) );
+        numbers.add( COSInteger.get( 10 ) );
+        numbers.add( COSInteger.get( 3 ) );
+        numbers.add( COSInteger.get( 30 ) );
+        numbers.add( COSInteger.get( 2 ) );
+        numbers.add( COSInteger.get( 20 ) );
+        numbers.add( COSInteger.get( 4 ) );
+        numbers.add( COSInteger.get( 40 ) );
+        node.getCOSObject().setItem( COSName.NUMS, numbers );
+        Assert.assertEquals( new PDTest( 10 ), node.getValue( 1 ) );
+        Assert.assertEquals( new PDTest( 20 ), node.getValue( 2 ) );
+        Assert.assertEquals( new PDTest( 30 ), node.getValue( 3 ) );
+        Assert.assertEquals( new PDTest( 40 ), node.getValue( 4 ) );
+        Assert.assertNull( node.getValue( 5 ) );
+    }
+
+    public void testBuildIndex() throws IOException
+    {
+        Map<Integer, COSObjectable> index = this.node1.buildIndex();
+        Assert.assertEquals( 12, index.size() );
+        Assert.assertEquals( new PDTest( 89 ), index.get( 1 ) );
+        Assert.assertEquals( new PDTest( 40 ), index.get( 12 ) );
+        Assert.assertEquals( this.node1.getValue( 10 ), index.get( 10 ) );
+    }
+
     public void testUpperLimit() throws IOException
     {
         Assert.assertEquals(7, (int) this.node5.getUpperLimit());
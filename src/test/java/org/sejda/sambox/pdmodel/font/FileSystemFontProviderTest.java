@@ -0,0 +1,130 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.font;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class FileSystemFontProviderTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File fonts() throws IOException
+    {
+        File fonts = folder.newFolder("fonts");
+        File nested = new File(fonts, "nested");
+        assertTrue(nested.mkdir());
+        try (InputStream ttf = getClass().getClassLoader()
+                .getResourceAsStream("org/sejda/sambox/resources/ttf/LiberationSans-Regular.ttf"))
+        {
+            Files.copy(ttf, new File(nested, "LiberationSans-Regular.ttf").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        return fonts;
+    }
+
+    @Test
+    public void coldScanBuildsIndex() throws IOException
+    {
+        File fonts = fonts();
+        File index = new File(folder.getRoot(), "index");
+        FileSystemFontProvider victim = new FileSystemFontProvider(new FontCache(),
+                Arrays.asList(fonts), index);
+        assertTrue(index.isFile());
+        List<? extends FontInfo> infos = victim.getFontInfo();
+        assertEquals(1, infos.size());
+        assertEquals("LiberationSans", infos.get(0).getPostScriptName());
+        assertEquals(FontFormat.TTF, infos.get(0).getFormat());
+        assertNotNull(infos.get(0).getFont());
+    }
+
+    @Test
+    public void indexIsUsedWhenDirectoriesAreUnchanged() throws IOException
+    {
+        File fonts = fonts();
+        File index = new File(folder.getRoot(), "index");
+        FontInfo scanned = new FileSystemFontProvider(new FontCache(), Arrays.asList(fonts), index)
+                .getFontInfo().get(0);
+
+        // rewriting the content of a font doesn't change the directory modification time
+        File ttf = new File(new File(fonts, "nested"), "LiberationSans-Regular.ttf");
+        long lastModified = ttf.getParentFile().lastModified();
+        try (FileOutputStream out = new FileOutputStream(ttf))
+        {
+            IOUtils.write("Chuck Norris", out, "UTF-8");
+        }
+        ttf.getParentFile().setLastModified(lastModified);
+
+        List<? extends FontInfo> infos = new FileSystemFontProvider(new FontCache(),
+                Arrays.asList(fonts), index).getFontInfo();
+        assertEquals(1, infos.size());
+        FontInfo indexed = infos.get(0);
+        assertEquals(scanned.getPostScriptName(), indexed.getPostScriptName());
+        assertEquals(scanned.getFormat(), indexed.getFormat());
+        assertEquals(scanned.getWeightClass(), indexed.getWeightClass());
+        assertEquals(scanned.getFamilyClass(), indexed.getFamilyClass());
+        assertEquals(scanned.getCodePageRange(), indexed.getCodePageRange());
+        assertEquals(scanned.getMacStyle(), indexed.getMacStyle());
+        assertEquals(scanned.getPanose().toString(), indexed.getPanose().toString());
+    }
+
+    @Test
+    public void indexIsRebuiltWhenDirectoriesChange() throws IOException
+    {
+        File fonts = fonts();
+        File index = new File(folder.getRoot(), "index");
+        new FileSystemFontProvider(new FontCache(), Arrays.asList(fonts), index);
+
+        File nested = new File(fonts, "nested");
+        assertTrue(new File(nested, "LiberationSans-Regular.ttf").delete());
+        nested.setLastModified(nested.lastModified() - 10000);
+        assertTrue(new FileSystemFontProvider(new FontCache(), Arrays.asList(fonts), index)
+                .getFontInfo().isEmpty());
+    }
+
+    @Test
+    public void corruptedIndexIsRebuilt() throws IOException
+    {
+        File fonts = fonts();
+        File index = new File(folder.getRoot(), "index");
+        Files.write(index.toPath(), new byte[] { 1, 2, 3 });
+        assertEquals(1, new FileSystemFontProvider(new FontCache(), Arrays.asList(fonts), index)
+                .getFontInfo().size());
+        assertEquals(1, new FileSystemFontProvider(new FontCache(), Arrays.asList(fonts), index)
+                .getFontInfo().size());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.font;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class IntFloatTableTest
+{
+    @Test
+    public void empty()
+    {
+        IntFloatTable victim = new IntFloatTable.Builder().build();
+        assertSame(IntFloatTable.EMPTY, victim);
+        assertEquals(0, victim.size());
+        assertFalse(victim.containsKey(0));
+        assertEquals(5, victim.get(0, 5), 0);
+        assertEquals(0, victim.sum(), 0);
+    }
+
+    @Test
+    public void lastValueWins()
+    {
+        IntFloatTable victim = new IntFloatTable.Builder().put(3, 1).put(1, 2).put(3, 4).build();
+        assertEquals(2, victim.size());
+        assertEquals(4, victim.get(3, 0), 0);
+        assertEquals(2, victim.get(1, 0), 0);
+        assertFalse(victim.containsKey(2));
+        assertEquals(-1, victim.get(2, -1), 0);
+        assertEquals(6, victim.sum(), 0);
+    }
+
+    @Test
+    public void dense()
+    {
+        compareWithMap(1000, 0, 2000);
+    }
+
+    @Test
+    public void sparse()
+    {
+        compareWithMap(100, 0, 65535);
+    }
+
+    @Test
+    public void negativeAndExtremeKeys()
+    {
+        IntFloatTable victim = new IntFloatTable.Builder().put(Integer.MIN_VALUE, 1)
+                .put(Integer.MAX_VALUE, 2).put(-1, 3).build();
+        assertEquals(1, victim.get(Integer.MIN_VALUE, 0), 0);
+        assertEquals(2, victim.get(Integer.MAX_VALUE, 0), 0);
+        assertEquals(3, victim.get(-1, 0), 0);
+        assertFalse(victim.containsKey(0));
+        IntFloatTable dense = new IntFloatTable.Builder().put(-2, 1).put(-1, 2).put(0, 3).build();
+        assertEquals(1, dense.get(-2, 0), 0);
+        assertEquals(3, dense.get(0, 0), 0);
+        assertFalse(dense.containsKey(1));
+        assertFalse(dense.containsKey(-3));
+    }
+
+    private static void compareWithMap(int entries, int from, int to)
+    {
+        Random random = new Random(entries);
+        Map<Integer, Float> expected = new HashMap<>();
+        IntFloatTable.Builder builder = new IntFloatTable.Builder();
+        for (int i = 0; i < entries; i++)
+        {
+            int key = from + random.nextInt(to - from);
+            float value = random.nextInt(2000);
+            expected.put(key, value);
+            builder.put(key, value);
+        }
+        IntFloatTable victim = builder.build();
+        assertEquals(expected.size(), victim.size());
+        for (int key = from - 10; key < to + 10; key++)
+        {
+            assertEquals(expected.containsKey(key), victim.containsKey(key));
+            assertEquals(expected.getOrDefault(key, -1f), victim.get(key, -1), 0);
+        }
+        float sum = 0;
+        for (float value : expected.values())
+        {
+            sum += value;
+        }
+        assertTrue(Math.abs(sum - victim.sum()) < 1);
+    }
+}
@@ -23,6 +23,7 @@ import java.io.InputStream;
 import junit.framework.TestCase;
 
 import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
@@ -95,5 +96,52 @@ public class TestFontEmbedding extends TestCase
         }
     }
 
+    /**
+     * Subset multiple fonts in the same document and the same font with the same glyphs in different documents.
+     */
+    public void testCIDFontType2SubsetMultipleFontsAndDocuments() throws Exception
+    {
+        String first = writeTwoFonts(new File(OUT_DIR, "CIDFontType2-1.pdf"));
+        String second = writeTwoFonts(new File(OUT_DIR, "CIDFontType2-2.pdf"));
+        assertEquals(first, second);
+    }
+
+    private String writeTwoFonts(File file) throws Exception
+    {
+        PDDocument document = new PDDocument();
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        PDType0Font font1 = PDType0Font.load(document, TestFontEmbedding.class.getClassLoader()
+                .getResourceAsStream("org/sejda/sambox/ttf/LiberationSans-Regular.ttf"));
+        PDType0Font font2 = PDType0Font.load(document, TestFontEmbedding.class.getClassLoader()
+                .getResourceAsStream("org/sejda/sambox/ttf/LiberationSans-Regular.ttf"));
 
+        try (PDPageContentStream stream = new PDPageContentStream(document, page))
+        {
+            stream.beginText();
+            stream.setFont(font1, 12);
+            stream.newLineAtOffset(50, 600);
+            stream.showText("Chuck");
+            stream.setFont(font2, 12);
+            stream.newLineAtOffset(0, -20);
+            stream.showText("Norris");
+            stream.endText();
+        }
+        document.writeTo(file);
+
+        try (PDDocument document2 = PDFParser.parse(SeekableSources.seekableSourceFrom(file)))
+        {
+            PDFTextStripper stripper = new PDFTextStripper();
+            String text = stripper.getText(document2);
+            assertTrue(text.contains("Chuck"));
+            assertTrue(text.contains("Norris"));
+            StringBuilder names = new StringBuilder();
+            for (COSName name : document2.getPage(0).getResources().getFontNames())
+            {
+                names.append(document2.getPage(0).getResources().getFont(name).getName())
+                        .append(' ');
+            }
+            return names.toString();
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.graphics.blend;
+
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Composite;
+import java.awt.CompositeContext;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BlendCompositeTest
+{
+    private static final SeparableBlendMode[] MODES = { BlendMode.MULTIPLY, BlendMode.SCREEN,
+            BlendMode.OVERLAY, BlendMode.DARKEN, BlendMode.LIGHTEN, BlendMode.COLOR_DODGE,
+            BlendMode.COLOR_BURN, BlendMode.HARD_LIGHT, BlendMode.SOFT_LIGHT,
+            BlendMode.DIFFERENCE, BlendMode.EXCLUSION };
+
+    @Test
+    public void intChannelsMatchFloatChannels()
+    {
+        for (SeparableBlendMode mode : MODES)
+        {
+            for (int src = 0; src < 256; src++)
+            {
+                for (int dst = 0; dst < 256; dst++)
+                {
+                    float expected = mode.blendChannel(src / 255f, dst / 255f) * 255;
+                    assertTrue(Math.abs(expected - mode.blendChannel(src, dst)) <= 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void argbOverRgbMatchesGeneric()
+    {
+        assertMatchesGeneric(BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_4BYTE_ABGR,
+                BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR, 1f);
+    }
+
+    @Test
+    public void argbOverArgbMatchesGeneric()
+    {
+        assertMatchesGeneric(BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_4BYTE_ABGR,
+                BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_4BYTE_ABGR, 0.6f);
+    }
+
+    @Test
+    public void rgbOverArgbMatchesGeneric()
+    {
+        assertMatchesGeneric(BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR,
+                BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_4BYTE_ABGR, 0.3f);
+    }
+
+    private static void assertMatchesGeneric(int intSrcType, int byteSrcType, int intDstType,
+            int byteDstType, float constantAlpha)
+    {
+        for (SeparableBlendMode mode : MODES)
+        {
+            Random random = new Random(42);
+            BufferedImage intSrc = new BufferedImage(32, 16, intSrcType);
+            BufferedImage intDst = new BufferedImage(32, 16, intDstType);
+            BufferedImage byteSrc = new BufferedImage(32, 16, byteSrcType);
+            BufferedImage byteDst = new BufferedImage(32, 16, byteDstType);
+            for (int y = 0; y < 16; y++)
+            {
+                for (int x = 0; x < 32; x++)
+                {
+                    int srcPixel = random.nextInt();
+                    int dstPixel = random.nextInt();
+                    intSrc.setRGB(x, y, srcPixel);
+                    byteSrc.setRGB(x, y, srcPixel);
+                    intDst.setRGB(x, y, dstPixel);
+                    byteDst.setRGB(x, y, dstPixel);
+                }
+            }
+            Composite composite = BlendComposite.getInstance(mode, constantAlpha);
+            compose(composite, intSrc, intDst);
+            compose(composite, byteSrc, byteDst);
+            for (int y = 0; y < 16; y++)
+            {
+                for (int x = 0; x < 32; x++)
+                {
+                    int expected = byteDst.getRGB(x, y);
+                    int actual = intDst.getRGB(x, y);
+                    for (int shift = 0; shift < 32; shift += 8)
+                    {
+                        int difference = Math.abs(
+                                ((expected >>> shift) & 0xFF) - ((actual >>> shift) & 0xFF));
+                        assertTrue(mode + " " + Integer.toHexString(expected) + " "
+                                + Integer.toHexString(actual), difference <= 2);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void compose(Composite composite, BufferedImage src, BufferedImage dst)
+    {
+        CompositeContext context = composite.createContext(src.getColorModel(),
+                dst.getColorModel(), null);
+        context.compose(src.getRaster(), dst.getRaster(), dst.getRaster());
+        context.dispose();
+    }
+}
@@ -22,6 +22,7 @@ import static org.sejda.sambox.pdmodel.graphics.image.ValidateXImage.validate;
 
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -31,10 +32,12 @@ import java.util.Arrays;
 import javax.imageio.ImageIO;
 
 import org.apache.commons.io.IOUtils;
+import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceCMYK;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
 import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
 
@@ -86,6 +89,48 @@ public class JPEGFactoryTest extends TestCase
                 JPEGFactoryTest.class.getResourceAsStream("jpeg256.jpg"));
     }
 
+    /**
+     * Tests JPEGFactory#createFromSeekableSource(SeekableSource source) with color JPEG file
+     */
+    public void testCreateFromSeekableSource() throws IOException
+    {
+        PDDocument document = new PDDocument();
+        try (SeekableSource source = SeekableSources.seekableSourceFrom(
+                new File("src/test/resources/org/sejda/sambox/pdmodel/graphics/image/jpeg.jpg")))
+        {
+            PDImageXObject ximage = JPEGFactory.createFromSeekableSource(source);
+            validate(ximage, 8, 344, 287, "jpg", PDDeviceRGB.INSTANCE.getName());
+            doWritePDF(document, ximage, testResultsDir, "jpegrgbsource.pdf");
+        }
+        checkJpegStream(testResultsDir, "jpegrgbsource.pdf",
+                JPEGFactoryTest.class.getResourceAsStream("jpeg.jpg"));
+    }
+
+    /**
+     * Tests JPEGFactory#createFromStream(InputStream stream) reads the image information from the markers of an
+     * Adobe CMYK JPEG
+     */
+    public void testCreateFromStreamAdobeCMYK() throws IOException
+    {
+        byte[] jpeg = new byte[] { (byte) 0xFF, (byte) 0xD8,
+                // APP14 Adobe
+                (byte) 0xFF, (byte) 0xEE, 0, 14, 'A', 'd', 'o', 'b', 'e', 0, 100, 0, 0, 0, 0, 2,
+                // SOF0 8 bits, 20x10, 4 components
+                (byte) 0xFF, (byte) 0xC0, 0, 20, 8, 0, 10, 0, 20, 4, 1, 0x11, 0, 2, 0x11, 0, 3,
+                0x11, 0, 4, 0x11, 0,
+                // SOS
+                (byte) 0xFF, (byte) 0xDA, 0, 14, 4, 1, 0, 2, 0, 3, 0, 4, 0, 0, 63, 0 };
+        PDImageXObject ximage = JPEGFactory.createFromStream(new ByteArrayInputStream(jpeg));
+        assertEquals(20, ximage.getWidth());
+        assertEquals(10, ximage.getHeight());
+        assertEquals(8, ximage.getBitsPerComponent());
+        assertEquals(PDDeviceCMYK.INSTANCE, ximage.getColorSpace());
+        assertEquals(COSName.DCT_DECODE, ximage.getCOSObject().getItem(COSName.FILTER));
+        assertEquals(8, ximage.getDecode().size());
+        assertEquals(1, ximage.getDecode().getInt(0));
+        assertEquals(0, ximage.getDecode().getInt(1));
+    }
+
     /**
      * Tests RGB JPEGFactory#createFromImage(PDDocument document, BufferedImage image) with color JPEG image
      */
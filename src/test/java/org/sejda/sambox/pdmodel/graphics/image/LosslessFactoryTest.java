@@ -33,6 +33,8 @@ import java.util.Random;
 import javax.imageio.ImageIO;
 
 import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
@@ -127,6 +129,46 @@ public class LosslessFactoryTest extends TestCase
         }
     }
 
+    /**
+     * Tests the layouts whose samples are read directly from the raster, including sub images sharing the raster of
+     * the parent image
+     *
+     * @throws java.io.IOException
+     */
+    public void testCreateLosslessFromDirectLayouts() throws IOException
+    {
+        BufferedImage image = ImageIO.read(this.getClass().getResourceAsStream("png.png"));
+        int[] types = { BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB,
+                BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_GRAY,
+                BufferedImage.TYPE_BYTE_BINARY };
+        for (int type : types)
+        {
+            BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), type);
+            Graphics g = converted.getGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            for (BufferedImage current : new BufferedImage[] { converted,
+                    converted.getSubimage(3, 5, converted.getWidth() - 13,
+                            converted.getHeight() - 7) })
+            {
+                PDImageXObject ximage = LosslessFactory.createFromImage(current);
+                assertEquals(COSName.FLATE_DECODE, ximage.getCOSObject().getItem(COSName.FILTER));
+                assertEquals(12, ximage.getCOSObject()
+                        .getDictionaryObject(COSName.DECODE_PARMS, COSDictionary.class)
+                        .getInt(COSName.PREDICTOR));
+                checkIdent(current, ximage.getImage());
+                if (type == BufferedImage.TYPE_INT_ARGB)
+                {
+                    assertNotNull(ximage.getSoftMask());
+                }
+                else
+                {
+                    assertNull(ximage.getSoftMask());
+                }
+            }
+        }
+    }
+
     /**
      * Tests INT_ARGB LosslessFactoryTest#createFromImage(PDDocument document, BufferedImage image)
      *
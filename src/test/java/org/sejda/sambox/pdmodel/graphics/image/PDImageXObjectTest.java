@@ -0,0 +1,232 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.pdmodel.graphics.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSObjectKey;
+import org.sejda.sambox.cos.IndirectCOSObjectIdentifier;
+import org.sejda.sambox.filter.DecodeOptions;
+import org.sejda.sambox.pdmodel.DefaultResourceCache;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PDImageXObjectTest
+{
+    @Test
+    public void subsampled8bit() throws IOException
+    {
+        PDImageXObject victim = LosslessFactory
+                .createFromImage(gradient(101, 67, BufferedImage.TYPE_INT_RGB));
+        assertSampled(victim.getImage(), victim.getImage(null, 3), new Rectangle(101, 67), 3);
+        assertSampled(victim.getImage(), victim.getImage(new Rectangle(10, 5, 60, 40), 4),
+                new Rectangle(10, 5, 60, 40), 4);
+    }
+
+    @Test
+    public void subsampled1bit() throws IOException
+    {
+        PDImageXObject victim = LosslessFactory
+                .createFromImage(gradient(45, 30, BufferedImage.TYPE_BYTE_BINARY));
+        assertEquals(1, victim.getBitsPerComponent());
+        assertSampled(victim.getImage(), victim.getImage(new Rectangle(3, 2, 35, 25), 2),
+                new Rectangle(3, 2, 35, 25), 2);
+    }
+
+    @Test
+    public void subsampledAny() throws IOException
+    {
+        PDImageXObject victim = LosslessFactory
+                .createFromImage(gradient(50, 40, BufferedImage.TYPE_BYTE_GRAY));
+        // inverted decode goes through the generic path
+        victim.setDecode(new COSArray(COSInteger.ONE, COSInteger.ZERO));
+        assertSampled(victim.getImage(), victim.getImage(new Rectangle(7, 9, 30, 20), 3),
+                new Rectangle(7, 9, 30, 20), 3);
+    }
+
+    @Test
+    public void subsampledSoftMask() throws IOException
+    {
+        PDImageXObject victim = LosslessFactory
+                .createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_ARGB));
+        BufferedImage full = victim.getImage();
+        BufferedImage sampled = victim.getImage(new Rectangle(4, 4, 30, 20), 2);
+        assertTrue(sampled.getColorModel().hasAlpha());
+        assertSampled(full, sampled, new Rectangle(4, 4, 30, 20), 2);
+    }
+
+    @Test
+    public void regionClipped() throws IOException
+    {
+        PDImageXObject victim = LosslessFactory
+                .createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_RGB));
+        BufferedImage sampled = victim.getImage(new Rectangle(30, 20, 100, 100), 1);
+        assertEquals(10, sampled.getWidth());
+        assertEquals(10, sampled.getHeight());
+        assertSampled(victim.getImage(), sampled, new Rectangle(30, 20, 10, 10), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void regionOutside() throws IOException
+    {
+        LosslessFactory.createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_RGB))
+                .getImage(new Rectangle(50, 50, 10, 10), 1);
+    }
+
+    @Test
+    public void subsampledDCT() throws IOException
+    {
+        PDImageXObject victim = JPEGFactory
+                .createFromStream(getClass().getResourceAsStream("jpeg.jpg"));
+        DecodeOptions options = new DecodeOptions(new Rectangle(10, 10, 200, 100), 2);
+        try (InputStream stream = victim.createInputStream(options))
+        {
+            assertTrue(options.isFilterSubsampled());
+        }
+        BufferedImage sampled = victim.getImage(new Rectangle(10, 10, 200, 100), 2);
+        assertEquals(100, sampled.getWidth());
+        assertEquals(50, sampled.getHeight());
+        BufferedImage subsampled = victim.getImage(null, 3);
+        assertEquals(115, subsampled.getWidth());
+        assertEquals(96, subsampled.getHeight());
+    }
+
+    @Test
+    public void cachedInResourceCache() throws IOException
+    {
+        PDImageXObject image = LosslessFactory
+                .createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_ARGB));
+        image.getCOSObject()
+                .idIfAbsent(new IndirectCOSObjectIdentifier(new COSObjectKey(10, 0), "doc"));
+        DefaultResourceCache cache = new DefaultResourceCache();
+        PDResources resources = new PDResources(new COSDictionary(), cache);
+        PDImageXObject victim = new PDImageXObject(image.getStream(), resources);
+        BufferedImage full = victim.getImage();
+        // a different instance of the same stream
+        assertSame(full, new PDImageXObject(image.getStream(), resources).getImage());
+        BufferedImage subsampled = victim.getImage(null, 2);
+        assertNotSame(full, subsampled);
+        assertSame(subsampled, victim.getImage(null, 2));
+        BufferedImage opaque = victim.getOpaqueImage();
+        assertNotSame(full, opaque);
+        assertEquals(2, cache.imagesStats().hitCount());
+        assertEquals(3, cache.imagesStats().missCount());
+        assertEquals(sizeOf(full) + sizeOf(subsampled) + sizeOf(opaque),
+                cache.imagesStats().weight());
+    }
+
+    @Test
+    public void cacheBoundedBySize() throws IOException
+    {
+        PDImageXObject image = LosslessFactory
+                .createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_RGB));
+        image.getCOSObject()
+                .idIfAbsent(new IndirectCOSObjectIdentifier(new COSObjectKey(10, 0), "doc"));
+        PDImageXObject victim = new PDImageXObject(image.getStream(),
+                new PDResources(new COSDictionary(), new DefaultResourceCache()));
+        long fullSize = sizeOf(victim.getImage());
+        DefaultResourceCache cache = new DefaultResourceCache(fullSize);
+        victim = new PDImageXObject(image.getStream(),
+                new PDResources(new COSDictionary(), cache));
+        victim.getImage();
+        assertEquals(0, cache.imagesStats().evictionCount());
+        victim.getImage(null, 2);
+        assertEquals(1, cache.imagesStats().evictionCount());
+        assertTrue(cache.imagesStats().weight() <= fullSize);
+    }
+
+    @Test
+    public void notCachedWithoutId() throws IOException
+    {
+        DefaultResourceCache cache = new DefaultResourceCache();
+        PDImageXObject image = LosslessFactory
+                .createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_RGB));
+        PDImageXObject victim = new PDImageXObject(image.getStream(),
+                new PDResources(new COSDictionary(), cache));
+        assertNotSame(victim.getImage(), victim.getImage());
+        assertEquals(0, cache.imagesStats().missCount());
+    }
+
+    @Test
+    public void notCachedWithDefaultColorSpace() throws IOException
+    {
+        DefaultResourceCache cache = new DefaultResourceCache();
+        PDImageXObject image = LosslessFactory
+                .createFromImage(gradient(40, 30, BufferedImage.TYPE_INT_RGB));
+        image.getCOSObject()
+                .idIfAbsent(new IndirectCOSObjectIdentifier(new COSObjectKey(10, 0), "doc"));
+        PDResources resources = new PDResources(new COSDictionary(), cache);
+        resources.put(COSName.DEFAULT_RGB, PDDeviceRGB.INSTANCE);
+        PDImageXObject victim = new PDImageXObject(image.getStream(), resources);
+        assertNotSame(victim.getImage(), victim.getImage());
+    }
+
+    private static BufferedImage gradient(int width, int height, int type)
+    {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                int alpha = 255 - (x * 4) % 256;
+                image.setRGB(x, y, (alpha << 24) | ((x * 5) % 256) << 16 | ((y * 7) % 256) << 8
+                        | ((x + y) * 3) % 256);
+            }
+        }
+        return image;
+    }
+
+    private static long sizeOf(BufferedImage image)
+    {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static void assertSampled(BufferedImage full, BufferedImage sampled, Rectangle region,
+            int subsampling)
+    {
+        assertEquals((region.width + subsampling - 1) / subsampling, sampled.getWidth());
+        assertEquals((region.height + subsampling - 1) / subsampling, sampled.getHeight());
+        for (int y = 0; y < sampled.getHeight(); y++)
+        {
+            for (int x = 0; x < sampled.getWidth(); x++)
+            {
+                assertEquals(full.getRGB(region.x + x * subsampling, region.y + y * subsampling),
+                        sampled.getRGB(x, y));
+            }
+        }
+    }
+}
@@ -28,9 +28,12 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotationWidget;
 
 /**
@@ -119,6 +122,41 @@ public class PDAcroFormTest
         }
     }
 
+    @Test
+    public void testFlattenSingleStreamPerPage() throws IOException
+    {
+        try (PDDocument doc = PDFParser
+                .parse(SeekableSources.inMemorySeekableSourceFrom(getClass().getResourceAsStream(
+                        "/org/sejda/sambox/pdmodel/interactive/form/AlignmentTests.pdf"))))
+        {
+            PDAcroForm acroForm = doc.getDocumentCatalog().getAcroForm();
+            int widgets = 0;
+            for (PDField field : acroForm.getFieldTree())
+            {
+                widgets += field.getWidgets().size();
+            }
+            PDPage page = doc.getPage(0);
+            int before = contentStreams(page);
+            acroForm.flatten();
+            assertTrue(widgets > 2);
+            // the original content wrapped in a q/Q pair and a single stream with all the widgets
+            assertEquals(before + 2, contentStreams(page));
+            assertTrue(page.getAnnotations().stream()
+                    .noneMatch(a -> a instanceof PDAnnotationWidget));
+            assertTrue(acroForm.getFields().isEmpty());
+        }
+    }
+
+    private static int contentStreams(PDPage page)
+    {
+        COSBase contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+        if (contents instanceof COSArray)
+        {
+            return ((COSArray) contents).size();
+        }
+        return 1;
+    }
+
     @After
     public void tearDown() throws IOException
     {
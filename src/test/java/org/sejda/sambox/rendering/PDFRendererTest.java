@@ -0,0 +1,122 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.rendering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PDFRendererTest
+{
+    private PDDocument document;
+    private PDFRenderer victim;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        document = PDFParser.parse(SeekableSources.seekableSourceFrom(
+                new File("src/test/resources/input/rendering/tiger-as-form-xobject.pdf")));
+        victim = new PDFRenderer(document);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        document.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTileSize() throws Exception
+    {
+        victim.renderImageTiles(0, 1, ImageType.RGB, 0, 10, (t, x, y) -> {
+        });
+    }
+
+    @Test
+    public void tilesCoverThePage() throws Exception
+    {
+        BufferedImage full = singleTile();
+        BufferedImage assembled = new BufferedImage(full.getWidth(), full.getHeight(),
+                BufferedImage.TYPE_INT_RGB);
+        int[] count = new int[1];
+        victim.renderImageTiles(0, 1, ImageType.RGB, 100, 150, (tile, x, y) -> {
+            assertTrue(tile.getWidth() <= 100);
+            assertTrue(tile.getHeight() <= 150);
+            assembled.getGraphics().drawImage(tile, x, y, null);
+            count[0]++;
+        });
+        int expected = ((full.getWidth() + 99) / 100) * ((full.getHeight() + 149) / 150);
+        assertEquals(expected, count[0]);
+        assertAlmostSamePixels(full, assembled);
+    }
+
+    @Test
+    public void bands() throws Exception
+    {
+        BufferedImage full = singleTile();
+        BufferedImage assembled = new BufferedImage(full.getWidth(), full.getHeight(),
+                BufferedImage.TYPE_INT_RGB);
+        victim.renderImageBands(0, 1, ImageType.RGB, 64, (band, x, y) -> {
+            assertEquals(0, x);
+            assertEquals(full.getWidth(), band.getWidth());
+            assembled.getGraphics().drawImage(band, x, y, null);
+        });
+        assertAlmostSamePixels(full, assembled);
+    }
+
+    /**
+     * @return the page rendered as a single tile, curves are flattened when rendering tiles so this is what tiles are
+     * compared to
+     */
+    private BufferedImage singleTile() throws Exception
+    {
+        BufferedImage[] single = new BufferedImage[1];
+        victim.renderImageTiles(0, 1, ImageType.RGB, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                (tile, x, y) -> single[0] = tile);
+        return single[0];
+    }
+
+    private static void assertAlmostSamePixels(BufferedImage expected, BufferedImage actual)
+    {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++)
+        {
+            for (int x = 0; x < expected.getWidth(); x++)
+            {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y))
+                {
+                    different++;
+                }
+            }
+        }
+        // rasterizers working in float precision can round device coordinates differently when translated
+        assertTrue(different < expected.getWidth() * expected.getHeight() / 500);
+    }
+}
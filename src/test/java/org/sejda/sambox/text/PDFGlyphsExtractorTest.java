@@ -0,0 +1,127 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.text;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PDFGlyphsExtractorTest
+{
+    @Test
+    public void sameAsTextPositions() throws IOException
+    {
+        for (String name : new String[] { "FC60_Times.pdf", "PDFBOX-3044-010197-p5-ligatures.pdf",
+                "PDFBOX-3062-002207-p1.pdf" })
+        {
+            try (PDDocument document = PDFParser.parse(SeekableSources
+                    .seekableSourceFrom(new File("src/test/resources/input/" + name))))
+            {
+                List<TextPosition> expected = new ArrayList<>();
+                PDFTextStreamEngine engine = new PDFTextStreamEngine()
+                {
+                    @Override
+                    protected void processTextPosition(TextPosition text)
+                    {
+                        expected.add(text);
+                    }
+                };
+                for (PDPage page : document.getPages())
+                {
+                    engine.processPage(page);
+                }
+
+                List<TextPosition> streamed = new ArrayList<>();
+                int[] glyphsPerPage = new int[1];
+                new PDFGlyphsExtractor(new PageGlyphsConsumer()
+                {
+                    @Override
+                    public void glyph(PageGlyphs glyphs, int index)
+                    {
+                        TextPosition current = expected.get(streamed.size());
+                        assertEquals(current.getUnicode(), glyphs.getUnicode(index));
+                        assertEquals(current.getCharacterCodes()[0],
+                                glyphs.getCharacterCode(index));
+                        assertSame(current.getFont(), glyphs.getFont(index));
+                        assertEquals(current.getX(), glyphs.getX(index), 0);
+                        assertEquals(current.getY(), glyphs.getY(index), 0);
+                        assertEquals(current.getWidth(), glyphs.getWidth(index), 0);
+                        assertEquals(current.getHeight(), glyphs.getHeight(index), 0);
+                        assertEquals(current.getFontSizeInPt(), glyphs.getFontSizeInPt(index),
+                                0);
+                        streamed.add(glyphs.toTextPosition(index));
+                    }
+
+                    @Override
+                    public void endPage(PDPage page, int pageNumber, PageGlyphs glyphs)
+                    {
+                        glyphsPerPage[0] += glyphs.size();
+                    }
+                }).extract(document);
+
+                assertFalse(expected.isEmpty());
+                assertEquals(expected.size(), streamed.size());
+                assertEquals(expected.size(), glyphsPerPage[0]);
+                for (int i = 0; i < expected.size(); i++)
+                {
+                    assertEquals(expected.get(i).toString(), streamed.get(i).toString());
+                    assertEquals(expected.get(i).getTextMatrix().toString(),
+                            streamed.get(i).getTextMatrix().toString());
+                    assertEquals(expected.get(i).getXDirAdj(), streamed.get(i).getXDirAdj(), 0);
+                    assertEquals(expected.get(i).getYDirAdj(), streamed.get(i).getYDirAdj(), 0);
+                    assertArrayEquals(expected.get(i).getIndividualWidths(),
+                            streamed.get(i).getIndividualWidths(), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reset()
+    {
+        PageGlyphs victim = new PageGlyphs();
+        victim.reset(90, 200, 100);
+        assertEquals(0, victim.size());
+        assertEquals(90, victim.getPageRotation());
+        assertEquals(200, victim.getPageWidth(), 0);
+        assertEquals(100, victim.getPageHeight(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBounds()
+    {
+        PageGlyphs victim = new PageGlyphs();
+        victim.reset(0, 200, 100);
+        victim.getUnicode(0);
+    }
+}
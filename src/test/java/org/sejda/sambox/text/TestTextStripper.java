@@ -28,10 +28,14 @@ import java.io.LineNumberReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.sejda.io.SeekableSources;
 import org.sejda.sambox.input.PDFParser;
@@ -504,6 +508,97 @@ public class TestTextStripper extends TestCase
         assertTrue(textOiOrphan.isEmpty());
     }
 
+    /**
+     * Test that parallel extraction gives the same result of the sequential one, also when bookmarks are used to limit
+     * the extracted pages.
+     * 
+     * @throws Exception
+     */
+    public void testParallelStripByOutlineItems() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PDDocument doc = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getResourceAsStream("/org/sejda/sambox/pdmodel/with_outline.pdf"))))
+        {
+            Iterator<PDOutlineItem> it = doc.getDocumentCatalog().getDocumentOutline().children()
+                    .iterator();
+            it.next();
+            PDOutlineItem oi2 = it.next();
+            PDOutlineItem oi3 = it.next();
+
+            assertEquals(stripper.getText(doc), parallelText(doc, stripper, executor));
+
+            stripper.setStartBookmark(oi2);
+            stripper.setEndBookmark(oi3);
+            String textoi23 = parallelText(doc, stripper, executor);
+            assertEquals("Second at level 1\n" + "Second level 2\n" + "Content\n"
+                    + "Third level 1\n" + "Third level 2\n" + "Third level 3\n" + "Content\n",
+                    textoi23.replaceAll("\r", ""));
+            assertEquals(stripper.getText(doc), textoi23);
+
+            stripper.setStartBookmark(null);
+            stripper.setEndBookmark(null);
+            stripper.setStartPage(3);
+            stripper.setEndPage(3);
+            assertEquals(stripper.getText(doc), parallelText(doc, stripper, executor));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that parallel extraction of the file set gives the same result of the sequential one.
+     * 
+     * @throws Exception
+     */
+    public void testParallelExtract() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            File[] testFiles = new File("src/test/resources/input")
+                    .listFiles((dir, name) -> name.endsWith(".pdf"));
+            for (File testFile : testFiles)
+            {
+                try (PDDocument document = PDFParser
+                        .parse(SeekableSources.seekableSourceFrom(testFile)))
+                {
+                    for (boolean sort : new boolean[] { false, true })
+                    {
+                        PDFTextStripper sequential = new PDFTextStripper();
+                        sequential.setSortByPosition(sort);
+                        String expected = sequential.getText(document);
+                        assertEquals(testFile.getName(), expected,
+                                parallelText(document, sequential, executor));
+                    }
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String parallelText(PDDocument doc, PDFTextStripper stripper,
+            ExecutorService executor) throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        stripper.writeText(doc, writer, executor, () -> {
+            try
+            {
+                return new PDFTextStripper();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return writer.toString();
+    }
+
     /**
      * Process each file in the specified directory.
      * @param inDir Input directory search for PDF files in.
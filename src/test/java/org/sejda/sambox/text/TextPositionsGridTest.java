@@ -0,0 +1,120 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TextPositionsGridTest
+{
+    private TextPositionsGrid victim;
+
+    @Before
+    public void setUp()
+    {
+        victim = new TextPositionsGrid();
+    }
+
+    @Test
+    public void empty()
+    {
+        assertFalse(victim.containsNear("a", 10, 10, 1));
+    }
+
+    @Test
+    public void halfOpenRange()
+    {
+        victim.add("a", 10, 20);
+        assertTrue(victim.containsNear("a", 10, 20, 1));
+        assertTrue(victim.containsNear("a", 11, 21, 1));
+        assertFalse(victim.containsNear("a", 9, 19, 1));
+        assertFalse(victim.containsNear("b", 10, 20, 1));
+        assertFalse(victim.containsNear("a", 10, 20, 0));
+        assertFalse(victim.containsNear("a", 10, 20, -1));
+    }
+
+    @Test
+    public void clear()
+    {
+        victim.add("a", 10, 20);
+        victim.clear();
+        assertFalse(victim.containsNear("a", 10, 20, 1));
+    }
+
+    @Test
+    public void sameResultsOfSortedMaps()
+    {
+        Random random = new Random(42);
+        Map<String, TreeMap<Float, TreeSet<Float>>> expected = new HashMap<>();
+        String[] texts = { "a", "b", "c" };
+        for (int i = 0; i < 20000; i++)
+        {
+            String text = texts[random.nextInt(texts.length)];
+            float x = random.nextInt(600) + random.nextFloat();
+            float y = random.nextInt(800) + random.nextFloat();
+            float tolerance = random.nextFloat() * (random.nextInt(10) == 0 ? 200 : 3);
+            TreeMap<Float, TreeSet<Float>> sameText = expected.computeIfAbsent(text,
+                    k -> new TreeMap<>());
+            boolean found = sameText.subMap(x - tolerance, x + tolerance).values().stream()
+                    .anyMatch(s -> !s.subSet(y - tolerance, y + tolerance).isEmpty());
+            assertEquals(found, victim.containsNear(text, x, y, tolerance));
+            if (!found)
+            {
+                sameText.computeIfAbsent(x, k -> new TreeSet<>()).add(y);
+                victim.add(text, x, y);
+            }
+        }
+    }
+
+    @Test
+    public void notFiniteValues()
+    {
+        victim.add("a", Float.NaN, 10);
+        victim.add("a", Float.NEGATIVE_INFINITY, 10);
+        assertFalse(victim.containsNear("a", 0, 10, 1));
+        // empty range
+        assertFalse(victim.containsNear("a", Float.NEGATIVE_INFINITY, 10, 1));
+        assertTrue(victim.containsNear("a", 0, 10, Float.POSITIVE_INFINITY));
+    }
+
+    @Test(timeout = 5000)
+    public void hugeValues()
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            victim.add("a", i, 10);
+        }
+        victim.add("a", Float.MAX_VALUE, 10);
+        assertTrue(victim.containsNear("a", 3.4e38f, 10, 1e37f));
+        assertFalse(victim.containsNear("a", -Float.MAX_VALUE, 10, 1));
+        assertTrue(victim.containsNear("a", 50, 10, 1e30f));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BoundedCacheTest
+{
+    @Test
+    public void hitsAndMisses()
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(10);
+        assertNull(victim.get("key"));
+        victim.put("key", "value");
+        assertEquals("value", victim.get("key"));
+        CacheStats stats = victim.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.weight());
+        assertEquals(0.5, stats.hitRate(), 0);
+    }
+
+    @Test
+    public void loadsOnce() throws IOException
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        BoundedCache.Loader<String, String, IOException> loader = k -> {
+            loads.incrementAndGet();
+            return k + "value";
+        };
+        assertEquals("keyvalue", victim.get("key", loader));
+        assertEquals("keyvalue", victim.get("key", loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, victim.stats().loadCount());
+    }
+
+    @Test
+    public void nullLoadedValuesAreNotCached()
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(10);
+        assertNull(victim.get("key", k -> null));
+        assertNull(victim.get("key", k -> null));
+        assertEquals(2, victim.stats().loadCount());
+        assertEquals(0, victim.stats().weight());
+    }
+
+    @Test(expected = IOException.class)
+    public void loaderFailure() throws IOException
+    {
+        new BoundedCache<String, String>(10).get("key", k -> {
+            throw new IOException();
+        });
+    }
+
+    @Test
+    public void leastRecentlyUsedIsDemoted()
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(5, String::length);
+        String first = new String("aa");
+        victim.put("first", first);
+        victim.put("second", "bb");
+        victim.get("first");
+        victim.put("third", "cc");
+        assertEquals(1, victim.stats().evictionCount());
+        assertEquals(4, victim.stats().weight());
+        // softly retained, we hold a strong reference so it cannot be collected
+        assertSame(first, victim.get("first"));
+        assertEquals("bb", victim.get("second"));
+        assertEquals("cc", victim.get("third"));
+    }
+
+    @Test
+    public void softHitIsPromoted()
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(1);
+        String first = new String("a");
+        victim.put("first", first);
+        victim.put("second", "b");
+        assertEquals(1, victim.stats().weight());
+        assertSame(first, victim.get("first"));
+        // promoting first demoted second
+        assertEquals(2, victim.stats().evictionCount());
+        assertEquals(1, victim.stats().weight());
+    }
+
+    @Test
+    public void replaceAndRemove()
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(10, String::length);
+        victim.put("key", "aaa");
+        victim.put("key", "a");
+        assertEquals(1, victim.stats().weight());
+        victim.remove("key");
+        assertNull(victim.get("key"));
+        assertEquals(0, victim.stats().weight());
+        victim.put("key", "a");
+        victim.put("another", "b");
+        victim.clear();
+        assertNull(victim.get("key"));
+        assertEquals(0, victim.stats().weight());
+    }
+
+    @Test
+    public void evictsInAccessOrder()
+    {
+        BoundedCache<Integer, String> victim = new BoundedCache<>(100);
+        for (int i = 0; i < 10000; i++)
+        {
+            victim.put(i, Integer.toString(i));
+            // keeps the first one the most recently used
+            victim.get(0);
+        }
+        assertEquals(100, victim.stats().weight());
+        assertEquals(9900, victim.stats().evictionCount());
+        // first is still strongly retained so getting it doesn't promote anything
+        victim.get(0);
+        assertEquals(9900, victim.stats().evictionCount());
+    }
+
+    @Test
+    public void bufferedReadsKeepAccessOrder()
+    {
+        BoundedCache<String, String> victim = new BoundedCache<>(2);
+        victim.put("first", "a");
+        victim.put("second", "b");
+        for (int i = 0; i < 1000; i++)
+        {
+            victim.get("first");
+        }
+        victim.put("third", "c");
+        assertEquals(1, victim.stats().evictionCount());
+        // second was demoted, getting it again promotes it demoting first
+        victim.get("second");
+        assertEquals(2, victim.stats().evictionCount());
+        assertEquals(2, victim.stats().weight());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Created on 19/ott/2026
+ * Copyright 2026 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.sambox.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.rendering.PDFRenderer;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class MetricsTest
+{
+    private Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private Map<String, LongAdder> timers = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp()
+    {
+        Metrics.set(new MetricsRecorder()
+        {
+            @Override
+            public void increment(String name, long delta)
+            {
+                counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+            }
+
+            @Override
+            public void record(String name, long nanos)
+            {
+                assertTrue(nanos >= 0);
+                timers.computeIfAbsent(name, k -> new LongAdder()).increment();
+            }
+        });
+    }
+
+    @After
+    public void tearDown()
+    {
+        Metrics.set(MetricsRecorder.NOOP);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullRecorder()
+    {
+        Metrics.set(null);
+    }
+
+    @Test
+    public void noopByDefault()
+    {
+        Metrics.set(MetricsRecorder.NOOP);
+        assertFalse(Metrics.isEnabled());
+        long start = Metrics.start();
+        Metrics.set(new MetricsRecorder()
+        {
+            @Override
+            public void record(String name, long nanos)
+            {
+                timers.computeIfAbsent(name, k -> new LongAdder()).increment();
+            }
+        });
+        // timers started while disabled are not recorded
+        Metrics.stop(Metrics.RENDER_PAGE, start);
+        assertTrue(timers.isEmpty());
+    }
+
+    @Test
+    public void parseRenderAndWrite() throws Exception
+    {
+        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(
+                new File("src/test/resources/input/rendering/tiger-as-form-xobject.pdf"))))
+        {
+            new PDFRenderer(document).renderImage(0, 0.5f);
+            assertTrue(timers.containsKey(Metrics.OBJECTS_PARSE));
+            assertTrue(timers.containsKey(Metrics.FILTER_DECODE + "FlateFilter"));
+            assertTrue(counters.get(Metrics.FILTER_DECODED_BYTES + "FlateFilter").sum() > 0);
+            assertEquals(1, timers.get(Metrics.RENDER_PAGE).sum());
+            assertTrue(counters.get(Metrics.OBJECTS_HITS).sum() > 0);
+
+            document.writeTo(new NullOutputStream());
+            assertEquals(1, timers.get(Metrics.WRITE_BODY).sum());
+            assertTrue(counters.get(Metrics.WRITE_OBJECTS).sum() > 0);
+            assertTrue(counters.get(Metrics.WRITE_BYTES).sum() > 0);
+        }
+    }
+}